@@ -0,0 +1,80 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.ProjectResponseDTO;
+import com.example.taskmanagement.dto.TaskResponseDTO;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping done by the controllers on every read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private TaskController taskController;
+    private ProjectController projectController;
+    private Task task;
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        // The mapping methods do not touch the injected services
+        taskController = new TaskController(null, null, null, null, null);
+        projectController = new ProjectController(null, null, null, null);
+        User owner = User.builder().id(1L).username("owner").build();
+        project = Project.builder().id(1L).name("Benchmark project").description("Project used by the benchmarks")
+                .startDate(LocalDate.of(2024, 1, 1)).endDate(LocalDate.of(2024, 12, 31))
+                .status(Project.ProjectStatus.ACTIVE).owner(owner).build();
+        task = Task.builder().id(1L).title("Benchmark task").description("Task used by the benchmarks")
+                .status(Task.TaskStatus.IN_PROGRESS).priority(Task.TaskPriority.HIGH)
+                .dueDate(LocalDateTime.of(2024, 6, 1, 12, 0)).project(project).assignee(owner).build();
+    }
+
+    @Benchmark
+    public TaskResponseDTO taskToResponseDTO() {
+        return taskController.toResponseDTO(task);
+    }
+
+    @Benchmark
+    public ProjectResponseDTO projectToResponseDTO(Associations associations) {
+        return projectController.toResponseDTO(project, associations.associations);
+    }
+
+    /**
+     * Member and task IDs of the mapped project.
+     */
+    @State(Scope.Benchmark)
+    public static class Associations {
+
+        @Param({"0", "50"})
+        private int count;
+
+        private ProjectService.ProjectAssociations associations;
+
+        @Setup
+        public void setUp() {
+            Set<Long> memberIds = new HashSet<>();
+            Set<Long> taskIds = new HashSet<>();
+            for (long id = 1; id <= count; id++) {
+                memberIds.add(id);
+                taskIds.add(id);
+            }
+            associations = new ProjectService.ProjectAssociations(Map.of(1L, memberIds), Map.of(1L, taskIds));
+        }
+    }
+}
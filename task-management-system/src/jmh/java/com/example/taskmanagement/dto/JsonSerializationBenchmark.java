@@ -0,0 +1,78 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * JSON serialization of the response DTOs and user entity conversion.
+ * The mapper is built the same way Spring Boot builds the one used by the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TaskResponseDTO task;
+    private ProjectResponseDTO project;
+    private UserResponse userResponse;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        task = TaskResponseDTO.builder().id(1L).title("Benchmark task").description("Task used by the benchmarks")
+                .status(Task.TaskStatus.IN_PROGRESS).priority(Task.TaskPriority.HIGH)
+                .dueDate(LocalDateTime.of(2024, 6, 1, 12, 0)).assigneeId(2L).projectId(3L).build();
+        Set<Long> ids = LongStream.rangeClosed(1, 50).boxed().collect(Collectors.toSet());
+        project = new ProjectResponseDTO();
+        project.setId(1L);
+        project.setName("Benchmark project");
+        project.setDescription("Project used by the benchmarks");
+        project.setStartDate(LocalDate.of(2024, 1, 1));
+        project.setEndDate(LocalDate.of(2024, 12, 31));
+        project.setStatus("ACTIVE");
+        project.setOwnerId(1L);
+        project.setMemberIds(ids);
+        project.setTaskIds(ids);
+        user = User.builder().id(1L).username("benchmark").email("benchmark@example.com").fullName("Bench Mark")
+                .role(User.UserRole.USER).enabled(true).build();
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 9, 0));
+        userResponse = UserResponse.fromEntity(user);
+    }
+
+    @Benchmark
+    public String serializeTaskResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(task);
+    }
+
+    @Benchmark
+    public String serializeProjectResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(project);
+    }
+
+    @Benchmark
+    public String serializeUserResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(userResponse);
+    }
+
+    @Benchmark
+    public UserResponse userResponseFromEntity() {
+        return UserResponse.fromEntity(user);
+    }
+}
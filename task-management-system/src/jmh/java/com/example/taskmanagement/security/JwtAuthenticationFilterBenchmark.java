@@ -0,0 +1,69 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.config.JwtProperties;
+import com.example.taskmanagement.model.User;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the JWT filter, with the verified-token cache and without it. Compare
+ * with {@code PasswordEncoderBenchmark.matches}, the price of a password check per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    /**
+     * Cache size; 0 verifies the signature and parses the claims on every request.
+     */
+    @Param({"10000", "0"})
+    private long tokenCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String bearer;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-benchmark-secret-0123456789");
+        properties.getTokenCache().setMaximumSize(tokenCacheSize);
+        JwtTokenService jwtTokenService = new JwtTokenService(properties);
+        filter = new JwtAuthenticationFilter(jwtTokenService);
+        bearer = "Bearer " + jwtTokenService.issue(new AuthenticatedUser(1L, "benchmark", User.UserRole.USER)).token();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        // A new request each time: the filter runs once per request
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader(HttpHeaders.AUTHORIZATION, bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication withoutToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        return takeAuthentication();
+    }
+
+    private static Authentication takeAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project access check answered by the membership index, against the query it replaces,
+ * on the in-memory H2 database of the test profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectMembershipBenchmark {
+
+    private static final int USERS = 200;
+    private static final int PROJECTS = 2_000;
+    private static final int MEMBERS_PER_PROJECT = 5;
+
+    private ConfigurableApplicationContext context;
+    private ProjectMembershipIndex membershipIndex;
+    private ProjectRepository projectRepository;
+    private long[] userIds;
+    private long[] projectIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws InterruptedException {
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=ERROR")
+                .run();
+        membershipIndex = context.getBean(ProjectMembershipIndex.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder().username("member" + i).email("member" + i + "@example.com")
+                    .fullName("Member " + i).password("secret").build());
+        }
+        users = context.getBean(UserRepository.class).saveAll(users);
+        userIds = users.stream().mapToLong(User::getId).toArray();
+
+        // Created through the service, so the index learns about them as the application would
+        ProjectService projectService = context.getBean(ProjectService.class);
+        Random random = new Random(42);
+        projectIds = new long[PROJECTS];
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = Project.builder().name("Project " + i).owner(users.get(random.nextInt(USERS))).build();
+            for (int m = 0; m < MEMBERS_PER_PROJECT; m++) {
+                project.addMember(users.get(random.nextInt(USERS)));
+            }
+            projectIds[i] = projectService.createProject(project).getId();
+        }
+        while (!membershipIndex.covers(projectIds[0])) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean membershipIndex() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return membershipIndex.isOwnerOrMember(userIds[random.nextInt(USERS)], projectIds[random.nextInt(PROJECTS)]);
+    }
+
+    @Benchmark
+    public boolean membershipQuery() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return projectRepository.isOwnerOrMember(projectIds[random.nextInt(PROJECTS)], userIds[random.nextInt(USERS)]);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end TaskService calls against the in-memory H2 database of the test profile,
+ * through the same transactions, caches and entity listeners the application uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    private static final int SEEDED_TASKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Project project;
+    private long[] taskIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=ERROR")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        User owner = context.getBean(UserRepository.class).save(User.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .fullName("Benchmark Owner")
+                .password("secret")
+                .build());
+        project = context.getBean(ProjectRepository.class)
+                .save(Project.builder().name("Benchmark project").owner(owner).build());
+        List<Task> tasks = new ArrayList<>(SEEDED_TASKS);
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            tasks.add(Task.builder().title("Seeded task " + i).description("Seeded for the benchmark")
+                    .project(project).build());
+        }
+        taskIds = context.getBean(TaskRepository.class).saveAll(tasks).stream().mapToLong(Task::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return taskService.getTaskById(randomTaskId());
+    }
+
+    @Benchmark
+    public Slice<Task> listTasksPage() {
+        return taskService.listTasks(randomTaskId(), 50);
+    }
+
+    @Benchmark
+    public Task updateStatus() {
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        return taskService.updateStatus(randomTaskId(), statuses[ThreadLocalRandom.current().nextInt(statuses.length)]);
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(Task.builder().title("Benchmark task").project(project).build());
+    }
+
+    private long randomTaskId() {
+        return taskIds[ThreadLocalRandom.current().nextInt(taskIds.length)];
+    }
+}
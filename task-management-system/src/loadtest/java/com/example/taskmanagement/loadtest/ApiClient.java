@@ -0,0 +1,105 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * JSON client for the API, authenticated with an access token once {@link #login} succeeded.
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private volatile String bearer;
+
+    /**
+     * @param baseUrl URL of the application including its context path, e.g. http://localhost:8080/api
+     * @param objectMapper Mapper for request and response bodies
+     */
+    public ApiClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Log in and send the access token with every later request.
+     *
+     * @param username The username
+     * @param password The password
+     * @throws IOException If the login fails
+     */
+    public void login(String username, String password) throws IOException, InterruptedException {
+        Response response = send("POST", "/api/auth/login", Map.of("username", username, "password", password));
+        if (!response.isSuccess()) {
+            throw new IOException("Login as " + username + " failed with status " + response.status());
+        }
+        bearer = "Bearer " + response.body().path("accessToken").asText();
+    }
+
+    /**
+     * Send a request and read its JSON response.
+     *
+     * @param method The HTTP method
+     * @param path Path below the base URL, with its query string
+     * @param body Object sent as JSON, or null for none
+     * @return The status and parsed body; a missing node if the body is empty or not JSON
+     * @throws IOException If the request cannot be sent or the response read
+     */
+    public Response send(String method, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (bearer != null) {
+            request.header("Authorization", bearer);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), parse(response));
+    }
+
+    private JsonNode parse(HttpResponse<byte[]> response) {
+        boolean json = response.headers().firstValue("Content-Type").map(type -> type.contains("json")).orElse(false);
+        if (!json || response.body().length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException ex) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    /**
+     * Status and body of a response.
+     *
+     * @param status The HTTP status
+     * @param body The parsed JSON body
+     */
+    public record Response(int status, JsonNode body) {
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and error rate per endpoint, written as JSON and HTML.
+ *
+ * @param generatedAt When the run finished
+ * @param target URL of the application
+ * @param scenario Mix of operations
+ * @param rate Scheduled arrival rate in requests per second
+ * @param durationSeconds Length of the measured run
+ * @param maxDispatchLagMillis How far the load generator fell behind its schedule
+ * @param total All requests together
+ * @param endpoints One entry per endpoint that received requests
+ */
+public record LoadTestReport(Instant generatedAt, String target, Scenario scenario, double rate,
+                             double durationSeconds, long maxDispatchLagMillis, EndpointStats total,
+                             List<EndpointStats> endpoints) {
+
+    /**
+     * Figures of one endpoint; latencies in milliseconds from the scheduled start.
+     *
+     * @param endpoint The route template
+     * @param requests Requests sent
+     * @param errors Requests failed or answered with a status other than 2xx
+     * @param errorRate Errors as a fraction of requests
+     * @param throughput Requests completed per second
+     * @param p50 Median latency
+     * @param p99 99th percentile latency
+     * @param p999 99.9th percentile latency
+     * @param max Highest latency
+     * @param errorKinds Errors by status or exception
+     */
+    public record EndpointStats(String endpoint, long requests, long errors, double errorRate, double throughput,
+                                double p50, double p99, double p999, double max, Map<String, Long> errorKinds) {
+
+        static EndpointStats of(String endpoint, Histogram latencies, long errors, double seconds,
+                                Map<String, Long> errorKinds) {
+            long requests = latencies.getTotalCount();
+            return new EndpointStats(endpoint, requests, errors, requests == 0 ? 0 : (double) errors / requests,
+                    requests / seconds, millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0, errorKinds);
+        }
+
+        private static double millis(Histogram latencies, double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    /**
+     * @param results Results of the measured run
+     * @param settings Settings of the run
+     * @param target URL of the application
+     * @return The report
+     */
+    public static LoadTestReport of(OpenModelLoadGenerator.Results results, LoadTestSettings settings, String target) {
+        double seconds = results.getElapsedNanos() / 1e9;
+        List<EndpointStats> endpoints = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram latencies = results.latencies(operation);
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(latencies);
+            allErrors += results.errors(operation);
+            endpoints.add(EndpointStats.of(operation.getEndpoint(), latencies, results.errors(operation), seconds,
+                    results.errorKinds(operation)));
+        }
+        return new LoadTestReport(Instant.now(), target, settings.scenario(), settings.rate(),
+                results.getDuration().toMillis() / 1000.0, results.getMaxDispatchLagMillis(),
+                EndpointStats.of("All endpoints", all, allErrors, seconds, Map.of()), endpoints);
+    }
+
+    /**
+     * Write loadtest-report.json and loadtest-report.html.
+     *
+     * @param directory Directory to write to, created if missing
+     * @param objectMapper Mapper for the JSON report
+     * @return The HTML report
+     */
+    public Path write(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValue(directory.resolve("loadtest-report.json").toFile(), this);
+        Path html = directory.resolve("loadtest-report.html");
+        Files.writeString(html, toHtml(), StandardCharsets.UTF_8);
+        return html;
+    }
+
+    /**
+     * @return The figures as a plain-text table
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%-40s %9s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "Max ms"));
+        for (EndpointStats stats : endpoints) {
+            appendText(text, stats);
+        }
+        appendText(text, total);
+        return text.toString();
+    }
+
+    private static void appendText(StringBuilder text, EndpointStats stats) {
+        text.append(String.format(Locale.ROOT, "%-40s %9d %7.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f%n", stats.endpoint(),
+                stats.requests(), stats.errorRate() * 100, stats.throughput(), stats.p50(), stats.p99(), stats.p999(),
+                stats.max()));
+    }
+
+    private String toHtml() {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                <meta charset="utf-8">
+                <title>Load test report</title>
+                <style>
+                body { font-family: sans-serif; margin: 2em; }
+                table { border-collapse: collapse; }
+                th, td { border: 1px solid #ccc; padding: 4px 10px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                tr.total { font-weight: bold; }
+                td.failing { color: #b00; }
+                </style>
+                </head>
+                <body>
+                <h1>Load test report</h1>
+                """);
+        html.append(String.format(Locale.ROOT,
+                "<p>%s scenario against %s at %.1f requests/s for %.0f s, finished %s. "
+                        + "Latencies in milliseconds from the scheduled start of each request; "
+                        + "the load generator fell at most %d ms behind its schedule.</p>%n",
+                scenario.name().toLowerCase(Locale.ROOT), escape(target), rate, durationSeconds, generatedAt,
+                maxDispatchLagMillis));
+        html.append("<table>\n<tr><th>Endpoint</th><th>Requests</th><th>Req/s</th><th>Error rate</th>"
+                + "<th>p50</th><th>p99</th><th>p99.9</th><th>Max</th><th>Errors</th></tr>\n");
+        for (EndpointStats stats : endpoints) {
+            appendRow(html, stats, "");
+        }
+        appendRow(html, total, " class=\"total\"");
+        html.append("</table>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private static void appendRow(StringBuilder html, EndpointStats stats, String rowAttributes) {
+        html.append(String.format(Locale.ROOT,
+                "<tr%s><td>%s</td><td>%d</td><td>%.1f</td><td%s>%.2f%%</td><td>%.2f</td><td>%.2f</td>"
+                        + "<td>%.2f</td><td>%.2f</td><td>%s</td></tr>%n",
+                rowAttributes, escape(stats.endpoint()), stats.requests(), stats.throughput(),
+                stats.errors() > 0 ? " class=\"failing\"" : "", stats.errorRate() * 100, stats.p50(), stats.p99(),
+                stats.p999(), stats.max(), escape(stats.errorKinds().toString())));
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Path;
+
+/**
+ * Load test entry point: starts the application on the H2 test profile unless a base URL is
+ * given, seeds users, projects and tasks, runs the scenario unmeasured for the warm-up and
+ * then measured for the duration, and writes the report. Settings are described in
+ * {@link LoadTestSettings}. An in-process run shares the machine, and the JVM, with the
+ * application; to measure the application alone, start it separately and pass its URL.
+ */
+@Log4j2
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ConfigurableApplicationContext context = settings.inProcess() ? startApplication(settings) : null;
+        try {
+            String target = context != null ? baseUrlOf(context) : settings.baseUrl();
+            ApiClient client = new ApiClient(target, objectMapper);
+            client.login(settings.username(), settings.password());
+            Workload workload = new Workload(client);
+            workload.seed();
+
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(workload, settings.scenario(),
+                    settings.rate(), settings.maxInFlight());
+            if (!settings.warmup().isZero()) {
+                log.info("Warming up for {}", settings.warmup());
+                generator.run(settings.warmup());
+            }
+            log.info("Running the {} scenario against {} at {} requests/s for {}", settings.scenario(), target,
+                    settings.rate(), settings.duration());
+            LoadTestReport report = LoadTestReport.of(generator.run(settings.duration()), settings, target);
+
+            Path html = report.write(settings.reportDir(), objectMapper);
+            System.out.print(report.toText());
+            log.info("Report written to {}", html.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Start the application on a free port with the test profile, on virtual threads if asked,
+     * and create the administrator the load generator logs in as.
+     */
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles("test")
+                .run("--server.port=0", "--logging.level.com.example.taskmanagement=WARN",
+                        "--spring.threads.virtual.enabled=" + settings.virtualThreads());
+        context.getBean(UserRepository.class).save(User.builder()
+                .username(settings.username())
+                .email(settings.username() + "@example.com")
+                .fullName("Load Test Administrator")
+                .password(context.getBean(PasswordEncoder.class).encode(settings.password()))
+                .role(User.UserRole.ADMIN)
+                .build());
+        return context;
+    }
+
+    private static String baseUrlOf(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+    }
+}
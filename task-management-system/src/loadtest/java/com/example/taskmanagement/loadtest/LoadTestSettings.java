@@ -0,0 +1,57 @@
+package com.example.taskmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties.
+ *
+ * @param baseUrl URL of a running application including its context path, or blank to start one in-process
+ * @param username Administrator the load generator logs in as
+ * @param password Password of that administrator
+ * @param scenario Mix of operations
+ * @param rate Mean arrival rate in requests per second, independent of how fast responses come back
+ * @param duration Length of the measured run
+ * @param warmup Length of the unmeasured run before it
+ * @param maxInFlight Most requests outstanding at once; arrivals beyond it wait, and the wait counts as latency
+ * @param reportDir Directory the JSON and HTML reports are written to
+ * @param virtualThreads Whether an in-process application serves requests on virtual threads; a running
+ *                       application keeps its own setting
+ */
+public record LoadTestSettings(String baseUrl, String username, String password, Scenario scenario, double rate,
+                               Duration duration, Duration warmup, int maxInFlight, Path reportDir,
+                               boolean virtualThreads) {
+
+    public LoadTestSettings {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("loadtest.max-in-flight must be at least 1");
+        }
+    }
+
+    /**
+     * @return The settings given as system properties, with defaults for a short in-process run
+     */
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.base-url", "").strip(),
+                System.getProperty("loadtest.username", "loadtest-admin"),
+                System.getProperty("loadtest.password", "Load#Test1"),
+                Scenario.from(System.getProperty("loadtest.scenario", "mixed")),
+                Double.parseDouble(System.getProperty("loadtest.rate", "100")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT1M")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Integer.parseInt(System.getProperty("loadtest.max-in-flight", "500")),
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")),
+                Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "false")));
+    }
+
+    /**
+     * @return Whether the application is started by the load test
+     */
+    public boolean inProcess() {
+        return baseUrl.isEmpty();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.taskmanagement.loadtest;
+
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed mean arrival rate with exponentially distributed gaps (an open
+ * model): arrivals follow the schedule whether or not earlier responses have come back, as
+ * independent users would. Each request runs on its own virtual thread. Latency is measured
+ * from the time the request was scheduled, not sent, so time spent waiting behind a slow
+ * response or for an in-flight slot is included and stalls are not hidden (no coordinated
+ * omission).
+ */
+@Log4j2
+public class OpenModelLoadGenerator {
+
+    /**
+     * Longest latency recorded, in microseconds; slower requests are recorded as this.
+     */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Workload workload;
+    private final Scenario scenario;
+    private final double rate;
+    private final int maxInFlight;
+
+    /**
+     * @param workload Requests to send
+     * @param scenario Mix of operations
+     * @param rate Mean arrival rate in requests per second
+     * @param maxInFlight Most requests outstanding at once
+     */
+    public OpenModelLoadGenerator(Workload workload, Scenario scenario, double rate, int maxInFlight) {
+        this.workload = workload;
+        this.scenario = scenario;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Run the schedule for a while and wait for the outstanding requests.
+     *
+     * @param duration How long arrivals are scheduled for
+     * @return Latencies and errors per operation
+     */
+    public Results run(Duration duration) throws InterruptedException {
+        Results results = new Results(duration);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long maxLagNanos = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long scheduled = start;
+            while (scheduled < end) {
+                long now = waitUntil(scheduled);
+                maxLagNanos = Math.max(maxLagNanos, now - scheduled);
+                long intendedStart = scheduled;
+                Operation operation = scenario.pick(random);
+                executor.execute(() -> send(operation, intendedStart, inFlight, results));
+                scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            }
+        }
+        results.elapsedNanos = System.nanoTime() - start;
+        results.maxDispatchLagMillis = TimeUnit.NANOSECONDS.toMillis(maxLagNanos);
+        if (results.maxDispatchLagMillis > 10) {
+            log.warn("The load generator fell up to {} ms behind its schedule; latencies still count from the "
+                    + "scheduled times, but the machine may be overloaded", results.maxDispatchLagMillis);
+        }
+        return results;
+    }
+
+    private void send(Operation operation, long intendedStart, Semaphore inFlight, Results results) {
+        boolean success = false;
+        try {
+            inFlight.acquire();
+            try {
+                int status = workload.execute(operation);
+                success = status >= 200 && status < 300;
+                if (!success) {
+                    results.countStatus(operation, status);
+                }
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            results.countFailure(operation, ex);
+        }
+        results.record(operation, System.nanoTime() - intendedStart, success);
+    }
+
+    private static long waitUntil(long deadline) {
+        long now = System.nanoTime();
+        while (now < deadline) {
+            LockSupport.parkNanos(deadline - now);
+            now = System.nanoTime();
+        }
+        return now;
+    }
+
+    /**
+     * Latency histograms, in microseconds, and error counts per operation.
+     */
+    public static final class Results {
+
+        private final Duration duration;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, Map<String, LongAdder>> errorKinds = new EnumMap<>(Operation.class);
+        private long elapsedNanos;
+        private long maxDispatchLagMillis;
+
+        Results(Duration duration) {
+            this.duration = duration;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+                errors.put(operation, new LongAdder());
+                errorKinds.put(operation, new ConcurrentHashMap<>());
+            }
+        }
+
+        void record(Operation operation, long latencyNanos, boolean success) {
+            long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(latencyNanos), 1), MAX_LATENCY_MICROS);
+            latencies.get(operation).recordValue(micros);
+            if (!success) {
+                errors.get(operation).increment();
+            }
+        }
+
+        void countStatus(Operation operation, int status) {
+            errorKinds.get(operation).computeIfAbsent("HTTP " + status, kind -> new LongAdder()).increment();
+        }
+
+        void countFailure(Operation operation, Exception ex) {
+            errorKinds.get(operation).computeIfAbsent(ex.getClass().getSimpleName(), kind -> new LongAdder())
+                    .increment();
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public Histogram latencies(Operation operation) {
+            return latencies.get(operation);
+        }
+
+        public long errors(Operation operation) {
+            return errors.get(operation).sum();
+        }
+
+        public Map<String, Long> errorKinds(Operation operation) {
+            Map<String, Long> kinds = new TreeMap<>();
+            errorKinds.get(operation).forEach((kind, count) -> kinds.put(kind, count.sum()));
+            return kinds;
+        }
+
+        /**
+         * @return Time from the first arrival until the last response, which may exceed the duration
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getMaxDispatchLagMillis() {
+            return maxDispatchLagMillis;
+        }
+    }
+}
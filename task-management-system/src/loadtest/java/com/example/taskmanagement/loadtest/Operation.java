@@ -0,0 +1,26 @@
+package com.example.taskmanagement.loadtest;
+
+/**
+ * A request the load generator sends, reported under its route template.
+ */
+public enum Operation {
+    CREATE_PROJECT("POST /projects"),
+    CREATE_TASK("POST /tasks"),
+    ASSIGN_TASK("POST /tasks/{taskId}/assign/{userId}"),
+    UPDATE_STATUS("PATCH /tasks/{taskId}/status"),
+    LIST_TASKS("GET /tasks"),
+    SEARCH_TASKS("GET /tasks/search"),
+    GET_PROJECT("GET /projects/{id}"),
+    LIST_PROJECTS("GET /projects"),
+    PROJECT_DASHBOARD("GET /projects/{id}/dashboard");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
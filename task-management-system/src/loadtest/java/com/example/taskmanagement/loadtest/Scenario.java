@@ -0,0 +1,83 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mixes of operations, as relative weights. In the lifecycle mix each project receives about
+ * seven tasks, and each task is assigned and moved through a few statuses, as a team would.
+ */
+public enum Scenario {
+    /**
+     * Create project, create tasks, assign them and change their status.
+     */
+    LIFECYCLE(Map.of(
+            Operation.CREATE_PROJECT, 5,
+            Operation.CREATE_TASK, 35,
+            Operation.ASSIGN_TASK, 25,
+            Operation.UPDATE_STATUS, 35)),
+    /**
+     * Listing, search and dashboard traffic.
+     */
+    BROWSE(Map.of(
+            Operation.LIST_TASKS, 35,
+            Operation.SEARCH_TASKS, 25,
+            Operation.GET_PROJECT, 20,
+            Operation.LIST_PROJECTS, 10,
+            Operation.PROJECT_DASHBOARD, 10)),
+    /**
+     * Mostly reads, with the lifecycle writes alongside.
+     */
+    MIXED(Map.of(
+            Operation.CREATE_PROJECT, 2,
+            Operation.CREATE_TASK, 12,
+            Operation.ASSIGN_TASK, 8,
+            Operation.UPDATE_STATUS, 13,
+            Operation.LIST_TASKS, 25,
+            Operation.SEARCH_TASKS, 15,
+            Operation.GET_PROJECT, 12,
+            Operation.LIST_PROJECTS, 8,
+            Operation.PROJECT_DASHBOARD, 5));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Scenario(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = ordered.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * @param random Source of randomness
+     * @return An operation drawn according to the weights
+     */
+    public Operation pick(RandomGenerator random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weights exhausted");
+    }
+
+    /**
+     * @param name Scenario name, in any case
+     * @return The scenario
+     */
+    public static Scenario from(String name) {
+        try {
+            return valueOf(name.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown loadtest.scenario: " + name, ex);
+        }
+    }
+}
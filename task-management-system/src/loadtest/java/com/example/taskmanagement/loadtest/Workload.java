@@ -0,0 +1,171 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends the requests of each operation against the data created so far: tasks go into
+ * projects created earlier, assignments and status changes pick tasks created earlier, and
+ * searches use words of the task titles.
+ */
+public class Workload {
+
+    private static final String[] WORDS = {
+        "invoice", "login", "report", "deploy", "refactor", "billing", "search", "export", "mobile", "onboarding",
+        "payment", "cache", "migration", "dashboard", "audit", "upload", "notification", "schema", "backup", "review"
+    };
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "REVIEW", "DONE"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+
+    private static final int SEED_USERS = 20;
+    private static final int SEED_PROJECTS = 20;
+    private static final int SEED_TASKS_PER_PROJECT = 10;
+
+    private final ApiClient client;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final IdPool users = new IdPool(SEED_USERS);
+    private final IdPool projects = new IdPool(10_000);
+    private final IdPool tasks = new IdPool(100_000);
+
+    public Workload(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Create the users, projects and tasks the operations start from.
+     *
+     * @throws IOException If the data cannot be created
+     */
+    public void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < SEED_USERS; i++) {
+            String username = "lt-" + runId + "-" + i;
+            Map<String, Object> user = Map.of(
+                    "username", username,
+                    "email", username + "@example.com",
+                    "fullName", "Load Test " + i,
+                    "password", "Load#Test" + i);
+            users.add(require(client.send("POST", "/api/users", user), "create user").path("id").asLong());
+        }
+        for (int i = 0; i < SEED_PROJECTS; i++) {
+            long projectId = createProject();
+            for (int j = 0; j < SEED_TASKS_PER_PROJECT; j++) {
+                createTask(projectId);
+            }
+        }
+    }
+
+    /**
+     * Send the request of an operation.
+     *
+     * @param operation The operation
+     * @return The response status
+     * @throws IOException If the request fails without a response
+     */
+    public int execute(Operation operation) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case CREATE_PROJECT -> statusOf(() -> createProject());
+            case CREATE_TASK -> statusOf(() -> createTask(projects.random()));
+            case ASSIGN_TASK -> client.send("POST",
+                    "/tasks/" + tasks.random() + "/assign/" + users.random(), null).status();
+            case UPDATE_STATUS -> client.send("PATCH",
+                    "/tasks/" + tasks.random() + "/status?status=" + STATUSES[random.nextInt(STATUSES.length)], null)
+                    .status();
+            case LIST_TASKS -> client.send("GET", "/tasks?size=50", null).status();
+            case SEARCH_TASKS -> client.send("GET",
+                    "/tasks/search?q=" + WORDS[random.nextInt(WORDS.length)] + "&size=20", null).status();
+            case GET_PROJECT -> client.send("GET", "/projects/" + projects.random(), null).status();
+            case LIST_PROJECTS -> client.send("GET", "/projects?size=20", null).status();
+            case PROJECT_DASHBOARD -> client.send("GET", "/projects/" + projects.random() + "/dashboard", null)
+                    .status();
+        };
+    }
+
+    private long createProject() throws IOException, InterruptedException {
+        Map<String, Object> project = Map.of("name", "Project " + runId + "-" + sequence.incrementAndGet());
+        long id = require(client.send("POST", "/projects", project), "create project").path("id").asLong();
+        projects.add(id);
+        return id;
+    }
+
+    private long createTask(long projectId) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> task = new HashMap<>();
+        task.put("title", "Task " + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+        task.put("description", "Created by load test " + runId);
+        task.put("priority", PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        task.put("projectId", projectId);
+        long id = require(client.send("POST", "/tasks", task), "create task").path("id").asLong();
+        tasks.add(id);
+        return id;
+    }
+
+    private static JsonNode require(ApiClient.Response response, String action) throws IOException {
+        if (!response.isSuccess()) {
+            throw new RequestFailedException(action + " failed with status " + response.status(), response.status());
+        }
+        return response.body();
+    }
+
+    private static int statusOf(Creation creation) throws IOException, InterruptedException {
+        try {
+            creation.create();
+            return 200;
+        } catch (RequestFailedException ex) {
+            return ex.status;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Creation {
+        long create() throws IOException, InterruptedException;
+    }
+
+    private static final class RequestFailedException extends IOException {
+
+        private final int status;
+
+        RequestFailedException(String message, int status) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Most recently created IDs, kept in a ring so memory stays bounded on long runs.
+     */
+    private static final class IdPool {
+
+        private final AtomicLongArray ids;
+        private final AtomicLong added = new AtomicLong();
+
+        IdPool(int capacity) {
+            ids = new AtomicLongArray(capacity);
+        }
+
+        /**
+         * Writers are serialized and publish the ID before counting it, so readers never see an empty slot.
+         */
+        synchronized void add(long id) {
+            long index = added.get();
+            ids.set((int) (index % ids.length()), id);
+            added.set(index + 1);
+        }
+
+        long random() {
+            long size = Math.min(added.get(), ids.length());
+            if (size == 0) {
+                throw new IllegalStateException("No IDs created yet");
+            }
+            return ids.get(ThreadLocalRandom.current().nextInt((int) size));
+        }
+    }
+}
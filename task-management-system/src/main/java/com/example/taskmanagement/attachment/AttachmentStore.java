@@ -0,0 +1,322 @@
+package com.example.taskmanagement.attachment;
+
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.exception.PayloadTooLargeException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store on the local disk. A file is stored under its SHA-256
+ * ({@code ab/cd/abcd...}), so identical uploads share one file however many tasks they are
+ * attached to. Uploads are streamed through a fixed buffer into a temporary file and hashed
+ * on the way, then moved into place; the content is never held in memory.
+ * Resumable uploads are assembled in a sparse session file from positional chunk writes
+ * and join the store the same way once complete.
+ */
+@Component
+@Log4j2
+public class AttachmentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_DIRECTORY = "tmp";
+    private static final String SESSION_DIRECTORY = "sessions";
+    private static final String SESSION_SUFFIX = ".part";
+
+    private final Path root;
+    private final Path tempDirectory;
+    private final Path sessionDirectory;
+
+    public AttachmentStore(AttachmentProperties properties) {
+        this.root = properties.getDirectory().toAbsolutePath().normalize();
+        this.tempDirectory = root.resolve(TEMP_DIRECTORY);
+        this.sessionDirectory = root.resolve(SESSION_DIRECTORY);
+    }
+
+    /**
+     * Stream content into the store.
+     *
+     * @param content The content, read to the end but not closed
+     * @param maxSize Largest accepted size in bytes
+     * @return The stored file
+     * @throws PayloadTooLargeException if the content exceeds maxSize
+     */
+    public StoredFile store(InputStream content, long maxSize) {
+        Path temp = null;
+        try {
+            Files.createDirectories(tempDirectory);
+            temp = tempDirectory.resolve("upload-" + UUID.randomUUID());
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new PayloadTooLargeException("File exceeds the maximum size of " + maxSize + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String key = keyOf(sha256);
+            publish(temp, root.resolve(key));
+            temp = null;
+            return new StoredFile(key, sha256, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Storing attachment failed", ex);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Resolve a stored file.
+     *
+     * @param key The key returned by {@link #store}
+     * @return Absolute path of the file
+     */
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.startsWith(tempDirectory) || path.startsWith(sessionDirectory)) {
+            throw new IllegalArgumentException("Invalid attachment key: " + key);
+        }
+        return path;
+    }
+
+    /**
+     * Remove stored files and abandoned temporary files that were last touched before a cutoff
+     * and are no longer referenced.
+     *
+     * @param cutoff Files modified after this are kept
+     * @param referenced Tells whether a key is still referenced
+     * @return Number of files removed
+     */
+    public int removeUnreferenced(Instant cutoff, Predicate<String> referenced) {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(root)) {
+            candidates = files.filter(Files::isRegularFile)
+                    .filter(file -> !file.startsWith(sessionDirectory))
+                    .filter(file -> isOlderThan(file, cutoff))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Listing attachments failed", ex);
+        }
+        int removed = 0;
+        for (Path file : candidates) {
+            boolean temporary = file.startsWith(tempDirectory);
+            String key = root.relativize(file).toString().replace('\\', '/');
+            // Re-check the time last: a deduplicated upload touches the file before recording it
+            if ((temporary || !referenced.test(key)) && isOlderThan(file, cutoff)) {
+                deleteQuietly(file);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Create the empty, sparse file a resumable upload is assembled in.
+     *
+     * @param sessionId The upload session ID
+     */
+    public void createSessionFile(String sessionId) {
+        try {
+            Files.createDirectories(sessionDirectory);
+            FileChannel.open(sessionFile(sessionId), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                    StandardOpenOption.SPARSE).close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Creating upload session file failed", ex);
+        }
+    }
+
+    /**
+     * Write one chunk of a resumable upload at its offset. Chunks of the same session may be
+     * written concurrently; each covers its own region of the file.
+     *
+     * @param sessionId The upload session ID
+     * @param position Offset of the chunk in the file
+     * @param length Exact length of the chunk
+     * @param content The chunk content, read to the end but not closed
+     * @throws ValidationException if the content is not exactly length bytes
+     */
+    public void writeChunk(String sessionId, long position, long length, InputStream content) {
+        try (FileChannel out = FileChannel.open(sessionFile(sessionId), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long written = 0;
+            while (written < length) {
+                int read = content.read(buffer, 0, (int) Math.min(buffer.length, length - written));
+                if (read == -1) {
+                    throw new ValidationException("Chunk is shorter than the expected " + length + " bytes");
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    written += out.write(chunk, position + written);
+                }
+            }
+            if (content.read() != -1) {
+                throw new ValidationException("Chunk is longer than the expected " + length + " bytes");
+            }
+        } catch (NoSuchFileException ex) {
+            throw new ResourceNotFoundException("Upload session not found with id: " + sessionId);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Writing upload chunk failed", ex);
+        }
+    }
+
+    /**
+     * Move a completely received session file into the store.
+     *
+     * @param sessionId The upload session ID
+     * @return The stored file
+     */
+    public StoredFile storeSessionFile(String sessionId) {
+        Path file = sessionFile(sessionId);
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String key = keyOf(sha256);
+            publish(file, root.resolve(key));
+            return new StoredFile(key, sha256, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Storing uploaded file failed", ex);
+        }
+    }
+
+    /**
+     * @param sessionId The upload session ID
+     * @return True if the session file exists, i.e. it has not been moved into the store yet
+     */
+    public boolean hasSessionFile(String sessionId) {
+        return Files.isRegularFile(sessionFile(sessionId));
+    }
+
+    /**
+     * Delete the file of an abandoned upload session.
+     *
+     * @param sessionId The upload session ID
+     */
+    public void deleteSessionFile(String sessionId) {
+        deleteQuietly(sessionFile(sessionId));
+    }
+
+    /**
+     * Remove session files last written before a cutoff whose session no longer exists.
+     *
+     * @param cutoff Files modified after this are kept
+     * @param sessionExists Tells whether a session ID is still known
+     * @return Number of files removed
+     */
+    public int removeAbandonedSessionFiles(Instant cutoff, Predicate<String> sessionExists) {
+        if (!Files.isDirectory(sessionDirectory)) {
+            return 0;
+        }
+        List<Path> candidates;
+        try (Stream<Path> files = Files.list(sessionDirectory)) {
+            candidates = files.filter(file -> isOlderThan(file, cutoff)).toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Listing upload sessions failed", ex);
+        }
+        int removed = 0;
+        for (Path file : candidates) {
+            String name = file.getFileName().toString();
+            String sessionId = name.endsWith(SESSION_SUFFIX) ? name.substring(0, name.length() - SESSION_SUFFIX.length()) : name;
+            if (!sessionExists.test(sessionId)) {
+                deleteQuietly(file);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private Path sessionFile(String sessionId) {
+        // Session IDs are UUIDs generated by the server; anything else must not reach the file system
+        return sessionDirectory.resolve(UUID.fromString(sessionId) + SESSION_SUFFIX);
+    }
+
+    private void publish(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            // Same content is already stored; mark it as in use so the sweep keeps it
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            deleteQuietly(temp);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ex) {
+            // A concurrent upload of the same content won the race
+            deleteQuietly(temp);
+        }
+    }
+
+    private static String keyOf(String sha256) {
+        return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanagement.attachment;
+
+/**
+ * A file in the content-addressed store.
+ *
+ * @param key Path of the file relative to the store root, derived from its hash
+ * @param sha256 Hex-encoded SHA-256 of the content
+ * @param size Size in bytes
+ */
+public record StoredFile(String key, String sha256, long size) {
+}
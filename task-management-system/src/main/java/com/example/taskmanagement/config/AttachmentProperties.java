@@ -0,0 +1,85 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the task attachment store.
+ */
+@ConfigurationProperties(prefix = "attachments")
+@Getter
+@Setter
+public class AttachmentProperties {
+
+    /**
+     * Root of the content-addressed file store.
+     */
+    private Path directory = Path.of("data", "attachments");
+
+    /**
+     * Largest accepted upload.
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(100);
+
+    /**
+     * Uploads streamed at the same time; further uploads are rejected with 429.
+     */
+    private int maxConcurrentUploads = 8;
+
+    /**
+     * How often files no attachment refers to any more are removed.
+     */
+    private Duration sweepInterval = Duration.ofHours(1);
+
+    /**
+     * Unreferenced files younger than this are kept, so an upload that is still being
+     * recorded never loses its file.
+     */
+    private Duration orphanGracePeriod = Duration.ofHours(1);
+
+    /**
+     * Resumable, chunked uploads.
+     */
+    private Uploads uploads = new Uploads();
+
+    @Getter
+    @Setter
+    public static class Uploads {
+
+        /**
+         * Largest file accepted through an upload session.
+         */
+        private DataSize maxFileSize = DataSize.ofGigabytes(10);
+
+        /**
+         * Smallest chunk size a client may choose; keeps the number of chunk rows bounded.
+         */
+        private DataSize minChunkSize = DataSize.ofMegabytes(1);
+
+        /**
+         * Largest chunk size a client may choose.
+         */
+        private DataSize maxChunkSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Sessions without a chunk written for this long are discarded.
+         */
+        private Duration sessionTimeout = Duration.ofHours(24);
+
+        /**
+         * Sessions still being committed after this long are taken to have been interrupted,
+         * for example by a restart, and are reopened for another commit.
+         */
+        private Duration commitTimeout = Duration.ofMinutes(10);
+
+        /**
+         * How often stale sessions are discarded.
+         */
+        private Duration cleanupInterval = Duration.ofMinutes(15);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the project and tenant dashboards.
+ */
+@ConfigurationProperties(prefix = "dashboard")
+@Getter
+@Setter
+public class DashboardProperties {
+
+    /**
+     * Days covered by the created and completed series unless a request asks otherwise.
+     */
+    private int days = 14;
+
+    /**
+     * Longest series a request may ask for.
+     */
+    private int maxDays = 90;
+
+    /**
+     * Assignees listed, busiest first.
+     */
+    private int assigneeLimit = 20;
+
+    /**
+     * How long a project dashboard is served from memory before it is recomputed.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Most project dashboards kept in memory.
+     */
+    private long cacheSize = 1000;
+
+    /**
+     * How often the dashboard across all projects is recomputed.
+     */
+    private Duration rollupInterval = Duration.ofMinutes(1);
+}
@@ -1,5 +1,6 @@
 package com.example.taskmanagement.config;
 
+import com.example.taskmanagement.security.AuthenticatedUser;
 import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,13 +52,11 @@ public class DatabaseConfig {
     }
 
     /**
-     * Auditor aware implementation for entity auditing.
-     * This will be updated to use actual authenticated user when security is fully implemented.
+     * Auditor aware implementation for entity auditing: the username of the authenticated
+     * request, or "system" for work outside a request.
      */
     @Bean
     public AuditorAware<String> auditorProvider() {
-        // This is a placeholder. In a real application, this would return the current authenticated user
-        return () -> Optional.of("system");
+        return () -> Optional.of(AuthenticatedUser.current().map(AuthenticatedUser::username).orElse("system"));
     }
 }
-
@@ -0,0 +1,43 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the JWT access tokens.
+ */
+@ConfigurationProperties(prefix = "jwt")
+@Getter
+@Setter
+public class JwtProperties {
+
+    /**
+     * HMAC-SHA256 signing key; at least 32 bytes.
+     */
+    private String secret;
+
+    /**
+     * Lifetime of an issued token; a bare number is read as milliseconds.
+     */
+    private Duration expiration = Duration.ofHours(24);
+
+    private String issuer = "task-management-system";
+
+    private final TokenCache tokenCache = new TokenCache();
+
+    /**
+     * Tokens already verified, so repeat requests skip the signature check and claim parsing.
+     */
+    @Getter
+    @Setter
+    public static class TokenCache {
+
+        /**
+         * Most tokens kept; 0 verifies every request.
+         */
+        private long maximumSize = 10_000;
+    }
+}
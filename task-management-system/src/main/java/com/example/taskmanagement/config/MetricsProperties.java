@@ -0,0 +1,36 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the metrics endpoints.
+ */
+@ConfigurationProperties(prefix = "metrics")
+@Getter
+@Setter
+public class MetricsProperties {
+
+    private final Scrape scrape = new Scrape();
+
+    /**
+     * HTTP Basic credentials a Prometheus server scrapes /actuator/prometheus with; without
+     * them only administrators can read the endpoint.
+     */
+    @Getter
+    @Setter
+    public static class Scrape {
+
+        private String username;
+
+        /**
+         * Password with its encoding prefix, e.g. {bcrypt}$2a$10$...
+         */
+        private String password;
+
+        public boolean isConfigured() {
+            return username != null && !username.isBlank() && password != null && !password.isBlank();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the project event streams.
+ */
+@ConfigurationProperties(prefix = "project-events")
+@Getter
+@Setter
+public class ProjectEventsProperties {
+
+    /**
+     * Open streams per node; further subscribers are turned away with 429.
+     */
+    private int maxSubscribers = 20000;
+
+    /**
+     * Events kept per project for subscribers resuming with Last-Event-ID.
+     */
+    private int replaySize = 256;
+
+    /**
+     * Events queued per subscriber before it counts as too slow and is disconnected; at least
+     * the replay size.
+     */
+    private int subscriberBufferSize = 512;
+
+    /**
+     * Threads writing to the streams. A client that stops reading holds one until the socket
+     * write times out.
+     */
+    private int deliveryThreads = 16;
+
+    /**
+     * Idle streams get a comment line this often, so proxies keep them open and dead
+     * connections are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long the events of a project stay buffered after its last subscriber left, so
+     * clients can resume after a reconnect.
+     */
+    private Duration retention = Duration.ofMinutes(5);
+}
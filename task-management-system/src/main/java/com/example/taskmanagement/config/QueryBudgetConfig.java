@@ -0,0 +1,59 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.metrics.QueryBudgetFilter;
+import com.example.taskmanagement.metrics.QueryCountListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the SQL statements of each request: the data source is wrapped in a datasource-proxy
+ * reporting to {@link QueryCountListener}, and {@link QueryBudgetFilter} reports requests over
+ * the threshold. Tests use the same counts to enforce their statement budgets.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+@ConditionalOnProperty(prefix = "query-budget", name = "enabled", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    /**
+     * Wrap data sources in a counting proxy. Static, so the post-processor is created before
+     * the data source without initializing this configuration early.
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        QueryCountListener listener = new QueryCountListener();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .proxyResultSet()
+                        .methodListener(listener)
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Count every request, including the work of the security filters.
+     */
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties.getThreshold()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
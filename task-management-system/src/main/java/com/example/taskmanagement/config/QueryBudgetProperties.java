@@ -0,0 +1,24 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-request SQL statement counter.
+ */
+@ConfigurationProperties(prefix = "query-budget")
+@Getter
+@Setter
+public class QueryBudgetProperties {
+
+    /**
+     * Whether the data source is proxied to count statements; requests are not counted otherwise.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statements a request may execute before its counts are logged and sent as response headers.
+     */
+    private int threshold = 20;
+}
@@ -0,0 +1,92 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.datasource.ReadWriteRoutingDataSource;
+import com.example.taskmanagement.datasource.ReplicaHealthChecker;
+import com.example.taskmanagement.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Read/write split, enabled with {@code read-replicas.enabled=true}: the data source becomes a
+ * {@link ReadWriteRoutingDataSource} over the primary configured under spring.datasource and
+ * one pool per replica. Transactions marked {@code @Transactional(readOnly = true)} read from
+ * the replicas; everything else stays on the primary.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "read-replicas", name = "enabled", havingValue = "true")
+@Log4j2
+public class ReadReplicaConfig {
+
+    /**
+     * Replaces the data source Spring Boot would create. Pool metrics are bound here, as the
+     * pools start before Spring Boot would bind them.
+     */
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 ReadReplicaProperties properties, Environment environment,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (!StringUtils.hasText(primary.getPoolName())) {
+            primary.setPoolName("primary");
+        }
+        bindMetrics(primary, meterRegistry);
+
+        List<ReplicaPool> replicas = properties.getTargets().stream()
+                .map(target -> new ReplicaPool(target.getName(),
+                        replicaDataSource(target, dataSourceProperties, meterRegistry), target.getLagQuery()))
+                .toList();
+        log.info("Routing read-only transactions to {} replica(s): {}", replicas.size(),
+                replicas.stream().map(ReplicaPool::getName).toList());
+        return new ReadWriteRoutingDataSource(primary, replicas, properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(DataSource dataSource, ReadReplicaProperties properties)
+            throws SQLException {
+        // The data source may be wrapped in the query counting proxy
+        return new ReplicaHealthChecker(dataSource.unwrap(ReadWriteRoutingDataSource.class),
+                properties.getHealthCheckTimeout(), properties.getMaxLag());
+    }
+
+    private static HikariDataSource replicaDataSource(ReadReplicaProperties.Replica target,
+                                                      DataSourceProperties primary,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + target.getName());
+        dataSource.setJdbcUrl(target.getUrl());
+        dataSource.setUsername(target.getUsername() != null ? target.getUsername() : primary.determineUsername());
+        dataSource.setPassword(target.getPassword() != null ? target.getPassword() : primary.determinePassword());
+        dataSource.setMaximumPoolSize(target.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(target.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // Start even if the replica is down; the health check keeps reads away from it
+        dataSource.setInitializationFailTimeout(-1);
+        bindMetrics(dataSource, meterRegistry);
+        return dataSource;
+    }
+
+    private static void bindMetrics(HikariDataSource dataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas serving read-only transactions.
+ */
+@ConfigurationProperties(prefix = "read-replicas")
+@Getter
+@Setter
+public class ReadReplicaProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas; everything uses
+     * spring.datasource otherwise.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How often each replica is checked.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long a check may take before the replica counts as down.
+     */
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Replicas further behind the primary take no reads.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How long reads stay on the primary after the request wrote, for replicas without a lag
+     * query; with one, the measured lag is used.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(1);
+
+    private List<Replica> targets = new ArrayList<>();
+
+    /**
+     * Connection settings of a single replica, each with its own pool.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        /**
+         * Defaults to the username of spring.datasource.
+         */
+        private String username;
+
+        /**
+         * Defaults to the password of spring.datasource.
+         */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a read waits for a connection before the replica counts as down; keep it
+         * short, the read is retried on the primary.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Query returning the replication lag in seconds, NULL when replication has stopped;
+         * e.g. on a pt-heartbeat table. Without one the lag is not measured.
+         */
+        private String lagQuery;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the in-process full-text search index.
+ */
+@ConfigurationProperties(prefix = "search")
+@Getter
+@Setter
+public class SearchProperties {
+
+    /**
+     * Rows read per query while building or catching up the index.
+     */
+    private int rebuildPageSize = 1000;
+
+    private final Snapshot snapshot = new Snapshot();
+
+    /**
+     * On-disk snapshot of the index, read on startup instead of reindexing every row.
+     */
+    @Getter
+    @Setter
+    public static class Snapshot {
+
+        private boolean enabled = true;
+
+        /**
+         * Directory holding one snapshot file per index.
+         */
+        private Path directory = Path.of("data", "search");
+
+        /**
+         * How often a changed index is written back to disk.
+         */
+        private Duration interval = Duration.ofMinutes(10);
+
+        /**
+         * Rows modified this long before the newest snapshot entry are reindexed on startup,
+         * covering clock skew between application instances.
+         */
+        private Duration catchUpMargin = Duration.ofMinutes(1);
+    }
+}
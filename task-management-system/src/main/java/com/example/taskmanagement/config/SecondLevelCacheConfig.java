@@ -0,0 +1,84 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache configuration.
+ * Regions are Caffeine caches created through JCache from {@link SecondLevelCacheProperties},
+ * so their size, TTL and statistics are set in application.yml.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+@Log4j2
+public class SecondLevelCacheConfig {
+
+    /**
+     * Cache manager holding every second-level cache region.
+     * Each application context gets its own manager, so contexts never share cached entities.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> entry : properties.getRegions().entrySet()) {
+            SecondLevelCacheProperties.Region region = entry.getValue();
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            if (region.getTimeToLive() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+            }
+            configuration.setStatisticsEnabled(region.isStatistics());
+            // Hibernate already stores disassembled entries; copying them again on every access is wasted work
+            configuration.setStoreByValue(false);
+            cacheManager.createCache(entry.getKey(), configuration);
+            log.info("Created second-level cache region '{}' (max {}, ttl {})",
+                    entry.getKey(), region.getMaximumSize(), region.getTimeToLive());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Point Hibernate at the cache manager above.
+     * Regions missing from the configuration fail startup instead of being created unbounded.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Export hit, miss, put and eviction counts of every region with statistics enabled.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager,
+                                               SecondLevelCacheProperties properties) {
+        return registry -> properties.getRegions().forEach((name, region) -> {
+            if (region.isStatistics()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), "cache.manager", "hibernate");
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache regions, keyed by region name.
+ * Every region used by an entity, collection or cached query must be listed here.
+ */
+@ConfigurationProperties(prefix = "second-level-cache")
+@Getter
+@Setter
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Settings of a single cache region.
+     */
+    @Getter
+    @Setter
+    public static class Region {
+
+        /**
+         * Maximum number of entries before the least useful ones are evicted.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which an entry expires once written; no expiry when unset.
+         */
+        private Duration timeToLive;
+
+        /**
+         * Record hit/miss statistics and export them to Micrometer.
+         */
+        private boolean statistics = true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanagement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the task history settings.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskHistoryProperties.class)
+public class TaskHistoryConfig {
+}
@@ -0,0 +1,31 @@
+package com.example.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the write-behind task history pipeline.
+ */
+@ConfigurationProperties(prefix = "task-history")
+@Getter
+@Setter
+public class TaskHistoryProperties {
+
+    /**
+     * Changes held in memory before committing threads write their own changes.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Rows per batch insert.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer waits for a batch to fill before writing a partial one.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+}
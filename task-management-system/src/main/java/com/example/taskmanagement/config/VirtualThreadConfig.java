@@ -0,0 +1,65 @@
+package com.example.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode, enabled with {@code spring.threads.virtual.enabled=true}.
+ * Tomcat requests and {@code @Async} methods each run on their own virtual thread, so a
+ * request blocked on JDBC no longer holds a platform thread. Database concurrency is then
+ * bounded by the Hikari pool alone: requests beyond the pool size wait for a connection
+ * for at most {@code spring.datasource.hikari.connection-timeout}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Log4j2
+public class VirtualThreadConfig {
+
+    /**
+     * Replace the Tomcat worker pool with a virtual thread per request.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Executor for {@code @Async} methods, replacing the bounded pool Spring Boot configures.
+     * Registered under both names Spring looks up, so it also wins over the scheduler.
+     */
+    @Bean(name = {
+        TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+        AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logMode(ApplicationReadyEvent event) {
+        // The data source may be wrapped in the query counting proxy
+        ObjectProvider<DataSource> dataSource = event.getApplicationContext().getBeanProvider(DataSource.class);
+        dataSource.ifAvailable(candidate -> {
+            HikariDataSource hikari = DataSourceUnwrapper.unwrap(candidate, HikariDataSource.class);
+            if (hikari != null) {
+                log.info("Virtual threads enabled; database concurrency limited by the Hikari pool ({} connections, {} ms timeout)",
+                        hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.dto.AttachmentResponseDTO;
+import com.example.taskmanagement.exception.PayloadTooLargeException;
+import com.example.taskmanagement.model.TaskAttachment;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.AttachmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/tasks/{taskId}/attachments")
+@RequiredArgsConstructor
+@Tag(name = "Attachments", description = "Task attachment endpoints")
+public class AttachmentController {
+    private final AttachmentService attachmentService;
+    private final AttachmentProperties attachmentProperties;
+
+    @GetMapping
+    @Operation(summary = "Get task attachments")
+    public List<AttachmentResponseDTO> getAttachments(@PathVariable Long taskId) {
+        return attachmentService.listAttachments(taskId).stream().map(this::toResponseDTO).toList();
+    }
+
+    @PostMapping
+    @Operation(summary = "Attach a file to a task",
+            description = "The request body is the raw file content, streamed to disk; the Content-Type header is stored as the file type. Uploaded as the authenticated user")
+    public ResponseEntity<AttachmentResponseDTO> upload(
+            @PathVariable Long taskId,
+            @RequestParam String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream content) {
+        if (contentLength != null && contentLength > attachmentProperties.getMaxFileSize().toBytes()) {
+            // Rejected before a single byte is read
+            throw new PayloadTooLargeException("File exceeds the maximum size of "
+                    + attachmentProperties.getMaxFileSize().toBytes() + " bytes");
+        }
+        TaskAttachment attachment = attachmentService.upload(taskId, AuthenticatedUser.require().id(), fileName,
+                contentType, content);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(attachment));
+    }
+
+    @GetMapping("/{attachmentId}")
+    @Operation(summary = "Download an attachment", description = "Supports HTTP Range requests")
+    public ResponseEntity<Resource> download(@PathVariable Long taskId, @PathVariable Long attachmentId) {
+        TaskAttachment attachment = attachmentService.getAttachment(taskId, attachmentId);
+        // Spring serves Range requests for a Resource body as 206 regions read straight from the file
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(attachment.getFileType()))
+                .eTag(attachment.getSha256())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(attachment.getFileName()).build().toString())
+                .body(new FileSystemResource(attachmentService.contentOf(attachment)));
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    @Operation(summary = "Delete an attachment")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long taskId, @PathVariable Long attachmentId) {
+        attachmentService.deleteAttachment(taskId, attachmentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // --- DTO Mapping ---
+    private AttachmentResponseDTO toResponseDTO(TaskAttachment attachment) {
+        return AttachmentResponseDTO.builder()
+                .id(attachment.getId())
+                .taskId(attachment.getTask().getId())
+                .fileName(attachment.getFileName())
+                .fileSize(attachment.getFileSize())
+                .fileType(attachment.getFileType())
+                .sha256(attachment.getSha256())
+                .uploadedBy(attachment.getUploadedBy().getId())
+                .uploadedAt(attachment.getUploadedAt())
+                .build();
+    }
+}
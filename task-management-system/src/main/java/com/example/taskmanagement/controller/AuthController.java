@@ -0,0 +1,34 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.LoginRequest;
+import com.example.taskmanagement.dto.TokenResponse;
+import com.example.taskmanagement.service.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Access token endpoints")
+public class AuthController {
+    private final AuthService authService;
+
+    @PostMapping("/login")
+    @Operation(summary = "Log in", description = "Issues an access token to send as 'Authorization: Bearer <token>'")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token issued"),
+        @ApiResponse(responseCode = "401", description = "Invalid username or password")
+    })
+    public ResponseEntity<TokenResponse> login(@RequestBody @Valid LoginRequest request) {
+        return ResponseEntity.ok(authService.login(request.getUsername(), request.getPassword()));
+    }
+}
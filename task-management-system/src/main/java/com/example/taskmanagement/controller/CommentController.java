@@ -0,0 +1,84 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.CommentRequestDTO;
+import com.example.taskmanagement.dto.CommentResponseDTO;
+import com.example.taskmanagement.dto.KeysetCursor;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.CommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tasks/{taskId}/comments")
+@RequiredArgsConstructor
+@Tag(name = "Comments", description = "Task comment endpoints")
+public class CommentController {
+
+    /**
+     * Response header carrying the total number of comments of the task.
+     */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private final CommentService commentService;
+
+    @GetMapping
+    @Operation(summary = "Get task comments",
+            description = "Oldest first, keyset-paginated by ID; follow the X-Next-Cursor response header to read the next page")
+    public ResponseEntity<List<CommentResponseDTO>> getComments(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        Slice<Comment> slice = commentService.listComments(taskId, KeysetCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(commentService.countComments(taskId)));
+        String nextCursor = KeysetCursor.nextCursor(slice, Comment::getId);
+        if (nextCursor != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(slice.map(this::toResponseDTO).getContent());
+    }
+
+    @PostMapping
+    @Operation(summary = "Comment on a task", description = "Posted as the authenticated user")
+    public ResponseEntity<CommentResponseDTO> addComment(@PathVariable Long taskId,
+                                                         @RequestBody @Valid CommentRequestDTO dto) {
+        Comment comment = commentService.addComment(taskId, AuthenticatedUser.require().id(), dto.getContent());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(comment));
+    }
+
+    @PutMapping("/{commentId}")
+    @Operation(summary = "Edit a comment", description = "Only by its author or an administrator")
+    public ResponseEntity<CommentResponseDTO> updateComment(@PathVariable Long taskId, @PathVariable Long commentId,
+                                                            @RequestBody @Valid CommentRequestDTO dto) {
+        return ResponseEntity.ok(toResponseDTO(commentService.updateComment(taskId, commentId, dto.getContent())));
+    }
+
+    @DeleteMapping("/{commentId}")
+    @Operation(summary = "Delete a comment", description = "Only by its author or an administrator")
+    public ResponseEntity<Void> deleteComment(@PathVariable Long taskId, @PathVariable Long commentId) {
+        commentService.deleteComment(taskId, commentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // --- DTO Mapping ---
+    private CommentResponseDTO toResponseDTO(Comment comment) {
+        // IDs of the lazy task and author proxies are read without loading them
+        return CommentResponseDTO.builder()
+                .id(comment.getId())
+                .taskId(comment.getTask().getId())
+                .authorId(comment.getAuthor().getId())
+                .content(comment.getContent())
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .build();
+    }
+}
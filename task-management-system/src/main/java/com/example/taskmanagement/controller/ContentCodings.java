@@ -0,0 +1,58 @@
+package com.example.taskmanagement.controller;
+
+import java.util.Locale;
+
+/**
+ * Content negotiation on Accept-Encoding. Only the coding itself and its quality value are
+ * looked at; a coding named explicitly takes precedence over "*".
+ */
+final class ContentCodings {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY = "*";
+
+    private ContentCodings() {
+    }
+
+    /**
+     * @param acceptEncoding The Accept-Encoding header value, or null
+     * @return True if the client accepts gzip with a quality value above zero
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (coding.equals(GZIP) || coding.equals(X_GZIP)) {
+                gzip = Math.max(gzip, quality(parts));
+            } else if (coding.equals(ANY)) {
+                any = quality(parts);
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * @return The q parameter of a coding, 1 when absent, or 0 when it is not a valid number
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].strip();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                    && parameter.charAt(1) == '=') {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).strip());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.DashboardDTO;
+import com.example.taskmanagement.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "Task statistics endpoints")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping("/projects/{id}/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or @projectSecurity.canViewProject(#id)")
+    @Operation(summary = "Get the dashboard of a project",
+            description = "Tasks by status and priority, overdue tasks, tasks created and completed per day over the "
+                    + "last days and open tasks per assignee; cached for a few seconds")
+    public DashboardDTO getProjectDashboard(@PathVariable Long id, @RequestParam(required = false) Integer days) {
+        return dashboardService.getProjectDashboard(id, days);
+    }
+
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get the dashboard across all projects",
+            description = "The same statistics over all projects, recomputed periodically")
+    public DashboardDTO getDashboard() {
+        return dashboardService.getDashboard();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.exception.PreconditionFailedException;
+
+import java.util.Collection;
+
+/**
+ * Strong entity tags derived from row versions. A tag is computed from the version alone, so a
+ * conditional request can be decided by a version-only query before the entity is loaded.
+ */
+final class EntityTags {
+
+    private static final String ANY = "*";
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param version The row version
+     * @return The quoted entity tag
+     */
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tag of a representation that also lists related IDs whose changes do not touch the version.
+     *
+     * @param version The row version
+     * @param related Related ID sets included in the representation
+     * @return The quoted entity tag
+     */
+    @SafeVarargs
+    static String of(long version, Collection<Long>... related) {
+        int hash = 1;
+        for (Collection<Long> ids : related) {
+            hash = 31 * hash + ids.stream().sorted().toList().hashCode();
+        }
+        return "\"" + version + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Read the version from an If-Match header naming exactly one plain version tag.
+     *
+     * @param ifMatch The If-Match header value, or null
+     * @return The version, or null for no header, "*", several tags or a tag of another form
+     */
+    static Long versionOf(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        String version = tag.substring(1, tag.length() - 1);
+        for (int i = 0; i < version.length(); i++) {
+            if (!Character.isDigit(version.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Check the If-Match header of an update against the current tag, using strong comparison.
+     *
+     * @param ifMatch The If-Match header value
+     * @param currentTag The tag of the current representation
+     * @throws PreconditionFailedException if no listed tag matches
+     */
+    static void checkIfMatch(String ifMatch, String currentTag) {
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.strip();
+            if (candidate.equals(ANY) || candidate.equals(currentTag)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch.strip()
+                + " does not match the current entity tag " + currentTag);
+    }
+}
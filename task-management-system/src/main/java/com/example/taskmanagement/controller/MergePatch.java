@@ -0,0 +1,79 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396) onto request DTOs. Members of the patch replace the matching
+ * properties, null members clear them, and absent members are left alone.
+ */
+final class MergePatch {
+
+    static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private MergePatch() {
+    }
+
+    /**
+     * Apply a merge patch to a DTO holding the current values, and validate the patched properties.
+     * Properties the patch does not touch are not validated, so e.g. a due date that has
+     * passed in the meantime does not block an unrelated change.
+     *
+     * @param objectMapper The mapper to read values with
+     * @param validator Validator of the DTO constraints
+     * @param patch The merge patch document
+     * @param target The DTO to patch
+     * @return The patched target
+     * @throws ValidationException if the patch is not an object or a patched value is invalid
+     */
+    static <T> T apply(ObjectMapper objectMapper, Validator validator, JsonNode patch, T target) {
+        if (patch == null || !patch.isObject()) {
+            throw new ValidationException("A merge patch must be a JSON object");
+        }
+        try {
+            objectMapper.readerForUpdating(target).readValue(patch);
+        } catch (JsonProcessingException ex) {
+            throw new ValidationException("Invalid merge patch: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            try {
+                for (ConstraintViolation<T> violation : validator.validateProperty(target, name)) {
+                    errors.putIfAbsent(name, violation.getMessage());
+                }
+            } catch (IllegalArgumentException ex) {
+                // Not a property of the DTO; ignored like unknown members of any request body
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Validation failed", errors);
+        }
+        return target;
+    }
+
+    /**
+     * @param value The patched value
+     * @param name The property name
+     * @return The value
+     * @throws ValidationException if the patch cleared a property that cannot be empty
+     */
+    static <V> V required(V value, String name) {
+        if (value == null) {
+            throw new ValidationException("Validation failed", Map.of(name, "must not be null"));
+        }
+        return value;
+    }
+}
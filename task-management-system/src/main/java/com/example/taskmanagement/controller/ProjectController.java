@@ -1,15 +1,28 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.events.ProjectEventStream;
+import com.example.taskmanagement.exception.ValidationException;
 import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.security.AuthenticatedUser;
 import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.dto.KeysetCursor;
 import com.example.taskmanagement.dto.ProjectRequestDTO;
 import com.example.taskmanagement.dto.ProjectResponseDTO;
-import com.example.taskmanagement.model.User;
-import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.dto.ProjectStatsDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 
@@ -21,37 +34,118 @@ import java.util.List;
 @Tag(name = "Projects", description = "Project management endpoints")
 public class ProjectController {
     private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProjectEventStream projectEventStream;
 
     @GetMapping
-    @Operation(summary = "Get all projects")
-    public List<ProjectResponseDTO> getAllProjects() {
-        return projectService.listProjects().stream().map(this::toResponseDTO).toList();
+    @Operation(summary = "Get all projects",
+            description = "Keyset-paginated by ID; follow the X-Next-Cursor response header to read the next page")
+    public ResponseEntity<List<ProjectResponseDTO>> getAllProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        Slice<Project> slice = projectService.listProjects(KeysetCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String nextCursor = KeysetCursor.nextCursor(slice, Project::getId);
+        if (nextCursor != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(toResponseDTOs(slice.getContent()));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search projects", description = "Full-text search over project names, ranked by relevance")
+    public Page<ProjectResponseDTO> searchProjects(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<Project> projects = projectService.searchProjects(q, page, size);
+        return new PageImpl<>(toResponseDTOs(projects.getContent()), projects.getPageable(), projects.getTotalElements());
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get project by ID")
-    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable Long id) {
-        return ResponseEntity.ok(toResponseDTO(projectService.getProjectById(id)));
+    @Operation(summary = "Get project by ID",
+            description = "Sends an ETag; a matching If-None-Match is answered with 304 without loading the project")
+    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable Long id, WebRequest request) {
+        ProjectService.ProjectAssociations associations = null;
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            long version = projectService.getProjectVersion(id);
+            associations = projectService.loadAssociations(List.of(id));
+            if (request.checkNotModified(tagOf(id, version, associations))) {
+                return null;
+            }
+        }
+        Project project = projectService.getProjectById(id);
+        if (associations == null) {
+            associations = projectService.loadAssociations(List.of(id));
+        }
+        return ResponseEntity.ok()
+                .eTag(tagOf(id, project.getVersion(), associations))
+                .body(toResponseDTO(project, associations));
+    }
+
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get task counts of a project", description = "Number of tasks per status, read from memory")
+    public ProjectStatsDTO getProjectStats(@PathVariable Long id) {
+        return projectService.getProjectStats(id);
+    }
+
+    @GetMapping("/{id}/events")
+    @PreAuthorize("hasRole('ADMIN') or @projectSecurity.canViewProject(#id)")
+    @Operation(summary = "Stream the changes of a project",
+            description = "Server-Sent Events of task and project changes, named after their type, instead of "
+                    + "polling the project's tasks. A reconnecting client sends Last-Event-ID to receive the events "
+                    + "it missed, or a RESYNC event when they are no longer available")
+    public SseEmitter streamEvents(@PathVariable Long id,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return projectEventStream.subscribe(id, lastEventId);
     }
 
     @GetMapping("/owner/{ownerId}")
     @Operation(summary = "Get projects by owner ID")
     public List<ProjectResponseDTO> getProjectsByOwner(@PathVariable Long ownerId) {
-        return projectService.listProjectsByOwner(ownerId).stream().map(this::toResponseDTO).toList();
+        return toResponseDTOs(projectService.listProjectsByOwner(ownerId));
     }
 
     @PostMapping
-    @Operation(summary = "Create a new project")
+    @Operation(summary = "Create a new project", description = "Owned by the authenticated user")
     public ResponseEntity<ProjectResponseDTO> createProject(@RequestBody @Valid ProjectRequestDTO dto) {
         Project project = fromRequestDTO(dto);
-        return ResponseEntity.ok(toResponseDTO(projectService.createProject(project)));
+        Long ownerId = AuthenticatedUser.current().map(AuthenticatedUser::id).orElse(null);
+        return ResponseEntity.ok(toResponseDTO(projectService.createProject(project, ownerId, dto.getMemberIds())));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a project")
-    public ResponseEntity<ProjectResponseDTO> updateProject(@PathVariable Long id, @RequestBody @Valid ProjectRequestDTO dto) {
+    @Operation(summary = "Update a project", description = "With If-Match, fails with 412 if the project has changed since")
+    public ResponseEntity<ProjectResponseDTO> updateProject(
+            @PathVariable Long id,
+            @RequestBody @Valid ProjectRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Project updated = fromRequestDTO(dto);
-        return ResponseEntity.ok(toResponseDTO(projectService.updateProject(id, updated)));
+        Project saved = projectService.updateProject(id, updated, expectedVersion(id, ifMatch));
+        ProjectService.ProjectAssociations associations = projectService.loadAssociations(List.of(id));
+        return ResponseEntity.ok()
+                .eTag(tagOf(id, saved.getVersion(), associations))
+                .body(toResponseDTO(saved, associations));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    @Operation(summary = "Partially update a project",
+            description = "JSON Merge Patch: only the fields sent are changed, null clears a field. "
+                    + "With If-Match, fails with 412 if the project has changed since")
+    public ResponseEntity<ProjectResponseDTO> patchProject(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Project saved = projectService.patchProject(id, expectedVersion(id, ifMatch), current -> {
+            ProjectRequestDTO merged = MergePatch.apply(objectMapper, validator, patch, toRequestDTO(current));
+            MergePatch.required(merged.getStatus(), "status");
+            return fromRequestDTO(merged);
+        });
+        ProjectService.ProjectAssociations associations = projectService.loadAssociations(List.of(id));
+        return ResponseEntity.ok()
+                .eTag(tagOf(id, saved.getVersion(), associations))
+                .body(toResponseDTO(saved, associations));
     }
 
     @DeleteMapping("/{id}")
@@ -85,8 +179,41 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.removeTask(projectId, taskId));
     }
 
+    /**
+     * Resolve If-Match to the version the update must apply to; null when the update is unconditional.
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        long version = projectService.getProjectVersion(id);
+        EntityTags.checkIfMatch(ifMatch, tagOf(id, version, projectService.loadAssociations(List.of(id))));
+        return version;
+    }
+
+    /**
+     * Members and tasks are part of the representation, but a task joining the project does not
+     * change the project row.
+     */
+    private static String tagOf(Long id, long version, ProjectService.ProjectAssociations associations) {
+        return EntityTags.of(version, associations.memberIdsOf(id), associations.taskIdsOf(id));
+    }
+
     // --- DTO Mapping ---
     private ProjectResponseDTO toResponseDTO(Project project) {
+        return toResponseDTO(project, projectService.loadAssociations(List.of(project.getId())));
+    }
+
+    private List<ProjectResponseDTO> toResponseDTOs(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+        ProjectService.ProjectAssociations associations =
+                projectService.loadAssociations(projects.stream().map(Project::getId).toList());
+        return projects.stream().map(project -> toResponseDTO(project, associations)).toList();
+    }
+
+    ProjectResponseDTO toResponseDTO(Project project, ProjectService.ProjectAssociations associations) {
         ProjectResponseDTO dto = new ProjectResponseDTO();
         dto.setId(project.getId());
         dto.setName(project.getName());
@@ -94,9 +221,20 @@ public class ProjectController {
         dto.setStartDate(project.getStartDate());
         dto.setEndDate(project.getEndDate());
         dto.setStatus(project.getStatus() != null ? project.getStatus().name() : null);
+        // Reading the ID of the lazy owner proxy does not initialize it
         dto.setOwnerId(project.getOwner() != null ? project.getOwner().getId() : null);
-        dto.setMemberIds(project.getMembers().stream().map(User::getId).collect(java.util.stream.Collectors.toSet()));
-        dto.setTaskIds(project.getTasks().stream().map(Task::getId).collect(java.util.stream.Collectors.toSet()));
+        dto.setMemberIds(associations.memberIdsOf(project.getId()));
+        dto.setTaskIds(associations.taskIdsOf(project.getId()));
+        return dto;
+    }
+
+    private ProjectRequestDTO toRequestDTO(Project project) {
+        ProjectRequestDTO dto = new ProjectRequestDTO();
+        dto.setName(project.getName());
+        dto.setDescription(project.getDescription());
+        dto.setStartDate(project.getStartDate());
+        dto.setEndDate(project.getEndDate());
+        dto.setStatus(project.getStatus() != null ? project.getStatus().name() : null);
         return dto;
     }
 
@@ -107,7 +245,11 @@ public class ProjectController {
         project.setStartDate(dto.getStartDate());
         project.setEndDate(dto.getEndDate());
         if (dto.getStatus() != null) {
-            project.setStatus(Project.ProjectStatus.valueOf(dto.getStatus()));
+            try {
+                project.setStatus(Project.ProjectStatus.valueOf(dto.getStatus()));
+            } catch (IllegalArgumentException ex) {
+                throw new ValidationException("Unknown project status: " + dto.getStatus());
+            }
         }
         // Note: owner and members should be set in the service layer as needed
         return project;
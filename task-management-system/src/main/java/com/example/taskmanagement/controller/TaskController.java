@@ -1,19 +1,40 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.exception.ValidationException;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskHistory;
+import com.example.taskmanagement.service.TaskBulkService;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
+import com.example.taskmanagement.dto.BulkTaskResponseDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateRequestDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateResponseDTO;
+import com.example.taskmanagement.dto.KeysetCursor;
+import com.example.taskmanagement.dto.TaskHistoryDTO;
 import com.example.taskmanagement.dto.TaskRequestDTO;
 import com.example.taskmanagement.dto.TaskResponseDTO;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/tasks")
@@ -21,17 +42,62 @@ import java.util.List;
 @Tag(name = "Tasks", description = "Task management endpoints")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskBulkService taskBulkService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @GetMapping
-    @Operation(summary = "Get all tasks")
-    public List<TaskResponseDTO> getAllTasks() {
-        return taskService.listTasks().stream().map(this::toResponseDTO).toList();
+    @Operation(summary = "Get all tasks",
+            description = "Keyset-paginated by ID; follow the X-Next-Cursor response header to read the next page")
+    public ResponseEntity<List<TaskResponseDTO>> getAllTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        Slice<Task> slice = taskService.listTasks(KeysetCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String nextCursor = KeysetCursor.nextCursor(slice, Task::getId);
+        if (nextCursor != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(slice.map(this::toResponseDTO).getContent());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks",
+            description = "Full-text search over task titles and descriptions, ranked by relevance")
+    public Page<TaskResponseDTO> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return taskService.searchTasks(q, page, size).map(this::toResponseDTO);
+    }
+
+    @GetMapping("/overdue")
+    @Operation(summary = "Get overdue tasks", description = "Open tasks past their due date, oldest due date first")
+    public List<TaskResponseDTO> getOverdueTasks(@RequestParam(defaultValue = "50") int size) {
+        return taskService.getOverdueTasks(size).stream().map(this::toResponseDTO).toList();
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get task by ID")
-    public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(toResponseDTO(taskService.getTaskById(id)));
+    @Operation(summary = "Get task by ID",
+            description = "Sends an ETag; a matching If-None-Match is answered with 304 without loading the task")
+    public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(EntityTags.of(taskService.getTaskVersion(id)))) {
+            return null;
+        }
+        Task task = taskService.getTaskById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(task.getVersion())).body(toResponseDTO(task));
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get task history", description = "Field-level changes of a task, newest first. "
+            + "Priorities set with PUT /tasks/{taskId}/priority are recorded without the old value")
+    public Page<TaskHistoryDTO> getTaskHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return taskService.getTaskHistory(id, page, size).map(this::toHistoryDTO);
     }
 
     @GetMapping("/project/{projectId}")
@@ -46,18 +112,93 @@ public class TaskController {
         return taskService.listTasksByAssignee(assigneeId).stream().map(this::toResponseDTO).toList();
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export tasks",
+            description = "Streams every task, or the tasks of one project, as NDJSON or CSV; gzip-encoded when accepted")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        TaskExportService.ExportFormat exportFormat = TaskExportService.ExportFormat.from(format);
+        boolean gzip = ContentCodings.acceptsGzip(acceptEncoding);
+        String fileName = (projectId != null ? "tasks-project-" + projectId : "tasks") + "." + exportFormat.getExtension();
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            taskExportService.exportTasks(projectId, exportFormat, target);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            target.flush();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new task")
     public ResponseEntity<TaskResponseDTO> createTask(@RequestBody @Valid TaskRequestDTO dto) {
         Task task = fromRequestDTO(dto);
-        return ResponseEntity.ok(toResponseDTO(taskService.createTask(task)));
+        return ResponseEntity.ok(toResponseDTO(taskService.createTask(task, dto.getProjectId(), dto.getAssigneeId())));
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Create tasks in bulk",
+            description = "Creates up to 10000 tasks; invalid items are reported by index without failing the others")
+    public ResponseEntity<BulkTaskResponseDTO> createTasks(@RequestBody List<TaskRequestDTO> dtos) {
+        return ResponseEntity.ok(taskBulkService.createTasks(dtos));
+    }
+
+    @PatchMapping("/bulk/status")
+    @Operation(summary = "Update task status in bulk",
+            description = "Selects up to 10000 tasks by ids, or any number by projectId, assigneeId and currentStatus; "
+                    + "updated 1000 at a time, each chunk committed on its own")
+    public ResponseEntity<BulkTaskUpdateResponseDTO> updateStatuses(@RequestBody BulkTaskUpdateRequestDTO dto) {
+        return ResponseEntity.ok(taskBulkService.updateStatus(dto));
+    }
+
+    @PatchMapping("/bulk/priority")
+    @Operation(summary = "Update task priority in bulk",
+            description = "Selects up to 10000 tasks by ids, or any number by projectId, assigneeId and currentStatus; "
+                    + "updated 1000 at a time, each chunk committed on its own")
+    public ResponseEntity<BulkTaskUpdateResponseDTO> updatePriorities(@RequestBody BulkTaskUpdateRequestDTO dto) {
+        return ResponseEntity.ok(taskBulkService.updatePriority(dto));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a task")
-    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable Long id, @RequestBody @Valid TaskRequestDTO dto) {
+    @Operation(summary = "Update a task", description = "With If-Match, fails with 412 if the task has changed since")
+    public ResponseEntity<TaskResponseDTO> updateTask(
+            @PathVariable Long id,
+            @RequestBody @Valid TaskRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Task updated = fromRequestDTO(dto);
-        return ResponseEntity.ok(toResponseDTO(taskService.updateTask(id, updated)));
+        Task saved = taskService.updateTask(id, updated, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(saved.getVersion())).body(toResponseDTO(saved));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    @Operation(summary = "Partially update a task",
+            description = "JSON Merge Patch: only the fields sent are changed, null clears a field. "
+                    + "With If-Match, fails with 412 if the task has changed since")
+    public ResponseEntity<TaskResponseDTO> patchTask(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task saved = taskService.patchTask(id, expectedVersion(id, ifMatch), current -> {
+            TaskRequestDTO merged = MergePatch.apply(objectMapper, validator, patch, toRequestDTO(current));
+            Task updated = fromRequestDTO(merged);
+            updated.setStatus(MergePatch.required(merged.getStatus(), "status"));
+            updated.setPriority(MergePatch.required(merged.getPriority(), "priority"));
+            return updated;
+        });
+        return ResponseEntity.ok().eTag(EntityTags.of(saved.getVersion())).body(toResponseDTO(saved));
     }
 
     @DeleteMapping("/{id}")
@@ -69,24 +210,61 @@ public class TaskController {
 
     @PostMapping("/{taskId}/assign/{userId}")
     @Operation(summary = "Assign a task to a user")
-    public ResponseEntity<Task> assignTask(@PathVariable Long taskId, @PathVariable Long userId) {
-        return ResponseEntity.ok(taskService.assignTask(taskId, userId));
+    public ResponseEntity<TaskResponseDTO> assignTask(@PathVariable Long taskId, @PathVariable Long userId) {
+        return ResponseEntity.ok(toResponseDTO(taskService.assignTask(taskId, userId)));
     }
 
     @PatchMapping("/{taskId}/status")
-    @Operation(summary = "Update task status")
-    public ResponseEntity<Task> updateStatus(@PathVariable Long taskId, @RequestParam Task.TaskStatus status) {
-        return ResponseEntity.ok(taskService.updateStatus(taskId, status));
+    @Operation(summary = "Update task status", description = "With If-Match, fails with 412 if the task has changed since")
+    public ResponseEntity<TaskResponseDTO> updateStatus(
+            @PathVariable Long taskId,
+            @RequestParam Task.TaskStatus status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task saved = taskService.updateStatus(taskId, status, expectedVersion(taskId, ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(saved.getVersion())).body(toResponseDTO(saved));
     }
 
     @PatchMapping("/{taskId}/priority")
-    @Operation(summary = "Update task priority")
-    public ResponseEntity<Task> updatePriority(@PathVariable Long taskId, @RequestParam Task.TaskPriority priority) {
-        return ResponseEntity.ok(taskService.updatePriority(taskId, priority));
+    @Operation(summary = "Update task priority", description = "With If-Match, fails with 412 if the task has changed since")
+    public ResponseEntity<TaskResponseDTO> updatePriority(
+            @PathVariable Long taskId,
+            @RequestParam Task.TaskPriority priority,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task saved = taskService.updatePriority(taskId, priority, expectedVersion(taskId, ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(saved.getVersion())).body(toResponseDTO(saved));
+    }
+
+    @PutMapping("/{taskId}/priority")
+    @Operation(summary = "Set task priority without reading the task",
+            description = "Requires an If-Match naming the task's current ETag and fails with 412 if the task has "
+                    + "changed since. Applied with one versioned UPDATE and answered with 204 and the new ETag. "
+                    + "The history entry of the change has no old value")
+    public ResponseEntity<Void> setPriority(
+            @PathVariable Long taskId,
+            @RequestParam Task.TaskPriority priority,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = EntityTags.versionOf(ifMatch);
+        if (version == null) {
+            throw new ValidationException("If-Match with the current ETag of the task is required");
+        }
+        long updated = taskService.changePriority(taskId, priority, version);
+        return ResponseEntity.noContent().eTag(EntityTags.of(updated)).build();
+    }
+
+    /**
+     * Resolve If-Match to the version the update must apply to; null when the update is unconditional.
+     */
+    private Long expectedVersion(Long taskId, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        long version = taskService.getTaskVersion(taskId);
+        EntityTags.checkIfMatch(ifMatch, EntityTags.of(version));
+        return version;
     }
 
     // --- DTO Mapping ---
-    private TaskResponseDTO toResponseDTO(Task task) {
+    TaskResponseDTO toResponseDTO(Task task) {
         TaskResponseDTO dto = new TaskResponseDTO();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
@@ -99,6 +277,23 @@ public class TaskController {
         return dto;
     }
 
+    private TaskRequestDTO toRequestDTO(Task task) {
+        TaskRequestDTO dto = new TaskRequestDTO();
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(task.getStatus());
+        dto.setPriority(task.getPriority());
+        dto.setDueDate(task.getDueDate());
+        dto.setProjectId(task.getProject() != null ? task.getProject().getId() : null);
+        dto.setAssigneeId(task.getAssignee() != null ? task.getAssignee().getId() : null);
+        return dto;
+    }
+
+    private TaskHistoryDTO toHistoryDTO(TaskHistory history) {
+        return new TaskHistoryDTO(history.getId(), history.getFieldName(), history.getOldValue(),
+                history.getNewValue(), history.getChangedBy(), history.getChangedAt());
+    }
+
     private Task fromRequestDTO(TaskRequestDTO dto) {
         Task task = new Task();
         task.setTitle(dto.getTitle());
@@ -0,0 +1,103 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.AttachmentResponseDTO;
+import com.example.taskmanagement.dto.UploadSessionDTO;
+import com.example.taskmanagement.dto.UploadSessionRequestDTO;
+import com.example.taskmanagement.model.TaskAttachment;
+import com.example.taskmanagement.model.UploadSession;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.UploadSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/tasks/{taskId}/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Attachments", description = "Task attachment endpoints")
+public class UploadSessionController {
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    @Operation(summary = "Start a resumable upload",
+            description = "Uploaded as the authenticated user. Chunks are then sent with PUT at offsets that are multiples of the chunk size, in any order")
+    public ResponseEntity<UploadSessionDTO> createSession(@PathVariable Long taskId,
+                                                          @RequestBody @Valid UploadSessionRequestDTO dto) {
+        UploadSession session = uploadSessionService.createSession(taskId, AuthenticatedUser.require().id(),
+                dto.getFileName(), dto.getFileType(), dto.getTotalSize(), dto.getChunkSize());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(toDTO(session, uploadSessionService.getMissingChunks(session)));
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get the progress of a resumable upload", description = "Lists the chunks still missing")
+    public UploadSessionDTO getSession(@PathVariable Long taskId, @PathVariable String uploadId) {
+        UploadSession session = uploadSessionService.getSession(taskId, uploadId);
+        return toDTO(session, uploadSessionService.getMissingChunks(session));
+    }
+
+    @PutMapping("/{uploadId}")
+    @Operation(summary = "Upload one chunk",
+            description = "The request body is the raw chunk content; chunks of one upload may be sent in parallel")
+    public ResponseEntity<Void> writeChunk(
+            @PathVariable Long taskId,
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream content) {
+        uploadSessionService.writeChunk(taskId, uploadId, offset, contentLength, content);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{uploadId}/commit")
+    @Operation(summary = "Complete a resumable upload", description = "Fails with 409 while chunks are missing")
+    public ResponseEntity<AttachmentResponseDTO> commit(@PathVariable Long taskId, @PathVariable String uploadId) {
+        TaskAttachment attachment = uploadSessionService.commit(taskId, uploadId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(attachment));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    @Operation(summary = "Abort a resumable upload")
+    public ResponseEntity<Void> abort(@PathVariable Long taskId, @PathVariable String uploadId) {
+        uploadSessionService.abort(taskId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // --- DTO Mapping ---
+    private UploadSessionDTO toDTO(UploadSession session, List<Integer> missingChunks) {
+        return UploadSessionDTO.builder()
+                .id(session.getId())
+                .taskId(session.getTask().getId())
+                .fileName(session.getFileName())
+                .fileType(session.getFileType())
+                .totalSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .missingChunks(missingChunks)
+                .status(session.getStatus().name())
+                .createdAt(session.getCreatedAt())
+                .updatedAt(session.getUpdatedAt())
+                .build();
+    }
+
+    private AttachmentResponseDTO toResponseDTO(TaskAttachment attachment) {
+        return AttachmentResponseDTO.builder()
+                .id(attachment.getId())
+                .taskId(attachment.getTask().getId())
+                .fileName(attachment.getFileName())
+                .fileSize(attachment.getFileSize())
+                .fileType(attachment.getFileType())
+                .sha256(attachment.getSha256())
+                .uploadedBy(attachment.getUploadedBy().getId())
+                .uploadedAt(attachment.getUploadedAt())
+                .build();
+    }
+}
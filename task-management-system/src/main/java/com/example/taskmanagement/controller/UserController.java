@@ -19,10 +19,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -70,14 +72,21 @@ public class UserController {
     @Operation(summary = "Get user by ID", description = "Retrieves a user by their ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User found"),
+        @ApiResponse(responseCode = "304", description = "User unchanged since the ETag sent in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "403", description = "Not authorized to view this user")
     })
     public ResponseEntity<UserResponse> getUserById(
-            @Parameter(description = "ID of the user to retrieve") @PathVariable Long id) {
+            @Parameter(description = "ID of the user to retrieve") @PathVariable Long id,
+            WebRequest request) {
         log.info("REST request to get user with ID: {}", id);
+        // A revalidation is answered from the version alone, without loading the user
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(EntityTags.of(userService.getUserVersion(id)))) {
+            return null;
+        }
         UserResponse user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(EntityTags.of(user.getVersion())).body(user);
     }
 
     /**
@@ -145,14 +154,22 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "User updated successfully"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
-        @ApiResponse(responseCode = "403", description = "Not authorized to update this user")
+        @ApiResponse(responseCode = "403", description = "Not authorized to update this user"),
+        @ApiResponse(responseCode = "412", description = "User changed since the ETag sent in If-Match")
     })
     public ResponseEntity<UserResponse> updateUser(
             @Parameter(description = "ID of the user to update") @PathVariable Long id,
-            @Valid @RequestBody UpdateUserRequest request) {
+            @Valid @RequestBody UpdateUserRequest request,
+            @Parameter(description = "ETag of the user the update was made against")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("REST request to update user with ID: {}", id);
-        UserResponse updatedUser = userService.updateUser(id, request);
-        return ResponseEntity.ok(updatedUser);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = userService.getUserVersion(id);
+            EntityTags.checkIfMatch(ifMatch, EntityTags.of(expectedVersion));
+        }
+        UserResponse updatedUser = userService.updateUser(id, request, expectedVersion);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedUser.getVersion())).body(updatedUser);
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.example.taskmanagement.datasource;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the read replicas, in turn, and everything else to the
+ * primary. Reads fall back to the primary when no replica is available, or when the request
+ * committed a write more recently than a replica's lag, so a request reads its own writes.
+ * <p>
+ * Connections are fetched lazily, at the first statement: by then the transaction has been
+ * marked read-only, which is not yet the case when it begins.
+ */
+@Log4j2
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final long readYourWritesWindowNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param primary Data source for writes, and for reads no replica can serve
+     * @param replicas Replicas for read-only transactions
+     * @param readYourWritesWindow How long reads stay on the primary after the request wrote,
+     *                             for replicas whose lag is not measured
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaPool> replicas, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        setTargetDataSource(new Router());
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    private Connection replicaConnection() {
+        long nanosSinceWrite = RecentWrites.nanosSinceLastWrite();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaPool replica = replicas.get((start + i) % replicas.size());
+            if (!replica.canRead(nanosSinceWrite, readYourWritesWindowNanos)) {
+                continue;
+            }
+            try {
+                return replica.getConnection();
+            } catch (SQLException | RuntimeException ex) {
+                // Taken out of rotation; try the next one
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(ReplicaPool::close);
+        if (primary instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Failed to close the primary data source: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Picks the target when the lazy proxy needs a physical connection.
+     */
+    private final class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            if (readOnly && !replicas.isEmpty()) {
+                Connection connection = replicaConnection();
+                if (connection != null) {
+                    return connection;
+                }
+            } else if (!readOnly) {
+                RecentWrites.recordOnCommit();
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+    }
+}
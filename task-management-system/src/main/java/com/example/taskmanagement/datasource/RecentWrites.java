@@ -0,0 +1,44 @@
+package com.example.taskmanagement.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * When the current request last committed a write. Kept as a request attribute, so it ends
+ * with the request; work outside a request is not tracked.
+ */
+final class RecentWrites {
+
+    private static final String LAST_COMMIT = RecentWrites.class.getName() + ".LAST_COMMIT";
+
+    private RecentWrites() {
+    }
+
+    /**
+     * Note the commit time once the current read-write transaction commits.
+     */
+    static void recordOnCommit() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                request.setAttribute(LAST_COMMIT, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+            }
+        });
+    }
+
+    /**
+     * @return Nanoseconds since the current request last committed a write, or
+     *         {@link Long#MAX_VALUE} if it has not
+     */
+    static long nanosSinceLastWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Object lastCommit = request != null ? request.getAttribute(LAST_COMMIT, RequestAttributes.SCOPE_REQUEST) : null;
+        return lastCommit instanceof Long nanos ? System.nanoTime() - nanos : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanagement.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Checks the read replicas periodically, starting at startup; until a replica has passed a
+ * check, its reads go to the primary.
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+
+    private final ReadWriteRoutingDataSource dataSource;
+    private final Duration timeout;
+    private final Duration maxLag;
+
+    @Scheduled(fixedDelayString = "${read-replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        dataSource.getReplicas().forEach(replica -> replica.check(timeout, maxLag));
+    }
+}
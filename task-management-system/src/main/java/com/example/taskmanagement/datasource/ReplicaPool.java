@@ -0,0 +1,138 @@
+package com.example.taskmanagement.datasource;
+
+import lombok.extern.log4j.Log4j2;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * A read replica and what its last health check found: whether it answers, and how far it
+ * lags behind the primary. A replica takes reads only once a check has passed, and is taken
+ * out again when a check or a connection attempt fails.
+ */
+@Log4j2
+public class ReplicaPool implements Closeable {
+
+    private static final long UNKNOWN_LAG = -1;
+
+    private final String name;
+    private final DataSource dataSource;
+    private final String lagQuery;
+    private volatile boolean available;
+    private volatile boolean checked;
+    private volatile long lagNanos = UNKNOWN_LAG;
+
+    /**
+     * @param name Name used in logs
+     * @param dataSource Connection pool of the replica
+     * @param lagQuery Query returning the replication lag in seconds, NULL if replication has
+     *                 stopped; the lag is unknown without one
+     */
+    public ReplicaPool(String name, DataSource dataSource, String lagQuery) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.lagQuery = lagQuery;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Check that the replica answers and is no further behind than allowed.
+     *
+     * @param timeout How long the check may take
+     * @param maxLag Highest replication lag at which the replica still takes reads
+     */
+    public void check(Duration timeout, Duration maxLag) {
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                markDown("the connection is not valid");
+                return;
+            }
+            long lag = lagQuery != null ? queryLag(connection, timeoutSeconds) : UNKNOWN_LAG;
+            lagNanos = lag;
+            if (lag > maxLag.toNanos()) {
+                markDown("replication lag of " + Duration.ofNanos(lag).toMillis() + " ms exceeds " + maxLag.toMillis()
+                        + " ms");
+                return;
+            }
+            if (!available) {
+                log.info("Replica {} takes reads", name);
+            }
+            available = true;
+        } catch (SQLException | RuntimeException ex) {
+            markDown(ex.getMessage());
+        } finally {
+            checked = true;
+        }
+    }
+
+    /**
+     * Whether the replica may serve a read that follows a write.
+     *
+     * @param nanosSinceWrite Time since the write committed; {@link Long#MAX_VALUE} without one
+     * @param assumedLagNanos Lag to assume when it is not measured
+     * @return True if the replica is available and has likely replayed the write
+     */
+    boolean canRead(long nanosSinceWrite, long assumedLagNanos) {
+        long lag = lagNanos;
+        return available && (lag != UNKNOWN_LAG ? lag : assumedLagNanos) < nanosSinceWrite;
+    }
+
+    /**
+     * Get a connection; a failure takes the replica out until the next successful check.
+     */
+    Connection getConnection() throws SQLException {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException | RuntimeException ex) {
+            markDown(ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private long queryLag(Connection connection, int timeoutSeconds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("The lag query returned no row");
+                }
+                double seconds = resultSet.getDouble(1);
+                if (resultSet.wasNull()) {
+                    throw new SQLException("Replication is not running");
+                }
+                return (long) (Math.max(seconds, 0) * 1e9);
+            }
+        }
+    }
+
+    private void markDown(String reason) {
+        if (available || !checked) {
+            log.warn("Replica {} takes no reads: {}", name, reason);
+        }
+        available = false;
+    }
+
+    @Override
+    public void close() {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Failed to close replica {}: {}", name, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning task attachment metadata through the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Task attachment response DTO")
+public class AttachmentResponseDTO {
+
+    @Schema(description = "Attachment ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Task ID", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Original file name", example = "design.pdf")
+    private String fileName;
+
+    @Schema(description = "Size in bytes", example = "482133")
+    private Long fileSize;
+
+    @Schema(description = "Media type", example = "application/pdf")
+    private String fileType;
+
+    @Schema(description = "Hex SHA-256 of the content")
+    private String sha256;
+
+    @Schema(description = "Uploader user ID", example = "2")
+    private Long uploadedBy;
+
+    @Schema(description = "Upload timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime uploadedAt;
+}
@@ -0,0 +1,48 @@
+package com.example.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk task creation.
+ * Items are referenced by their position in the request array.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk task creation response DTO")
+public class BulkTaskResponseDTO {
+
+    @Schema(description = "Number of tasks in the request", example = "1000")
+    private int requested;
+
+    @Schema(description = "Tasks that were created")
+    private List<CreatedItem> created;
+
+    @Schema(description = "Tasks that were rejected")
+    private List<FailedItem> failures;
+
+    /**
+     * A created task and its position in the request.
+     */
+    @Schema(description = "Created task")
+    public record CreatedItem(
+            @Schema(description = "Index in the request array", example = "0") int index,
+            @Schema(description = "Task ID", example = "1") Long id) {
+    }
+
+    /**
+     * A rejected task, its position in the request and the reason.
+     */
+    @Schema(description = "Rejected task")
+    public record FailedItem(
+            @Schema(description = "Index in the request array", example = "3") int index,
+            @Schema(description = "Reason the task was rejected", example = "Project not found with id: '42'") String message) {
+    }
+}
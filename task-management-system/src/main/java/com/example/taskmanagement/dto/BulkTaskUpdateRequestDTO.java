@@ -0,0 +1,41 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for changing the status or priority of many tasks at once.
+ * Tasks are selected either by ID or by a filter of project, assignee and current status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk task update request DTO")
+public class BulkTaskUpdateRequestDTO {
+
+    @Schema(description = "IDs of the tasks to update; not combined with a filter", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "Filter: tasks of this project", example = "1")
+    private Long projectId;
+
+    @Schema(description = "Filter: tasks assigned to this user", example = "1")
+    private Long assigneeId;
+
+    @Schema(description = "Filter: tasks currently in this status", example = "REVIEW")
+    private Task.TaskStatus currentStatus;
+
+    @Schema(description = "New status, for status updates", example = "DONE")
+    private Task.TaskStatus status;
+
+    @Schema(description = "New priority, for priority updates", example = "HIGH")
+    private Task.TaskPriority priority;
+
+}
@@ -0,0 +1,24 @@
+package com.example.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a bulk task update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk task update response DTO")
+public class BulkTaskUpdateResponseDTO {
+
+    @Schema(description = "Existing tasks selected by the IDs or the filter", example = "120")
+    private long matched;
+
+    @Schema(description = "Tasks changed; the others already had the requested value", example = "95")
+    private long updated;
+}
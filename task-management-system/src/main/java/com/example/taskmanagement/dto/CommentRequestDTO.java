@@ -0,0 +1,25 @@
+package com.example.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for posting or editing a task comment. The author is the authenticated user.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Task comment request DTO")
+public class CommentRequestDTO {
+
+    @NotBlank(message = "Comment is required")
+    @Size(max = 5000, message = "Comment cannot exceed 5000 characters")
+    @Schema(description = "Comment text", example = "Blocked until the API spec is approved")
+    private String content;
+}
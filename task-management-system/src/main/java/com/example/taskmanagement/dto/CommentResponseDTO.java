@@ -0,0 +1,41 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning a task comment through the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Task comment response DTO")
+public class CommentResponseDTO {
+
+    @Schema(description = "Comment ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Task ID", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Author user ID", example = "2")
+    private Long authorId;
+
+    @Schema(description = "Comment text", example = "Blocked until the API spec is approved")
+    private String content;
+
+    @Schema(description = "Creation timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last update timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,76 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the task statistics of a project, or of all projects.
+ * Figures are computed at generatedAt and may be up to the cache TTL old.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Dashboard DTO")
+public class DashboardDTO {
+
+    @Schema(description = "Project ID, absent for the dashboard across all projects", example = "1")
+    private Long projectId;
+
+    @Schema(description = "When the figures were computed")
+    private LocalDateTime generatedAt;
+
+    @Schema(description = "Number of days covered by the created and completed series", example = "14")
+    private int days;
+
+    @Schema(description = "Total number of tasks", example = "42")
+    private long totalTasks;
+
+    @Schema(description = "Number of tasks that are not done", example = "17")
+    private long openTasks;
+
+    @Schema(description = "Number of open tasks past their due date", example = "3")
+    private long overdueTasks;
+
+    @Schema(description = "Number of tasks per status and priority",
+            example = "{\"TODO\":{\"LOW\":1,\"MEDIUM\":4,\"HIGH\":0,\"CRITICAL\":1}}")
+    private Map<Task.TaskStatus, Map<Task.TaskPriority, Long>> tasksByStatusAndPriority;
+
+    @Schema(description = "Tasks created per day, oldest first, including days without any")
+    private List<DailyCount> createdPerDay;
+
+    @Schema(description = "Tasks completed per day, oldest first, including days without any")
+    private List<DailyCount> completedPerDay;
+
+    @Schema(description = "Open tasks per assignee, busiest first; unassigned tasks have no assignee")
+    private List<AssigneeLoad> assigneeLoad;
+
+    /**
+     * Number of tasks of one day.
+     */
+    @Schema(description = "Task count of a day")
+    public record DailyCount(
+            @Schema(description = "Day", example = "2024-05-01") LocalDate date,
+            @Schema(description = "Number of tasks", example = "5") long count) {
+    }
+
+    /**
+     * Open and overdue tasks of one assignee.
+     */
+    @Schema(description = "Open tasks of an assignee")
+    public record AssigneeLoad(
+            @Schema(description = "Assignee user ID, absent for unassigned tasks", example = "7") Long assigneeId,
+            @Schema(description = "Assignee username", example = "jdoe") String username,
+            @Schema(description = "Number of open tasks", example = "6") long openTasks,
+            @Schema(description = "Number of open tasks past their due date", example = "1") long overdueTasks) {
+    }
+}
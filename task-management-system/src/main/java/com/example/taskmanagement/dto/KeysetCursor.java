@@ -0,0 +1,87 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.exception.ValidationException;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset (cursor) pagination.
+ * The token wraps the ID of the last row of a page, so the next page is read with
+ * {@code WHERE id > :afterId ORDER BY id} instead of an OFFSET scan.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Response header carrying the cursor of the next page, absent on the last page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encode the last ID of a page into an opaque cursor.
+     *
+     * @param lastId ID of the last row returned
+     * @return URL-safe cursor
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor back into the last ID of the previous page.
+     *
+     * @param cursor Cursor sent by the client, may be null for the first page
+     * @return The exclusive lower bound ID, or null for the first page
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new ValidationException("Invalid pagination cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Clamp a requested page size to the supported range.
+     *
+     * @param size Requested page size
+     * @return Page size between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    public static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Build the cursor pointing after the last element of a slice.
+     *
+     * @param slice The current slice
+     * @param idOf Extracts the keyset ID from an element
+     * @return Cursor of the next page, or null when the slice is the last one
+     */
+    public static <T> String nextCursor(Slice<T> slice, Function<T, Long> idOf) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return null;
+        }
+        return encode(idOf.apply(content.get(content.size() - 1)));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Task counts of a project")
+public class ProjectStatsDTO {
+    @Schema(description = "Project ID", example = "1")
+    private Long projectId;
+    @Schema(description = "Number of tasks per status", example = "{\"TODO\":4,\"IN_PROGRESS\":2,\"REVIEW\":1,\"DONE\":7}")
+    private Map<Task.TaskStatus, Long> statusCounts;
+    @Schema(description = "Total number of tasks", example = "14")
+    private long totalTasks;
+}
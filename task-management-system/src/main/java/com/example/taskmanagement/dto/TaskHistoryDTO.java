@@ -0,0 +1,31 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A changed field of a task")
+public class TaskHistoryDTO {
+    @Schema(description = "History entry ID", example = "1")
+    private Long id;
+    @Schema(description = "Changed field", example = "status")
+    private String fieldName;
+    @Schema(description = "Value before the change; null if the field was empty, or if the change was made "
+            + "without reading the task (PUT /tasks/{taskId}/priority), since MySQL cannot return the replaced "
+            + "value from the UPDATE", example = "TODO")
+    private String oldValue;
+    @Schema(description = "Value after the change", example = "IN_PROGRESS")
+    private String newValue;
+    @Schema(description = "ID of the user who made the change; null for system changes", example = "2")
+    private Long changedBy;
+    @Schema(description = "When the change was made")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime changedAt;
+}
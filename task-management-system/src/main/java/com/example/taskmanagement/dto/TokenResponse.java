@@ -0,0 +1,27 @@
+package com.example.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO carrying an access token, sent as {@code Authorization: Bearer <accessToken>}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenResponse {
+
+    private String accessToken;
+
+    @Builder.Default
+    private String tokenType = "Bearer";
+
+    private long expiresIn;
+
+    private Instant expiresAt;
+}
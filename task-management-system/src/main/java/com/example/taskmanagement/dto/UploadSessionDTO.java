@@ -0,0 +1,57 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for returning the progress of a resumable upload through the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Upload session response DTO")
+public class UploadSessionDTO {
+
+    @Schema(description = "Upload session ID", example = "0b5e0f0e-7d0a-4a57-9d55-1f8e4c2f5a10")
+    private String id;
+
+    @Schema(description = "Task ID", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Original file name", example = "recording.mp4")
+    private String fileName;
+
+    @Schema(description = "Media type", example = "video/mp4")
+    private String fileType;
+
+    @Schema(description = "Size of the whole file in bytes", example = "734003200")
+    private Long totalSize;
+
+    @Schema(description = "Size of every chunk but the last in bytes", example = "8388608")
+    private Integer chunkSize;
+
+    @Schema(description = "Number of chunks", example = "88")
+    private Integer chunkCount;
+
+    @Schema(description = "Indexes of the chunks not received yet; chunk i starts at offset i * chunkSize")
+    private List<Integer> missingChunks;
+
+    @Schema(description = "Upload status", example = "OPEN")
+    private String status;
+
+    @Schema(description = "Creation timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp of the last received chunk")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
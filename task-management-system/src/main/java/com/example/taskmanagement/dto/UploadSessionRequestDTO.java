@@ -0,0 +1,38 @@
+package com.example.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for opening a resumable upload. The uploader is the authenticated user.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Upload session request DTO")
+public class UploadSessionRequestDTO {
+
+    @NotBlank(message = "File name is required")
+    @Schema(description = "Original file name", example = "recording.mp4")
+    private String fileName;
+
+    @Schema(description = "Media type; application/octet-stream if omitted", example = "video/mp4")
+    private String fileType;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    @Schema(description = "Size of the whole file in bytes", example = "734003200")
+    private Long totalSize;
+
+    @NotNull(message = "Chunk size is required")
+    @Positive(message = "Chunk size must be positive")
+    @Schema(description = "Size of every chunk but the last in bytes", example = "8388608")
+    private Integer chunkSize;
+}
@@ -1,6 +1,7 @@
 package com.example.taskmanagement.dto;
 
 import com.example.taskmanagement.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +26,12 @@ public class UserResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Sent as the ETag header rather than in the body.
+     */
+    @JsonIgnore
+    private Long version;
+
     /**
      * Convert User entity to UserResponse DTO.
      *
@@ -41,6 +48,7 @@ public class UserResponse {
                 .enabled(user.getEnabled())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,38 @@
+package com.example.taskmanagement.events;
+
+/**
+ * The SSE id of an event: the generation of its channel and its sequence number there,
+ * written as {@code <generation>-<sequence>} in base 36.
+ *
+ * @param generation Identifies the channel, which is recreated after restarts and idle periods
+ * @param sequence Position of the event in the channel
+ */
+record EventId(long generation, long sequence) {
+
+    /**
+     * Stands for an id this node cannot have issued; it matches no channel.
+     */
+    static final EventId UNKNOWN = new EventId(0, -1);
+
+    /**
+     * @param value A Last-Event-ID header
+     * @return The id, {@link #UNKNOWN} if it is malformed, or null if there is none
+     */
+    static EventId parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf('-');
+        try {
+            return new EventId(Long.parseLong(value.substring(0, separator), Character.MAX_RADIX),
+                    Long.parseLong(value.substring(separator + 1), Character.MAX_RADIX));
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            return UNKNOWN;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(generation, Character.MAX_RADIX) + "-" + Long.toString(sequence, Character.MAX_RADIX);
+    }
+}
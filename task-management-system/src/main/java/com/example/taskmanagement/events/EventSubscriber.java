@@ -0,0 +1,155 @@
+package com.example.taskmanagement.events;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open event stream. Publishers only queue events; writing them to the connection runs on
+ * the delivery executor, one drain at a time per subscriber, so a slow client never blocks the
+ * committing thread. A subscriber whose queue is full has fallen too far behind and is closed;
+ * it resumes with Last-Event-ID, or reloads if the events are no longer buffered.
+ */
+@Log4j2
+final class EventSubscriber {
+
+    private final long projectId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<StreamEvent> queue;
+    private final Executor delivery;
+    private final Counter evictions;
+    private final Consumer<EventSubscriber> onClose;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean ending;
+
+    /**
+     * @param projectId The project streamed
+     * @param emitter The response
+     * @param bufferSize Events queued before the subscriber counts as too slow
+     * @param delivery Runs the writes
+     * @param evictions Counts subscribers closed for being too slow
+     * @param onClose Called once when the stream ends, for whatever reason
+     */
+    EventSubscriber(long projectId, SseEmitter emitter, int bufferSize, Executor delivery, Counter evictions,
+                    Consumer<EventSubscriber> onClose) {
+        this.projectId = projectId;
+        this.emitter = emitter;
+        this.queue = new LinkedBlockingQueue<>(bufferSize);
+        this.delivery = delivery;
+        this.evictions = evictions;
+        this.onClose = onClose;
+        emitter.onCompletion(this::closed);
+        emitter.onError(error -> closed());
+        // Clients reconnect with Last-Event-ID; end the response instead of failing it
+        emitter.onTimeout(emitter::complete);
+    }
+
+    long getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Queue an event without blocking.
+     *
+     * @return false if the subscriber was closed, now or before
+     */
+    boolean offer(StreamEvent event) {
+        if (closed.get() || ending) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            log.debug("Closing a slow event stream of project {}: {} events pending", projectId, queue.size());
+            evictions.increment();
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Queue a keep-alive unless events are pending anyway.
+     */
+    void heartbeat() {
+        if (queue.isEmpty()) {
+            offer(StreamEvent.HEARTBEAT);
+        }
+    }
+
+    /**
+     * End the stream once the queued events have been written.
+     */
+    void end() {
+        ending = true;
+        scheduleDrain();
+    }
+
+    /**
+     * End the stream now; queued events are dropped.
+     */
+    void close() {
+        if (closed()) {
+            queue.clear();
+            try {
+                // Waits for a write in progress, so not on the publishing thread
+                delivery.execute(emitter::complete);
+            } catch (RejectedExecutionException ex) {
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * @return true for the call that marked the subscriber closed
+     */
+    private boolean closed() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.accept(this);
+            return true;
+        }
+        return false;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                delivery.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            StreamEvent event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                emitter.send(event.toSse());
+            }
+            if (ending && queue.isEmpty() && closed()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away, or the response already ended
+            closed();
+            queue.clear();
+        } finally {
+            draining.set(false);
+        }
+        // An event queued, or the end requested, after the last poll but before the flag was cleared
+        if (!closed.get() && (ending || !queue.isEmpty())) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagement.events;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The subscribers of one project and its most recent events, kept in a ring buffer for
+ * subscribers resuming after a reconnect. Events are numbered per channel, so a resume can
+ * tell whether it missed any; the generation tells channels of the same project apart once
+ * an idle one has been dropped and recreated.
+ */
+final class ProjectChannel {
+
+    private final long generation;
+    private final StreamEvent[] recent;
+    private final Set<EventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Sequence number of the newest event; guarded by this.
+     */
+    private long lastSequence;
+
+    private volatile long idleSince;
+
+    ProjectChannel(long generation, int replaySize) {
+        this.generation = generation;
+        this.recent = new StreamEvent[replaySize];
+        this.idleSince = System.nanoTime();
+    }
+
+    /**
+     * Number the event, buffer it and queue it for every subscriber. Queueing does not block,
+     * and doing it under the lock keeps every subscriber's events in order.
+     *
+     * @param name The event name
+     * @param data The event as JSON
+     */
+    synchronized void publish(String name, String data) {
+        long sequence = ++lastSequence;
+        StreamEvent event = new StreamEvent(new EventId(generation, sequence).toString(), name, data);
+        recent[(int) (sequence % recent.length)] = event;
+        for (EventSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                // Closed while subscribing, or just now for falling behind
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Add a subscriber, first queueing the events it missed since the last one it saw. If
+     * they are no longer buffered, it gets the resync event instead, carrying the id of the
+     * newest event so its next resume starts from there.
+     *
+     * @param subscriber The new subscriber
+     * @param lastSeen The Last-Event-ID of the subscriber, or null to only receive new events
+     * @param resync The name and data of the event sent when events were missed
+     */
+    synchronized void subscribe(EventSubscriber subscriber, EventId lastSeen, StreamEvent resync) {
+        if (lastSeen != null) {
+            long oldest = Math.max(1, lastSequence - recent.length + 1);
+            if (lastSeen.generation() == generation && lastSeen.sequence() >= oldest - 1
+                    && lastSeen.sequence() <= lastSequence) {
+                for (long sequence = lastSeen.sequence() + 1; sequence <= lastSequence; sequence++) {
+                    subscriber.offer(recent[(int) (sequence % recent.length)]);
+                }
+            } else {
+                subscriber.offer(new StreamEvent(new EventId(generation, lastSequence).toString(),
+                        resync.name(), resync.data()));
+            }
+        }
+        subscribers.add(subscriber);
+    }
+
+    void unsubscribe(EventSubscriber subscriber) {
+        if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+            idleSince = System.nanoTime();
+        }
+    }
+
+    Set<EventSubscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * @return true if nobody has been subscribed since the given time
+     */
+    boolean isIdleSince(long nanoTime) {
+        return subscribers.isEmpty() && idleSince - nanoTime < 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.taskmanagement.events;
+
+import com.example.taskmanagement.dto.TaskResponseDTO;
+import com.example.taskmanagement.model.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A change to a project or its tasks, published by the services inside their transaction and
+ * streamed to the project's subscribers once it has committed; also the JSON of the event.
+ *
+ * @param type What changed
+ * @param projectId The project ID, or null if the publisher did not load the task; it is then
+ *                  looked up by {@link ProjectEventStream} while anyone is subscribed
+ * @param taskId The task, for single-task events
+ * @param taskIds The tasks, for {@link Type#TASKS_CHANGED}
+ * @param task The task as it was written; absent for deletes and changes made without loading
+ *             the task, which clients fetch instead
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProjectEvent(Type type, Long projectId, Long taskId, List<Long> taskIds, TaskResponseDTO task) {
+
+    public enum Type {
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_ASSIGNED,
+        TASK_DELETED,
+        /**
+         * Tasks created or updated by a bulk operation; they are listed, not sent.
+         */
+        TASKS_CHANGED,
+        PROJECT_UPDATED,
+        PROJECT_DELETED,
+        /**
+         * Sent on resume when events since Last-Event-ID are no longer buffered; clients
+         * reload the project.
+         */
+        RESYNC
+    }
+
+    public static ProjectEvent taskCreated(Task task) {
+        return ofTask(Type.TASK_CREATED, task);
+    }
+
+    public static ProjectEvent taskUpdated(Task task) {
+        return ofTask(Type.TASK_UPDATED, task);
+    }
+
+    public static ProjectEvent taskAssigned(Task task) {
+        return ofTask(Type.TASK_ASSIGNED, task);
+    }
+
+    /**
+     * An update of a task that was not loaded; its project is looked up when the event is streamed.
+     */
+    public static ProjectEvent taskUpdated(long taskId) {
+        return new ProjectEvent(Type.TASK_UPDATED, null, taskId, null, null);
+    }
+
+    public static ProjectEvent taskDeleted(long projectId, long taskId) {
+        return new ProjectEvent(Type.TASK_DELETED, projectId, taskId, null, null);
+    }
+
+    public static ProjectEvent tasksChanged(long projectId, List<Long> taskIds) {
+        return new ProjectEvent(Type.TASKS_CHANGED, projectId, null, List.copyOf(taskIds), null);
+    }
+
+    public static ProjectEvent projectUpdated(long projectId) {
+        return new ProjectEvent(Type.PROJECT_UPDATED, projectId, null, null, null);
+    }
+
+    public static ProjectEvent projectDeleted(long projectId) {
+        return new ProjectEvent(Type.PROJECT_DELETED, projectId, null, null, null);
+    }
+
+    static ProjectEvent resync(long projectId) {
+        return new ProjectEvent(Type.RESYNC, projectId, null, null, null);
+    }
+
+    ProjectEvent withProjectId(long projectId) {
+        return new ProjectEvent(type, projectId, taskId, taskIds, task);
+    }
+
+    /**
+     * The fields of {@code GET /tasks/{id}}, read now; the IDs of lazy associations are read
+     * without loading them.
+     */
+    private static ProjectEvent ofTask(Type type, Task task) {
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        TaskResponseDTO dto = TaskResponseDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .assigneeId(task.getAssignee() != null ? task.getAssignee().getId() : null)
+                .projectId(projectId)
+                .build();
+        return new ProjectEvent(type, projectId, task.getId(), null, dto);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.taskmanagement.events;
+
+import com.example.taskmanagement.config.ProjectEventsProperties;
+import com.example.taskmanagement.exception.TooManyRequestsException;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the changes of a project to its open {@code GET /projects/{id}/events} connections
+ * as Server-Sent Events, so clients need not poll. {@link ProjectEvent}s published by the
+ * services arrive here once their transaction has committed; each is serialized once,
+ * buffered per project for resuming, and queued for every subscriber of the project, which
+ * never blocks the committing thread. An idle stream holds a connection but no thread.
+ * <p>
+ * Only the commits of this node are streamed, like the other in-memory state of the
+ * application. Event ids are only known to the run of the node that sent them; clients
+ * resuming after a restart get {@link ProjectEvent.Type#RESYNC}.
+ */
+@Component
+@Log4j2
+public class ProjectEventStream implements SmartLifecycle {
+
+    private final ObjectMapper objectMapper;
+    private final TaskRepository taskRepository;
+    private final int maxSubscribers;
+    private final int replaySize;
+    private final int bufferSize;
+    private final long retentionNanos;
+    private final ExecutorService delivery;
+    private final Counter evictions;
+
+    private final Map<Long, ProjectChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private volatile boolean running;
+
+    public ProjectEventStream(ObjectMapper objectMapper, TaskRepository taskRepository,
+                              ProjectEventsProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.taskRepository = taskRepository;
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.replaySize = properties.getReplaySize();
+        // A full replay must fit, or resuming subscribers would be dropped as too slow
+        this.bufferSize = Math.max(properties.getSubscriberBufferSize(), properties.getReplaySize() + 1);
+        this.retentionNanos = properties.getRetention().toNanos();
+        this.delivery = Executors.newFixedThreadPool(properties.getDeliveryThreads(),
+                new CustomizableThreadFactory("project-events-"));
+        this.evictions = Counter.builder("project.events.evictions")
+                .description("Event streams closed for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("project.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of the events of a project.
+     *
+     * @param projectId The project ID
+     * @param lastEventId The Last-Event-ID sent by a reconnecting client, or null; the events
+     *                    since are sent first, or {@link ProjectEvent.Type#RESYNC} if they are
+     *                    no longer buffered
+     * @return The stream, ending on timeout or when the project is deleted
+     * @throws TooManyRequestsException if the node has as many streams open as it allows
+     */
+    public SseEmitter subscribe(long projectId, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers || !running) {
+            subscriberCount.decrementAndGet();
+            throw new TooManyRequestsException("Too many event streams open, please retry", 5);
+        }
+        // Times out after spring.mvc.async.request-timeout; clients reconnect and resume
+        SseEmitter emitter = new SseEmitter();
+        EventSubscriber subscriber = new EventSubscriber(projectId, emitter, bufferSize, delivery, evictions,
+                this::unsubscribe);
+        StreamEvent resync = serialize(ProjectEvent.resync(projectId));
+        EventId lastSeen = EventId.parse(lastEventId);
+        // Under the map's lock, so an idle channel is not dropped while subscribing to it
+        channels.compute(projectId, (id, channel) -> {
+            ProjectChannel target = channel != null ? channel : newChannel();
+            target.subscribe(subscriber, lastSeen, resync);
+            return target;
+        });
+        return emitter;
+    }
+
+    /**
+     * Stream a committed change; runs on the committing thread, or right away outside a
+     * transaction. Projects nobody is subscribed to, or has been recently, are skipped.
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectEvent(ProjectEvent event) {
+        // The change has committed; a failure here must not fail the request
+        try {
+            publish(event);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to stream {} of project {}: {}", event.type(), event.projectId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Keep idle streams open, and drop the buffers of projects nobody has subscribed to
+     * for the retention period.
+     */
+    @Scheduled(fixedDelayString = "${project-events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        long idleCutoff = System.nanoTime() - retentionNanos;
+        for (Map.Entry<Long, ProjectChannel> entry : channels.entrySet()) {
+            entry.getValue().getSubscribers().forEach(EventSubscriber::heartbeat);
+            channels.computeIfPresent(entry.getKey(),
+                    (id, channel) -> channel.isIdleSince(idleCutoff) ? null : channel);
+        }
+    }
+
+    /**
+     * @return Number of open streams
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        int open = subscriberCount.get();
+        channels.values().forEach(channel -> List.copyOf(channel.getSubscribers()).forEach(EventSubscriber::end));
+        delivery.shutdown();
+        try {
+            if (!delivery.awaitTermination(5, TimeUnit.SECONDS)) {
+                delivery.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            delivery.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        channels.clear();
+        log.info("Project event streams stopped; closed {} streams", open);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop before the web server, whose graceful shutdown would otherwise wait for the
+     * open streams.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void publish(ProjectEvent event) {
+        Long projectId = event.projectId();
+        if (projectId == null) {
+            // Costs a lookup, so only while anyone is subscribed
+            if (channels.isEmpty() || event.taskId() == null) {
+                return;
+            }
+            projectId = taskRepository.findProjectIdById(event.taskId()).orElse(null);
+            if (projectId == null) {
+                return;
+            }
+            event = event.withProjectId(projectId);
+        }
+        ProjectChannel channel = channels.get(projectId);
+        if (channel == null) {
+            return;
+        }
+        StreamEvent streamed = serialize(event);
+        channel.publish(streamed.name(), streamed.data());
+        if (event.type() == ProjectEvent.Type.PROJECT_DELETED) {
+            channels.remove(projectId);
+            channel.getSubscribers().forEach(EventSubscriber::end);
+        }
+    }
+
+    private StreamEvent serialize(ProjectEvent event) {
+        try {
+            return new StreamEvent(null, event.type().name(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize " + event.type() + " event", ex);
+        }
+    }
+
+    private ProjectChannel newChannel() {
+        return new ProjectChannel(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), replaySize);
+    }
+
+    private void unsubscribe(EventSubscriber subscriber) {
+        subscriberCount.decrementAndGet();
+        ProjectChannel channel = channels.get(subscriber.getProjectId());
+        if (channel != null) {
+            channel.unsubscribe(subscriber);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanagement.events;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * An event as written to the streams: serialized once, whatever the number of subscribers.
+ *
+ * @param id The SSE id clients resume from
+ * @param name The SSE event name, the {@link ProjectEvent.Type}
+ * @param data The event as JSON
+ */
+record StreamEvent(String id, String name, String data) {
+
+    /**
+     * A comment line, which clients ignore; it keeps proxies from closing idle streams and
+     * finds connections that are gone.
+     */
+    static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+    SseEmitter.SseEventBuilder toSse() {
+        if (data == null) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event().id(id).name(name).data(data);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request conflicts with the current state of a resource.
+ */
+public class ConflictException extends ApiException {
+
+    public ConflictException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+}
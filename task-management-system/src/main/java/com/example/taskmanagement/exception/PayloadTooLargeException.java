@@ -0,0 +1,13 @@
+package com.example.taskmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request body exceeds the configured size limit.
+ */
+public class PayloadTooLargeException extends ApiException {
+
+    public PayloadTooLargeException(String message) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a conditional request does not match the current state of a resource.
+ */
+public class PreconditionFailedException extends ApiException {
+
+    public PreconditionFailedException(String message) {
+        super(HttpStatus.PRECONDITION_FAILED, message);
+    }
+}
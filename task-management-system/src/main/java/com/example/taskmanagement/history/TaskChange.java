@@ -0,0 +1,17 @@
+package com.example.taskmanagement.history;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change of one task field, waiting to be written to {@code task_history}.
+ *
+ * @param taskId The task ID
+ * @param changedBy ID of the acting user, or null for system changes
+ * @param fieldName Name of the changed property
+ * @param oldValue Value before the change, or null
+ * @param newValue Value after the change, or null
+ * @param changedAt When the change was flushed
+ */
+public record TaskChange(long taskId, Long changedBy, String fieldName, String oldValue, String newValue,
+                         LocalDateTime changedAt) {
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanagement.history;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hibernate listener capturing field-level changes of {@link Task}. Hibernate already holds
+ * the loaded and the flushed state of every updated entity, so the diff costs no query; it
+ * runs once the transaction has committed, so rolled back updates leave no history.
+ * The changes are handed to {@link TaskHistoryWriter} and written outside the request.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskHistoryEventListener implements PostCommitUpdateEventListener {
+
+    /**
+     * Bookkeeping columns maintained by auditing and versioning, which change on every update,
+     * and the completion time, which follows from the status change recorded anyway.
+     */
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("createdAt", "updatedAt", "createdBy", "updatedBy",
+            "version", "completedAt");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskHistoryWriter taskHistoryWriter;
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Task) || event.getOldState() == null) {
+            return;
+        }
+        List<TaskChange> changes = diff(event);
+        if (!changes.isEmpty()) {
+            taskHistoryWriter.enqueue(changes);
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was recorded before the commit
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Task.class.equals(persister.getMappedClass());
+    }
+
+    private List<TaskChange> diff(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        // Null when Hibernate did not dirty-check, e.g. for a merged detached entity
+        int[] dirty = event.getDirtyProperties();
+        int count = dirty != null ? dirty.length : names.length;
+
+        long taskId = (Long) event.getId();
+        // Runs on the committing request's thread, so the acting user is still known
+        Long changedBy = AuthenticatedUser.current().map(AuthenticatedUser::id).orElse(null);
+        LocalDateTime changedAt = LocalDateTime.now();
+        PersistenceUnitUtil units = entityManagerFactory.getPersistenceUnitUtil();
+        List<TaskChange> changes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int property = dirty != null ? dirty[i] : i;
+            if (IGNORED_PROPERTIES.contains(names[property])) {
+                continue;
+            }
+            String oldValue = format(oldState[property], types[property], units);
+            String newValue = format(state[property], types[property], units);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new TaskChange(taskId, changedBy, names[property], oldValue, newValue, changedAt));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Associations are recorded by ID; reading it from a lazy proxy does not initialize it.
+     */
+    private static String format(Object value, Type type, PersistenceUnitUtil units) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isEntityType()) {
+            return String.valueOf(units.getIdentifier(value));
+        }
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.taskmanagement.history;
+
+import com.example.taskmanagement.config.TaskHistoryProperties;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes task changes to {@code task_history} behind the request. Committing threads only
+ * enqueue; a background thread drains the queue and inserts the rows in JDBC batches.
+ * The queue is bounded: when it is full, the committing thread writes its own changes,
+ * which slows producers down to the speed of the database instead of dropping history.
+ * On shutdown the worker stops after the web server and flushes whatever is still queued.
+ */
+@Component
+@Log4j2
+public class TaskHistoryWriter implements SmartLifecycle {
+
+    /**
+     * Rows whose task was deleted before the batch was written are skipped by the join, and
+     * a user deleted meanwhile is written as NULL, so neither can fail the whole batch on a
+     * foreign key.
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO task_history (task_id, changed_by, field_name, old_value, new_value, changed_at)
+            SELECT t.id, u.id, ?, ?, ?, ? FROM tasks t LEFT JOIN users u ON u.id = ? WHERE t.id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final ConcurrentLinkedQueue<TaskChange> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * Held from taking a batch off the queue until it is written, so {@link #flush()} also
+     * waits for a batch the worker is writing.
+     */
+    private final Lock drainLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public TaskHistoryWriter(JdbcTemplate jdbcTemplate, TaskHistoryProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = properties.getQueueCapacity();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+    }
+
+    /**
+     * Queue committed changes for writing. Written on the calling thread when the queue is
+     * full or the writer is not running.
+     *
+     * @param changes Changes of one task update
+     */
+    public void enqueue(List<TaskChange> changes) {
+        if (!running || !reserve(changes.size())) {
+            log.debug("Task history queue unavailable; writing {} changes on the calling thread", changes.size());
+            write(changes);
+            return;
+        }
+        queue.addAll(changes);
+        if (!running) {
+            // Stopped while enqueueing; the final flush may already be over
+            flush();
+            return;
+        }
+        Thread current = worker;
+        if (current != null && size.get() >= batchSize) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    /**
+     * Write every queued change now, and wait for a batch the worker is writing. Changes
+     * queued by other threads meanwhile may be written too. When it returns, every change
+     * queued before the call has been written.
+     */
+    public void flush() {
+        while (drainBatch() > 0) {
+            // keep draining
+        }
+    }
+
+    /**
+     * Wait until the worker has written every queued change, without writing any on the
+     * calling thread. Flushes on the calling thread if the worker is not running.
+     *
+     * @param timeout Longest time to wait
+     * @return True if nothing is queued or being written, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Thread current = worker;
+            if (current == null) {
+                flush();
+                return true;
+            }
+            if (drainLock.tryLock()) {
+                try {
+                    if (size.get() == 0) {
+                        return true;
+                    }
+                } finally {
+                    drainLock.unlock();
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.unpark(current);
+            Thread.sleep(Math.min(TimeUnit.NANOSECONDS.toMillis(remaining) + 1, 10));
+        }
+    }
+
+    /**
+     * @return Number of changes waiting to be written
+     */
+    public int queuedCount() {
+        return size.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "task-history-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = size.get();
+        flush();
+        log.info("Task history writer stopped; flushed {} queued changes", remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server so changes of in-flight requests are still queued and flushed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            while (drainBatch() == batchSize) {
+                // full batches are written back to back
+            }
+        }
+    }
+
+    private boolean reserve(int count) {
+        int current;
+        do {
+            current = size.get();
+            if (current + count > capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + count));
+        return true;
+    }
+
+    private int drainBatch() {
+        drainLock.lock();
+        try {
+            List<TaskChange> batch = new ArrayList<>();
+            TaskChange change;
+            while (batch.size() < batchSize && (change = queue.poll()) != null) {
+                batch.add(change);
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            size.addAndGet(-batch.size());
+            write(batch);
+            return batch.size();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void write(List<TaskChange> changes) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+                ps.setString(1, change.fieldName());
+                ps.setString(2, change.oldValue());
+                ps.setString(3, change.newValue());
+                ps.setTimestamp(4, Timestamp.valueOf(change.changedAt()));
+                if (change.changedBy() != null) {
+                    ps.setLong(5, change.changedBy());
+                } else {
+                    ps.setNull(5, Types.BIGINT);
+                }
+                ps.setLong(6, change.taskId());
+            });
+        } catch (RuntimeException ex) {
+            log.error("Writing {} task history rows failed; the changes are lost", changes.size(), ex);
+        }
+    }
+}
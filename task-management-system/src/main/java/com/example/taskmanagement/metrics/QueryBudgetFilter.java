@@ -0,0 +1,75 @@
+package com.example.taskmanagement.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request. A request executing more statements than the
+ * threshold is logged at debug level, and its response carries the counts in the
+ * {@value #COUNT_HEADER}, {@value #ROWS_HEADER} and {@value #TIME_HEADER} headers. Headers
+ * are added when the response is committed, so they cover the statements up to the
+ * first bytes of the body.
+ */
+@Log4j2
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String ROWS_HEADER = "X-Query-Rows";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final int threshold;
+
+    /**
+     * @param threshold Statements a request may execute before it is reported
+     */
+    public QueryBudgetFilter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCount count = QueryCount.start();
+        BudgetHeaderResponse budgetResponse = new BudgetHeaderResponse(response, count);
+        try {
+            chain.doFilter(request, budgetResponse);
+        } finally {
+            budgetResponse.onResponseCommitted();
+            count.stop();
+            if (count.getStatements() > threshold) {
+                log.debug("{} {} exceeded the query budget of {} statements: {}", request.getMethod(),
+                        request.getRequestURI(), threshold, count);
+            }
+        }
+    }
+
+    private final class BudgetHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final QueryCount count;
+
+        BudgetHeaderResponse(HttpServletResponse response, QueryCount count) {
+            super(response);
+            this.count = count;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (isDisableOnResponseCommitted()) {
+                return;
+            }
+            disableOnResponseCommitted();
+            if (count.getStatements() > threshold && !isCommitted()) {
+                setHeader(COUNT_HEADER, Long.toString(count.getStatements()));
+                setHeader(ROWS_HEADER, Long.toString(count.getRows()));
+                setHeader(TIME_HEADER, Long.toString(count.getMillis()));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.taskmanagement.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements, rows and statement time of the work running on a thread, usually one HTTP
+ * request. Counts are recorded by {@link QueryCountListener} for the current thread only, so
+ * {@code @Async} work and export streams running elsewhere are not included. Counts can nest:
+ * when an inner count stops, its totals are added to the enclosing one.
+ */
+public final class QueryCount {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private final QueryCount enclosing;
+    private long statements;
+    private long rows;
+    private long nanos;
+
+    private QueryCount(QueryCount enclosing) {
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Start counting on the current thread.
+     *
+     * @return The new count; must be stopped on the same thread
+     */
+    public static QueryCount start() {
+        QueryCount count = new QueryCount(CURRENT.get());
+        CURRENT.set(count);
+        return count;
+    }
+
+    /**
+     * @return The count of the current thread, or null if none was started
+     */
+    public static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Add an executed statement to the count of the current thread, if any.
+     *
+     * @param rows Rows updated by the statement
+     * @param nanos Time spent executing it
+     */
+    static void recordStatement(long rows, long nanos) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.statements++;
+            count.rows += rows;
+            count.nanos += nanos;
+        }
+    }
+
+    /**
+     * Add a row read from a result set to the count of the current thread, if any.
+     */
+    static void recordRow() {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.rows++;
+        }
+    }
+
+    /**
+     * Stop counting and restore the enclosing count, which receives this count's totals.
+     */
+    public void stop() {
+        if (enclosing != null) {
+            enclosing.statements += statements;
+            enclosing.rows += rows;
+            enclosing.nanos += nanos;
+            CURRENT.set(enclosing);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * @return Statements executed; a JDBC batch counts once
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Rows read from result sets plus rows updated
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Time spent executing statements, in milliseconds
+     */
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + getMillis() + " ms";
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Times every call to a Spring Data repository as {@value #TIMER} and records the number of
+ * entities or rows a query returned as {@value #ROWS}, both tagged with the repository
+ * interface and the method. Counts, existence checks, modifying queries and deletes have no rows;
+ * for a query returning a Stream only opening it is timed and no rows are recorded.
+ * Replaces the spring.data.repository.invocations timer, which is disabled.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    static final String TIMER = "repository.query";
+    static final String ROWS = "repository.query.rows";
+
+    /**
+     * Row count buckets; set here since numbers in the slo properties are read as durations.
+     */
+    private static final double[] ROW_BUCKETS = {1, 10, 100, 1_000, 10_000};
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<MeterKey, RepositoryMeters> meters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            Timer.builder(TIMER)
+                    .description("Repository calls")
+                    .tags("repository", repositoryName(targetClass), "method", method.getName(),
+                            "exception", ex.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+        RepositoryMeters repositoryMeters = meters.computeIfAbsent(new MeterKey(targetClass, method),
+                key -> register(repositoryName(targetClass), method.getName()));
+        repositoryMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        long rows = method.getReturnType() == void.class ? -1 : rows(result);
+        if (rows >= 0) {
+            repositoryMeters.rows().record(rows);
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of entities or rows in a query result, or -1 if it is not a query result
+     */
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable<?>
+                || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private RepositoryMeters register(String repository, String method) {
+        Timer timer = Timer.builder(TIMER)
+                .description("Repository calls")
+                .tags("repository", repository, "method", method, "exception", "none")
+                .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary.builder(ROWS)
+                .description("Entities or rows returned by repository queries")
+                .tags("repository", repository, "method", method)
+                .serviceLevelObjectives(ROW_BUCKETS)
+                .register(meterRegistry);
+        return new RepositoryMeters(timer, rows);
+    }
+
+    /**
+     * The application's repository interface behind a repository proxy.
+     */
+    private String repositoryName(Class<?> targetClass) {
+        return repositoryNames.computeIfAbsent(targetClass, type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getPackageName().startsWith("org.springframework")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    private record MeterKey(Class<?> targetClass, Method method) {
+    }
+
+    private record RepositoryMeters(Timer timer, DistributionSummary rows) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the task, project and user services as {@value #TIMER}, tagged
+ * with the class, the method and the exception thrown, if any. Buckets and histograms are set
+ * in the management.metrics.distribution properties. Calls from within a service to itself
+ * are not timed separately.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String TIMER = "service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Timers of calls that returned normally, so the common path does not build a meter ID.
+     */
+    private final ConcurrentHashMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.taskmanagement.service.TaskService.*(..))"
+            + " || execution(public * com.example.taskmanagement.service.ProjectService.*(..))"
+            + " || execution(public * com.example.taskmanagement.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(m, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(method, ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(TIMER)
+                .description("Service method calls")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
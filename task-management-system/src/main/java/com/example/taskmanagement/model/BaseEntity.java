@@ -3,6 +3,7 @@ package com.example.taskmanagement.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedBy;
@@ -14,7 +15,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 /**
- * Base entity class with audit fields.
+ * Base entity class with audit fields and a row version.
  * All domain entities should extend this class to inherit audit functionality.
  */
 @Getter
@@ -38,5 +39,13 @@ public abstract class BaseEntity {
     @LastModifiedBy
     @Column(name = "updated_by", nullable = false, length = 50)
     private String updatedBy;
+
+    /**
+     * Incremented by every update; an update of a stale copy fails instead of overwriting.
+     * Also serves as the entity tag of the resource.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
 
@@ -1,9 +1,16 @@
 package com.example.taskmanagement.model;
 
+import com.example.taskmanagement.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -11,9 +18,14 @@ import java.util.Set;
 
 /**
  * Entity representing a project in the system.
+ * Updates write only the columns that changed.
  */
 @Entity
 @Table(name = "projects")
+@EntityListeners(SearchIndexListener.class)
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,8 +33,17 @@ import java.util.Set;
 @Builder
 public class Project extends BaseEntity {
 
+    /**
+     * Pooled-lo sequence like {@link Task}, so inserts can be JDBC-batched; backed by the
+     * project_seq table.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @GenericGenerator(name = "project_seq", type = SequenceStyleGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "project_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     @NotBlank
@@ -52,6 +73,7 @@ public class Project extends BaseEntity {
     private Set<Task> tasks = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-members")
     @JoinTable(
         name = "project_members",
         joinColumns = @JoinColumn(name = "project_id"),
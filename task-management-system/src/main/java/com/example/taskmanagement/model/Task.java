@@ -1,17 +1,26 @@
 package com.example.taskmanagement.model;
 
+import com.example.taskmanagement.overdue.OverdueTaskListener;
+import com.example.taskmanagement.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
 /**
  * Entity representing a task in the system.
+ * Updates write only the columns that changed.
  */
 @Entity
 @Table(name = "tasks")
+@EntityListeners({SearchIndexListener.class, OverdueTaskListener.class})
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,8 +28,17 @@ import java.time.LocalDateTime;
 @Builder
 public class Task extends BaseEntity {
 
+    /**
+     * Pooled-lo sequence so inserts can be JDBC-batched (IDENTITY disables batching).
+     * MySQL has no native sequences, so Hibernate backs it with the task_seq table.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @GenericGenerator(name = "task_seq", type = SequenceStyleGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "task_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     @NotBlank
@@ -42,6 +60,14 @@ public class Task extends BaseEntity {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    /**
+     * When the task was last moved to DONE; null while it is open. Maintained by
+     * {@link #setStatus(TaskStatus)}.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
@@ -75,6 +101,23 @@ public class Task extends BaseEntity {
         if (this.priority == null) {
             this.priority = TaskPriority.MEDIUM;
         }
+        if (this.status == TaskStatus.DONE && this.completedAt == null) {
+            this.completedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Set the status, recording when the task is completed or clearing that when it is reopened.
+     *
+     * @param status The new status
+     */
+    public void setStatus(TaskStatus status) {
+        if (status != TaskStatus.DONE) {
+            this.completedAt = null;
+        } else if (this.status != TaskStatus.DONE) {
+            this.completedAt = LocalDateTime.now();
+        }
+        this.status = status;
     }
 
     /**
@@ -0,0 +1,65 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a file attached to a task.
+ * The content lives in the attachment store under {@link #filePath}, a key derived from its
+ * SHA-256; attachments with the same content share the file.
+ */
+@Entity
+@Table(name = "task_attachments")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_task_attachments_task"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @Column(name = "file_name", length = 255, nullable = false)
+    private String fileName;
+
+    @Column(name = "file_path", length = 512, nullable = false)
+    private String filePath;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "file_type", length = 100, nullable = false)
+    private String fileType;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "uploaded_by", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_task_attachments_user"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User uploadedBy;
+
+    @CreatedDate
+    @Column(name = "uploaded_at", nullable = false, updatable = false)
+    private LocalDateTime uploadedAt;
+
+    /**
+     * @return Hex SHA-256 of the content, the last segment of the file path
+     */
+    public String getSha256() {
+        return filePath.substring(filePath.lastIndexOf('/') + 1);
+    }
+}
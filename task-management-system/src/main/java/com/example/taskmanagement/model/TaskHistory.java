@@ -0,0 +1,45 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One changed field of a task. Rows are inserted in batches by
+ * {@link com.example.taskmanagement.history.TaskHistoryWriter}; JPA only reads them.
+ */
+@Entity
+@Table(name = "task_history")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /**
+     * ID of the user who made the change, or null for system changes.
+     */
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    @Column(name = "field_name", length = 50, nullable = false)
+    private String fieldName;
+
+    @Column(name = "old_value")
+    private String oldValue;
+
+    @Column(name = "new_value")
+    private String newValue;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
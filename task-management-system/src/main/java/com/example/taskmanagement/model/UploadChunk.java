@@ -0,0 +1,43 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording that a chunk of an {@link UploadSession} was written.
+ * The unique (session, chunk) pair makes a retried chunk a no-op.
+ */
+@Entity
+@Table(name = "upload_chunks", uniqueConstraints = @UniqueConstraint(
+        name = "uk_upload_chunks_session_chunk", columnNames = {"session_id", "chunk_index"}))
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "session_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_upload_chunks_session"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UploadSession session;
+
+    @Column(name = "chunk_index", nullable = false, updatable = false)
+    private Integer chunkIndex;
+
+    @CreatedDate
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+}
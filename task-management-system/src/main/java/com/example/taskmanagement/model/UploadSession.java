@@ -0,0 +1,91 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a resumable upload in progress.
+ * The file is split into chunks of {@link #chunkSize} bytes (the last one may be shorter);
+ * every received chunk is recorded as an {@link UploadChunk}.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_upload_sessions_task"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "uploaded_by", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_upload_sessions_user"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User uploadedBy;
+
+    @Column(name = "file_name", length = 255, nullable = false)
+    private String fileName;
+
+    @Column(name = "file_type", length = 100, nullable = false)
+    private String fileType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private UploadStatus status;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Enum representing the state of an upload session.
+     */
+    public enum UploadStatus {
+        OPEN, COMMITTING
+    }
+
+    /**
+     * @return Number of chunks the file is split into
+     */
+    public int getChunkCount() {
+        return (int) Math.max(1, (totalSize + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Get the length of a chunk.
+     *
+     * @param chunkIndex Zero-based chunk index
+     * @return Length in bytes; only the last chunk may be shorter than the chunk size
+     */
+    public long chunkLength(int chunkIndex) {
+        return Math.min(chunkSize, totalSize - (long) chunkIndex * chunkSize);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.taskmanagement.overdue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexed binary min-heap of task deadlines, as parallel primitive arrays.
+ * Each task appears at most once, so a deadline can be moved or removed in O(log n).
+ * Not thread-safe; {@link OverdueTaskService} guards every access.
+ */
+final class DueDateQueue {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private long[] taskIds = new long[INITIAL_CAPACITY];
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long taskId) {
+        return positions.containsKey(taskId);
+    }
+
+    /**
+     * Add a task or move it to a new deadline.
+     */
+    void put(long taskId, long deadline) {
+        Integer position = positions.get(taskId);
+        if (position != null) {
+            long previous = deadlines[position];
+            deadlines[position] = deadline;
+            if (deadline < previous) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+            return;
+        }
+        if (size == deadlines.length) {
+            deadlines = Arrays.copyOf(deadlines, size * 2);
+            taskIds = Arrays.copyOf(taskIds, size * 2);
+        }
+        deadlines[size] = deadline;
+        taskIds[size] = taskId;
+        positions.put(taskId, size);
+        siftUp(size++);
+    }
+
+    boolean remove(long taskId) {
+        Integer position = positions.remove(taskId);
+        if (position == null) {
+            return false;
+        }
+        size--;
+        if (position != size) {
+            move(size, position);
+            siftDown(position);
+            siftUp(position);
+        }
+        return true;
+    }
+
+    /**
+     * @return The earliest deadline, or {@link Long#MAX_VALUE} when empty
+     */
+    long peekDeadline() {
+        return size == 0 ? Long.MAX_VALUE : deadlines[0];
+    }
+
+    /**
+     * @return The task ID with the earliest deadline, removed from the queue
+     */
+    long poll() {
+        long taskId = taskIds[0];
+        remove(taskId);
+        return taskId;
+    }
+
+    private void siftUp(int position) {
+        long deadline = deadlines[position];
+        long taskId = taskIds[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (deadlines[parent] <= deadline) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+        place(position, deadline, taskId);
+    }
+
+    private void siftDown(int position) {
+        long deadline = deadlines[position];
+        long taskId = taskIds[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && deadlines[child + 1] < deadlines[child]) {
+                child++;
+            }
+            if (deadline <= deadlines[child]) {
+                break;
+            }
+            move(child, position);
+            position = child;
+        }
+        place(position, deadline, taskId);
+    }
+
+    private void move(int from, int to) {
+        place(to, deadlines[from], taskIds[from]);
+    }
+
+    private void place(int position, long deadline, long taskId) {
+        deadlines[position] = deadline;
+        taskIds[position] = taskId;
+        positions.put(taskId, position);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.overdue;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.support.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity listener keeping {@link OverdueTaskService} in step with {@link Task} writes,
+ * including cascaded deletes. The due date and status are captured when the task is written
+ * and applied after commit, so rolled back changes are never tracked.
+ */
+@Component
+@RequiredArgsConstructor
+public class OverdueTaskListener {
+
+    private final ObjectProvider<OverdueTaskService> overdueTaskService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Task task) {
+        long id = task.getId();
+        LocalDateTime dueDate = task.getDueDate();
+        boolean open = task.getStatus() != Task.TaskStatus.DONE;
+        AfterCommit.run(() -> overdueTaskService.getObject().track(id, dueDate, open));
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        long id = task.getId();
+        AfterCommit.run(() -> overdueTaskService.getObject().untrack(id));
+    }
+}
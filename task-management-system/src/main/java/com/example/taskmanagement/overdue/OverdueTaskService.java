@@ -0,0 +1,218 @@
+package com.example.taskmanagement.overdue;
+
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.support.ReplayLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the due dates of open tasks in memory and publishes a {@link TaskOverdueEvent}
+ * when one passes. Open tasks wait in a min-heap keyed by deadline; a frequent check pops
+ * every deadline that has passed into the overdue set, which is kept ordered by due date so
+ * the oldest overdue tasks are read without scanning. {@link OverdueTaskListener} feeds it
+ * committed task changes; on startup it is loaded from the database in keyset pages.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class OverdueTaskService {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private static final Comparator<OverdueTask> BY_DEADLINE =
+            Comparator.comparingLong(OverdueTask::deadline).thenComparingLong(OverdueTask::taskId);
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DueDateQueue pending = new DueDateQueue();
+    private final Map<Long, OverdueTask> overdueById = new HashMap<>();
+    private final ConcurrentSkipListSet<OverdueTask> overdue = new ConcurrentSkipListSet<>(BY_DEADLINE);
+
+    private final ReplayLog replayLog = ReplayLog.applyingWhileLoading();
+
+    /**
+     * Start, move or stop tracking the deadline of a task.
+     *
+     * @param taskId The task ID
+     * @param dueDate The due date, or null if the task has none
+     * @param open False once the task is done
+     */
+    public void track(long taskId, LocalDateTime dueDate, boolean open) {
+        replayLog.apply(() -> update(taskId, open ? dueDate : null, LocalDateTime.now(), true));
+    }
+
+    /**
+     * Stop tracking a deleted task.
+     *
+     * @param taskId The task ID
+     */
+    public void untrack(long taskId) {
+        replayLog.apply(() -> update(taskId, null, LocalDateTime.now(), false));
+    }
+
+    /**
+     * Get the IDs of the tasks that have been overdue the longest.
+     *
+     * @param limit Maximum number of IDs
+     * @return Task IDs, oldest due date first
+     */
+    public List<Long> findOverdueTaskIds(int limit) {
+        List<Long> taskIds = new ArrayList<>(Math.min(limit, overdue.size()));
+        Iterator<OverdueTask> iterator = overdue.iterator();
+        while (taskIds.size() < limit && iterator.hasNext()) {
+            taskIds.add(iterator.next().taskId());
+        }
+        return taskIds;
+    }
+
+    /**
+     * @return Number of open tasks past their due date
+     */
+    public int overdueCount() {
+        return overdue.size();
+    }
+
+    /**
+     * Move every task whose deadline has passed to the overdue set. Runs on the shared
+     * scheduling pool, which has a thread per job so the other jobs cannot hold it up.
+     */
+    @Scheduled(fixedDelayString = "${overdue.check-interval:PT1S}")
+    public void checkDeadlines() {
+        expire(LocalDateTime.now());
+    }
+
+    /**
+     * Load the due dates of open tasks in the background once the application is up.
+     * Tasks already overdue are added without an event; it was due while the application
+     * was down and may have been published by the previous run.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long start = System.nanoTime();
+        int loaded = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long afterId = 0;
+            List<TaskRepository.TaskDueDateRow> rows;
+            do {
+                rows = taskRepository.findOpenDueDates(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (TaskRepository.TaskDueDateRow row : rows) {
+                    update(row.getId(), row.getDueDate(), now, false);
+                }
+                loaded += rows.size();
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (rows.size() == LOAD_PAGE_SIZE);
+        } catch (RuntimeException ex) {
+            log.error("Loading task due dates failed; tracking only changes from now on", ex);
+        } finally {
+            replayLog.finish(() -> { });
+        }
+        log.info("Tracking {} task due dates in {} ms: {} overdue",
+                loaded, (System.nanoTime() - start) / 1_000_000, overdue.size());
+    }
+
+    /**
+     * @return True once the due dates are loaded and every change is applied
+     */
+    public boolean isReady() {
+        return replayLog.isLoaded();
+    }
+
+    void expire(LocalDateTime now) {
+        long nowKey = toKey(now);
+        List<TaskOverdueEvent> events = new ArrayList<>();
+        lock.lock();
+        try {
+            while (pending.peekDeadline() <= nowKey) {
+                long deadline = pending.peekDeadline();
+                long taskId = pending.poll();
+                addOverdue(taskId, deadline);
+                events.add(new TaskOverdueEvent(taskId, fromKey(deadline)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(events);
+    }
+
+    private void update(long taskId, LocalDateTime dueDate, LocalDateTime now, boolean notify) {
+        TaskOverdueEvent event = null;
+        lock.lock();
+        try {
+            pending.remove(taskId);
+            OverdueTask previous = overdueById.remove(taskId);
+            if (previous != null) {
+                overdue.remove(previous);
+            }
+            if (dueDate == null) {
+                return;
+            }
+            long deadline = toKey(dueDate);
+            if (deadline > toKey(now)) {
+                pending.put(taskId, deadline);
+                return;
+            }
+            addOverdue(taskId, deadline);
+            if (notify && previous == null) {
+                event = new TaskOverdueEvent(taskId, dueDate);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (event != null) {
+            publish(List.of(event));
+        }
+    }
+
+    private void addOverdue(long taskId, long deadline) {
+        OverdueTask task = new OverdueTask(taskId, deadline);
+        overdueById.put(taskId, task);
+        overdue.add(task);
+    }
+
+    private void publish(List<TaskOverdueEvent> events) {
+        for (TaskOverdueEvent event : events) {
+            log.debug("Task {} became overdue (due {})", event.taskId(), event.dueDate());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Due dates are zone-less, so they are compared on the local time line; the epoch
+     * milliseconds of that wall-clock time in UTC only serve as a sortable key.
+     */
+    private static long toKey(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromKey(long key) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(key), ZoneOffset.UTC);
+    }
+
+    private record OverdueTask(long taskId, long deadline) {
+    }
+}
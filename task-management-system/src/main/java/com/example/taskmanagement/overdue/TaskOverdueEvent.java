@@ -0,0 +1,12 @@
+package com.example.taskmanagement.overdue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once when an open task passes its due date.
+ *
+ * @param taskId The task ID
+ * @param dueDate The deadline that passed
+ */
+public record TaskOverdueEvent(long taskId, LocalDateTime dueDate) {
+}
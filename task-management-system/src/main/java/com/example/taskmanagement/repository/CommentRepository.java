@@ -0,0 +1,44 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for managing task comments.
+ */
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * Find the next page of comments of a task by keyset.
+     * Served by the (task_id) index, whose entries are ordered by (task_id, id).
+     *
+     * @param taskId The task ID
+     * @param afterId Exclusive lower bound of the comment ID
+     * @param pageable Page size
+     * @return Slice of comments in ID order
+     */
+    Slice<Comment> findByTaskIdAndIdGreaterThanOrderByIdAsc(Long taskId, Long afterId, Pageable pageable);
+
+    /**
+     * Find a comment of a task.
+     *
+     * @param id The comment ID
+     * @param taskId The task ID
+     * @return Optional containing the comment if it belongs to the task
+     */
+    Optional<Comment> findByIdAndTaskId(Long id, Long taskId);
+
+    /**
+     * Count the comments of a task.
+     *
+     * @param taskId The task ID
+     * @return Number of comments
+     */
+    long countByTaskId(Long taskId);
+}
@@ -3,12 +3,16 @@ package com.example.taskmanagement.repository;
 import com.example.taskmanagement.model.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Project entity.
@@ -24,6 +28,16 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      */
     List<Project> findByOwnerId(Long userId);
 
+    /**
+     * Find the next keyset page of projects ordered by ID.
+     * Returning a Slice skips the COUNT(*) query a Page would need.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param pageable Page size (the page number is always 0)
+     * @return Slice of projects with an ID greater than afterId
+     */
+    Slice<Project> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
     /**
      * Find projects by status.
      *
@@ -42,15 +56,6 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p JOIN p.members m WHERE m.id = :userId")
     List<Project> findByMemberId(@Param("userId") Long userId);
 
-    /**
-     * Find projects by name containing the search term.
-     *
-     * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of projects with names containing the search term
-     */
-    Page<Project> findByNameContainingIgnoreCase(String searchTerm, Pageable pageable);
-
     /**
      * Count projects by status.
      *
@@ -58,5 +63,104 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      * @return Count of projects with the specified status
      */
     long countByStatus(Project.ProjectStatus status);
+
+    /**
+     * Find the next keyset page of project search rows modified at or after a point in time.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param since Lower bound on the last modification time
+     * @param pageable Page size (the page number is always 0)
+     * @return Search rows ordered by ID
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.updatedAt AS updatedAt "
+            + "FROM Project p WHERE p.id > :afterId AND p.updatedAt >= :since ORDER BY p.id")
+    List<ProjectSearchRow> findSearchRows(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                          Pageable pageable);
+
+    /**
+     * Find the next keyset page of project IDs.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param pageable Page size (the page number is always 0)
+     * @return Project IDs ordered ascending
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find which of the given project IDs exist, without loading the projects.
+     *
+     * @param projectIds The project IDs
+     * @return IDs of the existing projects
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :projectIds")
+    List<Long> findExistingIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Find the version of a project without loading it.
+     *
+     * @param id The project ID
+     * @return Optional containing the version if the project exists
+     */
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Check whether a user owns or is a member of a project.
+     *
+     * @param projectId The project ID
+     * @param userId The user ID
+     * @return true if the user owns the project or is one of its members
+     */
+    @Query("SELECT COUNT(p) > 0 FROM Project p LEFT JOIN p.members m "
+            + "WHERE p.id = :projectId AND (p.owner.id = :userId OR m.id = :userId)")
+    boolean isOwnerOrMember(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    /**
+     * Find the member IDs of a batch of projects in a single query.
+     *
+     * @param projectIds The project IDs
+     * @return (project ID, member ID) pairs
+     */
+    @Query("SELECT p.id AS projectId, m.id AS relatedId FROM Project p JOIN p.members m WHERE p.id IN :projectIds")
+    List<ProjectIdPair> findMemberIdPairs(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Find the owner IDs of a batch of projects in a single query.
+     *
+     * @param projectIds The project IDs
+     * @return (project ID, owner ID) pairs
+     */
+    @Query("SELECT p.id AS projectId, p.owner.id AS relatedId FROM Project p WHERE p.id IN :projectIds")
+    List<ProjectIdPair> findOwnerIdPairs(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Find the task IDs of a batch of projects in a single query.
+     *
+     * @param projectIds The project IDs
+     * @return (project ID, task ID) pairs
+     */
+    @Query("SELECT t.project.id AS projectId, t.id AS relatedId FROM Task t WHERE t.project.id IN :projectIds")
+    List<ProjectIdPair> findTaskIdPairs(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Projection of a project ID and the ID of an associated member or task.
+     */
+    interface ProjectIdPair {
+        Long getProjectId();
+
+        Long getRelatedId();
+    }
+
+    /**
+     * Indexed columns of a project.
+     */
+    interface ProjectSearchRow {
+        Long getId();
+
+        String getName();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
 
@@ -0,0 +1,41 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing task attachments.
+ */
+@Repository
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+
+    /**
+     * Find the attachments of a task.
+     *
+     * @param taskId The task ID
+     * @return Attachments in upload order
+     */
+    List<TaskAttachment> findByTaskIdOrderByIdAsc(Long taskId);
+
+    /**
+     * Find an attachment of a task.
+     *
+     * @param id The attachment ID
+     * @param taskId The task ID
+     * @return Optional containing the attachment if it belongs to the task
+     */
+    Optional<TaskAttachment> findByIdAndTaskId(Long id, Long taskId);
+
+    /**
+     * Check whether any attachment still refers to a stored file; an index lookup on
+     * {@code file_path}, run once per stored file by the sweep.
+     *
+     * @param filePath The store key
+     * @return True if the file is referenced
+     */
+    boolean existsByFilePath(String filePath);
+}
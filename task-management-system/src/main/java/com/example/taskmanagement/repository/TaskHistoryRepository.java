@@ -0,0 +1,23 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for reading the change history of tasks.
+ */
+@Repository
+public interface TaskHistoryRepository extends JpaRepository<TaskHistory, Long> {
+
+    /**
+     * Find the changes of a task, newest first.
+     *
+     * @param taskId The task ID
+     * @param pageable Pagination information
+     * @return Page of history entries
+     */
+    Page<TaskHistory> findByTaskIdOrderByChangedAtDescIdDesc(Long taskId, Pageable pageable);
+}
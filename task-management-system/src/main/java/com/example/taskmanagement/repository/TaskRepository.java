@@ -1,15 +1,27 @@
 package com.example.taskmanagement.repository;
 
 import com.example.taskmanagement.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Task entity.
@@ -25,6 +37,148 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     List<Task> findByProjectId(Long projectId);
 
+    /**
+     * Find the next keyset page of tasks ordered by ID.
+     * Returning a Slice skips the COUNT(*) query a Page would need.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param pageable Page size (the page number is always 0)
+     * @return Slice of tasks with an ID greater than afterId
+     */
+    Slice<Task> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Find the version of a task without loading it.
+     *
+     * @param id The task ID
+     * @return Optional containing the version if the task exists
+     */
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Find the project of a task without loading it.
+     *
+     * @param id The task ID
+     * @return Optional containing the project ID if the task exists
+     */
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    /**
+     * Change the priority of a task in a single statement, provided it is still at the given
+     * version. Bypasses the persistence context and its entity listeners.
+     *
+     * @param id The task ID
+     * @param priority The new priority
+     * @param version The version the change was made against
+     * @param updatedAt The modification time
+     * @param updatedBy The modifying auditor
+     * @return 1 if the task was updated, 0 if it does not exist or is at another version
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.priority = :priority, t.version = t.version + 1, t.updatedAt = :updatedAt, "
+            + "t.updatedBy = :updatedBy WHERE t.id = :id AND t.version = :version")
+    int updatePriority(@Param("id") Long id, @Param("priority") Task.TaskPriority priority,
+                       @Param("version") long version, @Param("updatedAt") LocalDateTime updatedAt,
+                       @Param("updatedBy") String updatedBy);
+
+    /**
+     * Read and lock the tasks with the given IDs, ahead of a bulk update.
+     *
+     * @param ids The task IDs, at most a few thousand
+     * @return The state of the existing tasks ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id AS id, t.project.id AS projectId, t.status AS status, t.priority AS priority, "
+            + "t.dueDate AS dueDate FROM Task t WHERE t.id IN :ids ORDER BY t.id")
+    List<TaskStateRow> lockStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read and lock the next keyset page of tasks matching a filter, ahead of a bulk update.
+     *
+     * @param projectId Project of the tasks, or null for any
+     * @param assigneeId Assignee of the tasks, or null for any
+     * @param status Current status of the tasks, or null for any
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param pageable Page size (the page number is always 0)
+     * @return The state of the matching tasks ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id AS id, t.project.id AS projectId, t.status AS status, t.priority AS priority, "
+            + "t.dueDate AS dueDate FROM Task t WHERE t.id > :afterId "
+            + "AND (:projectId IS NULL OR t.project.id = :projectId) "
+            + "AND (:assigneeId IS NULL OR t.assignee.id = :assigneeId) "
+            + "AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    List<TaskStateRow> lockStatesMatching(@Param("projectId") Long projectId, @Param("assigneeId") Long assigneeId,
+                                          @Param("status") Task.TaskStatus status, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    /**
+     * Change the status of many tasks in a single statement, setting or clearing the completion
+     * time to match. Bypasses the persistence context and its entity listeners.
+     *
+     * @param ids The task IDs
+     * @param status The new status
+     * @param completedAt The completion time, null unless the new status is DONE
+     * @param updatedAt The modification time
+     * @param updatedBy The modifying auditor
+     * @return Number of tasks updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Task t SET t.status = :status, t.completedAt = :completedAt, t.version = t.version + 1, "
+            + "t.updatedAt = :updatedAt, t.updatedBy = :updatedBy WHERE t.id IN :ids")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("status") Task.TaskStatus status,
+                       @Param("completedAt") LocalDateTime completedAt, @Param("updatedAt") LocalDateTime updatedAt,
+                       @Param("updatedBy") String updatedBy);
+
+    /**
+     * Change the priority of many tasks in a single statement.
+     * Bypasses the persistence context and its entity listeners.
+     *
+     * @param ids The task IDs
+     * @param priority The new priority
+     * @param updatedAt The modification time
+     * @param updatedBy The modifying auditor
+     * @return Number of tasks updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Task t SET t.priority = :priority, t.version = t.version + 1, t.updatedAt = :updatedAt, "
+            + "t.updatedBy = :updatedBy WHERE t.id IN :ids")
+    int updatePriorities(@Param("ids") Collection<Long> ids, @Param("priority") Task.TaskPriority priority,
+                         @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
+
+    /**
+     * Stream all tasks of a project ordered by ID.
+     * Rows are fetched from the driver in chunks and loaded read-only, so the caller
+     * must consume the stream inside a transaction and detach entities as it goes.
+     *
+     * @param projectId The project ID
+     * @return Stream of tasks in the project
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    Stream<Task> streamByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Stream every task ordered by ID.
+     * Same fetching rules as {@link #streamByProjectId(Long)}.
+     *
+     * @return Stream of all tasks
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAll();
+
     /**
      * Find tasks by assignee ID.
      *
@@ -80,12 +234,225 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     long countByProjectIdAndStatus(Long projectId, Task.TaskStatus status);
 
     /**
-     * Find tasks by title containing the search term.
+     * Count tasks of every project grouped by status, in a single query.
      *
-     * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of tasks with titles containing the search term
+     * @return One row per project and status that has tasks
      */
-    Page<Task> findByTitleContainingIgnoreCase(String searchTerm, Pageable pageable);
-}
+    @Query("SELECT t.project.id AS projectId, t.status AS status, COUNT(t) AS count "
+            + "FROM Task t GROUP BY t.project.id, t.status")
+    List<ProjectStatusCount> countByProjectAndStatus();
+
+    /**
+     * Find the next keyset page of task search rows modified at or after a point in time.
+     * Only the indexed columns are selected, so no entity is loaded.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param since Lower bound on the last modification time
+     * @param pageable Page size (the page number is always 0)
+     * @return Search rows ordered by ID
+     */
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.updatedAt AS updatedAt "
+            + "FROM Task t WHERE t.id > :afterId AND t.updatedAt >= :since ORDER BY t.id")
+    List<TaskSearchRow> findSearchRows(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                       Pageable pageable);
+
+    /**
+     * Find the next keyset page of task IDs.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param pageable Page size (the page number is always 0)
+     * @return Task IDs ordered ascending
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the next keyset page of due dates of tasks that are not done.
+     *
+     * @param afterId Exclusive lower bound, the last ID of the previous page
+     * @param pageable Page size (the page number is always 0)
+     * @return Task IDs and due dates ordered by ID
+     */
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t "
+            + "WHERE t.id > :afterId AND t.dueDate IS NOT NULL AND t.status <> 'DONE' ORDER BY t.id")
+    List<TaskDueDateRow> findOpenDueDates(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Count the tasks of a project per status and priority, and how many of them are overdue.
+     *
+     * @param projectId The project ID
+     * @param now The point in time due dates are compared with
+     * @return One row per status and priority that has tasks
+     */
+    @Query("SELECT t.status AS status, t.priority AS priority, COUNT(t) AS count, "
+            + "SUM(CASE WHEN t.dueDate < :now AND t.status <> 'DONE' THEN 1 ELSE 0 END) AS overdue "
+            + "FROM Task t WHERE t.project.id = :projectId GROUP BY t.status, t.priority")
+    List<StatusPriorityCount> countByStatusAndPriority(@Param("projectId") Long projectId,
+                                                       @Param("now") LocalDateTime now);
+
+    /**
+     * Count all tasks per status and priority, and how many of them are overdue.
+     *
+     * @param now The point in time due dates are compared with
+     * @return One row per status and priority that has tasks
+     */
+    @Query("SELECT t.status AS status, t.priority AS priority, COUNT(t) AS count, "
+            + "SUM(CASE WHEN t.dueDate < :now AND t.status <> 'DONE' THEN 1 ELSE 0 END) AS overdue "
+            + "FROM Task t GROUP BY t.status, t.priority")
+    List<StatusPriorityCount> countAllByStatusAndPriority(@Param("now") LocalDateTime now);
 
+    /**
+     * Count the tasks of a project created per day.
+     *
+     * @param projectId The project ID
+     * @param since Start of the first day
+     * @return One row per day with tasks created
+     */
+    @Query("SELECT CAST(t.createdAt AS LocalDate) AS day, COUNT(t) AS count FROM Task t "
+            + "WHERE t.project.id = :projectId AND t.createdAt >= :since GROUP BY CAST(t.createdAt AS LocalDate)")
+    List<DailyCount> countCreatedPerDay(@Param("projectId") Long projectId, @Param("since") LocalDateTime since);
+
+    /**
+     * Count all tasks created per day.
+     *
+     * @param since Start of the first day
+     * @return One row per day with tasks created
+     */
+    @Query("SELECT CAST(t.createdAt AS LocalDate) AS day, COUNT(t) AS count FROM Task t "
+            + "WHERE t.createdAt >= :since GROUP BY CAST(t.createdAt AS LocalDate)")
+    List<DailyCount> countAllCreatedPerDay(@Param("since") LocalDateTime since);
+
+    /**
+     * Count the tasks of a project completed per day.
+     *
+     * @param projectId The project ID
+     * @param since Start of the first day
+     * @return One row per day with tasks completed
+     */
+    @Query("SELECT CAST(t.completedAt AS LocalDate) AS day, COUNT(t) AS count FROM Task t "
+            + "WHERE t.project.id = :projectId AND t.completedAt >= :since GROUP BY CAST(t.completedAt AS LocalDate)")
+    List<DailyCount> countCompletedPerDay(@Param("projectId") Long projectId, @Param("since") LocalDateTime since);
+
+    /**
+     * Count all tasks completed per day.
+     *
+     * @param since Start of the first day
+     * @return One row per day with tasks completed
+     */
+    @Query("SELECT CAST(t.completedAt AS LocalDate) AS day, COUNT(t) AS count FROM Task t "
+            + "WHERE t.completedAt >= :since GROUP BY CAST(t.completedAt AS LocalDate)")
+    List<DailyCount> countAllCompletedPerDay(@Param("since") LocalDateTime since);
+
+    /**
+     * Count the open and overdue tasks per assignee of a project, busiest first.
+     * Unassigned tasks form one row without an assignee.
+     *
+     * @param projectId The project ID
+     * @param now The point in time due dates are compared with
+     * @param pageable Number of assignees (the page number is always 0)
+     * @return One row per assignee with open tasks
+     */
+    @Query("SELECT a.id AS assigneeId, a.username AS username, COUNT(t) AS openTasks, "
+            + "SUM(CASE WHEN t.dueDate < :now THEN 1 ELSE 0 END) AS overdue "
+            + "FROM Task t LEFT JOIN t.assignee a WHERE t.project.id = :projectId AND t.status <> 'DONE' "
+            + "GROUP BY a.id, a.username ORDER BY COUNT(t) DESC, a.id")
+    List<AssigneeLoad> countOpenPerAssignee(@Param("projectId") Long projectId, @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    /**
+     * Count the open and overdue tasks per assignee across all projects, busiest first.
+     * Unassigned tasks form one row without an assignee.
+     *
+     * @param now The point in time due dates are compared with
+     * @param pageable Number of assignees (the page number is always 0)
+     * @return One row per assignee with open tasks
+     */
+    @Query("SELECT a.id AS assigneeId, a.username AS username, COUNT(t) AS openTasks, "
+            + "SUM(CASE WHEN t.dueDate < :now THEN 1 ELSE 0 END) AS overdue "
+            + "FROM Task t LEFT JOIN t.assignee a WHERE t.status <> 'DONE' "
+            + "GROUP BY a.id, a.username ORDER BY COUNT(t) DESC, a.id")
+    List<AssigneeLoad> countAllOpenPerAssignee(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Indexed columns of a task.
+     */
+    interface TaskSearchRow {
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Task count of one project and status.
+     */
+    interface ProjectStatusCount {
+        Long getProjectId();
+
+        Task.TaskStatus getStatus();
+
+        long getCount();
+    }
+
+    /**
+     * Task count of one status and priority.
+     */
+    interface StatusPriorityCount {
+        Task.TaskStatus getStatus();
+
+        Task.TaskPriority getPriority();
+
+        long getCount();
+
+        long getOverdue();
+    }
+
+    /**
+     * Task count of one day.
+     */
+    interface DailyCount {
+        LocalDate getDay();
+
+        long getCount();
+    }
+
+    /**
+     * Open and overdue task counts of one assignee.
+     */
+    interface AssigneeLoad {
+        Long getAssigneeId();
+
+        String getUsername();
+
+        long getOpenTasks();
+
+        long getOverdue();
+    }
+
+    /**
+     * Fields of a task that a bulk update changes or derives state from.
+     */
+    interface TaskStateRow {
+        Long getId();
+
+        Long getProjectId();
+
+        Task.TaskStatus getStatus();
+
+        Task.TaskPriority getPriority();
+
+        LocalDateTime getDueDate();
+    }
+
+    /**
+     * Due date of an open task.
+     */
+    interface TaskDueDateRow {
+        Long getId();
+
+        LocalDateTime getDueDate();
+    }
+}
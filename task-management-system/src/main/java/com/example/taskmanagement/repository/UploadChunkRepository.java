@@ -0,0 +1,33 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the received chunks of upload sessions.
+ */
+@Repository
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, Long> {
+
+    /**
+     * Find the indexes of the chunks received for a session.
+     *
+     * @param sessionId The session ID
+     * @return Chunk indexes in ascending order
+     */
+    @Query("SELECT c.chunkIndex FROM UploadChunk c WHERE c.session.id = :sessionId ORDER BY c.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("sessionId") String sessionId);
+
+    /**
+     * Count the chunks received for a session.
+     *
+     * @param sessionId The session ID
+     * @return Number of distinct chunks received
+     */
+    long countBySessionId(String sessionId);
+}
@@ -0,0 +1,74 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing resumable upload sessions.
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * Find an upload session of a task.
+     *
+     * @param id The session ID
+     * @param taskId The task ID
+     * @return Optional containing the session if it belongs to the task
+     */
+    Optional<UploadSession> findByIdAndTaskId(String id, Long taskId);
+
+    /**
+     * Record activity on a session, keeping it from being collected.
+     *
+     * @param id The session ID
+     * @param now The current time
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.updatedAt = :now WHERE s.id = :id")
+    void touch(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    /**
+     * Move a session from one status to another, unless another request already did.
+     *
+     * @param id The session ID
+     * @param from The expected current status
+     * @param to The new status
+     * @return 1 if the session was moved, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.status = :to WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") String id, @Param("from") UploadSession.UploadStatus from,
+                   @Param("to") UploadSession.UploadStatus to);
+
+    /**
+     * Find the IDs of sessions without activity since a cutoff.
+     *
+     * @param cutoff Sessions last updated before this are stale
+     * @return Session IDs
+     */
+    @Query("SELECT s.id FROM UploadSession s WHERE s.updatedAt < :cutoff")
+    List<String> findIdsUpdatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Find the IDs of sessions in a status without activity since a cutoff.
+     *
+     * @param status The status
+     * @param cutoff Sessions last updated before this are returned
+     * @return Session IDs
+     */
+    @Query("SELECT s.id FROM UploadSession s WHERE s.status = :status AND s.updatedAt < :cutoff")
+    List<String> findIdsByStatusUpdatedBefore(@Param("status") UploadSession.UploadStatus status,
+                                              @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,15 @@
 package com.example.taskmanagement.repository;
 
 import com.example.taskmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,10 +21,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Find a user by username.
+     * The result is kept in the query cache and invalidated whenever the users table changes.
      *
      * @param username The username
      * @return Optional containing the user if found
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-username")
+    })
     Optional<User> findByUsername(String username);
 
     /**
@@ -63,5 +72,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u JOIN u.projects p WHERE p.id = :projectId")
     List<User> findByProjectId(@Param("projectId") Long projectId);
-}
 
+    /**
+     * Find which of the given user IDs exist, without loading the users.
+     *
+     * @param userIds The user IDs
+     * @return IDs of the existing users
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds")
+    List<Long> findExistingIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Find the version of a user without loading it.
+     *
+     * @param id The user ID
+     * @return Optional containing the version if the user exists
+     */
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,505 @@
+package com.example.taskmanagement.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with BM25.
+ * Entities are mapped to dense int ordinals so posting lists can be primitive int arrays;
+ * ordinals of removed documents are reused, so they stay bounded by the peak document count.
+ * A query scores only the documents in the posting lists of its terms.
+ * The on-disk snapshot delta-encodes the ordinals as varints.
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class InvertedIndex {
+
+    /**
+     * Title terms count this many times, so a match in the title outranks one in the body.
+     */
+    static final int TITLE_WEIGHT = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNAPSHOT_MAGIC = 0x54534958;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final String[] NO_TERMS = new String[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private LongIntMap ordinals = new LongIntMap();
+    private long[] entityIds = new long[64];
+    private long[] versions = new long[64];
+    private int[] lengths = new int[64];
+    /**
+     * Distinct terms of each document, needed to unlink it on update; null for removed ordinals.
+     */
+    private String[][] docTerms = new String[64][];
+    private int nextOrdinal;
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private long totalLength;
+    private long modCount;
+
+    /**
+     * Add a document or replace its previous version.
+     *
+     * @param document The document to index
+     */
+    public void index(SearchDocument document) {
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = countTerms(freqs, document.title(), TITLE_WEIGHT) + countTerms(freqs, document.body(), 1);
+
+        lock.writeLock().lock();
+        try {
+            int doc = ordinals.get(document.id());
+            if (doc != LongIntMap.ABSENT) {
+                unlink(doc);
+            } else {
+                doc = allocate(document.id());
+            }
+            String[] terms = new String[freqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).put(doc, entry.getValue());
+                terms[i++] = entry.getKey();
+            }
+            docTerms[doc] = terms;
+            versions[doc] = document.version();
+            lengths[doc] = length;
+            totalLength += length;
+            modCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document; unknown IDs are ignored.
+     *
+     * @param id Entity ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int doc = ordinals.remove(id);
+            if (doc != LongIntMap.ABSENT) {
+                unlink(doc);
+                release(doc);
+                modCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank documents against a free-text query; any query term may match.
+     *
+     * @param query Free-text query
+     * @param offset Number of best matches to skip
+     * @param limit Maximum number of IDs to return
+     * @return Total match count and the requested page of IDs
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int live = ordinals.size();
+            if (live == 0) {
+                return SearchHits.empty();
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / live);
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            int postingCount = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                    postingCount += list.size();
+                }
+            }
+            ScoreAccumulator scores = new ScoreAccumulator(postingCount);
+            for (PostingList list : lists) {
+                double idf = Math.log(1 + (live - list.size() + 0.5) / (list.size() + 0.5));
+                for (int i = 0; i < list.size(); i++) {
+                    int doc = list.doc(i);
+                    int tf = list.freq(i);
+                    double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+                    scores.add(doc, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+                }
+            }
+
+            int matchedCount = scores.size();
+            if (offset >= matchedCount) {
+                return new SearchHits(matchedCount, new long[0]);
+            }
+
+            // Keep only the best offset + limit matches in a min-heap, worst on top
+            int wanted = (int) Math.min(matchedCount, (long) offset + limit);
+            long[] ids = entityIds;
+            Comparator<Integer> worstFirst = (a, b) -> {
+                int byScore = Float.compare(scores.score(a), scores.score(b));
+                return byScore != 0 ? byScore : Long.compare(ids[scores.doc(b)], ids[scores.doc(a)]);
+            };
+            PriorityQueue<Integer> heap = new PriorityQueue<>(wanted, worstFirst);
+            for (int match = 0; match < matchedCount; match++) {
+                if (heap.size() < wanted) {
+                    heap.add(match);
+                } else if (worstFirst.compare(match, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(match);
+                }
+            }
+            int[] best = new int[heap.size()];
+            for (int i = best.length - 1; i >= 0; i--) {
+                best[i] = heap.poll();
+            }
+            long[] page = new long[best.length - offset];
+            for (int i = offset; i < best.length; i++) {
+                page[i - offset] = entityIds[scores.doc(best[i])];
+            }
+            return new SearchHits(matchedCount, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Counter incremented by every change, used to skip unchanged snapshots
+     */
+    public long modCount() {
+        lock.readLock().lock();
+        try {
+            return modCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Indexed entity IDs in ascending order
+     */
+    public long[] ids() {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[ordinals.size()];
+            int i = 0;
+            for (int doc = 0; doc < nextOrdinal; doc++) {
+                if (docTerms[doc] != null) {
+                    ids[i++] = entityIds[doc];
+                }
+            }
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Highest document version, or 0 when the index is empty
+     */
+    public long maxVersion() {
+        lock.readLock().lock();
+        try {
+            long max = 0;
+            for (int doc = 0; doc < nextOrdinal; doc++) {
+                if (docTerms[doc] != null) {
+                    max = Math.max(max, versions[doc]);
+                }
+            }
+            return max;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write a compact snapshot; removed ordinals are dropped and the rest renumbered densely.
+     * The stream is flushed but not closed.
+     *
+     * @param out Target stream
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, IO_BUFFER_SIZE));
+        lock.readLock().lock();
+        try {
+            int[] remap = new int[nextOrdinal];
+            int live = 0;
+            for (int doc = 0; doc < nextOrdinal; doc++) {
+                remap[doc] = docTerms[doc] != null ? live++ : -1;
+            }
+
+            data.writeInt(SNAPSHOT_MAGIC);
+            data.writeInt(SNAPSHOT_FORMAT);
+            data.writeInt(live);
+            for (int doc = 0; doc < nextOrdinal; doc++) {
+                if (remap[doc] >= 0) {
+                    data.writeLong(entityIds[doc]);
+                    data.writeLong(versions[doc]);
+                    writeVarInt(data, lengths[doc]);
+                }
+            }
+            data.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                PostingList list = entry.getValue();
+                data.writeUTF(entry.getKey());
+                writeVarInt(data, list.size());
+                int previous = 0;
+                for (int i = 0; i < list.size(); i++) {
+                    int doc = remap[list.doc(i)];
+                    writeVarInt(data, doc - previous);
+                    writeVarInt(data, list.freq(i));
+                    previous = doc;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        data.flush();
+    }
+
+    /**
+     * Replace the content of the index with a snapshot written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in Source stream
+     * @throws IOException If the snapshot is unreadable or has an unknown format
+     */
+    public void readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, IO_BUFFER_SIZE));
+        if (data.readInt() != SNAPSHOT_MAGIC || data.readInt() != SNAPSHOT_FORMAT) {
+            throw new IOException("Unsupported search index snapshot");
+        }
+        int live = data.readInt();
+        int capacity = Math.max(64, live);
+        long[] loadedIds = new long[capacity];
+        long[] loadedVersions = new long[capacity];
+        int[] loadedLengths = new int[capacity];
+        LongIntMap loadedOrdinals = new LongIntMap(live);
+        long loadedTotal = 0;
+        for (int doc = 0; doc < live; doc++) {
+            loadedIds[doc] = data.readLong();
+            loadedVersions[doc] = data.readLong();
+            loadedLengths[doc] = readVarInt(data);
+            loadedTotal += loadedLengths[doc];
+            loadedOrdinals.put(loadedIds[doc], doc);
+        }
+
+        int termCount = data.readInt();
+        Map<String, PostingList> loadedPostings = new HashMap<>(termCount * 2);
+        List<List<String>> termsByDoc = new ArrayList<>(live);
+        for (int doc = 0; doc < live; doc++) {
+            termsByDoc.add(new ArrayList<>(4));
+        }
+        for (int t = 0; t < termCount; t++) {
+            String term = data.readUTF();
+            int size = readVarInt(data);
+            PostingList list = new PostingList();
+            int doc = 0;
+            for (int i = 0; i < size; i++) {
+                doc += readVarInt(data);
+                list.put(doc, readVarInt(data));
+                termsByDoc.get(doc).add(term);
+            }
+            loadedPostings.put(term, list);
+        }
+        String[][] loadedTerms = new String[capacity][];
+        for (int doc = 0; doc < live; doc++) {
+            loadedTerms[doc] = termsByDoc.get(doc).toArray(NO_TERMS);
+        }
+
+        lock.writeLock().lock();
+        try {
+            replace(loadedPostings, loadedOrdinals, loadedIds, loadedVersions, loadedLengths, loadedTerms,
+                    live, loadedTotal);
+            modCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(Map<String, PostingList> postings, LongIntMap ordinals, long[] entityIds,
+                         long[] versions, int[] lengths, String[][] docTerms, int nextOrdinal, long totalLength) {
+        this.postings = postings;
+        this.ordinals = ordinals;
+        this.entityIds = entityIds;
+        this.versions = versions;
+        this.lengths = lengths;
+        this.docTerms = docTerms;
+        this.nextOrdinal = nextOrdinal;
+        this.totalLength = totalLength;
+        this.freeCount = 0;
+    }
+
+    /**
+     * @return Number of ordinals in use or free for reuse; bounded by the peak document count
+     */
+    int allocatedOrdinals() {
+        lock.readLock().lock();
+        try {
+            return nextOrdinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(long id) {
+        if (freeCount > 0) {
+            int doc = freeOrdinals[--freeCount];
+            entityIds[doc] = id;
+            ordinals.put(id, doc);
+            return doc;
+        }
+        if (nextOrdinal == entityIds.length) {
+            int capacity = nextOrdinal * 2;
+            entityIds = Arrays.copyOf(entityIds, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+        }
+        int doc = nextOrdinal++;
+        entityIds[doc] = id;
+        ordinals.put(id, doc);
+        return doc;
+    }
+
+    private void release(int doc) {
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        }
+        freeOrdinals[freeCount++] = doc;
+    }
+
+    private void unlink(int doc) {
+        for (String term : docTerms[doc]) {
+            PostingList list = postings.get(term);
+            list.remove(doc);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[doc];
+        lengths[doc] = 0;
+        docTerms[doc] = null;
+    }
+
+    /**
+     * Scores of the documents matched by one query, in a hash table sized for the postings of
+     * its terms, so a query costs time and memory in proportion to its postings rather than to
+     * the size of the index. Matches are numbered in the order they are first seen.
+     */
+    private static final class ScoreAccumulator {
+
+        /**
+         * Ordinal + 1 of the document in each slot; 0 marks an empty slot.
+         */
+        private final int[] slots;
+        private final int[] matchOfSlot;
+        private final int[] docs;
+        private final float[] scores;
+        private final int mask;
+        private final int shift;
+        private int size;
+
+        ScoreAccumulator(int maxMatches) {
+            int capacity = Math.max(4, Integer.highestOneBit(Math.max(1, maxMatches * 2 - 1)) << 1);
+            slots = new int[capacity];
+            matchOfSlot = new int[capacity];
+            docs = new int[maxMatches];
+            scores = new float[maxMatches];
+            mask = capacity - 1;
+            shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        void add(int doc, float score) {
+            // Fibonacci hashing: the high bits of the product spread strided ordinals evenly
+            int i = (doc * 0x9E3779B9) >>> shift;
+            while (slots[i] != 0) {
+                if (slots[i] == doc + 1) {
+                    scores[matchOfSlot[i]] += score;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = doc + 1;
+            matchOfSlot[i] = size;
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int doc(int match) {
+            return docs[match];
+        }
+
+        float score(int match) {
+            return scores[match];
+        }
+    }
+
+    private static int countTerms(Map<String, Integer> freqs, String text, int weight) {
+        List<String> terms = Tokenizer.tokenize(text);
+        for (String term : terms) {
+            freqs.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in search index snapshot");
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskmanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * Map from entity ID to document ordinal without boxing: open addressing with linear probing
+ * in parallel primitive arrays, and backward-shift deletion so no tombstones pile up.
+ * Values must not be negative. Not thread-safe; {@link InvertedIndex} guards every access.
+ */
+final class LongIntMap {
+
+    /**
+     * Returned for keys that are not in the map.
+     */
+    static final int ABSENT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize Number of entries to make room for without resizing
+     */
+    LongIntMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The value of the key, or {@link #ABSENT}
+     */
+    int get(long key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            if (values[i] == ABSENT) {
+                return ABSENT;
+            }
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int i = slot(key);
+        while (values[i] != ABSENT) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * @return The removed value, or {@link #ABSENT} if the key was not in the map
+     */
+    int remove(long key) {
+        int gap = slot(key);
+        while (keys[gap] != key) {
+            if (values[gap] == ABSENT) {
+                return ABSENT;
+            }
+            gap = (gap + 1) & mask;
+        }
+        if (values[gap] == ABSENT) {
+            return ABSENT;
+        }
+        int removed = values[gap];
+        // Move later entries of the probe run back into the gap unless that would put them before their home slot
+        for (int i = (gap + 1) & mask; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (((i - slot(keys[i])) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = ABSENT;
+        size--;
+        return removed;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+    }
+
+    private static int tableSize(int expectedSize) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskmanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, as parallel primitive arrays sorted by document ordinal.
+ * Not thread-safe; {@link InvertedIndex} guards every access.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private int[] freqs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    int freq(int i) {
+        return freqs[i];
+    }
+
+    /**
+     * Add a document or replace its frequency.
+     * Appending a document newer than every other one is the common case and costs no search.
+     */
+    void put(int doc, int freq) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            return;
+        }
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0) {
+            freqs[pos] = freq;
+            return;
+        }
+        int insert = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insert, docs, insert + 1, size - insert);
+        System.arraycopy(freqs, insert, freqs, insert + 1, size - insert);
+        docs[insert] = doc;
+        freqs[insert] = freq;
+        size++;
+    }
+
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+        System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+        size--;
+        if (size > INITIAL_CAPACITY && size < docs.length / 4) {
+            docs = Arrays.copyOf(docs, docs.length / 2);
+            freqs = Arrays.copyOf(freqs, freqs.length / 2);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanagement.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Text of one entity to index.
+ *
+ * @param id Entity ID
+ * @param version Last modification time in epoch milliseconds
+ * @param title Short, heavily weighted text (task title, project name)
+ * @param body Longer text (task description), may be null
+ */
+public record SearchDocument(long id, long version, String title, String body) {
+
+    /**
+     * Build a document from entity columns.
+     *
+     * @param id Entity ID
+     * @param updatedAt Last modification time, may be null for unsaved audit data
+     * @param title Title text
+     * @param body Body text, may be null
+     * @return The document
+     */
+    public static SearchDocument of(long id, LocalDateTime updatedAt, String title, String body) {
+        long version = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        return new SearchDocument(id, version, title, body);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.taskmanagement.search;
+
+/**
+ * One page of search results.
+ *
+ * @param total Number of documents matching the query
+ * @param ids Entity IDs of the requested page, best match first
+ */
+public record SearchHits(long total, long[] ids) {
+
+    public static SearchHits empty() {
+        return new SearchHits(0, new long[0]);
+    }
+}
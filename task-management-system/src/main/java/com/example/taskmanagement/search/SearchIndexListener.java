@@ -0,0 +1,49 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.support.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener keeping the search indexes in step with {@link Task} and {@link Project}.
+ * The indexed text is captured when the entity is written and applied after commit, so rolled
+ * back changes never reach the index. The service is looked up lazily because Hibernate creates
+ * listeners while the repositories it depends on are still being built.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchIndexService> searchIndexService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Task task) {
+            SearchDocument document = SearchDocument.of(task.getId(), task.getUpdatedAt(),
+                    task.getTitle(), task.getDescription());
+            AfterCommit.run(() -> searchIndexService.getObject().indexTask(document));
+        } else if (entity instanceof Project project) {
+            SearchDocument document = SearchDocument.of(project.getId(), project.getUpdatedAt(),
+                    project.getName(), null);
+            AfterCommit.run(() -> searchIndexService.getObject().indexProject(document));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Task task) {
+            long id = task.getId();
+            AfterCommit.run(() -> searchIndexService.getObject().removeTask(id));
+        } else if (entity instanceof Project project) {
+            long id = project.getId();
+            AfterCommit.run(() -> searchIndexService.getObject().removeProject(id));
+        }
+    }
+}
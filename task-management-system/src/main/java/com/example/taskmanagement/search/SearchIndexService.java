@@ -0,0 +1,276 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.config.SearchProperties;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.support.ReplayLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Full-text search over task titles, task descriptions and project names.
+ * The indexes live in memory; {@link SearchIndexListener} feeds them committed changes,
+ * and on startup they are restored from a snapshot file and caught up, or rebuilt from the
+ * database in keyset pages. Changes made by other application instances are picked up on
+ * the next restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class SearchIndexService {
+
+    /**
+     * Deepest result reachable through pagination.
+     */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String TASKS = "tasks";
+    private static final String PROJECTS = "projects";
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final SearchProperties properties;
+
+    private final InvertedIndex taskIndex = new InvertedIndex();
+    private final InvertedIndex projectIndex = new InvertedIndex();
+
+    private final ReplayLog replayLog = ReplayLog.applyingWhileLoading();
+
+    private long taskSnapshotModCount = -1;
+    private long projectSnapshotModCount = -1;
+
+    /**
+     * Search tasks by title and description.
+     *
+     * @param query Free-text query
+     * @param pageable Requested page
+     * @return Total match count and the task IDs of the page, best match first
+     */
+    public SearchHits searchTasks(String query, Pageable pageable) {
+        return search(taskIndex, query, pageable);
+    }
+
+    /**
+     * Search projects by name.
+     *
+     * @param query Free-text query
+     * @param pageable Requested page
+     * @return Total match count and the project IDs of the page, best match first
+     */
+    public SearchHits searchProjects(String query, Pageable pageable) {
+        return search(projectIndex, query, pageable);
+    }
+
+    public void indexTask(SearchDocument document) {
+        replayLog.apply(() -> taskIndex.index(document));
+    }
+
+    public void removeTask(long id) {
+        replayLog.apply(() -> taskIndex.remove(id));
+    }
+
+    public void indexProject(SearchDocument document) {
+        replayLog.apply(() -> projectIndex.index(document));
+    }
+
+    public void removeProject(long id) {
+        replayLog.apply(() -> projectIndex.remove(id));
+    }
+
+    /**
+     * Load the indexes in the background once the application is up.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long start = System.nanoTime();
+        try {
+            load(taskIndex, TASKS,
+                    since -> reindex(taskIndex, (afterId, page) -> taskRepository.findSearchRows(afterId, since, page),
+                            row -> SearchDocument.of(row.getId(), row.getUpdatedAt(), row.getTitle(), row.getDescription()),
+                            TaskRepository.TaskSearchRow::getId),
+                    taskRepository::findIdsAfter);
+            load(projectIndex, PROJECTS,
+                    since -> reindex(projectIndex, (afterId, page) -> projectRepository.findSearchRows(afterId, since, page),
+                            row -> SearchDocument.of(row.getId(), row.getUpdatedAt(), row.getName(), null),
+                            ProjectRepository.ProjectSearchRow::getId),
+                    projectRepository::findIdsAfter);
+        } catch (RuntimeException ex) {
+            log.error("Search index initialization failed; serving whatever was loaded", ex);
+        } finally {
+            replayLog.finish(() -> { });
+        }
+        log.info("Search indexes ready in {} ms: {} tasks, {} projects",
+                (System.nanoTime() - start) / 1_000_000, taskIndex.size(), projectIndex.size());
+        writeSnapshots();
+    }
+
+    /**
+     * Persist indexes that changed since their last snapshot.
+     */
+    @Scheduled(fixedDelayString = "${search.snapshot.interval:PT10M}")
+    public synchronized void writeSnapshots() {
+        if (!properties.getSnapshot().isEnabled() || !replayLog.isLoaded()) {
+            return;
+        }
+        taskSnapshotModCount = writeSnapshot(taskIndex, TASKS, taskSnapshotModCount);
+        projectSnapshotModCount = writeSnapshot(projectIndex, PROJECTS, projectSnapshotModCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshots();
+    }
+
+    /**
+     * @return True once the indexes are loaded and every change is applied
+     */
+    public boolean isReady() {
+        return replayLog.isLoaded();
+    }
+
+    private SearchHits search(InvertedIndex index, String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW) {
+            throw new ValidationException("Search results are limited to the first " + MAX_RESULT_WINDOW + " matches");
+        }
+        return index.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+    }
+
+    private void load(InvertedIndex index, String name, Function<LocalDateTime, Integer> reindexSince,
+                      BiFunction<Long, Pageable, List<Long>> idPage) {
+        if (restore(index, name)) {
+            long watermark = index.maxVersion() - properties.getSnapshot().getCatchUpMargin().toMillis();
+            LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(Math.max(watermark, 0)), ZoneOffset.UTC);
+            int updated = reindexSince.apply(since);
+            int removed = removeMissing(index, idPage);
+            log.info("Restored {} search index from snapshot: {} documents, {} reindexed, {} removed",
+                    name, index.size(), updated, removed);
+        } else {
+            int indexed = reindexSince.apply(BEGINNING);
+            log.info("Rebuilt {} search index from the database: {} documents", name, indexed);
+        }
+    }
+
+    /**
+     * Index rows page by page in ID order.
+     */
+    private <R> int reindex(InvertedIndex index, BiFunction<Long, Pageable, List<R>> page,
+                            Function<R, SearchDocument> toDocument, Function<R, Long> idOf) {
+        int pageSize = properties.getRebuildPageSize();
+        int count = 0;
+        long afterId = 0;
+        List<R> rows;
+        do {
+            rows = page.apply(afterId, PageRequest.of(0, pageSize));
+            for (R row : rows) {
+                index.index(toDocument.apply(row));
+            }
+            count += rows.size();
+            if (!rows.isEmpty()) {
+                afterId = idOf.apply(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == pageSize);
+        return count;
+    }
+
+    /**
+     * Drop documents whose rows were deleted after the snapshot was taken, by merging the
+     * sorted indexed IDs with the keyset-paged IDs from the database.
+     */
+    private int removeMissing(InvertedIndex index, BiFunction<Long, Pageable, List<Long>> idPage) {
+        int pageSize = properties.getRebuildPageSize();
+        long[] indexed = index.ids();
+        int i = 0;
+        int removed = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = idPage.apply(afterId, PageRequest.of(0, pageSize));
+            for (Long id : ids) {
+                while (i < indexed.length && indexed[i] < id) {
+                    index.remove(indexed[i++]);
+                    removed++;
+                }
+                if (i < indexed.length && indexed[i] == id) {
+                    i++;
+                }
+            }
+            if (!ids.isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == pageSize);
+        while (i < indexed.length) {
+            index.remove(indexed[i++]);
+            removed++;
+        }
+        return removed;
+    }
+
+    private boolean restore(InvertedIndex index, String name) {
+        if (!properties.getSnapshot().isEnabled()) {
+            return false;
+        }
+        Path file = snapshotFile(name);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            index.readFrom(in);
+            return true;
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable {} search index snapshot {}: {}", name, file, ex.getMessage());
+            return false;
+        }
+    }
+
+    private long writeSnapshot(InvertedIndex index, String name, long lastModCount) {
+        long modCount = index.modCount();
+        if (modCount == lastModCount) {
+            return lastModCount;
+        }
+        Path file = snapshotFile(name);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                index.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} search index snapshot to {}", name, file);
+            return modCount;
+        } catch (IOException ex) {
+            log.warn("Could not write {} search index snapshot to {}: {}", name, file, ex.getMessage());
+            return lastModCount;
+        }
+    }
+
+    private Path snapshotFile(String name) {
+        return properties.getSnapshot().getDirectory().resolve(name + ".idx");
+    }
+}
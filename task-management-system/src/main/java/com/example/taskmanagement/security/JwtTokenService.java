@@ -0,0 +1,176 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.config.JwtProperties;
+import com.example.taskmanagement.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies signed access tokens. A token carries the user ID, username and role,
+ * so an authenticated request needs neither a user lookup nor a password check.
+ * Verified tokens are kept in a bounded cache until they expire, so a client repeating a
+ * token pays for the signature check and claim parsing once. The cache is keyed by the
+ * SHA-256 of the token; usable tokens are never held in memory.
+ * Tokens stay valid until they expire: a role change or a disabled account takes effect on
+ * the next login.
+ */
+@Component
+@Log4j2
+public class JwtTokenService {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final JwtProperties properties;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenService(JwtProperties properties) {
+        this.properties = properties;
+        this.key = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(properties.getIssuer())
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getTokenCache().getMaximumSize())
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, token.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Issue an access token.
+     *
+     * @param user The user to issue the token for
+     * @return The token and its expiry
+     */
+    public IssuedToken issue(AuthenticatedUser user) {
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plus(properties.getExpiration());
+        String token = Jwts.builder()
+                .setIssuer(properties.getIssuer())
+                .setSubject(user.username())
+                .claim(USER_ID_CLAIM, user.id())
+                .claim(ROLE_CLAIM, user.role().name())
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Verify an access token.
+     *
+     * @param token The compact token
+     * @return The authentication it grants, or empty if it is invalid or expired
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String hash = sha256(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(hash);
+        if (verified == null) {
+            verified = verify(token);
+            if (verified == null) {
+                return Optional.empty();
+            }
+            // A zero-sized cache would only evict the entry again
+            if (properties.getTokenCache().getMaximumSize() > 0) {
+                verifiedTokens.put(hash, verified);
+            }
+        }
+        return Optional.of(verified.authentication());
+    }
+
+    /**
+     * @return Number of verified tokens currently cached
+     */
+    public long cachedTokenCount() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    private VerifiedToken verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Number userId = claims.get(USER_ID_CLAIM, Number.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            if (userId == null || role == null || claims.getSubject() == null || claims.getExpiration() == null) {
+                log.debug("Rejected token without the required claims");
+                return null;
+            }
+            AuthenticatedUser user = new AuthenticatedUser(userId.longValue(), claims.getSubject(),
+                    User.UserRole.valueOf(role));
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user, null,
+                    List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role)));
+            return new VerifiedToken(authentication, claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected token: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * A signed token and when it expires.
+     *
+     * @param token The compact token
+     * @param expiresAt Expiry of the token
+     */
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    /**
+     * The authentication granted by a verified token; it is never modified once built.
+     */
+    private record VerifiedToken(Authentication authentication, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.support.AfterCommit;
+import com.example.taskmanagement.support.ReplayLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the projects each user owns or is a member of, so project access checks
+ * are answered without SQL. Each user maps to a compressed bitmap of project IDs; a bitmap is
+ * never modified once published, updates replace it, so checks take no lock.
+ * The index is loaded from the database in the background on startup; services report every
+ * committed change, and changes received while loading are replayed once loading is done.
+ * Project IDs are held as unsigned 32-bit values; larger IDs are not indexed.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class ProjectMembershipIndex {
+
+    /**
+     * Largest project ID a bitmap can hold.
+     */
+    static final long MAX_PROJECT_ID = 0xFFFF_FFFFL;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProjectRepository projectRepository;
+
+    private final ConcurrentHashMap<Long, RoaringBitmap> projectsByUser = new ConcurrentHashMap<>();
+
+    private final ReplayLog replayLog = ReplayLog.deferringUntilLoaded();
+
+    /**
+     * @param projectId The project ID
+     * @return true if the index is loaded and holds the memberships of the project
+     */
+    public boolean covers(long projectId) {
+        return replayLog.isLoaded() && projectId >= 0 && projectId <= MAX_PROJECT_ID;
+    }
+
+    /**
+     * Check whether a user owns or is a member of a project; only meaningful if
+     * {@link #covers(long)} the project.
+     *
+     * @param userId The user ID
+     * @param projectId The project ID
+     * @return true if the user owns the project or is one of its members
+     */
+    public boolean isOwnerOrMember(long userId, long projectId) {
+        RoaringBitmap projects = projectsByUser.get(userId);
+        return projects != null && projectId <= MAX_PROJECT_ID && projects.contains((int) projectId);
+    }
+
+    /**
+     * Index a new project once the current transaction commits.
+     *
+     * @param projectId The project ID
+     * @param ownerId The owner ID
+     */
+    public void recordProjectCreated(Long projectId, Long ownerId) {
+        recordMemberAdded(projectId, ownerId);
+    }
+
+    /**
+     * Drop a project once the current transaction commits.
+     *
+     * @param projectId The project ID
+     * @param userIds The owner and member IDs of the project
+     */
+    public void recordProjectDeleted(Long projectId, Collection<Long> userIds) {
+        List<Long> users = List.copyOf(userIds);
+        AfterCommit.run(() -> users.forEach(userId -> remove(userId, projectId)));
+    }
+
+    /**
+     * Grant a user access to a project once the current transaction commits.
+     *
+     * @param projectId The project ID
+     * @param userId The user ID
+     */
+    public void recordMemberAdded(Long projectId, Long userId) {
+        AfterCommit.run(() -> add(userId, projectId));
+    }
+
+    /**
+     * Revoke a user's access to a project once the current transaction commits.
+     * Callers must not report the removal of the owner, who keeps access.
+     *
+     * @param projectId The project ID
+     * @param userId The user ID
+     */
+    public void recordMemberRemoved(Long projectId, Long userId) {
+        AfterCommit.run(() -> remove(userId, projectId));
+    }
+
+    /**
+     * Drop a user once the current transaction commits.
+     *
+     * @param userId The user ID
+     */
+    public void recordUserDeleted(Long userId) {
+        AfterCommit.run(() -> replayLog.apply(() -> projectsByUser.remove(userId)));
+    }
+
+    /**
+     * @return Number of users with at least one project
+     */
+    public int size() {
+        return projectsByUser.size();
+    }
+
+    /**
+     * Load the index in the background once the application is up.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long start = System.nanoTime();
+        Map<Long, RoaringBitmap> built = new HashMap<>();
+        long memberships = 0;
+        try {
+            long afterId = 0;
+            List<Long> projectIds;
+            do {
+                projectIds = projectRepository.findIdsAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                if (projectIds.isEmpty()) {
+                    break;
+                }
+                for (ProjectRepository.ProjectIdPair pair : projectRepository.findOwnerIdPairs(projectIds)) {
+                    memberships += load(built, pair);
+                }
+                for (ProjectRepository.ProjectIdPair pair : projectRepository.findMemberIdPairs(projectIds)) {
+                    memberships += load(built, pair);
+                }
+                afterId = projectIds.get(projectIds.size() - 1);
+            } while (projectIds.size() == LOAD_BATCH_SIZE);
+        } catch (RuntimeException ex) {
+            // Stay unloaded: checks keep falling back to the database
+            log.error("Project membership index initialization failed", ex);
+            replayLog.abandon();
+            return;
+        }
+        built.values().forEach(RoaringBitmap::runOptimize);
+        replayLog.finish(() -> projectsByUser.putAll(built));
+        log.info("Project membership index ready in {} ms: {} memberships of {} users",
+                (System.nanoTime() - start) / 1_000_000, memberships, built.size());
+    }
+
+    private static int load(Map<Long, RoaringBitmap> built, ProjectRepository.ProjectIdPair pair) {
+        if (pair.getProjectId() > MAX_PROJECT_ID) {
+            return 0;
+        }
+        return built.computeIfAbsent(pair.getRelatedId(), k -> new RoaringBitmap())
+                .checkedAdd(pair.getProjectId().intValue()) ? 1 : 0;
+    }
+
+    private void add(Long userId, Long projectId) {
+        if (userId == null || projectId == null || projectId < 0 || projectId > MAX_PROJECT_ID) {
+            return;
+        }
+        replayLog.apply(() -> projectsByUser.compute(userId, (k, current) -> {
+            if (current != null && current.contains(projectId.intValue())) {
+                return current;
+            }
+            RoaringBitmap updated = current != null ? current.clone() : new RoaringBitmap();
+            updated.add(projectId.intValue());
+            return updated;
+        }));
+    }
+
+    private void remove(Long userId, Long projectId) {
+        if (userId == null || projectId == null || projectId < 0 || projectId > MAX_PROJECT_ID) {
+            return;
+        }
+        replayLog.apply(() -> projectsByUser.computeIfPresent(userId, (k, current) -> {
+            if (!current.contains(projectId.intValue())) {
+                return current;
+            }
+            RoaringBitmap updated = current.clone();
+            updated.remove(projectId.intValue());
+            return updated.isEmpty() ? null : updated;
+        }));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Project access checks for {@code @PreAuthorize}, answered from the
+ * {@link ProjectMembershipIndex}; the database is only asked while the index is loading.
+ */
+@Component("projectSecurity")
+@RequiredArgsConstructor
+public class ProjectSecurity {
+
+    private final ProjectMembershipIndex membershipIndex;
+    private final ProjectRepository projectRepository;
+
+    /**
+     * @param projectId The project ID
+     * @return true if the request is authenticated as the owner or a member of the project
+     */
+    public boolean canViewProject(Long projectId) {
+        return projectId != null && AuthenticatedUser.current()
+                .map(user -> membershipIndex.covers(projectId)
+                        ? membershipIndex.isOwnerOrMember(user.id(), projectId)
+                        : projectRepository.isOwnerOrMember(projectId, user.id()))
+                .orElse(false);
+    }
+}
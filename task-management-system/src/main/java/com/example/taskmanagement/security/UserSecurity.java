@@ -0,0 +1,27 @@
+package com.example.taskmanagement.security;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership checks on users for {@code @PreAuthorize}, decided from the token alone.
+ */
+@Component("userSecurity")
+public class UserSecurity {
+
+    /**
+     * @param userId The user ID the request is about
+     * @return true if the request is authenticated as that user
+     */
+    public boolean isCurrentUser(Long userId) {
+        return userId != null && AuthenticatedUser.current().map(user -> user.id() == userId).orElse(false);
+    }
+
+    /**
+     * @param username The username the request is about
+     * @return true if the request is authenticated as that user
+     */
+    public boolean isCurrentUsername(String username) {
+        return username != null && AuthenticatedUser.current().map(user -> user.username().equals(username))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.attachment.AttachmentStore;
+import com.example.taskmanagement.attachment.StoredFile;
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.TooManyRequestsException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.TaskAttachment;
+import com.example.taskmanagement.repository.TaskAttachmentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Task attachments. Uploads are streamed into the {@link AttachmentStore} outside any
+ * transaction, and only a bounded number run at once so large uploads cannot exhaust disk
+ * bandwidth or request threads. Deleting an attachment only removes its row; files no
+ * attachment refers to any more are swept periodically.
+ */
+@Service
+@Log4j2
+public class AttachmentService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentProperties properties;
+    private final Semaphore uploadPermits;
+
+    public AttachmentService(TaskAttachmentRepository attachmentRepository, TaskRepository taskRepository,
+                             UserRepository userRepository, AttachmentStore attachmentStore,
+                             AttachmentProperties properties) {
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.attachmentStore = attachmentStore;
+        this.properties = properties;
+        this.uploadPermits = new Semaphore(properties.getMaxConcurrentUploads());
+    }
+
+    /**
+     * Attach a file to a task.
+     *
+     * @param taskId The task ID
+     * @param uploadedBy The uploader's user ID
+     * @param fileName The original file name
+     * @param contentType The media type, or null if unknown
+     * @param content The file content
+     * @return The saved attachment
+     * @throws TooManyRequestsException if the maximum number of uploads is already running
+     */
+    public TaskAttachment upload(Long taskId, Long uploadedBy, String fileName, String contentType,
+                                 InputStream content) {
+        String name = sanitizeFileName(fileName);
+        String fileType = normalizeContentType(contentType);
+        requireTask(taskId);
+        requireUser(uploadedBy);
+        StoredFile stored = withUploadPermit(
+                () -> attachmentStore.store(content, properties.getMaxFileSize().toBytes()));
+        return saveAttachment(taskId, uploadedBy, name, fileType, stored);
+    }
+
+    /**
+     * List the attachments of a task.
+     *
+     * @param taskId The task ID
+     * @return Attachments in upload order
+     */
+    public List<TaskAttachment> listAttachments(Long taskId) {
+        requireTask(taskId);
+        return attachmentRepository.findByTaskIdOrderByIdAsc(taskId);
+    }
+
+    /**
+     * Get an attachment of a task.
+     *
+     * @param taskId The task ID
+     * @param attachmentId The attachment ID
+     * @return The attachment
+     */
+    public TaskAttachment getAttachment(Long taskId, Long attachmentId) {
+        return attachmentRepository.findByIdAndTaskId(attachmentId, taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Attachment not found with id: " + attachmentId + " on task: " + taskId));
+    }
+
+    /**
+     * Locate the content of an attachment.
+     *
+     * @param attachment The attachment
+     * @return Path of the stored file
+     */
+    public Path contentOf(TaskAttachment attachment) {
+        return attachmentStore.resolve(attachment.getFilePath());
+    }
+
+    /**
+     * Delete an attachment. Its file is removed by the next sweep once nothing refers to it.
+     *
+     * @param taskId The task ID
+     * @param attachmentId The attachment ID
+     */
+    public void deleteAttachment(Long taskId, Long attachmentId) {
+        attachmentRepository.delete(getAttachment(taskId, attachmentId));
+    }
+
+    /**
+     * Remove stored files that no attachment refers to any more.
+     */
+    @Scheduled(fixedDelayString = "${attachments.sweep-interval:PT1H}")
+    public void sweepOrphans() {
+        Instant cutoff = Instant.now().minus(properties.getOrphanGracePeriod());
+        int removed = attachmentStore.removeUnreferenced(cutoff, attachmentRepository::existsByFilePath);
+        if (removed > 0) {
+            log.info("Removed {} unreferenced attachment files", removed);
+        }
+    }
+
+    /**
+     * Run disk-bound upload work, bounded by the maximum number of concurrent uploads.
+     *
+     * @param work The work to run
+     * @return Result of the work
+     * @throws TooManyRequestsException if the maximum number of uploads is already running
+     */
+    <T> T withUploadPermit(Supplier<T> work) {
+        if (!uploadPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Too many uploads in progress, please retry", 1);
+        }
+        try {
+            return work.get();
+        } finally {
+            uploadPermits.release();
+        }
+    }
+
+    /**
+     * Record a stored file as an attachment of a task.
+     *
+     * @param taskId The task ID
+     * @param uploadedBy The uploader's user ID
+     * @param fileName The sanitized file name
+     * @param fileType The validated media type
+     * @param stored The stored file
+     * @return The saved attachment
+     */
+    TaskAttachment saveAttachment(Long taskId, Long uploadedBy, String fileName, String fileType, StoredFile stored) {
+        TaskAttachment attachment = TaskAttachment.builder()
+                .task(taskRepository.getReferenceById(taskId))
+                .uploadedBy(userRepository.getReferenceById(uploadedBy))
+                .fileName(fileName)
+                .filePath(stored.key())
+                .fileSize(stored.size())
+                .fileType(fileType)
+                .build();
+        try {
+            return attachmentRepository.save(attachment);
+        } catch (DataIntegrityViolationException ex) {
+            // Deleted while the content was streamed; the stored file is left to the sweep
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+    }
+
+    void requireTask(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+    }
+
+    void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    static String normalizeContentType(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        try {
+            String normalized = MediaType.parseMediaType(contentType).toString();
+            if (normalized.length() <= 100) {
+                return normalized;
+            }
+        } catch (InvalidMediaTypeException ex) {
+            // reported below
+        }
+        throw new ValidationException("Invalid content type: " + contentType);
+    }
+
+    static String sanitizeFileName(String fileName) {
+        // Keep only the last path segment; the name is only ever echoed back, never used as a path
+        String name = fileName != null ? fileName.substring(Math.max(fileName.lastIndexOf('/'),
+                fileName.lastIndexOf('\\')) + 1).strip() : "";
+        if (name.isEmpty() || name.length() > 255) {
+            throw new ValidationException("File name must be between 1 and 255 characters");
+        }
+        return name;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TokenResponse;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.security.JwtTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Service for logging in. The password is checked once here; the issued token then
+ * authenticates every request on its own.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class AuthService {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final JwtTokenService jwtTokenService;
+
+    /**
+     * Check a username and password and issue an access token.
+     *
+     * @param username The username
+     * @param password The password
+     * @return The access token
+     * @throws BadCredentialsException if the credentials are wrong or the account is disabled
+     */
+    public TokenResponse login(String username, String password) {
+        try {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        } catch (AuthenticationException ex) {
+            log.info("Login failed for {}: {}", username, ex.getMessage());
+            // Same answer for unknown, locked and disabled accounts
+            throw new BadCredentialsException("Invalid username or password");
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new BadCredentialsException("Invalid username or password"));
+        JwtTokenService.IssuedToken token = jwtTokenService.issue(
+                new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole()));
+        return TokenResponse.builder()
+                .accessToken(token.token())
+                .expiresIn(Duration.between(Instant.now(), token.expiresAt()).toSeconds())
+                .expiresAt(token.expiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.KeysetCursor;
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.repository.CommentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.support.AfterCommit;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Comments of tasks. Posting is a single insert: the task and author are referenced by
+ * proxy and never loaded, and a missing one is told apart by the foreign key it violates.
+ * Comment counts are cached per task and invalidated once a change to the comments, or the
+ * deletion of the task, commits. Reads run in read-only transactions, which go to the replica.
+ */
+@Service
+public class CommentService {
+
+    private static final int COUNT_CACHE_SIZE = 10_000;
+    private static final Duration COUNT_CACHE_TTL = Duration.ofMinutes(10);
+    private static final String AUTHOR_FOREIGN_KEY = "fk_task_comments_user";
+
+    private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, Long> commentCounts;
+
+    public CommentService(CommentRepository commentRepository, TaskRepository taskRepository,
+                          UserRepository userRepository) {
+        this.commentRepository = commentRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.commentCounts = Caffeine.newBuilder()
+                .maximumSize(COUNT_CACHE_SIZE)
+                .expireAfterWrite(COUNT_CACHE_TTL)
+                .build(commentRepository::countByTaskId);
+    }
+
+    /**
+     * Post a comment on a task.
+     *
+     * @param taskId The task ID
+     * @param authorId The author's user ID
+     * @param content The comment text
+     * @return The saved comment
+     */
+    @Transactional
+    public Comment addComment(Long taskId, Long authorId, String content) {
+        Comment comment = Comment.builder()
+                .task(taskRepository.getReferenceById(taskId))
+                .author(userRepository.getReferenceById(authorId))
+                .content(content)
+                .build();
+        Comment saved;
+        try {
+            // IDENTITY IDs are generated by the insert itself, so this is where a foreign key fails
+            saved = commentRepository.save(comment);
+        } catch (DataIntegrityViolationException ex) {
+            // The session is unusable after the failed insert, so no query can tell which one is missing
+            String message = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            throw message.contains(AUTHOR_FOREIGN_KEY)
+                    ? new ResourceNotFoundException("User not found with id: " + authorId)
+                    : new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        AfterCommit.run(() -> commentCounts.invalidate(taskId));
+        return saved;
+    }
+
+    /**
+     * List the comments of a task, oldest first.
+     *
+     * @param taskId The task ID
+     * @param afterId ID of the last comment of the previous page, or null for the first page
+     * @param size Page size
+     * @return Slice of comments
+     */
+    @Transactional(readOnly = true)
+    public Slice<Comment> listComments(Long taskId, Long afterId, int size) {
+        requireTask(taskId);
+        return commentRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(taskId, afterId != null ? afterId : 0L,
+                PageRequest.of(0, KeysetCursor.clampPageSize(size)));
+    }
+
+    /**
+     * Count the comments of a task.
+     *
+     * @param taskId The task ID
+     * @return Number of comments, cached
+     */
+    @Transactional(readOnly = true)
+    public long countComments(Long taskId) {
+        return commentCounts.get(taskId);
+    }
+
+    /**
+     * Edit the text of a comment; only its author or an administrator may.
+     *
+     * @param taskId The task ID
+     * @param commentId The comment ID
+     * @param content The new text
+     * @return The updated comment
+     * @throws AccessDeniedException if the authenticated user did not write the comment
+     */
+    @Transactional
+    public Comment updateComment(Long taskId, Long commentId, String content) {
+        Comment comment = getComment(taskId, commentId);
+        requireAuthorOrAdmin(comment);
+        comment.setContent(content);
+        return commentRepository.save(comment);
+    }
+
+    /**
+     * Delete a comment; only its author or an administrator may.
+     *
+     * @param taskId The task ID
+     * @param commentId The comment ID
+     * @throws AccessDeniedException if the authenticated user did not write the comment
+     */
+    @Transactional
+    public void deleteComment(Long taskId, Long commentId) {
+        Comment comment = getComment(taskId, commentId);
+        requireAuthorOrAdmin(comment);
+        commentRepository.delete(comment);
+        AfterCommit.run(() -> commentCounts.invalidate(taskId));
+    }
+
+    /**
+     * Drop the cached counts of deleted tasks once the delete has committed. Deleting a
+     * project does not list its tasks, so every count is dropped then.
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectEvent(ProjectEvent event) {
+        switch (event.type()) {
+            case TASK_DELETED -> commentCounts.invalidate(event.taskId());
+            case PROJECT_DELETED -> commentCounts.invalidateAll();
+            default -> {
+            }
+        }
+    }
+
+    private Comment getComment(Long taskId, Long commentId) {
+        return commentRepository.findByIdAndTaskId(commentId, taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Comment not found with id: " + commentId + " on task: " + taskId));
+    }
+
+    private static void requireAuthorOrAdmin(Comment comment) {
+        AuthenticatedUser user = AuthenticatedUser.require();
+        // The author's ID is read from the proxy without loading the user
+        if (!user.isAdmin() && user.id() != comment.getAuthor().getId()) {
+            throw new AccessDeniedException("Only the author can change comment " + comment.getId());
+        }
+    }
+
+    private void requireTask(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+    }
+}
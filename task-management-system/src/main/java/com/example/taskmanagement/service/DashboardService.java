@@ -0,0 +1,191 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.config.DashboardProperties;
+import com.example.taskmanagement.dto.DashboardDTO;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Task statistics of a project and across all projects. Each figure comes from one grouped
+ * query answered from a covering index; a project dashboard is cached for a short TTL, and
+ * the dashboard across all projects is recomputed on a schedule rather than per request.
+ */
+@Service
+@Log4j2
+public class DashboardService {
+
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final DashboardProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Cache<ProjectDashboardKey, DashboardDTO> projectDashboards;
+    private final AtomicReference<DashboardDTO> rollup = new AtomicReference<>();
+
+    public DashboardService(TaskRepository taskRepository, ProjectRepository projectRepository,
+                            DashboardProperties properties, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.projectDashboards = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .build();
+    }
+
+    /**
+     * Get the dashboard of a project.
+     *
+     * @param projectId The project ID
+     * @param days Days covered by the created and completed series, or null for the default
+     * @return The project dashboard, at most the cache TTL old
+     */
+    public DashboardDTO getProjectDashboard(Long projectId, Integer days) {
+        int window = days != null ? days : properties.getDays();
+        if (window < 1 || window > properties.getMaxDays()) {
+            throw new ValidationException("days must be between 1 and " + properties.getMaxDays());
+        }
+        return projectDashboards.get(new ProjectDashboardKey(projectId, window),
+                key -> readOnlyTransaction.execute(status -> computeProjectDashboard(key.projectId(), key.days())));
+    }
+
+    /**
+     * Get the dashboard across all projects, as last computed by {@link #refreshRollup()}.
+     *
+     * @return The dashboard across all projects
+     */
+    public DashboardDTO getDashboard() {
+        if (rollup.get() == null) {
+            refreshRollup();
+        }
+        return rollup.get();
+    }
+
+    /**
+     * Recompute the dashboard across all projects.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${dashboard.rollup-interval:PT1M}",
+            initialDelayString = "${dashboard.rollup-interval:PT1M}")
+    public void refreshRollup() {
+        long start = System.nanoTime();
+        DashboardDTO dashboard = readOnlyTransaction.execute(status -> computeDashboard());
+        rollup.set(dashboard);
+        log.debug("Recomputed the dashboard of {} tasks in {} ms", dashboard.getTotalTasks(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private DashboardDTO computeProjectDashboard(Long projectId, int days) {
+        if (projectRepository.findVersionById(projectId).isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = firstDay(now, days).atStartOfDay();
+        return build(projectId, now, days,
+                taskRepository.countByStatusAndPriority(projectId, now),
+                taskRepository.countCreatedPerDay(projectId, since),
+                taskRepository.countCompletedPerDay(projectId, since),
+                taskRepository.countOpenPerAssignee(projectId, now, PageRequest.of(0, properties.getAssigneeLimit())));
+    }
+
+    private DashboardDTO computeDashboard() {
+        LocalDateTime now = LocalDateTime.now();
+        int days = properties.getDays();
+        LocalDateTime since = firstDay(now, days).atStartOfDay();
+        return build(null, now, days,
+                taskRepository.countAllByStatusAndPriority(now),
+                taskRepository.countAllCreatedPerDay(since),
+                taskRepository.countAllCompletedPerDay(since),
+                taskRepository.countAllOpenPerAssignee(now, PageRequest.of(0, properties.getAssigneeLimit())));
+    }
+
+    private static DashboardDTO build(Long projectId, LocalDateTime now, int days,
+                                      List<TaskRepository.StatusPriorityCount> counts,
+                                      List<TaskRepository.DailyCount> created,
+                                      List<TaskRepository.DailyCount> completed,
+                                      List<TaskRepository.AssigneeLoad> assignees) {
+        Map<Task.TaskStatus, Map<Task.TaskPriority, Long>> byStatusAndPriority = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : STATUSES) {
+            Map<Task.TaskPriority, Long> byPriority = new EnumMap<>(Task.TaskPriority.class);
+            for (Task.TaskPriority priority : PRIORITIES) {
+                byPriority.put(priority, 0L);
+            }
+            byStatusAndPriority.put(status, byPriority);
+        }
+        long total = 0;
+        long open = 0;
+        long overdue = 0;
+        for (TaskRepository.StatusPriorityCount row : counts) {
+            byStatusAndPriority.get(row.getStatus()).put(row.getPriority(), row.getCount());
+            total += row.getCount();
+            if (row.getStatus() != Task.TaskStatus.DONE) {
+                open += row.getCount();
+            }
+            overdue += row.getOverdue();
+        }
+        return DashboardDTO.builder()
+                .projectId(projectId)
+                .generatedAt(now)
+                .days(days)
+                .totalTasks(total)
+                .openTasks(open)
+                .overdueTasks(overdue)
+                .tasksByStatusAndPriority(byStatusAndPriority)
+                .createdPerDay(series(created, firstDay(now, days), days))
+                .completedPerDay(series(completed, firstDay(now, days), days))
+                .assigneeLoad(assignees.stream()
+                        .map(row -> new DashboardDTO.AssigneeLoad(row.getAssigneeId(), row.getUsername(),
+                                row.getOpenTasks(), row.getOverdue()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * One entry per day from the first day on, with zero for days without rows.
+     */
+    private static List<DashboardDTO.DailyCount> series(List<TaskRepository.DailyCount> rows, LocalDate firstDay,
+                                                        int days) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        rows.forEach(row -> counts.put(row.getDay(), row.getCount()));
+        List<DashboardDTO.DailyCount> series = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            series.add(new DashboardDTO.DailyCount(day, counts.getOrDefault(day, 0L)));
+        }
+        return series;
+    }
+
+    private static LocalDate firstDay(LocalDateTime now, int days) {
+        return now.toLocalDate().minusDays(days - 1L);
+    }
+
+    private record ProjectDashboardKey(Long projectId, int days) {
+    }
+}
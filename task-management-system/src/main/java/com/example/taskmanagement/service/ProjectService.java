@@ -1,56 +1,241 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.KeysetCursor;
+import com.example.taskmanagement.dto.ProjectStatsDTO;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.ProjectRepository;
 import com.example.taskmanagement.repository.TaskRepository;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.exception.PreconditionFailedException;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.search.SearchHits;
+import com.example.taskmanagement.search.SearchIndexService;
+import com.example.taskmanagement.security.ProjectMembershipIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
+    /**
+     * Upper bound on the number of IDs bound into one IN clause.
+     */
+    private static final int ASSOCIATION_BATCH_SIZE = 1000;
+
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final SearchIndexService searchIndexService;
+    private final TaskStatusCountService taskStatusCountService;
+    private final ProjectMembershipIndex membershipIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        membershipIndex.recordProjectCreated(saved.getId(), saved.getOwner().getId());
+        saved.getMembers().forEach(member -> membershipIndex.recordMemberAdded(saved.getId(), member.getId()));
+        return saved;
     }
 
+    /**
+     * Create a project owned by a user, with the given members.
+     *
+     * @param project The project to create
+     * @param ownerId The owner's user ID
+     * @param memberIds User IDs of the members, or null for none
+     * @return The created project
+     */
+    @Transactional
+    public Project createProject(Project project, Long ownerId, Collection<Long> memberIds) {
+        if (ownerId == null) {
+            throw new ValidationException("Project owner is required");
+        }
+        project.setOwner(userRepository.findById(ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + ownerId)));
+        if (memberIds != null && !memberIds.isEmpty()) {
+            Set<Long> ids = new HashSet<>(memberIds);
+            List<User> members = userRepository.findAllById(ids);
+            if (members.size() != ids.size()) {
+                members.forEach(member -> ids.remove(member.getId()));
+                throw new ResourceNotFoundException("Users not found with ids: " + ids);
+            }
+            members.forEach(project::addMember);
+        }
+        return createProject(project);
+    }
+
+    @Transactional(readOnly = true)
     public Project getProjectById(Long id) {
         return projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
     }
 
-    public List<Project> listProjects() {
-        return projectRepository.findAll();
+    /**
+     * Get the version of a project without loading it. Tasks joining or leaving the project
+     * do not change it.
+     *
+     * @param id The project ID
+     * @return The current version
+     */
+    @Transactional(readOnly = true)
+    public long getProjectVersion(Long id) {
+        return projectRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Project> listProjects(Long afterId, int size) {
+        return projectRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L,
+                PageRequest.of(0, KeysetCursor.clampPageSize(size)));
+    }
+
+    /**
+     * Full-text search over project names, best match first.
+     *
+     * @param query Free-text query
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Page of matching projects
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> searchProjects(String query, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page number must not be negative");
+        }
+        Pageable pageable = PageRequest.of(page, KeysetCursor.clampPageSize(size));
+        SearchHits hits = searchIndexService.searchProjects(query, pageable);
+        Map<Long, Project> projects = projectRepository.findAllById(Arrays.stream(hits.ids()).boxed().toList()).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<Project> ranked = Arrays.stream(hits.ids()).mapToObj(projects::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ranked, pageable, hits.total());
     }
 
+    /**
+     * Get the task counts of a project per status.
+     * Counts come from memory; the project lookup is served by the second-level cache.
+     *
+     * @param id The project ID
+     * @return Project task counts
+     */
+    @Transactional(readOnly = true)
+    public ProjectStatsDTO getProjectStats(Long id) {
+        getProjectById(id);
+        Map<Task.TaskStatus, Long> counts = taskStatusCountService.getCounts(id);
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new ProjectStatsDTO(id, counts, total);
+    }
+
+    @Transactional(readOnly = true)
     public List<Project> listProjectsByOwner(Long ownerId) {
         return projectRepository.findByOwnerId(ownerId);
     }
 
+    /**
+     * Load the member and task IDs of a batch of projects.
+     * Uses two IN-batched projection queries instead of initializing the lazy
+     * collections of every project.
+     *
+     * @param projectIds The project IDs
+     * @return Member and task IDs keyed by project ID
+     */
+    @Transactional(readOnly = true)
+    public ProjectAssociations loadAssociations(Collection<Long> projectIds) {
+        Map<Long, Set<Long>> memberIds = new HashMap<>();
+        Map<Long, Set<Long>> taskIds = new HashMap<>();
+        List<Long> ids = new ArrayList<>(new HashSet<>(projectIds));
+        for (int from = 0; from < ids.size(); from += ASSOCIATION_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + ASSOCIATION_BATCH_SIZE, ids.size()));
+            projectRepository.findMemberIdPairs(batch).forEach(pair ->
+                    memberIds.computeIfAbsent(pair.getProjectId(), k -> new HashSet<>()).add(pair.getRelatedId()));
+            projectRepository.findTaskIdPairs(batch).forEach(pair ->
+                    taskIds.computeIfAbsent(pair.getProjectId(), k -> new HashSet<>()).add(pair.getRelatedId()));
+        }
+        return new ProjectAssociations(memberIds, taskIds);
+    }
+
+    /**
+     * Update a project in one transaction, so the cached entry is replaced on commit
+     * rather than after a separate load and merge.
+     */
+    @Transactional
     public Project updateProject(Long id, Project updated) {
+        return updateProject(id, updated, null);
+    }
+
+    /**
+     * Update a project, unless it has changed since the version the caller saw.
+     *
+     * @param id The project ID
+     * @param updated The new field values
+     * @param expectedVersion The version the update was made against, or null to update any version
+     * @return The updated project
+     */
+    @Transactional
+    public Project updateProject(Long id, Project updated, Long expectedVersion) {
+        return patchProject(id, expectedVersion, current -> updated);
+    }
+
+    /**
+     * Update the fields of a project from values computed against its current state, e.g. by
+     * applying a merge patch. Only the columns that actually change are written.
+     *
+     * @param id The project ID
+     * @param expectedVersion The version the update was made against, or null to update any version
+     * @param changes Computes the new name, description, status and dates from the current project
+     * @return The updated project
+     */
+    @Transactional
+    public Project patchProject(Long id, Long expectedVersion, UnaryOperator<Project> changes) {
         Project project = getProjectById(id);
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project " + id + " has been modified since version "
+                    + expectedVersion);
+        }
+        Project updated = changes.apply(project);
         project.setName(updated.getName());
         project.setDescription(updated.getDescription());
         project.setStatus(updated.getStatus());
         project.setStartDate(updated.getStartDate());
         project.setEndDate(updated.getEndDate());
+        eventPublisher.publishEvent(ProjectEvent.projectUpdated(id));
         return projectRepository.save(project);
     }
 
+    @Transactional
     public void deleteProject(Long id) {
         Project project = getProjectById(id);
+        Set<Long> userIds = new HashSet<>();
+        userIds.add(project.getOwner().getId());
+        project.getMembers().forEach(member -> userIds.add(member.getId()));
         projectRepository.delete(project);
+        taskStatusCountService.recordProjectDeleted(id);
+        membershipIndex.recordProjectDeleted(id, userIds);
+        eventPublisher.publishEvent(ProjectEvent.projectDeleted(id));
     }
 
     @Transactional
@@ -59,6 +244,8 @@ public class ProjectService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         project.addMember(user);
+        membershipIndex.recordMemberAdded(projectId, userId);
+        eventPublisher.publishEvent(ProjectEvent.projectUpdated(projectId));
         return projectRepository.save(project);
     }
 
@@ -68,6 +255,11 @@ public class ProjectService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         project.removeMember(user);
+        // The owner keeps access without being a member
+        if (!userId.equals(project.getOwner().getId())) {
+            membershipIndex.recordMemberRemoved(projectId, userId);
+        }
+        eventPublisher.publishEvent(ProjectEvent.projectUpdated(projectId));
         return projectRepository.save(project);
     }
 
@@ -76,7 +268,16 @@ public class ProjectService {
         Project project = getProjectById(projectId);
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        Project previousProject = task.getProject();
         project.addTask(task);
+        if (previousProject == null || !projectId.equals(previousProject.getId())) {
+            if (previousProject != null) {
+                taskStatusCountService.recordDeleted(previousProject.getId(), task.getStatus());
+                eventPublisher.publishEvent(ProjectEvent.taskDeleted(previousProject.getId(), taskId));
+            }
+            taskStatusCountService.recordCreated(projectId, task.getStatus());
+            eventPublisher.publishEvent(ProjectEvent.taskCreated(task));
+        }
         return projectRepository.save(project);
     }
 
@@ -84,8 +285,27 @@ public class ProjectService {
     public Project removeTask(Long projectId, Long taskId) {
         Project project = getProjectById(projectId);
         Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+                .filter(found -> found.getProject() != null && projectId.equals(found.getProject().getId()))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Task not found with id: " + taskId + " in project: " + projectId));
         project.removeTask(task);
+        // Orphan removal deletes the task, it cannot exist without a project
+        taskStatusCountService.recordDeleted(projectId, task.getStatus());
+        eventPublisher.publishEvent(ProjectEvent.taskDeleted(projectId, taskId));
         return projectRepository.save(project);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Member and task IDs of a batch of projects, keyed by project ID.
+     */
+    public record ProjectAssociations(Map<Long, Set<Long>> memberIds, Map<Long, Set<Long>> taskIds) {
+
+        public Set<Long> memberIdsOf(Long projectId) {
+            return memberIds.getOrDefault(projectId, Set.of());
+        }
+
+        public Set<Long> taskIdsOf(Long projectId) {
+            return taskIds.getOrDefault(projectId, Set.of());
+        }
+    }
+}
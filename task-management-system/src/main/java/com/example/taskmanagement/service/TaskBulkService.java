@@ -0,0 +1,387 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.BulkTaskResponseDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateRequestDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateResponseDTO;
+import com.example.taskmanagement.dto.TaskRequestDTO;
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.history.TaskChange;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.overdue.OverdueTaskService;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.support.AfterCommit;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Service for creating and updating tasks in bulk.
+ * Valid tasks are inserted in chunks, each chunk in its own transaction, so a bad item
+ * only rejects itself and the rest of the request is still created. Status and priority
+ * changes are applied with one UPDATE per chunk, also committed chunk by chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class TaskBulkService {
+
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    /**
+     * Tasks committed per transaction.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Matches hibernate.jdbc.batch_size, so every flush sends one full JDBC batch.
+     */
+    private static final int FLUSH_INTERVAL = 50;
+
+    private static final int ID_LOOKUP_BATCH_SIZE = 1000;
+
+    /**
+     * Tasks locked and updated per transaction; also bounds the IN lists of the statements.
+     */
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final TaskStatusCountService taskStatusCountService;
+    private final TaskRepository taskRepository;
+    private final OverdueTaskService overdueTaskService;
+    private final TaskHistoryWriter taskHistoryWriter;
+    private final AuditorAware<String> auditorAware;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create tasks in bulk.
+     * The request is not atomic: every item is either created or reported as a failure.
+     *
+     * @param requests The tasks to create
+     * @return Created task IDs and failed items, by request index
+     */
+    public BulkTaskResponseDTO createTasks(List<TaskRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidationException("At least one task is required");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new ValidationException("At most " + MAX_BULK_SIZE + " tasks can be created per request");
+        }
+        log.info("Creating {} tasks in bulk", requests.size());
+
+        List<BulkTaskResponseDTO.CreatedItem> created = new ArrayList<>(requests.size());
+        List<BulkTaskResponseDTO.FailedItem> failures = new ArrayList<>();
+
+        Set<Long> projectIds = existingIds(requests, TaskRequestDTO::getProjectId, projectRepository::findExistingIds);
+        Set<Long> userIds = existingIds(requests, TaskRequestDTO::getAssigneeId, userRepository::findExistingIds);
+
+        List<IndexedRequest> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i), projectIds, userIds);
+            if (error != null) {
+                failures.add(new BulkTaskResponseDTO.FailedItem(i, error));
+            } else {
+                valid.add(new IndexedRequest(i, requests.get(i)));
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            List<IndexedRequest> chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size()));
+            try {
+                created.addAll(transactionTemplate.execute(status -> persistChunk(chunk)));
+            } catch (RuntimeException ex) {
+                log.warn("Bulk chunk of {} tasks failed, retrying items one by one: {}", chunk.size(), ex.getMessage());
+                retryIndividually(chunk, created, failures);
+            }
+        }
+
+        failures.sort(Comparator.comparingInt(BulkTaskResponseDTO.FailedItem::index));
+        log.info("Bulk create finished: {} created, {} failed", created.size(), failures.size());
+        return BulkTaskResponseDTO.builder()
+                .requested(requests.size())
+                .created(created)
+                .failures(failures)
+                .build();
+    }
+
+    /**
+     * Change the status of tasks in bulk.
+     * Each chunk costs one locking SELECT and one UPDATE rather than both per task; task
+     * counts, overdue tracking, history and project events follow once the chunk commits.
+     * Tasks already in the status are left untouched.
+     *
+     * @param request The new status and the tasks, by ID or by filter
+     * @return Number of tasks matched and changed
+     */
+    public BulkTaskUpdateResponseDTO updateStatus(BulkTaskUpdateRequestDTO request) {
+        Task.TaskStatus status = request.getStatus();
+        if (status == null) {
+            throw new ValidationException("Status is required");
+        }
+        return updateInChunks(request, rows -> {
+            List<TaskRepository.TaskStateRow> changed = rows.stream().filter(row -> row.getStatus() != status).toList();
+            if (changed.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime completedAt = status == Task.TaskStatus.DONE ? now : null;
+            taskRepository.updateStatuses(idsOf(changed), status, completedAt, now, currentAuditor());
+
+            Long changedBy = currentUserId();
+            // Like a single update, the completion time is not recorded apart from the status
+            List<TaskChange> history = new ArrayList<>(changed.size());
+            for (TaskRepository.TaskStateRow row : changed) {
+                taskStatusCountService.recordStatusChange(row.getProjectId(), row.getStatus(), status);
+                history.add(new TaskChange(row.getId(), changedBy, "status", row.getStatus().name(), status.name(), now));
+            }
+            publishChanged(idsByProject(changed));
+            AfterCommit.run(() -> {
+                taskHistoryWriter.enqueue(history);
+                for (TaskRepository.TaskStateRow row : changed) {
+                    if (row.getDueDate() != null) {
+                        overdueTaskService.track(row.getId(), row.getDueDate(), status != Task.TaskStatus.DONE);
+                    }
+                }
+            });
+            return changed.size();
+        });
+    }
+
+    /**
+     * Change the priority of tasks in bulk, with one locking SELECT and one UPDATE per chunk.
+     * Tasks already at the priority are left untouched.
+     *
+     * @param request The new priority and the tasks, by ID or by filter
+     * @return Number of tasks matched and changed
+     */
+    public BulkTaskUpdateResponseDTO updatePriority(BulkTaskUpdateRequestDTO request) {
+        Task.TaskPriority priority = request.getPriority();
+        if (priority == null) {
+            throw new ValidationException("Priority is required");
+        }
+        return updateInChunks(request, rows -> {
+            List<TaskRepository.TaskStateRow> changed =
+                    rows.stream().filter(row -> row.getPriority() != priority).toList();
+            if (changed.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            taskRepository.updatePriorities(idsOf(changed), priority, now, currentAuditor());
+
+            Long changedBy = currentUserId();
+            List<TaskChange> history = changed.stream()
+                    .map(row -> new TaskChange(row.getId(), changedBy, "priority", row.getPriority().name(),
+                            priority.name(), now))
+                    .toList();
+            publishChanged(idsByProject(changed));
+            AfterCommit.run(() -> taskHistoryWriter.enqueue(history));
+            return changed.size();
+        });
+    }
+
+    /**
+     * Select the tasks of a bulk update chunk by chunk, each chunk locked and updated in its
+     * own transaction. IDs are sorted, so concurrent bulk updates lock rows in the same order.
+     */
+    private BulkTaskUpdateResponseDTO updateInChunks(BulkTaskUpdateRequestDTO request,
+                                                     ToIntFunction<List<TaskRepository.TaskStateRow>> update) {
+        List<Long> ids = request.getIds();
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byFilter = request.getProjectId() != null || request.getAssigneeId() != null
+                || request.getCurrentStatus() != null;
+        if (byIds == byFilter) {
+            throw new ValidationException("Select tasks either by ids or by projectId, assigneeId and currentStatus");
+        }
+        if (byIds && ids.size() > MAX_BULK_SIZE) {
+            throw new ValidationException("At most " + MAX_BULK_SIZE + " task ids can be given per request");
+        }
+
+        long matched = 0;
+        long updated = 0;
+        if (byIds) {
+            List<Long> sorted = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+            for (int from = 0; from < sorted.size(); from += UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = sorted.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, sorted.size()));
+                ChunkResult result = transactionTemplate.execute(status ->
+                        applyChunk(taskRepository.lockStatesByIdIn(chunk), update));
+                matched += result.matched();
+                updated += result.updated();
+            }
+        } else {
+            long afterId = 0;
+            ChunkResult result;
+            do {
+                long after = afterId;
+                result = transactionTemplate.execute(status -> applyChunk(taskRepository.lockStatesMatching(
+                        request.getProjectId(), request.getAssigneeId(), request.getCurrentStatus(), after,
+                        PageRequest.of(0, UPDATE_CHUNK_SIZE)), update));
+                matched += result.matched();
+                updated += result.updated();
+                afterId = result.lastId();
+            } while (result.matched() == UPDATE_CHUNK_SIZE);
+        }
+        log.info("Bulk update finished: {} tasks matched, {} updated", matched, updated);
+        return BulkTaskUpdateResponseDTO.builder().matched(matched).updated(updated).build();
+    }
+
+    private static ChunkResult applyChunk(List<TaskRepository.TaskStateRow> rows,
+                                          ToIntFunction<List<TaskRepository.TaskStateRow>> update) {
+        long lastId = rows.isEmpty() ? 0 : rows.get(rows.size() - 1).getId();
+        return new ChunkResult(rows.size(), update.applyAsInt(rows), lastId);
+    }
+
+    /**
+     * One event per project rather than per task; streamed once the transaction commits.
+     */
+    private void publishChanged(Map<Long, List<Long>> taskIdsByProject) {
+        taskIdsByProject.forEach((projectId, taskIds) ->
+                eventPublisher.publishEvent(ProjectEvent.tasksChanged(projectId, taskIds)));
+    }
+
+    private static Map<Long, List<Long>> idsByProject(List<TaskRepository.TaskStateRow> rows) {
+        return rows.stream().collect(Collectors.groupingBy(TaskRepository.TaskStateRow::getProjectId,
+                Collectors.mapping(TaskRepository.TaskStateRow::getId, Collectors.toList())));
+    }
+
+    private static List<Long> idsOf(List<TaskRepository.TaskStateRow> rows) {
+        return rows.stream().map(TaskRepository.TaskStateRow::getId).toList();
+    }
+
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    private static Long currentUserId() {
+        return AuthenticatedUser.current().map(AuthenticatedUser::id).orElse(null);
+    }
+
+    /**
+     * Persist a chunk of tasks. References to projects and assignees are proxies, so
+     * no SELECT is issued for them; flush and clear keep the persistence context small.
+     */
+    private List<BulkTaskResponseDTO.CreatedItem> persistChunk(List<IndexedRequest> chunk) {
+        List<Task> pending = new ArrayList<>(FLUSH_INTERVAL);
+        List<BulkTaskResponseDTO.CreatedItem> created = new ArrayList<>(chunk.size());
+        for (IndexedRequest item : chunk) {
+            Task task = item.request().toEntity();
+            task.setProject(entityManager.getReference(Project.class, item.request().getProjectId()));
+            if (item.request().getAssigneeId() != null) {
+                task.setAssignee(entityManager.getReference(User.class, item.request().getAssigneeId()));
+            }
+            entityManager.persist(task);
+            taskStatusCountService.recordCreated(item.request().getProjectId(), task.getStatus());
+            pending.add(task);
+            if (pending.size() == FLUSH_INTERVAL) {
+                flushAndClear(pending, chunk, created);
+            }
+        }
+        flushAndClear(pending, chunk, created);
+        Map<Long, List<Long>> createdByProject = new HashMap<>();
+        for (int i = 0; i < created.size(); i++) {
+            createdByProject.computeIfAbsent(chunk.get(i).request().getProjectId(), id -> new ArrayList<>())
+                    .add(created.get(i).id());
+        }
+        publishChanged(createdByProject);
+        return created;
+    }
+
+    private void flushAndClear(List<Task> pending, List<IndexedRequest> chunk,
+                               List<BulkTaskResponseDTO.CreatedItem> created) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        for (Task task : pending) {
+            created.add(new BulkTaskResponseDTO.CreatedItem(chunk.get(created.size()).index(), task.getId()));
+        }
+        pending.clear();
+    }
+
+    private void retryIndividually(List<IndexedRequest> chunk, List<BulkTaskResponseDTO.CreatedItem> created,
+                                   List<BulkTaskResponseDTO.FailedItem> failures) {
+        for (IndexedRequest item : chunk) {
+            try {
+                created.addAll(transactionTemplate.execute(status -> persistChunk(List.of(item))));
+            } catch (RuntimeException ex) {
+                failures.add(new BulkTaskResponseDTO.FailedItem(item.index(), "Task could not be saved"));
+                log.warn("Bulk item {} failed: {}", item.index(), ex.getMessage());
+            }
+        }
+    }
+
+    private String validate(TaskRequestDTO request, Set<Long> projectIds, Set<Long> userIds) {
+        if (request == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!projectIds.contains(request.getProjectId())) {
+            return "Project not found with id: " + request.getProjectId();
+        }
+        if (request.getAssigneeId() != null && !userIds.contains(request.getAssigneeId())) {
+            return "User not found with id: " + request.getAssigneeId();
+        }
+        return null;
+    }
+
+    /**
+     * Look up which referenced IDs exist, in batches to keep IN lists bounded.
+     */
+    private static Set<Long> existingIds(List<TaskRequestDTO> requests, Function<TaskRequestDTO, Long> idOf,
+                                         Function<Collection<Long>, List<Long>> lookup) {
+        List<Long> ids = requests.stream()
+                .filter(Objects::nonNull)
+                .map(idOf)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_BATCH_SIZE) {
+            existing.addAll(lookup.apply(ids.subList(from, Math.min(from + ID_LOOKUP_BATCH_SIZE, ids.size()))));
+        }
+        return existing;
+    }
+
+    private record IndexedRequest(int index, TaskRequestDTO request) {
+    }
+
+    private record ChunkResult(int matched, int updated, long lastId) {
+    }
+}
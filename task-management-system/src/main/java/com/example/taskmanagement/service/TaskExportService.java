@@ -0,0 +1,196 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskResponseDTO;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Service for bulk task exports.
+ * Tasks are streamed from the database and written row by row, so memory use does not
+ * depend on the number of exported tasks.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class TaskExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,dueDate,projectId,assigneeId,createdAt,updatedAt\n";
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Supported export formats.
+     */
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parse a format name case-insensitively.
+         *
+         * @param value Format name
+         * @return The export format
+         */
+        public static ExportFormat from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new ValidationException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Export tasks to an output stream.
+     * The stream is flushed periodically but not closed.
+     *
+     * @param projectId Project to export, or null for every task
+     * @param format Export format
+     * @param out Target stream
+     * @return Number of exported tasks
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(Long projectId, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting tasks as {} for project: {}", format, projectId != null ? projectId : "all");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long count = 0;
+        try (Stream<Task> tasks = projectId != null
+                ? taskRepository.streamByProjectId(projectId)
+                : taskRepository.streamAll()) {
+            SequenceWriter json = null;
+            if (format == ExportFormat.NDJSON) {
+                json = objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer);
+            } else {
+                writer.write(CSV_HEADER);
+            }
+
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                TaskResponseDTO row = toExportRow(task);
+                // Keep the persistence context flat no matter how many rows are read
+                entityManager.detach(task);
+
+                if (json != null) {
+                    json.write(row);
+                } else {
+                    writeCsvRow(writer, row);
+                }
+                if (++count % FLUSH_INTERVAL == 0) {
+                    if (json != null) {
+                        json.flush();
+                    }
+                    writer.flush();
+                }
+            }
+
+            if (json != null) {
+                json.close();
+                if (count > 0) {
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} tasks", count);
+        return count;
+    }
+
+    /**
+     * Map a task without touching its lazy associations; reading the ID of an
+     * uninitialized proxy does not trigger a query.
+     */
+    private TaskResponseDTO toExportRow(Task task) {
+        return TaskResponseDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .projectId(task.getProject() != null ? task.getProject().getId() : null)
+                .assigneeId(task.getAssignee() != null ? task.getAssignee().getId() : null)
+                .build();
+    }
+
+    private void writeCsvRow(Writer writer, TaskResponseDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(csv(row.getTitle()));
+        writer.write(',');
+        writer.write(csv(row.getDescription()));
+        writer.write(',');
+        writer.write(csv(row.getStatus()));
+        writer.write(',');
+        writer.write(csv(row.getPriority()));
+        writer.write(',');
+        writer.write(csv(row.getDueDate()));
+        writer.write(',');
+        writer.write(csv(row.getProjectId()));
+        writer.write(',');
+        writer.write(csv(row.getAssigneeId()));
+        writer.write(',');
+        writer.write(csv(row.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(row.getUpdatedAt()));
+        writer.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,17 +1,44 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.KeysetCursor;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.Task;
-import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.model.TaskHistory;
 import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskHistoryRepository;
 import com.example.taskmanagement.repository.TaskRepository;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.exception.PreconditionFailedException;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.history.TaskChange;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.overdue.OverdueTaskService;
+import com.example.taskmanagement.search.SearchHits;
+import com.example.taskmanagement.search.SearchIndexService;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.support.AfterCommit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,63 +46,294 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final SearchIndexService searchIndexService;
+    private final TaskStatusCountService taskStatusCountService;
+    private final OverdueTaskService overdueTaskService;
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskHistoryWriter taskHistoryWriter;
+    private final AuditorAware<String> auditorAware;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskStatusCountService.recordCreated(projectIdOf(saved), saved.getStatus());
+        publish(saved, ProjectEvent::taskCreated);
+        return saved;
     }
 
+    /**
+     * Create a task in a project, optionally assigned to a user.
+     *
+     * @param task The task to create
+     * @param projectId The project ID
+     * @param assigneeId The assignee's user ID, or null to leave the task unassigned
+     * @return The created task
+     */
+    @Transactional
+    public Task createTask(Task task, Long projectId, Long assigneeId) {
+        task.setProject(projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId)));
+        if (assigneeId != null) {
+            // Not through assignTo, which would load every task of the assignee
+            task.setAssignee(userRepository.findById(assigneeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + assigneeId)));
+        }
+        return createTask(task);
+    }
+
+    @Transactional(readOnly = true)
     public Task getTaskById(Long id) {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
     }
 
-    public List<Task> listTasks() {
-        return taskRepository.findAll();
+    /**
+     * Get the version of a task without loading it; it changes with every update.
+     *
+     * @param id The task ID
+     * @return The current version
+     */
+    @Transactional(readOnly = true)
+    public long getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Task> listTasks(Long afterId, int size) {
+        return taskRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L,
+                PageRequest.of(0, KeysetCursor.clampPageSize(size)));
+    }
+
+    /**
+     * Full-text search over task titles and descriptions, best match first.
+     *
+     * @param query Free-text query
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Page of matching tasks
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> searchTasks(String query, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page number must not be negative");
+        }
+        Pageable pageable = PageRequest.of(page, KeysetCursor.clampPageSize(size));
+        SearchHits hits = searchIndexService.searchTasks(query, pageable);
+        Map<Long, Task> tasks = taskRepository.findAllById(Arrays.stream(hits.ids()).boxed().toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        // Keep the ranking order; skip tasks deleted since they were indexed
+        List<Task> ranked = Arrays.stream(hits.ids()).mapToObj(tasks::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ranked, pageable, hits.total());
     }
 
+    /**
+     * Get the open tasks that have been overdue the longest.
+     * The IDs come from memory; tasks whose row no longer matches are dropped from the
+     * result and re-synced with the tracker.
+     *
+     * @param size Maximum number of tasks
+     * @return Overdue tasks, oldest due date first
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getOverdueTasks(int size) {
+        List<Long> ids = overdueTaskService.findOverdueTaskIds(KeysetCursor.clampPageSize(size));
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> overdue = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Task task = tasks.get(id);
+            if (task == null) {
+                overdueTaskService.untrack(id);
+            } else if (task.getStatus() == Task.TaskStatus.DONE || task.getDueDate() == null
+                    || task.getDueDate().isAfter(now)) {
+                overdueTaskService.track(id, task.getDueDate(), task.getStatus() != Task.TaskStatus.DONE);
+            } else {
+                overdue.add(task);
+            }
+        }
+        return overdue;
+    }
+
+    /**
+     * Get the field changes of a task, newest first.
+     * History is written shortly after each update commits, so the latest change may not be
+     * listed yet.
+     *
+     * @param taskId The task ID
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Page of history entries
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskHistory> getTaskHistory(Long taskId, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page number must not be negative");
+        }
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        return taskHistoryRepository.findByTaskIdOrderByChangedAtDescIdDesc(taskId,
+                PageRequest.of(page, KeysetCursor.clampPageSize(size)));
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> listTasksByProject(Long projectId) {
         return taskRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> listTasksByAssignee(Long assigneeId) {
         return taskRepository.findByAssigneeId(assigneeId);
     }
 
+    @Transactional
     public Task updateTask(Long id, Task updated) {
+        return updateTask(id, updated, null);
+    }
+
+    /**
+     * Update a task, unless it has changed since the version the caller saw.
+     *
+     * @param id The task ID
+     * @param updated The new field values
+     * @param expectedVersion The version the update was made against, or null to update any version
+     * @return The updated task
+     */
+    @Transactional
+    public Task updateTask(Long id, Task updated, Long expectedVersion) {
+        return patchTask(id, expectedVersion, current -> updated);
+    }
+
+    /**
+     * Update the fields of a task from values computed against its current state, e.g. by
+     * applying a merge patch. Only the columns that actually change are written.
+     *
+     * @param id The task ID
+     * @param expectedVersion The version the update was made against, or null to update any version
+     * @param changes Computes the new title, description, status, priority and due date from the current task
+     * @return The updated task
+     */
+    @Transactional
+    public Task patchTask(Long id, Long expectedVersion, UnaryOperator<Task> changes) {
         Task task = getTaskById(id);
+        checkVersion(task, expectedVersion);
+        Task.TaskStatus previousStatus = task.getStatus();
+        Task updated = changes.apply(task);
         task.setTitle(updated.getTitle());
         task.setDescription(updated.getDescription());
         task.setStatus(updated.getStatus());
         task.setPriority(updated.getPriority());
         task.setDueDate(updated.getDueDate());
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskStatusCountService.recordStatusChange(projectIdOf(saved), previousStatus, saved.getStatus());
+        publish(saved, ProjectEvent::taskUpdated);
+        return saved;
     }
 
+    @Transactional
     public void deleteTask(Long id) {
         Task task = getTaskById(id);
         taskRepository.delete(task);
+        taskStatusCountService.recordDeleted(projectIdOf(task), task.getStatus());
+        publish(task, deleted -> ProjectEvent.taskDeleted(projectIdOf(deleted), deleted.getId()));
     }
 
     @Transactional
     public Task assignTask(Long taskId, Long userId) {
         Task task = getTaskById(taskId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        task.assignTo(user);
-        return taskRepository.save(task);
+        // Not through assignTo, which would load every task of the assignee
+        task.setAssignee(userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId)));
+        Task saved = taskRepository.save(task);
+        publish(saved, ProjectEvent::taskAssigned);
+        return saved;
     }
 
     @Transactional
     public Task updateStatus(Long taskId, Task.TaskStatus status) {
+        return updateStatus(taskId, status, null);
+    }
+
+    @Transactional
+    public Task updateStatus(Long taskId, Task.TaskStatus status, Long expectedVersion) {
         Task task = getTaskById(taskId);
+        checkVersion(task, expectedVersion);
+        Task.TaskStatus previousStatus = task.getStatus();
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskStatusCountService.recordStatusChange(projectIdOf(saved), previousStatus, saved.getStatus());
+        publish(saved, ProjectEvent::taskUpdated);
+        return saved;
     }
 
     @Transactional
     public Task updatePriority(Long taskId, Task.TaskPriority priority) {
+        return updatePriority(taskId, priority, null);
+    }
+
+    @Transactional
+    public Task updatePriority(Long taskId, Task.TaskPriority priority, Long expectedVersion) {
         Task task = getTaskById(taskId);
+        checkVersion(task, expectedVersion);
         task.setPriority(priority);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        publish(saved, ProjectEvent::taskUpdated);
+        return saved;
+    }
+
+    /**
+     * Change the priority of a task known to be at a given version with one versioned UPDATE,
+     * without reading the task first. Priority feeds no derived state, so nothing else needs
+     * the previous value. Its history entry is recorded without one, as MySQL cannot
+     * return the replaced value from the UPDATE, and its event without the task.
+     *
+     * @param taskId The task ID
+     * @param priority The new priority
+     * @param expectedVersion The version the change was made against
+     * @return The new version
+     * @throws PreconditionFailedException if the task is at another version
+     */
+    @Transactional
+    public long changePriority(Long taskId, Task.TaskPriority priority, long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        if (taskRepository.updatePriority(taskId, priority, expectedVersion, now, auditor) == 0) {
+            // Only a failed update costs a read, to tell a missing task from a stale version
+            getTaskVersion(taskId);
+            throw new PreconditionFailedException("Task " + taskId + " has been modified since version "
+                    + expectedVersion);
+        }
+        Long changedBy = AuthenticatedUser.current().map(AuthenticatedUser::id).orElse(null);
+        List<TaskChange> changes = List.of(new TaskChange(taskId, changedBy, "priority", null, priority.name(), now));
+        AfterCommit.run(() -> taskHistoryWriter.enqueue(changes));
+        eventPublisher.publishEvent(ProjectEvent.taskUpdated(taskId));
+        return expectedVersion + 1;
+    }
+
+    /**
+     * The version check of the update itself catches concurrent updates after this point.
+     */
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + task.getId() + " has been modified since version "
+                    + expectedVersion);
+        }
+    }
+
+    /**
+     * Streamed to the project's subscribers once the transaction commits.
+     */
+    private void publish(Task task, Function<Task, ProjectEvent> event) {
+        if (task.getProject() != null) {
+            eventPublisher.publishEvent(event.apply(task));
+        }
+    }
+
+    private static Long projectIdOf(Task task) {
+        // Reading the ID of the lazy project proxy does not initialize it
+        return task.getProject() != null ? task.getProject().getId() : null;
     }
-} 
\ No newline at end of file
+}
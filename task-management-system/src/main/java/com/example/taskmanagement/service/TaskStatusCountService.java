@@ -0,0 +1,170 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory task counts per project and status, so a project board is read without SQL.
+ * Services report every committed change; a periodic reconciliation against the database
+ * corrects drift from writes that bypass the services or race on the same task.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class TaskStatusCountService {
+
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+
+    private final ConcurrentHashMap<Long, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Count a new task once the current transaction commits.
+     *
+     * @param projectId The project ID
+     * @param status The task status
+     */
+    public void recordCreated(Long projectId, Task.TaskStatus status) {
+        AfterCommit.run(() -> add(projectId, status, 1));
+    }
+
+    /**
+     * Stop counting a task once the current transaction commits.
+     *
+     * @param projectId The project ID
+     * @param status The status the task had
+     */
+    public void recordDeleted(Long projectId, Task.TaskStatus status) {
+        AfterCommit.run(() -> add(projectId, status, -1));
+    }
+
+    /**
+     * Move a task between statuses once the current transaction commits.
+     *
+     * @param projectId The project ID
+     * @param from The previous status
+     * @param to The new status
+     */
+    public void recordStatusChange(Long projectId, Task.TaskStatus from, Task.TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            add(projectId, from, -1);
+            add(projectId, to, 1);
+        });
+    }
+
+    /**
+     * Drop the counters of a project once the current transaction commits.
+     *
+     * @param projectId The project ID
+     */
+    public void recordProjectDeleted(Long projectId) {
+        AfterCommit.run(() -> counters.remove(projectId));
+    }
+
+    /**
+     * Get the task counts of a project.
+     *
+     * @param projectId The project ID
+     * @return Count per status, zero for statuses without tasks
+     */
+    public Map<Task.TaskStatus, Long> getCounts(Long projectId) {
+        Map<Task.TaskStatus, Long> counts = new EnumMap<>(Task.TaskStatus.class);
+        LongAdder[] adders = counters.get(projectId);
+        for (Task.TaskStatus status : STATUSES) {
+            counts.put(status, adders != null ? adders[status.ordinal()].sum() : 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * Bring the counters in line with the database.
+     * A counter is only corrected when no change was applied to it while the counts were
+     * being read; otherwise it is left for the next run. Corrections are added rather than
+     * set, so changes applied after the check are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${task-counts.reconcile-interval:PT5M}",
+            initialDelayString = "${task-counts.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        Map<Long, long[]> before = new HashMap<>();
+        counters.forEach((projectId, adders) -> before.put(projectId, sums(adders)));
+
+        Map<Long, long[]> actual = new HashMap<>();
+        for (TaskRepository.ProjectStatusCount row : taskRepository.countByProjectAndStatus()) {
+            actual.computeIfAbsent(row.getProjectId(), k -> new long[STATUSES.length])[row.getStatus().ordinal()] =
+                    row.getCount();
+        }
+
+        Set<Long> projectIds = new HashSet<>(before.keySet());
+        projectIds.addAll(actual.keySet());
+        int corrected = 0;
+        int skipped = 0;
+        for (Long projectId : projectIds) {
+            long[] expected = actual.getOrDefault(projectId, new long[STATUSES.length]);
+            long[] previous = before.get(projectId);
+            LongAdder[] adders = previous != null ? counters.get(projectId) : adders(projectId);
+            if (adders == null) {
+                // Project deleted while reconciling
+                continue;
+            }
+            for (int i = 0; i < STATUSES.length; i++) {
+                long current = adders[i].sum();
+                if ((previous != null && previous[i] != current) || (previous == null && current != 0)) {
+                    skipped++;
+                } else if (current != expected[i]) {
+                    adders[i].add(expected[i] - current);
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0 || skipped > 0) {
+            log.info("Reconciled task counts of {} projects in {} ms: {} corrected, {} changing and skipped",
+                    projectIds.size(), (System.nanoTime() - start) / 1_000_000, corrected, skipped);
+        }
+    }
+
+    private void add(Long projectId, Task.TaskStatus status, long delta) {
+        if (projectId == null || status == null) {
+            return;
+        }
+        adders(projectId)[status.ordinal()].add(delta);
+    }
+
+    private LongAdder[] adders(Long projectId) {
+        return counters.computeIfAbsent(projectId, k -> {
+            LongAdder[] adders = new LongAdder[STATUSES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        });
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.attachment.AttachmentStore;
+import com.example.taskmanagement.attachment.StoredFile;
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.exception.ConflictException;
+import com.example.taskmanagement.exception.PayloadTooLargeException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.TaskAttachment;
+import com.example.taskmanagement.model.UploadChunk;
+import com.example.taskmanagement.model.UploadSession;
+import com.example.taskmanagement.model.UploadSession.UploadStatus;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UploadChunkRepository;
+import com.example.taskmanagement.repository.UploadSessionRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Resumable uploads. A client opens a session for a file of known size, sends the chunks in
+ * any order and in parallel, and commits once all of them are in; an interrupted upload
+ * resumes by asking which chunks are missing.
+ * Every chunk is written at its own offset of a sparse session file, so chunks never wait for
+ * each other, and is then recorded as a row that is unique per (session, chunk): a retried
+ * chunk overwrites the same bytes and records nothing new. Committing hashes the assembled
+ * file into the {@link AttachmentStore} like a single upload, once the chunks still being
+ * written have finished.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class UploadSessionService {
+
+    private static final int CHUNK_LOCK_STRIPES = 64;
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadChunkRepository chunkRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final AttachmentService attachmentService;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentProperties properties;
+
+    /**
+     * Chunk writers hold the read lock of their session's stripe while they check the session
+     * and write; a commit takes the write lock after closing the session, so it waits for
+     * writers that saw it open. Striped so nothing has to be cleaned up per session.
+     */
+    private final ReadWriteLock[] chunkLocks = IntStream.range(0, CHUNK_LOCK_STRIPES)
+            .mapToObj(i -> new ReentrantReadWriteLock())
+            .toArray(ReadWriteLock[]::new);
+
+    /**
+     * Open an upload session.
+     *
+     * @param taskId The task ID
+     * @param uploadedBy The uploader's user ID
+     * @param fileName The original file name
+     * @param contentType The media type, or null if unknown
+     * @param totalSize Size of the whole file in bytes
+     * @param chunkSize Size of every chunk but the last in bytes
+     * @return The new session
+     */
+    public UploadSession createSession(Long taskId, Long uploadedBy, String fileName, String contentType,
+                                       long totalSize, int chunkSize) {
+        String name = AttachmentService.sanitizeFileName(fileName);
+        String fileType = AttachmentService.normalizeContentType(contentType);
+        AttachmentProperties.Uploads limits = properties.getUploads();
+        if (totalSize < 1) {
+            throw new ValidationException("Total size must be positive");
+        }
+        if (totalSize > limits.getMaxFileSize().toBytes()) {
+            throw new PayloadTooLargeException("File exceeds the maximum size of "
+                    + limits.getMaxFileSize().toBytes() + " bytes");
+        }
+        if (chunkSize < limits.getMinChunkSize().toBytes() || chunkSize > limits.getMaxChunkSize().toBytes()) {
+            throw new ValidationException("Chunk size must be between " + limits.getMinChunkSize().toBytes()
+                    + " and " + limits.getMaxChunkSize().toBytes() + " bytes");
+        }
+        attachmentService.requireTask(taskId);
+        attachmentService.requireUser(uploadedBy);
+
+        String id = UUID.randomUUID().toString();
+        attachmentStore.createSessionFile(id);
+        UploadSession session = UploadSession.builder()
+                .id(id)
+                .task(taskRepository.getReferenceById(taskId))
+                .uploadedBy(userRepository.getReferenceById(uploadedBy))
+                .fileName(name)
+                .fileType(fileType)
+                .totalSize(totalSize)
+                .chunkSize(chunkSize)
+                .status(UploadStatus.OPEN)
+                .build();
+        try {
+            return sessionRepository.save(session);
+        } catch (RuntimeException ex) {
+            attachmentStore.deleteSessionFile(id);
+            if (ex instanceof DataIntegrityViolationException) {
+                throw new ResourceNotFoundException("Task not found with id: " + taskId);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Get an upload session of a task.
+     *
+     * @param taskId The task ID
+     * @param sessionId The session ID
+     * @return The session
+     */
+    public UploadSession getSession(Long taskId, String sessionId) {
+        return sessionRepository.findByIdAndTaskId(sessionId, taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Upload session not found with id: " + sessionId + " on task: " + taskId));
+    }
+
+    /**
+     * Find the chunks of a session that have not been received yet.
+     *
+     * @param session The session
+     * @return Missing chunk indexes in ascending order
+     */
+    public List<Integer> getMissingChunks(UploadSession session) {
+        List<Integer> received = chunkRepository.findChunkIndexes(session.getId());
+        List<Integer> missing = new ArrayList<>();
+        int next = 0;
+        for (int index : received) {
+            while (next < index) {
+                missing.add(next++);
+            }
+            next = index + 1;
+        }
+        while (next < session.getChunkCount()) {
+            missing.add(next++);
+        }
+        return missing;
+    }
+
+    /**
+     * Write one chunk of an upload. Chunks may arrive in any order, concurrently, and more
+     * than once.
+     *
+     * @param taskId The task ID
+     * @param sessionId The session ID
+     * @param offset Offset of the chunk in the file; a multiple of the chunk size
+     * @param contentLength Declared length of the chunk, or null if unknown
+     * @param content The chunk content
+     * @return The session
+     * @throws ConflictException if the session is already being committed
+     */
+    public UploadSession writeChunk(Long taskId, String sessionId, long offset, Long contentLength,
+                                    InputStream content) {
+        Lock lock = chunkLock(sessionId).readLock();
+        lock.lock();
+        try {
+            return writeChunkLocked(taskId, sessionId, offset, contentLength, content);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UploadSession writeChunkLocked(Long taskId, String sessionId, long offset, Long contentLength,
+                                           InputStream content) {
+        UploadSession session = getSession(taskId, sessionId);
+        if (session.getStatus() != UploadStatus.OPEN) {
+            throw new ConflictException("Upload session " + sessionId + " is already being committed");
+        }
+        if (offset < 0 || offset >= session.getTotalSize() || offset % session.getChunkSize() != 0) {
+            throw new ValidationException("Offset must be a multiple of " + session.getChunkSize()
+                    + " below " + session.getTotalSize());
+        }
+        int chunkIndex = (int) (offset / session.getChunkSize());
+        long length = session.chunkLength(chunkIndex);
+        if (contentLength != null && contentLength != length) {
+            throw new ValidationException("Chunk " + chunkIndex + " must be exactly " + length + " bytes");
+        }
+
+        attachmentService.withUploadPermit(() -> {
+            attachmentStore.writeChunk(sessionId, offset, length, content);
+            return null;
+        });
+        try {
+            chunkRepository.save(UploadChunk.builder().session(session).chunkIndex(chunkIndex).build());
+        } catch (DataIntegrityViolationException ex) {
+            // Already recorded by an earlier attempt, or the session was aborted meanwhile
+            log.debug("Chunk {} of upload session {} not recorded: {}", chunkIndex, sessionId, ex.getMessage());
+        }
+        sessionRepository.touch(sessionId, LocalDateTime.now());
+        return session;
+    }
+
+    /**
+     * Turn a completely received upload into a task attachment and close the session.
+     *
+     * @param taskId The task ID
+     * @param sessionId The session ID
+     * @return The saved attachment
+     * @throws ConflictException if chunks are missing or the session is already being committed
+     */
+    public TaskAttachment commit(Long taskId, String sessionId) {
+        UploadSession session = getSession(taskId, sessionId);
+        // Only one request wins the transition; chunks are refused from here on
+        if (sessionRepository.transition(sessionId, UploadStatus.OPEN, UploadStatus.COMMITTING) == 0) {
+            throw new ConflictException("Upload session " + sessionId + " is already being committed");
+        }
+        sessionRepository.touch(sessionId, LocalDateTime.now());
+        awaitChunkWriters(sessionId);
+        StoredFile stored;
+        try {
+            List<Integer> missing = getMissingChunks(session);
+            if (!missing.isEmpty()) {
+                throw new ConflictException("Upload session " + sessionId + " is missing " + missing.size()
+                        + " of " + session.getChunkCount() + " chunks");
+            }
+            stored = attachmentService.withUploadPermit(() -> attachmentStore.storeSessionFile(sessionId));
+        } catch (RuntimeException ex) {
+            sessionRepository.transition(sessionId, UploadStatus.COMMITTING, UploadStatus.OPEN);
+            throw ex;
+        }
+        try {
+            return attachmentService.saveAttachment(taskId, session.getUploadedBy().getId(),
+                    session.getFileName(), session.getFileType(), stored);
+        } finally {
+            // The session file is gone either way; a stored file nothing refers to is left to the sweep
+            sessionRepository.deleteById(sessionId);
+        }
+    }
+
+    /**
+     * Abort an upload and discard what was received.
+     *
+     * @param taskId The task ID
+     * @param sessionId The session ID
+     */
+    public void abort(Long taskId, String sessionId) {
+        UploadSession session = getSession(taskId, sessionId);
+        sessionRepository.deleteById(session.getId());
+        attachmentStore.deleteSessionFile(session.getId());
+    }
+
+    /**
+     * Recover sessions whose commit was interrupted, discard sessions no chunk was written to
+     * within the session timeout, and session files left behind without a session.
+     */
+    @Scheduled(fixedDelayString = "${attachments.uploads.cleanup-interval:PT15M}")
+    public void removeStaleSessions() {
+        recoverInterruptedCommits();
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getUploads().getSessionTimeout());
+        List<String> stale = sessionRepository.findIdsUpdatedBefore(cutoff);
+        for (String sessionId : stale) {
+            sessionRepository.deleteById(sessionId);
+            attachmentStore.deleteSessionFile(sessionId);
+        }
+        int orphaned = attachmentStore.removeAbandonedSessionFiles(
+                Instant.now().minus(properties.getUploads().getSessionTimeout()), sessionRepository::existsById);
+        if (!stale.isEmpty() || orphaned > 0) {
+            log.info("Removed {} stale upload sessions and {} orphaned session files", stale.size(), orphaned);
+        }
+    }
+
+    /**
+     * Reopen sessions left committing past the commit timeout so the client can commit again;
+     * drop those whose file already went into the store, which cannot be committed again.
+     */
+    private void recoverInterruptedCommits() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getUploads().getCommitTimeout());
+        for (String sessionId : sessionRepository.findIdsByStatusUpdatedBefore(UploadStatus.COMMITTING, cutoff)) {
+            if (attachmentStore.hasSessionFile(sessionId)) {
+                sessionRepository.transition(sessionId, UploadStatus.COMMITTING, UploadStatus.OPEN);
+                sessionRepository.touch(sessionId, LocalDateTime.now());
+                log.warn("Reopened upload session {}, whose commit was interrupted", sessionId);
+            } else {
+                sessionRepository.deleteById(sessionId);
+                log.warn("Removed upload session {}, whose commit was interrupted after storing the file", sessionId);
+            }
+        }
+    }
+
+    /**
+     * Wait until chunk writers that found the session open are done; the session is no longer
+     * open, so writers that come later refuse to write.
+     */
+    private void awaitChunkWriters(String sessionId) {
+        Lock lock = chunkLock(sessionId).writeLock();
+        lock.lock();
+        lock.unlock();
+    }
+
+    private ReadWriteLock chunkLock(String sessionId) {
+        return chunkLocks[Math.floorMod(sessionId.hashCode(), chunkLocks.length)];
+    }
+}
@@ -4,10 +4,13 @@ import com.example.taskmanagement.dto.CreateUserRequest;
 import com.example.taskmanagement.dto.UpdateUserRequest;
 import com.example.taskmanagement.dto.UserDto;
 import com.example.taskmanagement.dto.UserResponse;
+import com.example.taskmanagement.exception.PreconditionFailedException;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
 import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.ProjectMembershipIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
@@ -31,6 +34,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ProjectMembershipIndex membershipIndex;
 
     /**
      * Create a new user.
@@ -82,6 +86,17 @@ public class UserService {
         return UserResponse.fromEntity(user);
     }
 
+    /**
+     * Get the version of a user without loading it; it changes with every update.
+     *
+     * @param id User ID
+     * @return The current version
+     */
+    public long getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
     /**
      * Get a user by username.
      *
@@ -121,10 +136,26 @@ public class UserService {
      */
     @Transactional
     public UserResponse updateUser(Long id, UpdateUserRequest request) {
+        return updateUser(id, request, null);
+    }
+
+    /**
+     * Update a user, unless it has changed since the version the caller saw.
+     *
+     * @param id User ID
+     * @param request User update request
+     * @param expectedVersion The version the update was made against, or null to update any version
+     * @return Updated user
+     */
+    @Transactional
+    public UserResponse updateUser(Long id, UpdateUserRequest request, Long expectedVersion) {
         log.info("Updating user with ID: {}", id);
         
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User " + id + " has been modified since version " + expectedVersion);
+        }
         
         // Validate email uniqueness if changed
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
@@ -135,7 +166,8 @@ public class UserService {
         }
         
         User updatedUser = request.updateEntity(user);
-        User savedUser = userRepository.save(updatedUser);
+        // Flushed here so the response carries the incremented version
+        User savedUser = userRepository.saveAndFlush(updatedUser);
         
         log.info("User updated successfully with ID: {}", savedUser.getId());
         return UserResponse.fromEntity(savedUser);
@@ -150,11 +182,16 @@ public class UserService {
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+
+        // Leave projects through the owning side: the database would cascade the
+        // project_members rows, but the cached Project.members collections would go stale
+        for (Project project : List.copyOf(user.getProjects())) {
+            project.removeMember(user);
         }
-        
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        membershipIndex.recordUserDeleted(id);
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -0,0 +1,99 @@
+package com.example.taskmanagement.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coordinates changes to an in-memory structure with its background load from the database.
+ * Changes received while loading are logged and replayed once loading is done, so a row read
+ * before a concurrent change cannot overwrite that change. Changes must therefore be safe to
+ * apply again.
+ */
+public final class ReplayLog {
+
+    private final boolean applyWhileLoading;
+    private final Object lock = new Object();
+    private List<Runnable> changes = new ArrayList<>();
+    private volatile boolean loading = true;
+    private volatile boolean loaded;
+
+    private ReplayLog(boolean applyWhileLoading) {
+        this.applyWhileLoading = applyWhileLoading;
+    }
+
+    /**
+     * For structures that are loaded in place and served while loading: changes are applied
+     * at once and again after loading.
+     *
+     * @return A new log
+     */
+    public static ReplayLog applyingWhileLoading() {
+        return new ReplayLog(true);
+    }
+
+    /**
+     * For structures that are built aside and published when loaded: changes are held back
+     * until then.
+     *
+     * @return A new log
+     */
+    public static ReplayLog deferringUntilLoaded() {
+        return new ReplayLog(false);
+    }
+
+    /**
+     * Apply a change now, and log it for replay if loading is still in progress.
+     * Changes are dropped once loading has been abandoned.
+     *
+     * @param change The change
+     */
+    public void apply(Runnable change) {
+        if (loading) {
+            synchronized (lock) {
+                if (loading) {
+                    if (applyWhileLoading) {
+                        change.run();
+                    }
+                    changes.add(change);
+                    return;
+                }
+            }
+        }
+        if (loaded) {
+            change.run();
+        }
+    }
+
+    /**
+     * Finish loading: publish the loaded state and replay the logged changes on top of it,
+     * without letting new changes in between.
+     *
+     * @param publish Makes the loaded state visible, run first
+     */
+    public void finish(Runnable publish) {
+        synchronized (lock) {
+            publish.run();
+            changes.forEach(Runnable::run);
+            changes = null;
+            loaded = true;
+            loading = false;
+        }
+    }
+
+    /**
+     * Give up loading and drop the logged changes; later changes are dropped too.
+     */
+    public void abandon() {
+        synchronized (lock) {
+            changes = null;
+            loading = false;
+        }
+    }
+
+    /**
+     * @return True once loading finished and every logged change is applied
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+}
@@ -0,0 +1,10 @@
+-- Sequence table for the pooled-lo Task ID generator.
+-- MySQL has no native sequences, so Hibernate emulates task_seq with a single-row table.
+-- With pooled-lo the stored value is the next unallocated ID, so it starts after the highest existing ID.
+
+CREATE TABLE task_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO task_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM tasks;
@@ -0,0 +1,4 @@
+-- Task history is written for every committed task update, including changes made by the
+-- system (imports, scheduled jobs) that have no acting user. NULL marks such changes.
+
+ALTER TABLE task_history MODIFY changed_by BIGINT NULL;
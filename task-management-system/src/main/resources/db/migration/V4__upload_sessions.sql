@@ -0,0 +1,27 @@
+-- Resumable uploads: a session per file being uploaded in chunks, and one row per received chunk.
+-- Chunks are written into a temporary file; once every chunk is in, the file becomes a task attachment.
+
+CREATE TABLE upload_sessions (
+    id CHAR(36) PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    uploaded_by BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_type VARCHAR(100) NOT NULL,
+    total_size BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_upload_sessions_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT fk_upload_sessions_user FOREIGN KEY (uploaded_by) REFERENCES users (id) ON DELETE CASCADE ON UPDATE CASCADE,
+    INDEX idx_upload_sessions_updated_at (updated_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE upload_chunks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    session_id CHAR(36) NOT NULL,
+    chunk_index INT NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_upload_chunks_session FOREIGN KEY (session_id) REFERENCES upload_sessions (id) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT uk_upload_chunks_session_chunk UNIQUE (session_id, chunk_index)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,6 @@
+-- Row versions of tasks, projects and users. They are the entity tags of these resources and
+-- guard updates against lost writes; updated_at only has second precision and cannot do either.
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Dashboard aggregates. completed_at records when a task was last moved to DONE; tasks already
+-- done are dated by their last update. Each index covers one grouped dashboard query, so the
+-- counts are read from the index without touching the table rows.
+
+ALTER TABLE tasks ADD COLUMN completed_at DATETIME NULL;
+
+UPDATE tasks SET completed_at = updated_at WHERE status = 'DONE';
+
+-- Tasks by status and priority, with the overdue ones among them
+CREATE INDEX idx_tasks_project_status_priority ON tasks (project_id, status, priority, due_date);
+-- Open tasks and overdue tasks per assignee
+CREATE INDEX idx_tasks_project_status_assignee ON tasks (project_id, status, assignee_id, due_date);
+-- Tasks created and completed per day
+CREATE INDEX idx_tasks_project_created ON tasks (project_id, created_at);
+CREATE INDEX idx_tasks_project_completed ON tasks (project_id, completed_at);
+-- The same series across all projects, for the scheduled rollup
+CREATE INDEX idx_tasks_created ON tasks (created_at);
+CREATE INDEX idx_tasks_completed ON tasks (completed_at);
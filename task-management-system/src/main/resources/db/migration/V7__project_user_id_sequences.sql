@@ -0,0 +1,16 @@
+-- Sequence tables for the pooled-lo Project and User ID generators, like task_seq in V2.
+-- Each starts after the highest existing ID.
+
+CREATE TABLE project_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO project_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM projects;
+
+CREATE TABLE user_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO user_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM users;
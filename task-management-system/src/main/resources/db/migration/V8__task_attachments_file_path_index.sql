@@ -0,0 +1,4 @@
+-- The attachment sweep asks, for every stored file, whether an attachment still refers to it.
+-- Without an index each of those checks scans the whole table.
+
+CREATE INDEX idx_task_attachments_file_path ON task_attachments (file_path);
@@ -0,0 +1,153 @@
+package com.example.taskmanagement.attachment;
+
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.exception.PayloadTooLargeException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    AttachmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        AttachmentProperties properties = new AttachmentProperties();
+        properties.setDirectory(directory);
+        store = new AttachmentStore(properties);
+    }
+
+    @Test
+    void store_keysContentBySha256() throws IOException {
+        StoredFile stored = store.store(stream("hello"), 1024);
+
+        // sha256("hello")
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", stored.sha256());
+        assertEquals("2c/f2/" + stored.sha256(), stored.key());
+        assertEquals(5, stored.size());
+        assertEquals("hello", Files.readString(store.resolve(stored.key())));
+        assertEquals(0, countFiles(directory.resolve("tmp")));
+    }
+
+    @Test
+    void store_sameContentTwice_keepsOneFile() throws IOException {
+        StoredFile first = store.store(stream("same bytes"), 1024);
+        StoredFile second = store.store(stream("same bytes"), 1024);
+
+        assertEquals(first.key(), second.key());
+        assertEquals(1, countFiles(directory) - countFiles(directory.resolve("tmp")));
+    }
+
+    @Test
+    void store_tooLarge_throwsAndLeavesNothingBehind() throws IOException {
+        assertThrows(PayloadTooLargeException.class, () -> store.store(stream("0123456789"), 9));
+
+        assertEquals(0, countFiles(directory));
+    }
+
+    @Test
+    void resolve_rejectsKeysOutsideTheStore() {
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("../secret"));
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("tmp/upload-1"));
+    }
+
+    @Test
+    void removeUnreferenced_keepsReferencedAndRecentFiles() throws IOException {
+        StoredFile kept = store.store(stream("referenced"), 1024);
+        StoredFile orphan = store.store(stream("orphan"), 1024);
+        StoredFile recent = store.store(stream("recent orphan"), 1024);
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        for (StoredFile file : new StoredFile[]{kept, orphan}) {
+            Files.setLastModifiedTime(store.resolve(file.key()), FileTime.from(old));
+        }
+
+        int removed = store.removeUnreferenced(Instant.now().minus(Duration.ofHours(1)), Set.of(kept.key())::contains);
+
+        assertEquals(1, removed);
+        assertTrue(Files.exists(store.resolve(kept.key())));
+        assertFalse(Files.exists(store.resolve(orphan.key())));
+        assertTrue(Files.exists(store.resolve(recent.key())));
+    }
+
+    @Test
+    void sessionFile_chunksWrittenOutOfOrder_assembleTheFile() throws IOException {
+        String sessionId = UUID.randomUUID().toString();
+        store.createSessionFile(sessionId);
+
+        store.writeChunk(sessionId, 8, 2, stream("89"));
+        store.writeChunk(sessionId, 0, 4, stream("0123"));
+        store.writeChunk(sessionId, 4, 4, stream("4567"));
+        // A retried chunk rewrites the same bytes
+        store.writeChunk(sessionId, 0, 4, stream("0123"));
+        StoredFile stored = store.storeSessionFile(sessionId);
+
+        assertEquals(10, stored.size());
+        assertEquals("0123456789", Files.readString(store.resolve(stored.key())));
+        assertEquals(0, countFiles(directory.resolve("sessions")));
+    }
+
+    @Test
+    void writeChunk_wrongLength_isRejected() {
+        String sessionId = UUID.randomUUID().toString();
+        store.createSessionFile(sessionId);
+
+        assertThrows(ValidationException.class, () -> store.writeChunk(sessionId, 0, 4, stream("012")));
+        assertThrows(ValidationException.class, () -> store.writeChunk(sessionId, 0, 4, stream("01234")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> store.writeChunk(UUID.randomUUID().toString(), 0, 4, stream("0123")));
+    }
+
+    @Test
+    void removeAbandonedSessionFiles_keepsLiveAndRecentSessions() throws IOException {
+        String live = UUID.randomUUID().toString();
+        String abandoned = UUID.randomUUID().toString();
+        String recent = UUID.randomUUID().toString();
+        for (String sessionId : new String[]{live, abandoned, recent}) {
+            store.createSessionFile(sessionId);
+        }
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        for (String sessionId : new String[]{live, abandoned}) {
+            Files.setLastModifiedTime(directory.resolve("sessions").resolve(sessionId + ".part"), FileTime.from(old));
+        }
+
+        int removed = store.removeAbandonedSessionFiles(Instant.now().minus(Duration.ofHours(1)), Set.of(live)::contains);
+
+        assertEquals(1, removed);
+        assertEquals(2, countFiles(directory.resolve("sessions")));
+        assertFalse(Files.exists(directory.resolve("sessions").resolve(abandoned + ".part")));
+        // Session files are never mistaken for unreferenced attachments
+        assertEquals(0, store.removeUnreferenced(Instant.now().plusSeconds(60), key -> false));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long countFiles(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
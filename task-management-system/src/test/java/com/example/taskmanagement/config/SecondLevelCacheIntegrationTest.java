@@ -0,0 +1,137 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.ProjectService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Hibernate second-level cache against H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User owner;
+    private User member;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(user("cache-owner"));
+        member = userRepository.save(user("cache-member"));
+        Project newProject = Project.builder().name("Cached project").owner(owner).build();
+        newProject.addMember(owner);
+        project = projectRepository.save(newProject);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getProjectById_isServedFromCacheAfterFirstLoad() {
+        projectService.getProjectById(project.getId());
+        statistics.clear();
+
+        Project cached = projectService.getProjectById(project.getId());
+
+        assertEquals("Cached project", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void updateProject_replacesCachedEntry() {
+        projectService.getProjectById(project.getId());
+        Project changes = Project.builder().name("Renamed project").status(Project.ProjectStatus.ON_HOLD).build();
+
+        projectService.updateProject(project.getId(), changes);
+
+        assertEquals("Renamed project", projectService.getProjectById(project.getId()).getName());
+    }
+
+    @Test
+    void memberChanges_invalidateCachedCollection() {
+        assertEquals(Set.of(owner.getId()), memberIds());
+
+        projectService.addMember(project.getId(), member.getId());
+        assertEquals(Set.of(owner.getId(), member.getId()), memberIds());
+
+        projectService.removeMember(project.getId(), owner.getId());
+        assertEquals(Set.of(member.getId()), memberIds());
+    }
+
+    @Test
+    void findByUsername_usesQueryCache() {
+        userRepository.findByUsername("cache-owner");
+        statistics.clear();
+
+        assertTrue(userRepository.findByUsername("cache-owner").isPresent());
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void regionStatistics_areExportedToMicrometer() {
+        projectService.getProjectById(project.getId());
+        projectService.getProjectById(project.getId());
+
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "projects").tag("result", "hit").meter());
+        assertNotNull(meterRegistry.find("cache.puts").tag("cache", "users").meter());
+    }
+
+    private Set<Long> memberIds() {
+        return transactionTemplate.execute(status -> projectRepository.findById(project.getId()).orElseThrow()
+                .getMembers().stream().map(User::getId).collect(Collectors.toSet()));
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .fullName(username)
+                .password("secret")
+                .build();
+    }
+}
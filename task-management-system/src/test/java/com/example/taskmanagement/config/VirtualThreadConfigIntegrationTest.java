@@ -0,0 +1,83 @@
+package com.example.taskmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that requests and {@code @Async} methods run on virtual threads once enabled.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadConfigIntegrationTest {
+
+    private static final String THREAD_HEADER = "X-Virtual-Thread";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AsyncProbe asyncProbe;
+
+    @Test
+    void requests_runOnVirtualThreads() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health", String.class);
+        assertEquals("true", response.getHeaders().getFirst(THREAD_HEADER));
+    }
+
+    @Test
+    void asyncMethods_runOnVirtualThreads() throws Exception {
+        assertTrue(asyncProbe.isVirtual().get());
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> threadProbeFilter() {
+            FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) throws ServletException, IOException {
+                    response.setHeader(THREAD_HEADER, String.valueOf(Thread.currentThread().isVirtual()));
+                    chain.doFilter(request, response);
+                }
+            });
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+
+        @Bean
+        AsyncProbe asyncProbe() {
+            return new AsyncProbe();
+        }
+    }
+
+    static class AsyncProbe {
+
+        @Async
+        public CompletableFuture<Boolean> isVirtual() {
+            return CompletableFuture.completedFuture(Thread.currentThread().isVirtual());
+        }
+    }
+}
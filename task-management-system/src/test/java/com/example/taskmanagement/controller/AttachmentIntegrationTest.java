@@ -0,0 +1,178 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskAttachmentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for task attachments against H2 and a local store under target/.
+ */
+@SpringBootTest(properties = "attachments.max-file-size=1KB")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class AttachmentIntegrationTest {
+
+    private static final String CONTENT = "0123456789abcdef";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User uploader;
+    private Task task;
+    private Task otherTask;
+
+    @BeforeEach
+    void setUp() {
+        uploader = userRepository.save(User.builder()
+                .username("uploader")
+                .email("uploader@example.com")
+                .fullName("File Uploader")
+                .password("secret")
+                .build());
+        Project project = projectRepository.save(Project.builder().name("Files").owner(uploader).build());
+        task = taskRepository.save(Task.builder().title("Has files").project(project).build());
+        otherTask = taskRepository.save(Task.builder().title("Has the same file").project(project).build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(uploader.getId(), uploader.getUsername(), User.UserRole.USER), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        attachmentRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void upload_thenDownloadWholeFileAndRange() throws Exception {
+        JsonNode attachment = upload(task, "notes.txt", CONTENT)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileName").value("notes.txt"))
+                .andExpect(jsonPath("$.fileSize").value(CONTENT.length()))
+                .andExpect(jsonPath("$.fileType").value("text/plain"))
+                .andReturn().getResponse().getContentAsString().transform(this::readTree);
+        long id = attachment.get("id").asLong();
+        String sha256 = attachment.get("sha256").asText();
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments/{id}", task.getId(), id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + sha256 + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notes.txt\""))
+                .andExpect(content().string(CONTENT));
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments/{id}", task.getId(), id).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/16"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments/{id}", task.getId(), id)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + sha256 + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @ExpectedQueries(max = 10)
+    void sameContentOnTwoTasks_sharesOneStoredFile() throws Exception {
+        String first = upload(task, "a.txt", CONTENT).andReturn().getResponse().getContentAsString();
+        String second = upload(otherTask, "b.txt", CONTENT).andReturn().getResponse().getContentAsString();
+
+        assertEquals(readTree(first).get("sha256"), readTree(second).get("sha256"));
+        assertEquals(attachmentRepository.findAll().get(0).getFilePath(), attachmentRepository.findAll().get(1).getFilePath());
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments", task.getId()))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].fileName").value("a.txt"));
+    }
+
+    @Test
+    void upload_overTheSizeLimit_isRejected() throws Exception {
+        upload(task, "big.bin", "x".repeat(2048))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void deletedAttachment_isGoneFromTheTask() throws Exception {
+        long id = readTree(upload(task, "gone.txt", CONTENT).andReturn().getResponse().getContentAsString())
+                .get("id").asLong();
+
+        mockMvc.perform(delete("/tasks/{taskId}/attachments/{id}", task.getId(), id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments/{id}", task.getId(), id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @ExpectedQueries(max = 4)
+    void attachmentOfAnotherTask_isNotFound() throws Exception {
+        long id = readTree(upload(task, "mine.txt", CONTENT).andReturn().getResponse().getContentAsString())
+                .get("id").asLong();
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments/{id}", otherTask.getId(), id))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions upload(Task target, String fileName, String content) throws Exception {
+        return mockMvc.perform(post("/tasks/{taskId}/attachments", target.getId())
+                .param("fileName", fileName)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
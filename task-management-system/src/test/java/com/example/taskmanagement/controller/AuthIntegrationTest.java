@@ -0,0 +1,205 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.ProjectMembershipIndex;
+import com.example.taskmanagement.service.ProjectService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for token login and the JWT filter chain against H2. Shares the context
+ * of the other integration tests and applies the security filter chain to its own MockMvc,
+ * since a separate context would recreate the shared in-memory schema.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class AuthIntegrationTest {
+
+    private static final String PASSWORD = "Secret#123";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private Filter springSecurityFilterChain;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectMembershipIndex membershipIndex;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(springSecurityFilterChain)
+                .build();
+        alice = userRepository.save(user("alice", true));
+        bob = userRepository.save(user("bob", true));
+        userRepository.save(user("carol", false));
+        User dave = user("dave", true);
+        dave.setRole(User.UserRole.ADMIN);
+        userRepository.save(dave);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void login_issuesATokenThatAuthenticatesRequests() throws Exception {
+        String token = login("alice", PASSWORD)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(token).get("accessToken").asText();
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/users/{id}", alice.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Alice Audited\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("alice", userRepository.findById(alice.getId()).orElseThrow().getUpdatedBy());
+    }
+
+    @Test
+    void missingOrInvalidToken_isUnauthorized() throws Exception {
+        mockMvc.perform(get("/tasks")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void wrongPasswordOrDisabledAccount_isRefused() throws Exception {
+        login("alice", "wrong").andExpect(status().isUnauthorized());
+        login("nobody", PASSWORD).andExpect(status().isUnauthorized());
+        login("carol", PASSWORD).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void ownershipRules_useTheTokenClaims() throws Exception {
+        String bearer = bearer("alice");
+
+        mockMvc.perform(get("/api/users/{id}", alice.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("alice"));
+        mockMvc.perform(get("/api/users/{id}", bob.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users/role/USER").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void projectAccess_followsMembershipChanges() throws Exception {
+        Project project = projectService.createProject(Project.builder().name("Shared").owner(alice).build());
+        awaitMembershipIndex(project.getId());
+        String aliceBearer = bearer("alice");
+        String bobBearer = bearer("bob");
+
+        mockMvc.perform(get("/api/users/project/{id}", project.getId()).header(HttpHeaders.AUTHORIZATION, aliceBearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/project/{id}", project.getId()).header(HttpHeaders.AUTHORIZATION, bobBearer))
+                .andExpect(status().isForbidden());
+
+        projectService.addMember(project.getId(), bob.getId());
+        mockMvc.perform(get("/api/users/project/{id}", project.getId()).header(HttpHeaders.AUTHORIZATION, bobBearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("bob"));
+
+        projectService.removeMember(project.getId(), bob.getId());
+        mockMvc.perform(get("/api/users/project/{id}", project.getId()).header(HttpHeaders.AUTHORIZATION, bobBearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void prometheusEndpoint_isLimitedToAdministrators() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("alice")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("dave")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("service_method_seconds_bucket{")))
+                .andExpect(content().string(containsString("repository_query_rows_bucket{")));
+    }
+
+    private void awaitMembershipIndex(long projectId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!membershipIndex.covers(projectId) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(membershipIndex.covers(projectId), "Membership index not loaded");
+    }
+
+    private String bearer(String username) throws Exception {
+        String body = login(username, PASSWORD).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("accessToken").asText();
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("username", username, "password", password))));
+    }
+
+    private User user(String username, boolean enabled) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .fullName(username)
+                .password(passwordEncoder.encode(PASSWORD))
+                .enabled(enabled)
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.CommentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for task comments against H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class CommentIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .username("commenter")
+                .email("commenter@example.com")
+                .fullName("Comment Author")
+                .password("secret")
+                .build());
+        Project project = projectRepository.save(Project.builder().name("Discussions").owner(author).build());
+        task = taskRepository.save(Task.builder().title("Needs review").project(project).build());
+        authenticateAs(author.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void addComment_isASingleInsertThatNeverLoadsTheTask() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        commentService.addComment(task.getId(), author.getId(), "First!");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @ExpectedQueries(max = 8)
+    void comments_arePagedByCursorWithTotalCount() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            postComment(task.getId(), "Comment " + i).andExpect(status().isCreated());
+        }
+
+        MvcResult first = mockMvc.perform(get("/tasks/{id}/comments", task.getId()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CommentController.TOTAL_COUNT_HEADER, "3"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].content").value("Comment 1"))
+                .andExpect(jsonPath("$[0].authorId").value(author.getId().intValue()))
+                .andExpect(jsonPath("$[1].content").value("Comment 2"))
+                .andReturn();
+        String cursor = first.getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/tasks/{id}/comments", task.getId()).param("size", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].content").value("Comment 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @ExpectedQueries(max = 8)
+    void editAndDelete_updateTheListAndCount() throws Exception {
+        String body = postComment(task.getId(), "Typo here").andReturn().getResponse().getContentAsString();
+        long commentId = Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        mockMvc.perform(put("/tasks/{id}/comments/{commentId}", task.getId(), commentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Fixed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Fixed"));
+
+        mockMvc.perform(delete("/tasks/{id}/comments/{commentId}", task.getId(), commentId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/tasks/{id}/comments", task.getId()))
+                .andExpect(header().string(CommentController.TOTAL_COUNT_HEADER, "0"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @ExpectedQueries(max = 2)
+    void addComment_unknownTaskOrAuthor_isNotFound() throws Exception {
+        postComment(Long.MAX_VALUE, "Hello?").andExpect(status().isNotFound());
+
+        // A token of a user deleted since it was issued
+        authenticateAs(Long.MAX_VALUE);
+        postComment(task.getId(), "Hello?")
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("User not found with id: " + Long.MAX_VALUE));
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void editAndDelete_byAnotherUser_areForbidden() throws Exception {
+        String body = postComment(task.getId(), "Mine").andReturn().getResponse().getContentAsString();
+        long commentId = Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        authenticateAs(author.getId() + 1);
+
+        mockMvc.perform(put("/tasks/{id}/comments/{commentId}", task.getId(), commentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Yours\"}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/tasks/{id}/comments/{commentId}", task.getId(), commentId))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void deletingTheTask_removesItsComments() throws Exception {
+        postComment(task.getId(), "Soon gone").andExpect(status().isCreated());
+        assertEquals(1, commentService.countComments(task.getId()));
+
+        mockMvc.perform(delete("/tasks/{id}", task.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/tasks/{id}/comments", task.getId())).andExpect(status().isNotFound());
+        assertEquals(0, commentService.countComments(task.getId()), "Count of the deleted task still cached");
+    }
+
+    private ResultActions postComment(Long taskId, String content) throws Exception {
+        return mockMvc.perform(post("/tasks/{id}/comments", taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"" + content + "\"}"));
+    }
+
+    private static void authenticateAs(long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "user" + userId, User.UserRole.USER), null, List.of()));
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.DashboardService;
+import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the project and tenant dashboards against H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class DashboardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Project project;
+    private User owner;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder()
+                .username("dashboard-owner")
+                .email("dashboard-owner@example.com")
+                .fullName("Dashboard Owner")
+                .password("secret")
+                .build());
+        assignee = userRepository.save(User.builder()
+                .username("dashboard-assignee")
+                .email("dashboard-assignee@example.com")
+                .fullName("Dashboard Assignee")
+                .password("secret")
+                .build());
+        // Through the service, so the membership index knows the owner
+        project = projectService.createProject(Project.builder().name("Dashboard").owner(owner).build());
+        authenticateAs(owner, User.UserRole.USER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * The budget includes a fetch of task IDs from the sequence, which may fall into this test.
+     */
+    @Test
+    @ExpectedQueries(max = 14)
+    void projectDashboard_groupsTasksInAFewQueriesAndCachesTheResult() throws Exception {
+        Task overdue = taskService.createTask(Task.builder().title("Overdue").priority(Task.TaskPriority.HIGH)
+                .dueDate(LocalDateTime.now().minusDays(2)).project(project).assignee(assignee).build());
+        taskService.createTask(Task.builder().title("Upcoming").priority(Task.TaskPriority.HIGH)
+                .dueDate(LocalDateTime.now().plusDays(2)).project(project).assignee(assignee).build());
+        Task done = taskService.createTask(Task.builder().title("Done").priority(Task.TaskPriority.LOW)
+                .dueDate(LocalDateTime.now().minusDays(1)).project(project).build());
+        taskService.updateStatus(done.getId(), Task.TaskStatus.DONE);
+        taskService.createTask(Task.builder().title("Unassigned").project(project).build());
+
+        statistics.clear();
+        mockMvc.perform(get("/projects/{id}/dashboard", project.getId()).param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(project.getId().intValue()))
+                .andExpect(jsonPath("$.days").value(7))
+                .andExpect(jsonPath("$.totalTasks").value(4))
+                .andExpect(jsonPath("$.openTasks").value(3))
+                .andExpect(jsonPath("$.overdueTasks").value(1))
+                .andExpect(jsonPath("$.tasksByStatusAndPriority.TODO.HIGH").value(2))
+                .andExpect(jsonPath("$.tasksByStatusAndPriority.TODO.MEDIUM").value(1))
+                .andExpect(jsonPath("$.tasksByStatusAndPriority.DONE.LOW").value(1))
+                .andExpect(jsonPath("$.tasksByStatusAndPriority.REVIEW.CRITICAL").value(0))
+                .andExpect(jsonPath("$.createdPerDay", hasSize(7)))
+                .andExpect(jsonPath("$.createdPerDay[6].date").value(LocalDate.now().toString()))
+                .andExpect(jsonPath("$.createdPerDay[6].count").value(4))
+                .andExpect(jsonPath("$.createdPerDay[0].count").value(0))
+                .andExpect(jsonPath("$.completedPerDay[6].count").value(1))
+                .andExpect(jsonPath("$.assigneeLoad", hasSize(2)))
+                .andExpect(jsonPath("$.assigneeLoad[0].username").value("dashboard-assignee"))
+                .andExpect(jsonPath("$.assigneeLoad[0].openTasks").value(2))
+                .andExpect(jsonPath("$.assigneeLoad[0].overdueTasks").value(1))
+                .andExpect(jsonPath("$.assigneeLoad[1].assigneeId").doesNotExist())
+                .andExpect(jsonPath("$.assigneeLoad[1].openTasks").value(1));
+        assertEquals(5, statistics.getPrepareStatementCount(), "Project lookup and four grouped queries");
+
+        taskService.updateStatus(overdue.getId(), Task.TaskStatus.DONE);
+        statistics.clear();
+        mockMvc.perform(get("/projects/{id}/dashboard", project.getId()).param("days", "7"))
+                .andExpect(jsonPath("$.overdueTasks").value(1));
+        assertEquals(0, statistics.getPrepareStatementCount(), "Served from the cache");
+    }
+
+    @Test
+    @ExpectedQueries(max = 7)
+    void reopeningATask_clearsItsCompletionTime() {
+        Task task = taskService.createTask(Task.builder().title("Reopened").project(project).build());
+        taskService.updateStatus(task.getId(), Task.TaskStatus.DONE);
+        assertNotNull(taskRepository.findById(task.getId()).orElseThrow().getCompletedAt());
+
+        taskService.updateStatus(task.getId(), Task.TaskStatus.IN_PROGRESS);
+
+        assertNull(taskRepository.findById(task.getId()).orElseThrow().getCompletedAt());
+    }
+
+    @Test
+    @ExpectedQueries(max = 9)
+    void dashboard_servesTheLastRollup() throws Exception {
+        dashboardService.refreshRollup();
+        long before = dashboardService.getDashboard().getTotalTasks();
+        taskService.createTask(Task.builder().title("Counted on refresh").project(project).build());
+
+        mockMvc.perform(get("/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").doesNotExist())
+                .andExpect(jsonPath("$.totalTasks").value(before));
+
+        dashboardService.refreshRollup();
+
+        mockMvc.perform(get("/dashboard"))
+                .andExpect(jsonPath("$.totalTasks").value(before + 1))
+                .andExpect(jsonPath("$.createdPerDay", hasSize(14)));
+    }
+
+    @Test
+    @ExpectedQueries(max = 0)
+    void projectDashboard_isForbiddenToNonMembers() throws Exception {
+        authenticateAs(assignee, User.UserRole.USER);
+
+        mockMvc.perform(get("/projects/{id}/dashboard", project.getId()))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * The unknown project is outside the membership index, so checking the member costs a query.
+     */
+    @Test
+    @ExpectedQueries(max = 2)
+    void projectDashboard_rejectsUnknownProjectsAndWindows() throws Exception {
+        mockMvc.perform(get("/projects/{id}/dashboard", Long.MAX_VALUE))
+                .andExpect(status().isForbidden());
+        authenticateAs(owner, User.UserRole.ADMIN);
+        mockMvc.perform(get("/projects/{id}/dashboard", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/projects/{id}/dashboard", project.getId()).param("days", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/projects/{id}/dashboard", project.getId()).param("days", "91"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static void authenticateAs(User user, User.UserRole role) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), role);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+}
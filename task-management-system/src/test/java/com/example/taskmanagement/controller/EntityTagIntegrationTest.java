@@ -0,0 +1,160 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for entity tags and conditional requests against H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class EntityTagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("tagger")
+                .email("tagger@example.com")
+                .fullName("Entity Tagger")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Caching").owner(owner).build());
+        task = taskRepository.save(Task.builder().title("Revalidate").project(project).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 2)
+    void unchangedTask_isAnsweredWithNotModifiedWithoutLoadingIt() throws Exception {
+        String etag = mockMvc.perform(get("/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Revalidate"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @ExpectedQueries(max = 7)
+    void updateWithCurrentTag_succeedsAndChangesTheTag() throws Exception {
+        String etag = etagOf("/tasks/{id}", task.getId());
+
+        String updated = mockMvc.perform(put("/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson("Revalidated")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Revalidated"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, updated);
+        assertEquals(updated, etagOf("/tasks/{id}", task.getId()));
+        mockMvc.perform(get("/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @ExpectedQueries(max = 11)
+    void updateWithStaleTag_failsWithPreconditionFailed() throws Exception {
+        String stale = etagOf("/tasks/{id}", task.getId());
+        mockMvc.perform(patch("/tasks/{taskId}/status", task.getId())
+                        .param("status", "IN_PROGRESS")
+                        .header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+        mockMvc.perform(put("/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, stale)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson("Lost update")))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/tasks/{taskId}/priority", task.getId())
+                        .param("priority", "HIGH")
+                        .header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/tasks/{id}", task.getId()))
+                .andExpect(jsonPath("$.title").value("Revalidate"))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    @ExpectedQueries(max = 10)
+    void projectTag_changesWhenATaskJoinsTheProject() throws Exception {
+        String etag = etagOf("/projects/{id}", project.getId());
+        mockMvc.perform(get("/projects/{id}", project.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        taskRepository.save(Task.builder().title("Joins later").project(project).build());
+
+        mockMvc.perform(get("/projects/{id}", project.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String etagOf(String uri, Long id) throws Exception {
+        return mockMvc.perform(get(uri, id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String taskJson(String title) {
+        return "{\"title\":\"" + title + "\",\"status\":\"TODO\",\"priority\":\"MEDIUM\",\"projectId\":"
+                + project.getId() + "}";
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for merge-patch updates and versioned single-field updates against H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class MergePatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("patcher")
+                .email("patcher@example.com")
+                .fullName("Merge Patcher")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder()
+                .name("Patching")
+                .description("Partial updates")
+                .owner(owner)
+                .build());
+        task = taskRepository.save(Task.builder()
+                .title("Original title")
+                .description("Original description")
+                .priority(Task.TaskPriority.LOW)
+                .project(project)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 2)
+    void taskPatch_changesOnlyTheFieldsSent() throws Exception {
+        patchTask("{\"title\":\"Patched title\",\"description\":null}")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.title").value("Patched title"))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.status").value("TODO"))
+                .andExpect(jsonPath("$.priority").value("LOW"))
+                .andExpect(jsonPath("$.projectId").value(project.getId()));
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void taskPatch_invalidOrClearedRequiredFields_areRejected() throws Exception {
+        patchTask("{\"title\":\"ab\"}").andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.title").exists());
+        patchTask("{\"title\":null}").andExpect(status().isBadRequest());
+        patchTask("{\"status\":null}").andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.status").exists());
+        patchTask("{\"priority\":\"URGENT\"}").andExpect(status().isBadRequest());
+        patchTask("[]").andExpect(status().isBadRequest());
+
+        assertEquals(0L, taskService.getTaskVersion(task.getId()));
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void taskPatch_staleIfMatch_isRejected() throws Exception {
+        patchTask("{\"title\":\"First writer\"}").andExpect(status().isOk());
+
+        mockMvc.perform(patch("/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":\"Second writer\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @ExpectedQueries(max = 5)
+    void concurrentUpdate_failsTheVersionCheck() {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskService.patchTask(task.getId(), null, current -> {
+                    // Another request commits between this read and the update
+                    concurrent.executeWithoutResult(status -> jdbcTemplate.update(
+                            "UPDATE tasks SET version = version + 1 WHERE id = ?", task.getId()));
+                    current.setTitle("Lost update");
+                    return current;
+                }));
+        assertEquals("Original title", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void priorityPut_isOneVersionedUpdate() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(put("/tasks/{taskId}/priority", task.getId())
+                        .param("priority", "HIGH")
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Task updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(Task.TaskPriority.HIGH, updated.getPriority());
+        assertEquals(1L, updated.getVersion());
+
+        mockMvc.perform(put("/tasks/{taskId}/priority", task.getId())
+                        .param("priority", "CRITICAL")
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/tasks/{taskId}/priority", -1L)
+                        .param("priority", "CRITICAL")
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/tasks/{taskId}/priority", task.getId())
+                        .param("priority", "CRITICAL"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @ExpectedQueries(max = 5)
+    void priorityPatch_withIfMatch_readsAndUpdatesTheTask() throws Exception {
+        mockMvc.perform(patch("/tasks/{taskId}/priority", task.getId())
+                        .param("priority", "HIGH")
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.id").value(task.getId()))
+                .andExpect(jsonPath("$.priority").value("HIGH"));
+        assertEquals(Task.TaskPriority.HIGH, taskRepository.findById(task.getId()).orElseThrow().getPriority());
+    }
+
+    @Test
+    @ExpectedQueries(max = 4)
+    void projectPatch_changesOnlyTheFieldsSent() throws Exception {
+        mockMvc.perform(patch("/projects/{id}", project.getId())
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"name\":\"Renamed\",\"status\":\"ON_HOLD\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andExpect(jsonPath("$.description").value("Partial updates"))
+                .andExpect(jsonPath("$.status").value("ON_HOLD"));
+
+        mockMvc.perform(patch("/projects/{id}", project.getId())
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"status\":\"UNKNOWN\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions patchTask(String patch) throws Exception {
+        return mockMvc.perform(patch("/tasks/{id}", task.getId())
+                .contentType(MergePatch.MEDIA_TYPE)
+                .content(patch));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the endpoint, service and repository meters against H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<ServerHttpObservationFilter> observationFilter;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        // http.server.requests is recorded by a servlet filter, which the shared context leaves out
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(observationFilter.getFilter())
+                .build();
+        User owner = userRepository.save(User.builder()
+                .username("metrics-owner")
+                .email("metrics-owner@example.com")
+                .fullName("Metrics Owner")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Metrics").owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void serviceCalls_areTimedPerMethodAndOutcome() {
+        long succeeded = serviceTimerCount("getTaskById", "none");
+        long failed = serviceTimerCount("getTaskById", "ResourceNotFoundException");
+        Task task = taskService.createTask(Task.builder().title("Timed").project(project).build());
+
+        taskService.getTaskById(task.getId());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(Long.MAX_VALUE));
+
+        assertEquals(succeeded + 1, serviceTimerCount("getTaskById", "none"));
+        assertEquals(failed + 1, serviceTimerCount("getTaskById", "ResourceNotFoundException"));
+        Timer timer = meterRegistry.get("service.method").tags("class", "TaskService", "method", "createTask").timer();
+        assertTrue(timer.takeSnapshot().histogramCounts().length > 0, "Histogram buckets published");
+    }
+
+    @Test
+    void repositoryQueries_recordTheRowsTheyReturn() {
+        taskService.createTask(Task.builder().title("First").project(project).build());
+        taskService.createTask(Task.builder().title("Second").project(project).build());
+        long queries = repositoryTimerCount("findByProjectId");
+        double rows = rowsTotal("findByProjectId");
+
+        taskService.listTasksByProject(project.getId());
+
+        assertEquals(queries + 1, repositoryTimerCount("findByProjectId"));
+        assertEquals(rows + 2, rowsTotal("findByProjectId"));
+        assertEquals(0, meterRegistry.find("spring.data.repository.invocations").meters().size(),
+                "Built-in repository timer disabled");
+    }
+
+    @Test
+    void endpointLatency_isTaggedWithTheRouteTemplate() throws Exception {
+        Task task = taskService.createTask(Task.builder().title("Routed").project(project).build());
+
+        mockMvc.perform(get("/tasks/{id}", task.getId())).andExpect(status().isOk());
+
+        Timer timer = meterRegistry.get("http.server.requests")
+                .tags("uri", "/tasks/{id}", "method", "GET", "status", "200")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(0, meterRegistry.find("http.server.requests").tag("uri", "/tasks/" + task.getId())
+                .meters().size(), "No tag per task ID");
+    }
+
+    private long serviceTimerCount(String method, String exception) {
+        Timer timer = meterRegistry.find("service.method")
+                .tags("class", "TaskService", "method", method, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long repositoryTimerCount(String method) {
+        Timer timer = meterRegistry.find("repository.query")
+                .tags("repository", "TaskRepository", "method", method, "exception", "none")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double rowsTotal(String method) {
+        DistributionSummary summary = meterRegistry.find("repository.query.rows")
+                .tags("repository", "TaskRepository", "method", method)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.overdue.OverdueTaskService;
+import com.example.taskmanagement.overdue.TaskOverdueEvent;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for overdue task tracking against H2.
+ * The scheduled check is slowed down so the test runs it, on the thread events are recorded from.
+ */
+@SpringBootTest(properties = "overdue.check-interval=PT1H")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class OverdueTasksIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private OverdueTaskService overdueTaskService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTasks;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        for (int i = 0; i < 100 && !overdueTaskService.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(overdueTaskService.isReady(), "Due dates did not finish loading");
+        User owner = userRepository.save(User.builder()
+                .username("overdue-owner")
+                .email("overdue-owner@example.com")
+                .fullName("Overdue Owner")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Deadlines").owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 8)
+    void overdueTasks_listedOldestFirstUntilDone() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Task recent = taskRepository.save(task("Recently due", now.minusHours(1)));
+        Task old = taskRepository.save(task("Long overdue", now.minusDays(3)));
+        taskRepository.save(task("Due tomorrow", now.plusDays(1)));
+
+        mockMvc.perform(get("/tasks/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(old.getId().intValue()))
+                .andExpect(jsonPath("$[1].id").value(recent.getId().intValue()));
+        assertEquals(2, events.stream(TaskOverdueEvent.class).count());
+
+        taskService.updateStatus(old.getId(), Task.TaskStatus.DONE);
+        taskRepository.deleteById(recent.getId());
+
+        mockMvc.perform(get("/tasks/overdue"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void overdueTasks_deadlinePassingIsDetectedByTheCheck() throws Exception {
+        Task soon = taskRepository.save(task("Due in a moment", LocalDateTime.now().plusNanos(300_000_000)));
+        mockMvc.perform(get("/tasks/overdue")).andExpect(jsonPath("$", hasSize(0)));
+
+        Thread.sleep(400);
+        overdueTaskService.checkDeadlines();
+
+        mockMvc.perform(get("/tasks/overdue"))
+                .andExpect(jsonPath("$[0].id").value(soon.getId().intValue()));
+        assertTrue(events.stream(TaskOverdueEvent.class).anyMatch(event -> event.taskId() == soon.getId()));
+    }
+
+    @Test
+    void scheduledJobs_eachHaveASchedulerThread() {
+        int jobs = scheduledTasks.getScheduledTasks().size();
+        assertTrue(taskScheduler.getPoolSize() >= jobs,
+                "A slow job would delay the overdue check: " + jobs + " jobs share "
+                        + taskScheduler.getPoolSize() + " scheduler threads");
+    }
+
+    private Task task(String title, LocalDateTime dueDate) {
+        return Task.builder().title(title).dueDate(dueDate).project(project).build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the project read endpoints against H2.
+ * Asserts that the number of SQL statements per request does not grow with the
+ * number of projects returned.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class ProjectControllerIntegrationTest {
+
+    /**
+     * Project page, member IDs and task IDs.
+     */
+    private static final long MAX_STATEMENTS_PER_REQUEST = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Project> projects = new ArrayList<>();
+    private User owner;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(user("owner"));
+        member = userRepository.save(user("member"));
+        for (int i = 0; i < 10; i++) {
+            Project project = Project.builder().name("Project " + i).owner(owner).build();
+            project.addMember(owner);
+            project.addMember(member);
+            project = projectRepository.save(project);
+            for (int j = 0; j < 3; j++) {
+                taskRepository.save(Task.builder().title("Task " + i + "-" + j).project(project).build());
+            }
+            projects.add(project);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void listProjects_usesConstantNumberOfStatements() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/projects").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        long smallPage = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(get("/projects").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(10)))
+                .andExpect(jsonPath("$[0].memberIds", containsInAnyOrder(owner.getId().intValue(), member.getId().intValue())))
+                .andExpect(jsonPath("$[0].taskIds", hasSize(3)));
+        long largePage = statistics.getPrepareStatementCount();
+
+        assertTrue(largePage <= MAX_STATEMENTS_PER_REQUEST, "Statements for 10 projects: " + largePage);
+        assertTrue(largePage <= smallPage, "Statement count grew with page size: " + smallPage + " -> " + largePage);
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void getProjectById_usesConstantNumberOfStatements() throws Exception {
+        Project project = projects.get(0);
+        statistics.clear();
+        mockMvc.perform(get("/projects/{id}", project.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ownerId").value(owner.getId().intValue()))
+                .andExpect(jsonPath("$.memberIds", hasSize(2)))
+                .andExpect(jsonPath("$.taskIds", hasSize(3)));
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_STATEMENTS_PER_REQUEST, "Statements for one project: " + statements);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .fullName(username)
+                .password("secret")
+                .build();
+    }
+}
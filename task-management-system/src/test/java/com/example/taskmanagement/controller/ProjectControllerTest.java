@@ -1,20 +1,33 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.KeysetCursor;
 import com.example.taskmanagement.dto.ProjectRequestDTO;
 import com.example.taskmanagement.dto.ProjectResponseDTO;
 import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.security.AuthenticatedUser;
 import com.example.taskmanagement.service.ProjectService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +40,7 @@ class ProjectControllerTest {
     ProjectResponseDTO projectResponseDTO;
     ProjectRequestDTO projectRequestDTO;
     Project project;
+    ProjectService.ProjectAssociations associations;
 
     @BeforeEach
     void setUp() {
@@ -36,33 +50,62 @@ class ProjectControllerTest {
         projectRequestDTO = new ProjectRequestDTO();
         projectRequestDTO.setName("Test Project");
         project = Project.builder().id(1L).name("Test Project").build();
+        project.setVersion(0L);
+        associations = new ProjectService.ProjectAssociations(Map.of(1L, Set.of(2L, 3L)), Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
     void getAllProjects_success() {
-        when(projectService.listProjects()).thenReturn(List.of(project));
-        var result = projectController.getAllProjects();
-        assertFalse(result.isEmpty());
+        when(projectService.listProjects(null, 50)).thenReturn(new SliceImpl<>(List.of(project)));
+        when(projectService.loadAssociations(List.of(1L))).thenReturn(associations);
+        var result = projectController.getAllProjects(null, 50);
+        assertFalse(result.getBody().isEmpty());
+        assertEquals(Set.of(2L, 3L), result.getBody().get(0).getMemberIds());
+        assertTrue(result.getBody().get(0).getTaskIds().isEmpty());
+        assertNull(result.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
     }
 
     @Test
     void getProjectById_success() {
         when(projectService.getProjectById(1L)).thenReturn(project);
-        var result = projectController.getProjectById(1L);
+        when(projectService.loadAssociations(List.of(1L))).thenReturn(associations);
+        var result = projectController.getProjectById(1L, new ServletWebRequest(new MockHttpServletRequest()));
         assertEquals(1L, result.getBody().getId());
+        assertNotNull(result.getHeaders().getETag());
     }
 
     @Test
     void createProject_success() {
-        when(projectService.createProject(any(Project.class))).thenReturn(project);
+        when(projectService.createProject(any(Project.class), isNull(), any())).thenReturn(project);
+        when(projectService.loadAssociations(List.of(1L))).thenReturn(associations);
         var result = projectController.createProject(projectRequestDTO);
         assertEquals("Test Project", result.getBody().getName());
     }
 
+    @Test
+    void createProject_isOwnedByTheAuthenticatedUser() {
+        AuthenticatedUser owner = new AuthenticatedUser(7L, "owner", User.UserRole.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner, null, List.of()));
+        projectRequestDTO.setMemberIds(Set.of(2L, 3L));
+        when(projectService.createProject(any(Project.class), eq(7L), eq(Set.of(2L, 3L)))).thenReturn(project);
+        when(projectService.loadAssociations(List.of(1L))).thenReturn(associations);
+
+        var result = projectController.createProject(projectRequestDTO);
+
+        assertEquals(Set.of(2L, 3L), result.getBody().getMemberIds());
+    }
+
     @Test
     void updateProject_success() {
-        when(projectService.updateProject(any(Long.class), any(Project.class))).thenReturn(project);
-        var result = projectController.updateProject(1L, projectRequestDTO);
+        when(projectService.updateProject(any(Long.class), any(Project.class), isNull())).thenReturn(project);
+        when(projectService.loadAssociations(List.of(1L))).thenReturn(associations);
+        var result = projectController.updateProject(1L, projectRequestDTO, null);
         assertEquals("Test Project", result.getBody().getName());
     }
 
@@ -74,6 +117,7 @@ class ProjectControllerTest {
     @Test
     void getProjectsByOwner_success() {
         when(projectService.listProjectsByOwner(1L)).thenReturn(List.of(project));
+        when(projectService.loadAssociations(List.of(1L))).thenReturn(associations);
         var result = projectController.getProjectsByOwner(1L);
         assertFalse(result.isEmpty());
     }
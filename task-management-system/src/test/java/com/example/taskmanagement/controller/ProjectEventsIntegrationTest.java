@@ -0,0 +1,203 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.events.ProjectEventStream;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskHistoryRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the project event streams against H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class ProjectEventsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private TaskHistoryWriter taskHistoryWriter;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectEventStream projectEventStream;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private User outsider;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("events-owner"));
+        outsider = userRepository.save(user("events-outsider"));
+        project = projectService.createProject(Project.builder().name("Board").owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskHistoryWriter.flush();
+        taskHistoryRepository.deleteAll();
+        if (projectRepository.existsById(project.getId())) {
+            // Also ends the streams and drops the buffered events of the project
+            projectService.deleteProject(project.getId());
+        }
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void stream_sendsCommittedChangesAndResumesFromLastEventId() throws Exception {
+        authenticateAs(owner);
+        MvcResult stream = subscribe(null);
+
+        Task task = taskService.createTask(Task.builder().title("Überarbeiten").project(project).build());
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(Task.builder().title("Rolled back").project(project).build());
+            status.setRollbackOnly();
+        });
+        taskService.assignTask(task.getId(), owner.getId());
+        taskService.changePriority(task.getId(), Task.TaskPriority.HIGH, taskService.getTaskVersion(task.getId()));
+        String events = await(stream, "TASK_UPDATED");
+
+        assertEquals(List.of("TASK_CREATED", "TASK_ASSIGNED", "TASK_UPDATED"), names(events));
+        assertTrue(events.contains("\"title\":\"Überarbeiten\""), events);
+        assertTrue(events.contains("\"assigneeId\":" + owner.getId()), events);
+        assertFalse(events.contains("Rolled back"), "Rolled back changes are not streamed");
+
+        MvcResult resumed = subscribe(ids(events).get(0));
+        assertEquals(List.of("TASK_ASSIGNED", "TASK_UPDATED"), names(await(resumed, "TASK_UPDATED")));
+
+        MvcResult unknown = subscribe("0-1");
+        assertEquals(List.of("RESYNC"), names(await(unknown, "RESYNC")));
+    }
+
+    @Test
+    void stream_endsWhenTheProjectIsDeleted() throws Exception {
+        authenticateAs(owner);
+        int open = projectEventStream.getSubscriberCount();
+        MvcResult stream = subscribe(null);
+        assertEquals(open + 1, projectEventStream.getSubscriberCount());
+
+        projectService.deleteProject(project.getId());
+
+        assertEquals(List.of("PROJECT_DELETED"), names(await(stream, "PROJECT_DELETED")));
+        awaitTrue(() -> projectEventStream.getSubscriberCount() == open);
+    }
+
+    @Test
+    void stream_isForbiddenToNonMembers() throws Exception {
+        authenticateAs(outsider);
+
+        mockMvc.perform(get("/projects/{id}/events", project.getId()))
+                .andExpect(status().isForbidden());
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder events = get("/projects/{id}/events", project.getId());
+        if (lastEventId != null) {
+            events.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(events).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    /**
+     * Events are written by the delivery threads; wait for the given one.
+     */
+    private static String await(MvcResult stream, String eventName) throws Exception {
+        awaitTrue(() -> content(stream).contains("event:" + eventName + "\n"));
+        return content(stream);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the event stream");
+            Thread.sleep(10);
+        }
+    }
+
+    private static String content(MvcResult stream) {
+        try {
+            return stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static List<String> names(String events) {
+        return fields(events, "event:");
+    }
+
+    private static List<String> ids(String events) {
+        return fields(events, "id:");
+    }
+
+    private static List<String> fields(String events, String prefix) {
+        return events.lines().filter(line -> line.startsWith(prefix))
+                .map(line -> line.substring(prefix.length()))
+                .toList();
+    }
+
+    private static void authenticateAs(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), User.UserRole.USER);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .fullName(username)
+                .password("secret")
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import com.example.taskmanagement.service.TaskStatusCountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the project task counters against H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class ProjectStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusCountService taskStatusCountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("stats-owner")
+                .email("stats-owner@example.com")
+                .fullName("Stats Owner")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Board").owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 9)
+    void stats_followTaskLifecycle() throws Exception {
+        Task first = taskService.createTask(Task.builder().title("First").project(project).build());
+        Task second = taskService.createTask(Task.builder().title("Second").project(project).build());
+        taskService.updateStatus(first.getId(), Task.TaskStatus.IN_PROGRESS);
+        taskService.updateStatus(second.getId(), Task.TaskStatus.DONE);
+        taskService.deleteTask(second.getId());
+
+        mockMvc.perform(get("/projects/{id}/stats", project.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(project.getId().intValue()))
+                .andExpect(jsonPath("$.statusCounts.TODO").value(0))
+                .andExpect(jsonPath("$.statusCounts.IN_PROGRESS").value(1))
+                .andExpect(jsonPath("$.statusCounts.DONE").value(0))
+                .andExpect(jsonPath("$.totalTasks").value(1));
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void stats_ignoreRolledBackChanges() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(Task.builder().title("Rolled back").project(project).build());
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/projects/{id}/stats", project.getId()))
+                .andExpect(jsonPath("$.totalTasks").value(0));
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void reconcile_picksUpWritesThatBypassTheServices() throws Exception {
+        taskRepository.save(Task.builder().title("Imported").status(Task.TaskStatus.REVIEW).project(project).build());
+        mockMvc.perform(get("/projects/{id}/stats", project.getId()))
+                .andExpect(jsonPath("$.statusCounts.REVIEW").value(0));
+
+        taskStatusCountService.reconcile();
+
+        mockMvc.perform(get("/projects/{id}/stats", project.getId()))
+                .andExpect(jsonPath("$.statusCounts.REVIEW").value(1));
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void stats_unknownProject_isNotFound() throws Exception {
+        mockMvc.perform(get("/projects/{id}/stats", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
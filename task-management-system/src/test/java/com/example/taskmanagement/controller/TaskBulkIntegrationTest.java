@@ -0,0 +1,206 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.BulkTaskResponseDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateRequestDTO;
+import com.example.taskmanagement.dto.TaskRequestDTO;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskHistory;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskHistoryRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskBulkService;
+import com.example.taskmanagement.service.TaskStatusCountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for bulk task creation and updates against H2.
+ * Asserts that inserts are sent as JDBC batches and updates as set-based statements rather
+ * than statements per task.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TaskBulkIntegrationTest {
+
+    private static final int TASK_COUNT = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private TaskStatusCountService taskStatusCountService;
+
+    @Autowired
+    private TaskHistoryWriter taskHistoryWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(User.builder()
+                .username("bulk-owner")
+                .email("bulk-owner@example.com")
+                .fullName("Bulk Owner")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Bulk project").owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskHistoryWriter.flush();
+        taskHistoryRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 12)
+    void createTasks_insertsInJdbcBatches() throws Exception {
+        List<TaskRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            requests.add(TaskRequestDTO.builder().title("Bulk task " + i).projectId(project.getId()).build());
+        }
+        requests.add(TaskRequestDTO.builder().title("Orphan task").projectId(-1L).build());
+
+        statistics.clear();
+        mockMvc.perform(post("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", hasSize(TASK_COUNT)))
+                .andExpect(jsonPath("$.failures", hasSize(1)))
+                .andExpect(jsonPath("$.failures[0].index").value(TASK_COUNT));
+
+        assertEquals(TASK_COUNT, taskRepository.findByProjectId(project.getId()).size());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements < TASK_COUNT / 10, "Statements for " + TASK_COUNT + " tasks: " + statements);
+    }
+
+    @Test
+    @ExpectedQueries(max = 15)
+    void updateStatus_byFilter_updatesAllTasksWithOneStatementPerChunk() throws Exception {
+        List<TaskRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            requests.add(TaskRequestDTO.builder().title("Sprint task " + i).projectId(project.getId())
+                    .status(i == 0 ? Task.TaskStatus.REVIEW : Task.TaskStatus.TODO).build());
+        }
+        taskBulkService.createTasks(requests);
+
+        statistics.clear();
+        mockMvc.perform(patch("/tasks/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BulkTaskUpdateRequestDTO.builder()
+                        .projectId(project.getId())
+                        .currentStatus(Task.TaskStatus.TODO)
+                        .status(Task.TaskStatus.DONE)
+                        .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(TASK_COUNT - 1))
+                .andExpect(jsonPath("$.updated").value(TASK_COUNT - 1));
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "One locking SELECT and one UPDATE");
+        List<Task> tasks = taskRepository.findByProjectId(project.getId());
+        assertEquals(TASK_COUNT - 1, tasks.stream()
+                .filter(task -> task.getStatus() == Task.TaskStatus.DONE && task.getCompletedAt() != null
+                        && task.getVersion() == 1)
+                .count());
+        Map<Task.TaskStatus, Long> counts = taskStatusCountService.getCounts(project.getId());
+        assertEquals(TASK_COUNT - 1, counts.get(Task.TaskStatus.DONE));
+        assertEquals(0, counts.get(Task.TaskStatus.TODO));
+        assertEquals(1, counts.get(Task.TaskStatus.REVIEW));
+        // Left to the worker so the history inserts stay off this thread and out of the budget
+        assertTrue(taskHistoryWriter.awaitIdle(Duration.ofSeconds(10)), "History writer did not go idle");
+        Long doneId = tasks.stream().filter(task -> task.getStatus() == Task.TaskStatus.DONE).findFirst()
+                .orElseThrow().getId();
+        assertEquals(List.of("status"), taskHistoryRepository
+                .findByTaskIdOrderByChangedAtDescIdDesc(doneId, PageRequest.of(0, 10))
+                .map(TaskHistory::getFieldName).stream().sorted().toList());
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void updatePriority_byIds_reportsMatchedAndChangedTasks() throws Exception {
+        List<TaskRequestDTO> requests = List.of(
+                TaskRequestDTO.builder().title("Low task").projectId(project.getId()).priority(Task.TaskPriority.LOW)
+                        .build(),
+                TaskRequestDTO.builder().title("High task").projectId(project.getId())
+                        .priority(Task.TaskPriority.HIGH).build());
+        List<Long> ids = new ArrayList<>(taskBulkService.createTasks(requests).getCreated().stream()
+                .map(BulkTaskResponseDTO.CreatedItem::id).toList());
+        ids.add(-1L);
+
+        mockMvc.perform(patch("/tasks/bulk/priority")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BulkTaskUpdateRequestDTO.builder()
+                        .ids(ids)
+                        .priority(Task.TaskPriority.HIGH)
+                        .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        assertTrue(taskRepository.findAllById(ids).stream()
+                .allMatch(task -> task.getPriority() == Task.TaskPriority.HIGH));
+
+        mockMvc.perform(patch("/tasks/bulk/priority")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1], \"projectId\": 1, \"priority\": \"LOW\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskRequestDTO;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskHistoryRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the basic task endpoints against H2, with statement budgets.
+ * {@link TaskControllerTest} and {@link TaskControllerMvcTest} mock the service, so no SQL
+ * runs there and a budget would prove nothing; the budgets for these endpoints live here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TaskControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskHistoryWriter taskHistoryWriter;
+
+    private final List<Task> tasks = new ArrayList<>();
+    private Project project;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(user("task-owner"));
+        assignee = userRepository.save(user("task-assignee"));
+        project = projectRepository.save(Project.builder().name("Task project").owner(owner).build());
+        for (int i = 0; i < 10; i++) {
+            tasks.add(taskRepository.save(Task.builder().title("Task " + i).project(project).assignee(assignee).build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskHistoryWriter.flush();
+        taskHistoryRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void getTaskById_readsOneRow() throws Exception {
+        mockMvc.perform(get("/tasks/{id}", tasks.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Task 0"))
+                .andExpect(jsonPath("$.projectId").value(project.getId()))
+                .andExpect(jsonPath("$.assigneeId").value(assignee.getId()));
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void listTasks_readsOnePage() throws Exception {
+        mockMvc.perform(get("/tasks").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)));
+    }
+
+    @Test
+    @ExpectedQueries(max = 2)
+    void listTasksByProjectAndAssignee_readOneStatementEach() throws Exception {
+        mockMvc.perform(get("/tasks/project/{projectId}", project.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(tasks.size())));
+        mockMvc.perform(get("/tasks/assignee/{assigneeId}", assignee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(tasks.size())));
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void createTask_referencesProjectAndAssigneeWithoutLoadingThem() throws Exception {
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequestDTO.builder()
+                                .title("Created")
+                                .projectId(project.getId())
+                                .assigneeId(assignee.getId())
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(project.getId()))
+                .andExpect(jsonPath("$.assigneeId").value(assignee.getId()));
+    }
+
+    @Test
+    @ExpectedQueries(max = 2)
+    void updateTask_readsAndUpdatesTheTask() throws Exception {
+        mockMvc.perform(put("/tasks/{id}", tasks.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequestDTO.builder()
+                                .title("Renamed")
+                                .status(Task.TaskStatus.IN_PROGRESS)
+                                .priority(Task.TaskPriority.HIGH)
+                                .projectId(project.getId())
+                                .assigneeId(assignee.getId())
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"));
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void deleteTask_readsAndDeletesTheTask() throws Exception {
+        mockMvc.perform(delete("/tasks/{id}", tasks.get(0).getId()))
+                .andExpect(status().isNoContent());
+        assertFalse(taskRepository.existsById(tasks.get(0).getId()));
+    }
+
+    /**
+     * Two statements insert the assignee's tasks; the assignment reads the task and the user
+     * and updates the task. Loading the assignee's tasks would add a sixth.
+     */
+    @Test
+    @ExpectedQueries(max = 5)
+    void assignTask_doesNotLoadTheTasksOfTheAssignee() throws Exception {
+        User busy = userRepository.save(user("busy-assignee"));
+        List<Task> busyTasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            busyTasks.add(Task.builder().title("Busy task " + i).project(project).assignee(busy).build());
+        }
+        // One transaction, so the inserts go out as one JDBC batch
+        taskRepository.saveAll(busyTasks);
+        Task task = tasks.get(0);
+
+        mockMvc.perform(post("/tasks/{taskId}/assign/{userId}", task.getId(), busy.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assigneeId").value(busy.getId()));
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .fullName(username)
+                .password("secret")
+                .build();
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.TaskBulkService;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.taskmanagement.dto.BulkTaskResponseDTO;
+import com.example.taskmanagement.dto.KeysetCursor;
 import com.example.taskmanagement.dto.TaskRequestDTO;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -18,17 +26,31 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -52,6 +74,12 @@ public class TaskControllerMvcTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskExportService taskExportService;
+
+    @MockBean
+    private TaskBulkService taskBulkService;
+
     @MockBean
     private org.springframework.data.domain.AuditorAware<String> auditorAware;
 
@@ -77,12 +105,14 @@ public class TaskControllerMvcTest {
         tasks.add(task2);
 
         // Mock service response
-        when(taskService.listTasks()).thenReturn(tasks);
+        when(taskService.listTasks(null, 50))
+                .thenReturn(new SliceImpl<>(tasks, PageRequest.of(0, 50), true));
 
         // Perform the request and verify the response
         mockMvc.perform(get("/tasks")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER, KeysetCursor.encode(2L)))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].title", is("Task 1")))
@@ -90,6 +120,27 @@ public class TaskControllerMvcTest {
                 .andExpect(jsonPath("$[1].title", is("Task 2")));
     }
 
+    @Test
+    public void testCreateTasksInBulk() throws Exception {
+        List<TaskRequestDTO> requests = List.of(
+                TaskRequestDTO.builder().title("Bulk 1").projectId(1L).build(),
+                TaskRequestDTO.builder().title("x").projectId(1L).build());
+        when(taskBulkService.createTasks(any())).thenReturn(BulkTaskResponseDTO.builder()
+                .requested(2)
+                .created(List.of(new BulkTaskResponseDTO.CreatedItem(0, 10L)))
+                .failures(List.of(new BulkTaskResponseDTO.FailedItem(1, "title: Title must be between 3 and 255 characters")))
+                .build());
+
+        mockMvc.perform(post("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(2)))
+                .andExpect(jsonPath("$.created[0].index", is(0)))
+                .andExpect(jsonPath("$.created[0].id", is(10)))
+                .andExpect(jsonPath("$.failures[0].index", is(1)));
+    }
+
     @Test
     public void testCreateTask() throws Exception {
         // Prepare test data
@@ -112,7 +163,7 @@ public class TaskControllerMvcTest {
         savedTask.setDueDate(newTaskDto.getDueDate());
 
         // Mock service response
-        when(taskService.createTask(any(Task.class))).thenReturn(savedTask);
+        when(taskService.createTask(any(Task.class), any(), any())).thenReturn(savedTask);
 
         // Perform the request and verify the response
         mockMvc.perform(post("/tasks")
@@ -132,6 +183,7 @@ public class TaskControllerMvcTest {
         task.setId(1L);
         task.setTitle("Test Task");
         task.setDescription("Description for test task");
+        task.setVersion(0L);
         task.setStatus(Task.TaskStatus.IN_PROGRESS);
         task.setPriority(Task.TaskPriority.MEDIUM);
 
@@ -147,6 +199,95 @@ public class TaskControllerMvcTest {
                 .andExpect(jsonPath("$.status", is("IN_PROGRESS")));
     }
 
+    @Test
+    public void testAssignTaskReturnsTheTaskWithoutTheAssignee() throws Exception {
+        User assignee = new User();
+        assignee.setId(7L);
+        assignee.setPassword("secret-hash");
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Assigned Task");
+        task.setStatus(Task.TaskStatus.TODO);
+        task.setAssignee(assignee);
+
+        when(taskService.assignTask(1L, 7L)).thenReturn(task);
+
+        mockMvc.perform(post("/tasks/1/assign/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.assigneeId", is(7)))
+                .andExpect(jsonPath("$.assignee").doesNotExist())
+                .andExpect(content().string(not(containsString("secret-hash"))));
+    }
+
+    @Test
+    public void testGetAllTasksRejectsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testExportTasksStreamsNdjson() throws Exception {
+        when(taskExportService.exportTasks(eq(1L), eq(TaskExportService.ExportFormat.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/tasks/export").param("projectId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    public void testExportTasksGzipsWhenAccepted() throws Exception {
+        when(taskExportService.exportTasks(isNull(), eq(TaskExportService.ExportFormat.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/tasks/export").header("Accept-Encoding", "br;q=1.0, GZip;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testExportTasksHonoursGzipRefusedByQualityValue() throws Exception {
+        when(taskExportService.exportTasks(isNull(), eq(TaskExportService.ExportFormat.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        for (String acceptEncoding : List.of("gzip;q=0", "deflate, gzip; q=0.000", "*;q=1, gzip;q=0", "x-gzipped")) {
+            MvcResult result = mockMvc.perform(get("/tasks/export").header("Accept-Encoding", acceptEncoding))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(content().string("{\"id\":1}\n"));
+        }
+    }
+
     @TestConfiguration
     static class NoJpaAuditingConfig {
         // No beans here: this disables the import of JpaAuditingConfig
@@ -1,7 +1,9 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.KeysetCursor;
 import com.example.taskmanagement.dto.TaskRequestDTO;
 import com.example.taskmanagement.dto.TaskResponseDTO;
+import com.example.taskmanagement.exception.PreconditionFailedException;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +12,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,36 +52,87 @@ class TaskControllerTest {
         taskRequestDTO.setTitle("Test Task");
         
         task = Task.builder().id(1L).title("Test Task").build();
+        task.setVersion(3L);
     }
 
     @Test
     void getAllTasks_success() {
-        when(taskService.listTasks()).thenReturn(List.of(task));
-        var result = taskController.getAllTasks();
-        assertFalse(result.isEmpty());
+        when(taskService.listTasks(null, 50))
+                .thenReturn(new SliceImpl<>(List.of(task), PageRequest.of(0, 50), true));
+        var result = taskController.getAllTasks(null, 50);
+        assertFalse(result.getBody().isEmpty());
+        assertEquals(1L, KeysetCursor.decode(result.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER)));
+    }
+
+    @Test
+    void getAllTasks_lastPageHasNoCursor() {
+        when(taskService.listTasks(1L, 50))
+                .thenReturn(new SliceImpl<>(List.of(task), PageRequest.of(0, 50), false));
+        var result = taskController.getAllTasks(KeysetCursor.encode(1L), 50);
+        assertNull(result.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
     }
 
     @Test
     void getTaskById_success() {
         when(taskService.getTaskById(1L)).thenReturn(task);
-        var result = taskController.getTaskById(1L);
+        var result = taskController.getTaskById(1L, new ServletWebRequest(new MockHttpServletRequest()));
         assertEquals(1L, result.getBody().getId());
+        assertEquals("\"3\"", result.getHeaders().getETag());
+        verify(taskService, never()).getTaskVersion(1L);
+    }
+
+    @Test
+    void getTaskById_unchanged_isNotLoaded() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(taskService.getTaskVersion(1L)).thenReturn(3L);
+
+        var result = taskController.getTaskById(1L, new ServletWebRequest(request, response));
+
+        assertNull(result);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verify(taskService, never()).getTaskById(1L);
     }
 
     @Test
     void createTask_success() {
-        when(taskService.createTask(any(Task.class))).thenReturn(task);
+        when(taskService.createTask(any(Task.class), any(), any())).thenReturn(task);
         var result = taskController.createTask(taskRequestDTO);
         assertEquals("Test Task", result.getBody().getTitle());
     }
 
+    @Test
+    void createTask_passesProjectAndAssignee() {
+        taskRequestDTO.setProjectId(4L);
+        taskRequestDTO.setAssigneeId(5L);
+        when(taskService.createTask(any(Task.class), eq(4L), eq(5L))).thenReturn(task);
+        var result = taskController.createTask(taskRequestDTO);
+        assertEquals(1L, result.getBody().getId());
+    }
+
     @Test
     void updateTask_success() {
-        when(taskService.updateTask(any(Long.class), any(Task.class))).thenReturn(task);
-        var result = taskController.updateTask(1L, taskRequestDTO);
+        when(taskService.updateTask(eq(1L), any(Task.class), isNull())).thenReturn(task);
+        var result = taskController.updateTask(1L, taskRequestDTO, null);
+        assertEquals("Test Task", result.getBody().getTitle());
+    }
+
+    @Test
+    void updateTask_ifMatch_passesTheMatchedVersion() {
+        when(taskService.getTaskVersion(1L)).thenReturn(3L);
+        when(taskService.updateTask(eq(1L), any(Task.class), eq(3L))).thenReturn(task);
+        var result = taskController.updateTask(1L, taskRequestDTO, "\"3\"");
         assertEquals("Test Task", result.getBody().getTitle());
     }
 
+    @Test
+    void updateTask_staleIfMatch_isRejected() {
+        when(taskService.getTaskVersion(1L)).thenReturn(4L);
+        assertThrows(PreconditionFailedException.class, () -> taskController.updateTask(1L, taskRequestDTO, "\"3\""));
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
     @Test
     void deleteTask_success() {
         assertDoesNotThrow(() -> taskController.deleteTask(1L));
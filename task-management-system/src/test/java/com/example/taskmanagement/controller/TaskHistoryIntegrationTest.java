@@ -0,0 +1,188 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.history.TaskChange;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskHistoryRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the task history pipeline against H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TaskHistoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskHistoryWriter taskHistoryWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Project project;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("history-owner")
+                .email("history-owner@example.com")
+                .fullName("History Owner")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Audit").owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskHistoryRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 14)
+    void history_recordsChangedFieldsNewestFirst() throws Exception {
+        Task task = taskService.createTask(Task.builder().title("Draft spec").project(project).build());
+        taskService.updateStatus(task.getId(), Task.TaskStatus.IN_PROGRESS);
+        taskService.updatePriority(task.getId(), Task.TaskPriority.HIGH);
+        taskService.assignTask(task.getId(), owner.getId());
+        taskHistoryWriter.flush();
+
+        mockMvc.perform(get("/tasks/{id}/history", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[0].fieldName").value("assignee"))
+                .andExpect(jsonPath("$.content[0].oldValue").value(nullValue()))
+                .andExpect(jsonPath("$.content[0].newValue").value(owner.getId().toString()))
+                .andExpect(jsonPath("$.content[1].fieldName").value("priority"))
+                .andExpect(jsonPath("$.content[1].oldValue").value("MEDIUM"))
+                .andExpect(jsonPath("$.content[1].newValue").value("HIGH"))
+                .andExpect(jsonPath("$.content[2].fieldName").value("status"))
+                .andExpect(jsonPath("$.content[2].oldValue").value("TODO"))
+                .andExpect(jsonPath("$.content[2].newValue").value("IN_PROGRESS"));
+
+        mockMvc.perform(get("/tasks/{id}/history", task.getId()).param("page", "1").param("size", "2"))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].fieldName").value("status"));
+    }
+
+    @Test
+    @ExpectedQueries(max = 6)
+    void history_updateTask_recordsOnlyFieldsThatChanged() throws Exception {
+        Task task = taskService.createTask(Task.builder().title("Write tests").project(project).build());
+        LocalDateTime dueDate = LocalDateTime.of(2030, 1, 15, 9, 30);
+        taskService.updateTask(task.getId(), Task.builder()
+                .title("Write more tests").status(Task.TaskStatus.TODO)
+                .priority(Task.TaskPriority.MEDIUM).dueDate(dueDate).build());
+        taskHistoryWriter.flush();
+
+        mockMvc.perform(get("/tasks/{id}/history", task.getId()))
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[?(@.fieldName == 'title')].newValue").value("Write more tests"))
+                .andExpect(jsonPath("$.content[?(@.fieldName == 'dueDate')].newValue").value(dueDate.toString()));
+    }
+
+    @Test
+    @ExpectedQueries(max = 5)
+    void history_ignoresRolledBackUpdates() throws Exception {
+        Task task = taskService.createTask(Task.builder().title("Stay put").project(project).build());
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.updateStatus(task.getId(), Task.TaskStatus.DONE);
+            status.setRollbackOnly();
+        });
+        taskHistoryWriter.flush();
+
+        mockMvc.perform(get("/tasks/{id}/history", task.getId()))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    @ExpectedQueries(max = 7)
+    void history_moveToDone_recordsOnlyTheStatus() throws Exception {
+        Task task = taskService.createTask(Task.builder().title("Ship it").project(project).build());
+        taskService.updateStatus(task.getId(), Task.TaskStatus.DONE);
+        taskHistoryWriter.flush();
+
+        mockMvc.perform(get("/tasks/{id}/history", task.getId()))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].fieldName").value("status"))
+                .andExpect(jsonPath("$.content[0].newValue").value("DONE"));
+    }
+
+    @Test
+    @ExpectedQueries(max = 7)
+    void history_userDeletedBeforeTheWrite_keepsTheChangeWithoutTheUser() throws Exception {
+        Task task = taskService.createTask(Task.builder().title("Outlive the editor").project(project).build());
+        User editor = userRepository.save(User.builder()
+                .username("history-editor")
+                .email("history-editor@example.com")
+                .fullName("History Editor")
+                .password("secret")
+                .build());
+        userRepository.delete(editor);
+        LocalDateTime changedAt = LocalDateTime.now();
+
+        taskHistoryWriter.enqueue(List.of(
+                new TaskChange(task.getId(), editor.getId(), "status", "TODO", "IN_PROGRESS", changedAt),
+                new TaskChange(task.getId(), owner.getId(), "priority", "MEDIUM", "HIGH", changedAt)));
+        taskHistoryWriter.flush();
+
+        mockMvc.perform(get("/tasks/{id}/history", task.getId()))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[?(@.fieldName == 'status')].changedBy").value(contains(nullValue())))
+                .andExpect(jsonPath("$.content[?(@.fieldName == 'priority')].changedBy").value(contains(owner.getId().intValue())));
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void history_unknownTask_isNotFound() throws Exception {
+        mockMvc.perform(get("/tasks/{id}/history", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
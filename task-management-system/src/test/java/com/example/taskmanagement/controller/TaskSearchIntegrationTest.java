@@ -0,0 +1,135 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.metrics.ExpectedQueries;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.search.SearchIndexService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the search endpoints against H2.
+ * Entity changes must reach the index through the JPA listener once committed.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class TaskSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Project project;
+    private Task loginTask;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        awaitIndexReady();
+        User owner = userRepository.save(User.builder()
+                .username("search-owner")
+                .email("search-owner@example.com")
+                .fullName("Search Owner")
+                .password("secret")
+                .build());
+        project = projectRepository.save(Project.builder().name("Quarterly billing").owner(owner).build());
+        loginTask = taskRepository.save(Task.builder().title("Implement login").project(project).build());
+        taskRepository.save(Task.builder().title("Release notes")
+                .description("Mention the new login page").project(project).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void searchTasks_findsCommittedTasksRankedByRelevance() throws Exception {
+        mockMvc.perform(get("/tasks/search").param("q", "LOGIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(loginTask.getId().intValue()))
+                .andExpect(jsonPath("$.content[1].description").value("Mention the new login page"));
+    }
+
+    @Test
+    @ExpectedQueries(max = 5)
+    void searchTasks_followsUpdatesAndDeletes() throws Exception {
+        loginTask.setTitle("Implement logout");
+        taskRepository.save(loginTask);
+        mockMvc.perform(get("/tasks/search").param("q", "logout"))
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        taskRepository.deleteById(loginTask.getId());
+        mockMvc.perform(get("/tasks/search").param("q", "logout"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    @ExpectedQueries(max = 1)
+    void searchTasks_ignoresRolledBackChanges() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.save(Task.builder().title("Rolled back migration").project(project).build());
+            taskRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/tasks/search").param("q", "migration"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    @ExpectedQueries(max = 3)
+    void searchProjects_matchesProjectNames() throws Exception {
+        mockMvc.perform(get("/projects/search").param("q", "billing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Quarterly billing"));
+    }
+
+    @Test
+    void search_withoutQuery_isBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void awaitIndexReady() throws InterruptedException {
+        for (int i = 0; i < 100 && !searchIndexService.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(searchIndexService.isReady(), "Search index did not finish loading");
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.UploadSession;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskAttachmentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UploadChunkRepository;
+import com.example.taskmanagement.repository.UploadSessionRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import com.example.taskmanagement.service.UploadSessionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for resumable uploads against H2 and a local store under target/.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class UploadSessionIntegrationTest {
+
+    private static final int CHUNK_SIZE = 4;
+    // 7 chunks, the last one 2 bytes long
+    private static final String CONTENT = "the quick brown fox jumps";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private UploadSessionRepository sessionRepository;
+
+    @Autowired
+    private UploadChunkRepository chunkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User uploader;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        uploader = userRepository.save(User.builder()
+                .username("chunked")
+                .email("chunked@example.com")
+                .fullName("Chunked Uploader")
+                .password("secret")
+                .build());
+        Project project = projectRepository.save(Project.builder().name("Uploads").owner(uploader).build());
+        task = taskRepository.save(Task.builder().title("Large file").project(project).build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(uploader.getId(), uploader.getUsername(), User.UserRole.USER), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        chunkRepository.deleteAll();
+        sessionRepository.deleteAll();
+        attachmentRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void chunksInParallelAndOutOfOrder_commitToTheWholeFile() throws Exception {
+        String uploadId = createSession();
+
+        List<Integer> order = List.of(6, 2, 0, 5, 3, 1, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ResultActions>> results = new ArrayList<>();
+            for (int index : order) {
+                results.add(executor.submit(() -> putChunk(uploadId, index)));
+            }
+            for (Future<ResultActions> result : results) {
+                result.get().andExpect(status().isNoContent());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        mockMvc.perform(get("/tasks/{taskId}/uploads/{id}", task.getId(), uploadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunkCount").value(7))
+                .andExpect(jsonPath("$.missingChunks", empty()));
+
+        long attachmentId = readTree(mockMvc.perform(post("/tasks/{taskId}/uploads/{id}/commit", task.getId(), uploadId))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileName").value("fox.txt"))
+                .andExpect(jsonPath("$.fileSize").value(CONTENT.length()))
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/tasks/{taskId}/attachments/{id}", task.getId(), attachmentId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+        mockMvc.perform(get("/tasks/{taskId}/uploads/{id}", task.getId(), uploadId))
+                .andExpect(status().isNotFound());
+        assertEquals(0, chunkRepository.count());
+    }
+
+    @Test
+    void interruptedUpload_resumesFromTheMissingChunks() throws Exception {
+        String uploadId = createSession();
+        for (int index = 0; index < 3; index++) {
+            putChunk(uploadId, index).andExpect(status().isNoContent());
+        }
+        // A retried chunk is accepted and not counted twice
+        putChunk(uploadId, 1).andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/tasks/{taskId}/uploads/{id}/commit", task.getId(), uploadId))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/tasks/{taskId}/uploads/{id}", task.getId(), uploadId))
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andExpect(jsonPath("$.missingChunks", contains(3, 4, 5, 6)));
+
+        for (int index = 3; index < 7; index++) {
+            putChunk(uploadId, index).andExpect(status().isNoContent());
+        }
+        mockMvc.perform(post("/tasks/{taskId}/uploads/{id}/commit", task.getId(), uploadId))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileSize").value(CONTENT.length()));
+    }
+
+    @Test
+    void chunkOfTheWrongSizeOrOffset_isRejected() throws Exception {
+        String uploadId = createSession();
+
+        mockMvc.perform(put("/tasks/{taskId}/uploads/{id}", task.getId(), uploadId)
+                        .param("offset", "2")
+                        .content(new byte[CHUNK_SIZE]))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/tasks/{taskId}/uploads/{id}", task.getId(), uploadId)
+                        .param("offset", "0")
+                        .content(new byte[CHUNK_SIZE + 1]))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void staleAndAbortedSessions_areDiscarded() throws Exception {
+        String stale = createSession();
+        String aborted = createSession();
+        String active = createSession();
+        putChunk(stale, 0).andExpect(status().isNoContent());
+        sessionRepository.touch(stale, LocalDateTime.now().minusDays(2));
+
+        mockMvc.perform(delete("/tasks/{taskId}/uploads/{id}", task.getId(), aborted))
+                .andExpect(status().isNoContent());
+        uploadSessionService.removeStaleSessions();
+
+        assertFalse(sessionRepository.existsById(stale));
+        assertFalse(sessionRepository.existsById(aborted));
+        assertEquals(List.of(active), sessionRepository.findAll().stream().map(UploadSession::getId).toList());
+        mockMvc.perform(put("/tasks/{taskId}/uploads/{id}", task.getId(), stale)
+                        .param("offset", "0")
+                        .content(new byte[CHUNK_SIZE]))
+                .andExpect(status().isNotFound());
+    }
+
+    private String createSession() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "fileName", "fox.txt",
+                "fileType", "text/plain",
+                "totalSize", CONTENT.length(),
+                "chunkSize", CHUNK_SIZE));
+        return readTree(mockMvc.perform(post("/tasks/{taskId}/uploads", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.chunkCount").value(7))
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private ResultActions putChunk(String uploadId, int index) throws Exception {
+        int offset = index * CHUNK_SIZE;
+        String chunk = CONTENT.substring(offset, Math.min(offset + CHUNK_SIZE, CONTENT.length()));
+        return mockMvc.perform(put("/tasks/{taskId}/uploads/{id}", task.getId(), uploadId)
+                .param("offset", String.valueOf(offset))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
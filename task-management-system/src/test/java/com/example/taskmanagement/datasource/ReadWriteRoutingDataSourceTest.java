@@ -0,0 +1,143 @@
+package com.example.taskmanagement.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final DataSource primary = database("primary");
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromAHealthyReplica() {
+        ReplicaPool replica = new ReplicaPool("replica", database("replica"), null);
+        ReadWriteRoutingDataSource dataSource = routing(Duration.ofSeconds(1), replica);
+        replica.check(TIMEOUT, MAX_LAG);
+
+        assertEquals("replica", readOnly(dataSource));
+        assertEquals("primary", readWrite(dataSource));
+        assertEquals("primary", new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class),
+                "Outside a transaction");
+    }
+
+    @Test
+    void replicaNotCheckedOrDown_readsFromThePrimary() throws SQLException {
+        DataSource failing = mock(DataSource.class);
+        ReplicaPool replica = new ReplicaPool("replica", failing, null);
+        ReadWriteRoutingDataSource dataSource = routing(Duration.ofSeconds(1), replica);
+
+        assertEquals("primary", readOnly(dataSource), "Not checked yet");
+
+        when(failing.getConnection()).thenReturn(database("replica").getConnection())
+                .thenThrow(new SQLException("Connection refused"));
+        replica.check(TIMEOUT, MAX_LAG);
+        assertTrue(replica.isAvailable());
+
+        assertEquals("primary", readOnly(dataSource), "Failed to connect");
+        assertFalse(replica.isAvailable());
+    }
+
+    @Test
+    void replicaTooFarBehind_isTakenOut() {
+        ReplicaPool lagging = new ReplicaPool("lagging", database("lagging"), "SELECT 30");
+        ReplicaPool stopped = new ReplicaPool("stopped", database("stopped"), "SELECT CAST(NULL AS DOUBLE)");
+        ReplicaPool current = new ReplicaPool("current", database("current"), "SELECT 0.5");
+        ReadWriteRoutingDataSource dataSource = routing(Duration.ofSeconds(1), lagging, stopped, current);
+        dataSource.getReplicas().forEach(replica -> replica.check(TIMEOUT, MAX_LAG));
+
+        assertFalse(lagging.isAvailable());
+        assertFalse(stopped.isAvailable());
+        assertTrue(current.isAvailable());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("current", readOnly(dataSource));
+        }
+    }
+
+    @Test
+    void readAfterAWriteInTheSameRequest_readsFromThePrimaryUntilTheReplicaCaughtUp() {
+        ReplicaPool unmeasured = new ReplicaPool("replica", database("replica"), null);
+        ReadWriteRoutingDataSource dataSource = routing(Duration.ofHours(1), unmeasured);
+        unmeasured.check(TIMEOUT, MAX_LAG);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals("replica", readOnly(dataSource), "Nothing written yet");
+        readWrite(dataSource);
+        assertEquals("primary", readOnly(dataSource), "Within the read-your-writes window");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replica", readOnly(dataSource), "Next request");
+
+        ReplicaPool measured = new ReplicaPool("measured", database("measured"), "SELECT 0");
+        ReadWriteRoutingDataSource measuredDataSource = routing(Duration.ofHours(1), measured);
+        measured.check(TIMEOUT, MAX_LAG);
+        readWrite(measuredDataSource);
+        assertEquals("measured", readOnly(measuredDataSource), "The measured lag has passed");
+    }
+
+    @Test
+    void unwrap_reachesThePrimary() throws SQLException {
+        ReadWriteRoutingDataSource dataSource = routing(Duration.ofSeconds(1));
+
+        assertSame(dataSource, dataSource.unwrap(ReadWriteRoutingDataSource.class));
+        assertSame(primary, dataSource.unwrap(JdbcDataSource.class));
+    }
+
+    private ReadWriteRoutingDataSource routing(Duration readYourWritesWindow, ReplicaPool... replicas) {
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, List.of(replicas), readYourWritesWindow);
+        // As the container does: reads the connection defaults, so beginning a transaction needs no connection
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private static String readOnly(DataSource dataSource) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static String readWrite(DataSource dataSource) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        return transaction.execute(status -> {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.update("UPDATE node SET writes = writes + 1");
+            return jdbc.queryForObject("SELECT name FROM node", String.class);
+        });
+    }
+
+    /**
+     * An in-memory database whose only row names it, so reads show where they went.
+     */
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
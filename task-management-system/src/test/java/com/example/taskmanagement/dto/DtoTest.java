@@ -102,4 +102,27 @@ class DtoTest {
         assertFalse(updated.getEnabled());
         assertEquals(User.UserRole.ADMIN, updated.getRole());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testKeysetCursorRoundTrip() {
+        String cursor = KeysetCursor.encode(42L);
+        assertEquals(42L, KeysetCursor.decode(cursor));
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void testKeysetCursorRejectsGarbage() {
+        assertThrows(com.example.taskmanagement.exception.ValidationException.class,
+                () -> KeysetCursor.decode("%%%"));
+        assertThrows(com.example.taskmanagement.exception.ValidationException.class,
+                () -> KeysetCursor.decode(java.util.Base64.getUrlEncoder().encodeToString("id:abc".getBytes())));
+    }
+
+    @Test
+    void testKeysetCursorClampsPageSize() {
+        assertEquals(1, KeysetCursor.clampPageSize(0));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.clampPageSize(10_000));
+        assertEquals(20, KeysetCursor.clampPageSize(20));
+    }
+}
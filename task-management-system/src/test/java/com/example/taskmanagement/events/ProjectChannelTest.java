@@ -0,0 +1,165 @@
+package com.example.taskmanagement.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectChannelTest {
+
+    private static final long GENERATION = 7;
+    private static final StreamEvent RESYNC = new StreamEvent(null, "RESYNC", "{}");
+
+    private final Counter evictions = new SimpleMeterRegistry().counter("evictions");
+    private final ProjectChannel channel = new ProjectChannel(GENERATION, 3);
+
+    @Test
+    void publish_sendsEveryEventToEverySubscriberInOrder() {
+        RecordingEmitter first = subscribe(null);
+        RecordingEmitter second = subscribe(null);
+
+        channel.publish("TASK_CREATED", "{\"taskId\":1}");
+        channel.publish("TASK_UPDATED", "{\"taskId\":1}");
+
+        List<String> expected = List.of(
+                "id:7-1\nevent:TASK_CREATED\ndata:{\"taskId\":1}\n\n",
+                "id:7-2\nevent:TASK_UPDATED\ndata:{\"taskId\":1}\n\n");
+        assertEquals(expected, first.sent);
+        assertEquals(expected, second.sent);
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysTheEventsSince() {
+        channel.publish("TASK_CREATED", "1");
+        channel.publish("TASK_UPDATED", "2");
+        channel.publish("TASK_DELETED", "3");
+
+        RecordingEmitter resumed = subscribe(new EventId(GENERATION, 1));
+        RecordingEmitter current = subscribe(new EventId(GENERATION, 3));
+        channel.publish("PROJECT_UPDATED", "4");
+
+        assertEquals(List.of("TASK_UPDATED", "TASK_DELETED", "PROJECT_UPDATED"), resumed.names());
+        assertEquals(List.of("PROJECT_UPDATED"), current.names());
+    }
+
+    @Test
+    void subscribe_afterTheEventsLeftTheBuffer_getsResyncWithTheNewestId() {
+        for (int i = 1; i <= 5; i++) {
+            channel.publish("TASK_UPDATED", String.valueOf(i));
+        }
+
+        RecordingEmitter tooOld = subscribe(new EventId(GENERATION, 1));
+        RecordingEmitter oldestBuffered = subscribe(new EventId(GENERATION, 2));
+        RecordingEmitter otherChannel = subscribe(new EventId(GENERATION + 1, 5));
+        RecordingEmitter malformed = subscribe(EventId.parse("not-an-id!"));
+
+        assertEquals(List.of("id:7-5\nevent:RESYNC\ndata:{}\n\n"), tooOld.sent);
+        assertEquals(List.of("TASK_UPDATED", "TASK_UPDATED", "TASK_UPDATED"), oldestBuffered.names());
+        assertEquals(List.of("RESYNC"), otherChannel.names());
+        assertEquals(List.of("RESYNC"), malformed.names());
+        assertEquals(new EventId(GENERATION, 5), EventId.parse(new EventId(GENERATION, 5).toString()));
+    }
+
+    @Test
+    void slowSubscriber_isClosedOnceItsBufferIsFull() {
+        List<Runnable> stalled = new ArrayList<>();
+        RecordingEmitter slow = new RecordingEmitter();
+        channel.subscribe(new EventSubscriber(1, slow, 2, stalled::add, evictions, channel::unsubscribe), null, RESYNC);
+        RecordingEmitter fast = subscribe(null);
+
+        channel.publish("TASK_UPDATED", "1");
+        channel.publish("TASK_UPDATED", "2");
+        channel.publish("TASK_UPDATED", "3");
+        channel.publish("TASK_UPDATED", "4");
+
+        assertEquals(4, fast.sent.size());
+        assertEquals(1, channel.getSubscribers().size());
+        assertEquals(1, evictions.count());
+        stalled.forEach(Runnable::run);
+        assertTrue(slow.completed);
+        assertTrue(slow.sent.isEmpty(), "Pending events are dropped");
+    }
+
+    @Test
+    void end_completesTheStreamAfterThePendingEvents() {
+        List<Runnable> stalled = new ArrayList<>();
+        RecordingEmitter emitter = new RecordingEmitter();
+        EventSubscriber subscriber = new EventSubscriber(1, emitter, 10, stalled::add, evictions, channel::unsubscribe);
+        channel.subscribe(subscriber, null, RESYNC);
+        channel.publish("PROJECT_DELETED", "1");
+
+        subscriber.end();
+        subscriber.heartbeat();
+        assertFalse(emitter.completed);
+        new ArrayList<>(stalled).forEach(Runnable::run);
+
+        assertEquals(List.of("PROJECT_DELETED"), emitter.names());
+        assertTrue(emitter.completed);
+        assertTrue(channel.isIdleSince(System.nanoTime() + 1));
+    }
+
+    @Test
+    void heartbeat_isOnlySentToIdleSubscribers() {
+        List<Runnable> stalled = new ArrayList<>();
+        RecordingEmitter busy = new RecordingEmitter();
+        EventSubscriber busySubscriber = new EventSubscriber(1, busy, 10, stalled::add, evictions,
+                channel::unsubscribe);
+        channel.subscribe(busySubscriber, null, RESYNC);
+        RecordingEmitter idle = subscribe(null);
+        channel.publish("TASK_UPDATED", "1");
+
+        channel.getSubscribers().forEach(EventSubscriber::heartbeat);
+        stalled.forEach(Runnable::run);
+
+        assertEquals(List.of("TASK_UPDATED"), busy.names());
+        assertEquals(List.of("TASK_UPDATED", ":heartbeat\n\n"), idle.sent.stream()
+                .map(frame -> frame.startsWith(":") ? frame : RecordingEmitter.nameOf(frame)).toList());
+    }
+
+    private RecordingEmitter subscribe(EventId lastSeen) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        Executor direct = Runnable::run;
+        channel.subscribe(new EventSubscriber(1, emitter, 10, direct, evictions, channel::unsubscribe), lastSeen,
+                RESYNC);
+        return emitter;
+    }
+
+    /**
+     * Keeps the frames written instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (completed) {
+                throw new IllegalStateException("Completed");
+            }
+            sent.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        List<String> names() {
+            return sent.stream().map(RecordingEmitter::nameOf).toList();
+        }
+
+        static String nameOf(String frame) {
+            int start = frame.indexOf("event:") + "event:".length();
+            return frame.substring(start, frame.indexOf('\n', start));
+        }
+    }
+}
@@ -94,6 +94,25 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
     }
 
+    @Test
+    void handleOptimisticLockingFailure_returnsConflict() {
+        org.springframework.orm.ObjectOptimisticLockingFailureException ex =
+                new org.springframework.orm.ObjectOptimisticLockingFailureException("Task", 1L);
+        when(request.getDescription(false)).thenReturn("uri=/tasks/1");
+        ResponseEntity<?> response = handler.handleOptimisticLockingFailure(ex, request);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void handleCannotCreateTransaction_returnsServiceUnavailable() {
+        org.springframework.transaction.CannotCreateTransactionException ex =
+                new org.springframework.transaction.CannotCreateTransactionException("Connection is not available");
+        when(request.getDescription(false)).thenReturn("uri=/test");
+        ResponseEntity<?> response = handler.handleCannotCreateTransaction(ex, request);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
     @Test
     void handleGlobalException_returnsInternalServerError() {
         Exception ex = new Exception("Unexpected");
@@ -0,0 +1,171 @@
+package com.example.taskmanagement.history;
+
+import com.example.taskmanagement.config.TaskHistoryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHistoryWriterTest {
+    @Mock JdbcTemplate jdbcTemplate;
+    TaskHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        TaskHistoryProperties properties = new TaskHistoryProperties();
+        properties.setQueueCapacity(3);
+        properties.setBatchSize(100);
+        // Long enough that the worker never drains during a test
+        properties.setFlushInterval(Duration.ofHours(1));
+        writer = new TaskHistoryWriter(jdbcTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void enqueue_beforeStart_writesOnCallingThread() {
+        writer.enqueue(List.of(change(1L, "status")));
+
+        assertEquals(List.of(change(1L, "status")), writtenBatches().get(0));
+        assertEquals(0, writer.queuedCount());
+    }
+
+    @Test
+    void enqueue_queuesUntilFlushed() {
+        writer.start();
+        writer.enqueue(List.of(change(1L, "status"), change(1L, "priority")));
+        writer.enqueue(List.of(change(2L, "title")));
+
+        assertEquals(3, writer.queuedCount());
+        verifyNoInteractions(jdbcTemplate);
+
+        writer.flush();
+
+        assertEquals(List.of(List.of(change(1L, "status"), change(1L, "priority"), change(2L, "title"))),
+                writtenBatches());
+        assertEquals(0, writer.queuedCount());
+    }
+
+    @Test
+    void enqueue_fullQueue_appliesBackpressureWithoutDropping() {
+        writer.start();
+        writer.enqueue(List.of(change(1L, "status"), change(1L, "priority")));
+        writer.enqueue(List.of(change(2L, "title"), change(2L, "dueDate")));
+
+        // The second update did not fit and was written by the caller
+        assertEquals(List.of(List.of(change(2L, "title"), change(2L, "dueDate"))), writtenBatches());
+        assertEquals(2, writer.queuedCount());
+    }
+
+    @Test
+    void stop_flushesQueuedChanges() {
+        writer.start();
+        writer.enqueue(List.of(change(1L, "status")));
+
+        writer.stop();
+
+        assertFalse(writer.isRunning());
+        assertEquals(List.of(List.of(change(1L, "status"))), writtenBatches());
+        assertEquals(0, writer.queuedCount());
+    }
+
+    @Test
+    void flush_failedBatch_isLoggedAndDoesNotStopTheWriter() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenReturn(new int[][]{{1}});
+        writer.start();
+        writer.enqueue(List.of(change(1L, "status")));
+        writer.flush();
+        writer.enqueue(List.of(change(2L, "status")));
+        writer.flush();
+
+        assertEquals(2, writtenBatches().size());
+        assertTrue(writer.isRunning());
+    }
+
+    @Test
+    void flush_waitsForTheBatchTheWorkerIsWriting() throws Exception {
+        TaskHistoryProperties properties = new TaskHistoryProperties();
+        properties.setFlushInterval(Duration.ofMillis(1));
+        writer = new TaskHistoryWriter(jdbcTemplate, properties);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    writing.countDown();
+                    release.await();
+                    return new int[][]{{1}};
+                });
+        writer.start();
+        writer.enqueue(List.of(change(1L, "status")));
+        assertTrue(writing.await(5, TimeUnit.SECONDS), "The worker did not drain");
+
+        Thread flushing = new Thread(writer::flush);
+        flushing.start();
+        flushing.join(200);
+        assertTrue(flushing.isAlive(), "Flush returned while the batch was still being written");
+
+        release.countDown();
+        flushing.join(5000);
+        assertFalse(flushing.isAlive());
+        assertEquals(1, writtenBatches().size());
+    }
+
+    @Test
+    void awaitIdle_leavesTheWritingToTheWorker() throws Exception {
+        List<String> writingThreads = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    writingThreads.add(Thread.currentThread().getName());
+                    return new int[][]{{1}};
+                });
+        writer.start();
+        writer.enqueue(List.of(change(1L, "status")));
+
+        assertTrue(writer.awaitIdle(Duration.ofSeconds(5)));
+
+        assertEquals(List.of("task-history-writer"), writingThreads);
+        assertEquals(0, writer.queuedCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<TaskChange>> writtenBatches() {
+        ArgumentCaptor<Collection<TaskChange>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeast(0)).batchUpdate(anyString(), captor.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        List<List<TaskChange>> batches = new ArrayList<>();
+        captor.getAllValues().forEach(batch -> batches.add(List.copyOf(batch)));
+        return batches;
+    }
+
+    private static final LocalDateTime CHANGED_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private static TaskChange change(long taskId, String field) {
+        return new TaskChange(taskId, null, field, "old", "new", CHANGED_AT);
+    }
+}
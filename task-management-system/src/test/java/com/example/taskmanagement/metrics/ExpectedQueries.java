@@ -0,0 +1,26 @@
+package com.example.taskmanagement.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Statement budget of a test: the test fails if its body executes more SQL statements than
+ * {@link #max()} through the application's data source. Setup in {@code @BeforeEach} methods
+ * is not counted. On a class, the budget applies to every test without its own.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(QueryBudgetExtension.class)
+public @interface ExpectedQueries {
+
+    /**
+     * @return Most statements the test may execute
+     */
+    int max();
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Enforces {@link ExpectedQueries}: counts the statements of the test body on the test thread,
+ * which also runs MockMvc requests, and fails the test when they exceed the budget.
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCount.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCount count = context.getStore(NAMESPACE).remove(context.getUniqueId(), QueryCount.class);
+        if (count == null) {
+            return;
+        }
+        count.stop();
+        ExpectedQueries budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), ExpectedQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), ExpectedQueries.class))
+                .orElseThrow();
+        if (context.getExecutionException().isEmpty()) {
+            assertTrue(count.getStatements() <= budget.max(),
+                    "Expected at most " + budget.max() + " statements, executed " + count);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.taskmanagement.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Runs {@link BudgetedTests} through the JUnit engine to show that {@link ExpectedQueries}
+ * passes tests within their budget and fails the ones over it.
+ */
+class QueryBudgetExtensionTest {
+
+    /**
+     * Set while {@link BudgetedTests} runs from here; they skip themselves when a build tool
+     * or IDE picks them up on their own.
+     */
+    private static volatile boolean launched;
+
+    @Test
+    void testOverItsBudget_fails() {
+        TestExecutionSummary summary = run(BudgetedTests.class);
+
+        assertEquals(3, summary.getTestsStartedCount());
+        assertEquals(2, summary.getTestsSucceededCount());
+        assertEquals(1, summary.getTestsFailedCount());
+        Throwable failure = summary.getFailures().get(0).getException();
+        assertInstanceOf(AssertionError.class, failure);
+        assertTrue(failure.getMessage().startsWith("Expected at most 2 statements, executed 3 statements"),
+                failure.getMessage());
+        assertNull(QueryCount.current(), "Count left on the thread");
+    }
+
+    private static TestExecutionSummary run(Class<?> testClass) {
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        launched = true;
+        try {
+            launcher.execute(request().selectors(selectClass(testClass)).build(), listener);
+        } finally {
+            launched = false;
+        }
+        return listener.getSummary();
+    }
+
+    private static void executeStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            QueryCount.recordStatement(0, 0);
+        }
+    }
+
+    @ExpectedQueries(max = 2)
+    static class BudgetedTests {
+
+        @Test
+        void withinTheClassBudget() {
+            assumeTrue(launched);
+            executeStatements(2);
+        }
+
+        @Test
+        @ExpectedQueries(max = 5)
+        void withinItsOwnBudget() {
+            assumeTrue(launched);
+            executeStatements(5);
+        }
+
+        @Test
+        void overTheClassBudget() {
+            assumeTrue(launched);
+            executeStatements(3);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.taskmanagement.metrics;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+
+    @Test
+    void requestOverTheThreshold_getsTheCountsAsHeaders() throws Exception {
+        MockHttpServletResponse response = filter(3, (request, res) -> {
+            executeStatements(4);
+            QueryCount.recordRow();
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            executeStatements(1);
+        });
+
+        assertEquals("4", response.getHeader(QueryBudgetFilter.COUNT_HEADER), "Counted up to the commit");
+        assertEquals("1", response.getHeader(QueryBudgetFilter.ROWS_HEADER));
+        assertNotNull(response.getHeader(QueryBudgetFilter.TIME_HEADER));
+        assertNull(QueryCount.current());
+    }
+
+    @Test
+    void requestWithinTheThreshold_hasNoHeaders() throws Exception {
+        MockHttpServletResponse response = filter(3, (request, res) -> executeStatements(3));
+
+        assertNull(response.getHeader(QueryBudgetFilter.COUNT_HEADER));
+        assertNull(QueryCount.current());
+    }
+
+    @Test
+    void uncommittedResponse_getsHeadersWhenTheRequestEnds() throws Exception {
+        MockHttpServletResponse response = filter(0, (request, res) -> executeStatements(2));
+
+        assertEquals("2", response.getHeader(QueryBudgetFilter.COUNT_HEADER));
+    }
+
+    @Test
+    void nestedCount_addsToTheEnclosingCount() {
+        QueryCount outer = QueryCount.start();
+        executeStatements(1);
+        QueryCount inner = QueryCount.start();
+        executeStatements(2);
+        inner.stop();
+        outer.stop();
+
+        assertEquals(2, inner.getStatements());
+        assertEquals(3, outer.getStatements());
+        assertNull(QueryCount.current());
+        executeStatements(1);
+        assertEquals(3, outer.getStatements(), "Not counted after stopping");
+    }
+
+    private static MockHttpServletResponse filter(int threshold, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new QueryBudgetFilter(threshold).doFilter(new MockHttpServletRequest("GET", "/tasks"), response, chain);
+        return response;
+    }
+
+    private static void executeStatements(int statements) {
+        for (int i = 0; i < statements; i++) {
+            QueryCount.recordStatement(0, 1_000);
+        }
+    }
+}
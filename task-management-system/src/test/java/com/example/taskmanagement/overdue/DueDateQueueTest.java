@@ -0,0 +1,68 @@
+package com.example.taskmanagement.overdue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DueDateQueueTest {
+
+    @Test
+    void poll_returnsTasksInDeadlineOrder() {
+        DueDateQueue queue = new DueDateQueue();
+        queue.put(1L, 300);
+        queue.put(2L, 100);
+        queue.put(3L, 200);
+
+        assertEquals(100, queue.peekDeadline());
+        assertEquals(2L, queue.poll());
+        assertEquals(3L, queue.poll());
+        assertEquals(1L, queue.poll());
+        assertEquals(Long.MAX_VALUE, queue.peekDeadline());
+    }
+
+    @Test
+    void put_movesExistingTask() {
+        DueDateQueue queue = new DueDateQueue();
+        queue.put(1L, 100);
+        queue.put(2L, 200);
+
+        queue.put(1L, 300);
+
+        assertEquals(2, queue.size());
+        assertEquals(2L, queue.poll());
+        assertEquals(1L, queue.poll());
+    }
+
+    @Test
+    void remove_keepsHeapOrder() {
+        DueDateQueue queue = new DueDateQueue();
+        Random random = new Random(42);
+        List<long[]> expected = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            long deadline = random.nextInt(10_000);
+            queue.put(id, deadline);
+            expected.add(new long[]{deadline, id});
+        }
+        for (long id = 1; id <= 1000; id += 3) {
+            assertTrue(queue.remove(id));
+        }
+        assertFalse(queue.remove(1L));
+        assertFalse(queue.contains(4L));
+
+        long previous = Long.MIN_VALUE;
+        int polled = 0;
+        while (queue.size() > 0) {
+            long deadline = queue.peekDeadline();
+            long id = queue.poll();
+            assertTrue(deadline >= previous);
+            assertNotEquals(1, id % 3);
+            previous = deadline;
+            polled++;
+        }
+        assertEquals(expected.size() - 334, polled);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.taskmanagement.overdue;
+
+import com.example.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskServiceTest {
+    @Mock TaskRepository taskRepository;
+    @Mock ApplicationEventPublisher eventPublisher;
+    OverdueTaskService service;
+
+    final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        service = new OverdueTaskService(taskRepository, eventPublisher);
+        lenient().when(taskRepository.findOpenDueDates(anyLong(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void expire_movesPassedDeadlinesToOverdueAndPublishesOnce() {
+        service.initialize();
+        service.track(1L, now.plusMinutes(10), true);
+        service.track(2L, now.plusMinutes(5), true);
+        service.track(3L, now.plusHours(1), true);
+
+        service.expire(now.plusMinutes(20));
+        service.expire(now.plusMinutes(30));
+
+        assertEquals(List.of(2L, 1L), service.findOverdueTaskIds(10));
+        ArgumentCaptor<TaskOverdueEvent> events = ArgumentCaptor.forClass(TaskOverdueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2L, 1L), events.getAllValues().stream().map(TaskOverdueEvent::taskId).toList());
+        assertEquals(now.plusMinutes(5).truncatedTo(ChronoUnit.MILLIS),
+                events.getAllValues().get(0).dueDate());
+    }
+
+    @Test
+    void track_updatesAndRemovesDeadlines() {
+        service.initialize();
+        service.track(1L, now.minusDays(1), true);
+        service.track(2L, now.minusDays(2), true);
+        service.track(3L, now.minusDays(3), true);
+
+        // Completed, rescheduled into the future and deleted
+        service.track(1L, now.minusDays(1), false);
+        service.track(2L, now.plusDays(1), true);
+        service.untrack(3L);
+
+        assertEquals(0, service.overdueCount());
+        service.expire(now.plusDays(2));
+        assertEquals(List.of(2L), service.findOverdueTaskIds(10));
+    }
+
+    @Test
+    void track_alreadyPastDueDate_publishesOnlyWhenTaskBecomesOverdue() {
+        service.initialize();
+        service.track(1L, now.minusHours(1), true);
+        service.track(1L, now.minusHours(2), true);
+
+        verify(eventPublisher, times(1)).publishEvent(any(TaskOverdueEvent.class));
+        assertEquals(List.of(1L), service.findOverdueTaskIds(10));
+    }
+
+    @Test
+    void findOverdueTaskIds_returnsOldestFirstUpToLimit() {
+        service.initialize();
+        for (long id = 1; id <= 5; id++) {
+            service.track(id, now.minusHours(id), true);
+        }
+
+        assertEquals(List.of(5L, 4L), service.findOverdueTaskIds(2));
+    }
+
+    @Test
+    void initialize_loadsOpenDueDatesInPagesWithoutPublishing() {
+        when(taskRepository.findOpenDueDates(eq(0L), any())).thenReturn(List.of(row(1L, now.minusDays(1)), row(2L, now.plusDays(1))));
+
+        service.initialize();
+
+        assertTrue(service.isReady());
+        assertEquals(List.of(1L), service.findOverdueTaskIds(10));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void changesDuringInitialization_areReplayedOverLoadedRows() {
+        // The load reads the old due date, then the task is completed before loading finishes
+        when(taskRepository.findOpenDueDates(eq(0L), any())).thenAnswer(inv -> {
+            service.track(1L, now.minusDays(1), false);
+            return List.of(row(1L, now.minusDays(1)));
+        });
+
+        service.initialize();
+
+        assertEquals(0, service.overdueCount());
+    }
+
+    private static TaskRepository.TaskDueDateRow row(Long id, LocalDateTime dueDate) {
+        return new TaskRepository.TaskDueDateRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+}
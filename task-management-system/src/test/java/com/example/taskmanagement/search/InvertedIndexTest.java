@@ -0,0 +1,132 @@
+package com.example.taskmanagement.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+    InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.index(new SearchDocument(1L, 100L, "Implement login", "Login form with remember-me"));
+        index.index(new SearchDocument(2L, 200L, "Write release notes", "Mention the new login page"));
+        index.index(new SearchDocument(3L, 300L, "Fix build", null));
+    }
+
+    @Test
+    void tokenize_lowercasesAndSplitsOnPunctuation() {
+        assertEquals(java.util.List.of("remember", "me", "v2", "login"), Tokenizer.tokenize("Remember-me (v2) LOGIN!"));
+        assertTrue(Tokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_ranksTitleMatchesFirst() {
+        SearchHits hits = index.search("login", 0, 10);
+
+        assertEquals(2, hits.total());
+        assertArrayEquals(new long[]{1L, 2L}, hits.ids());
+    }
+
+    @Test
+    void search_matchesAnyTermCaseInsensitively() {
+        SearchHits hits = index.search("BUILD notes", 0, 10);
+
+        assertEquals(2, hits.total());
+        assertEquals(2, hits.ids().length);
+        assertTrue(index.search("unknown", 0, 10).total() == 0);
+        assertEquals(0, index.search("  ", 0, 10).total());
+    }
+
+    @Test
+    void search_paginatesOverRankedResults() {
+        for (long id = 10; id < 40; id++) {
+            index.index(new SearchDocument(id, id, "Deploy service " + id, null));
+        }
+
+        SearchHits first = index.search("deploy", 0, 20);
+        SearchHits second = index.search("deploy", 20, 20);
+
+        assertEquals(30, first.total());
+        assertEquals(20, first.ids().length);
+        assertEquals(10, second.ids().length);
+        assertEquals(10L, first.ids()[0]);
+        assertEquals(39L, second.ids()[9]);
+        assertEquals(0, index.search("deploy", 30, 20).ids().length);
+    }
+
+    @Test
+    void index_replacesPreviousVersion() {
+        index.index(new SearchDocument(1L, 400L, "Implement logout", null));
+
+        assertArrayEquals(new long[]{2L}, index.search("login", 0, 10).ids());
+        assertArrayEquals(new long[]{1L}, index.search("logout", 0, 10).ids());
+        assertEquals(3, index.size());
+        assertEquals(400L, index.maxVersion());
+    }
+
+    @Test
+    void remove_dropsDocument() {
+        index.remove(1L);
+        index.remove(99L);
+
+        assertArrayEquals(new long[]{2L}, index.search("login", 0, 10).ids());
+        assertArrayEquals(new long[]{2L, 3L}, index.ids());
+    }
+
+    @Test
+    void remove_freesTheOrdinalForTheNextDocument() {
+        for (long id = 100; id < 1100; id++) {
+            index.index(new SearchDocument(id, id, "Churn " + id, null));
+            index.remove(id);
+        }
+        index.index(new SearchDocument(5000L, 5000L, "Reused login", null));
+
+        assertEquals(4, index.allocatedOrdinals());
+        assertEquals(0, index.search("churn", 0, 10).total());
+        assertArrayEquals(new long[]{5000L, 1L, 2L}, index.search("login", 0, 10).ids());
+        assertArrayEquals(new long[]{1L, 2L, 3L, 5000L}, index.ids());
+        assertEquals(5000L, index.maxVersion());
+    }
+
+    @Test
+    void search_scoresDocumentsMatchedByEveryTermOnce() {
+        index.index(new SearchDocument(4L, 400L, "Login build", "login build login"));
+
+        SearchHits hits = index.search("login build", 0, 10);
+
+        assertEquals(4, hits.total());
+        assertEquals(4L, hits.ids()[0]);
+    }
+
+    @Test
+    void snapshot_roundTripsWithoutRemovedDocuments() throws IOException {
+        index.remove(2L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+
+        InvertedIndex restored = new InvertedIndex();
+        restored.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertArrayEquals(new long[]{1L, 3L}, restored.ids());
+        assertArrayEquals(new long[]{1L}, restored.search("login", 0, 10).ids());
+        assertEquals(300L, restored.maxVersion());
+        // Restored documents can still be updated and removed
+        restored.index(new SearchDocument(3L, 500L, "Fix login build", null));
+        restored.remove(1L);
+        assertArrayEquals(new long[]{3L}, restored.search("login", 0, 10).ids());
+    }
+
+    @Test
+    void readFrom_rejectsUnknownFormat() {
+        byte[] garbage = {1, 2, 3, 4, 5, 6, 7, 8};
+        assertThrows(IOException.class, () -> index.readFrom(new ByteArrayInputStream(garbage)));
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMapTest {
+
+    @Test
+    void putGetRemove() {
+        LongIntMap map = new LongIntMap();
+        map.put(0L, 7);
+        map.put(-5L, 8);
+        map.put(0L, 9);
+
+        assertEquals(2, map.size());
+        assertEquals(9, map.get(0L));
+        assertEquals(8, map.get(-5L));
+        assertEquals(LongIntMap.ABSENT, map.get(1L));
+        assertEquals(9, map.remove(0L));
+        assertEquals(LongIntMap.ABSENT, map.remove(0L));
+        assertEquals(LongIntMap.ABSENT, map.get(0L));
+        assertEquals(1, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, -1));
+    }
+
+    @Test
+    void randomOperations_matchHashMap() {
+        Random random = new Random(42);
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A narrow key range keeps probe runs long and removals frequent
+            long key = random.nextInt(2_000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed != null ? removed : LongIntMap.ABSENT, map.remove(key));
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2_000 * 1024L; key += 1024) {
+            assertEquals(expected.getOrDefault(key, LongIntMap.ABSENT), map.get(key));
+        }
+    }
+}
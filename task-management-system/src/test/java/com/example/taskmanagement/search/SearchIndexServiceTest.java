@@ -0,0 +1,134 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.config.SearchProperties;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+    @Mock TaskRepository taskRepository;
+    @Mock ProjectRepository projectRepository;
+    @TempDir Path snapshotDir;
+    SearchProperties properties;
+
+    static final LocalDateTime UPDATED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchProperties();
+        properties.setRebuildPageSize(2);
+        properties.getSnapshot().setDirectory(snapshotDir);
+        lenient().when(projectRepository.findSearchRows(anyLong(), any(), any())).thenReturn(List.of());
+        lenient().when(projectRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void initialize_rebuildsFromDatabaseInKeysetPagesAndWritesSnapshot() {
+        when(taskRepository.findSearchRows(eq(0L), any(), any())).thenReturn(List.of(row(1L, "Login page"), row(2L, "Logout")));
+        when(taskRepository.findSearchRows(eq(2L), any(), any())).thenReturn(List.of(row(3L, "Login audit")));
+        SearchIndexService service = new SearchIndexService(taskRepository, projectRepository, properties);
+
+        service.initialize();
+
+        assertTrue(service.isReady());
+        assertArrayEquals(new long[]{1L, 3L}, service.searchTasks("login", PageRequest.of(0, 10)).ids());
+        assertTrue(Files.exists(snapshotDir.resolve("tasks.idx")));
+        verify(taskRepository, never()).findIdsAfter(anyLong(), any());
+    }
+
+    @Test
+    void initialize_restoresSnapshotThenCatchesUpAndDropsDeletedRows() {
+        when(taskRepository.findSearchRows(eq(0L), any(), any())).thenReturn(List.of(row(1L, "Login page"), row(2L, "Login api")));
+        when(taskRepository.findSearchRows(eq(2L), any(), any())).thenReturn(List.of());
+        SearchIndexService first = new SearchIndexService(taskRepository, projectRepository, properties);
+        first.initialize();
+        first.shutdown();
+
+        // Task 1 was renamed and task 2 deleted while the application was down
+        reset(taskRepository);
+        when(taskRepository.findSearchRows(eq(0L), any(), any())).thenReturn(List.of(row(1L, "Logout page")));
+        when(taskRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        SearchIndexService restarted = new SearchIndexService(taskRepository, projectRepository, properties);
+        restarted.initialize();
+
+        assertEquals(0, restarted.searchTasks("login", PageRequest.of(0, 10)).total());
+        assertArrayEquals(new long[]{1L}, restarted.searchTasks("logout", PageRequest.of(0, 10)).ids());
+        // Catch-up starts just before the newest snapshot entry instead of reading every row
+        verify(taskRepository).findSearchRows(eq(0L), eq(UPDATED.minusMinutes(1)), any());
+    }
+
+    @Test
+    void changesDuringInitialization_areReplayedOverRebuiltRows() {
+        SearchIndexService service = new SearchIndexService(taskRepository, projectRepository, properties);
+        // The rebuild reads the old title, then the rename commits before the rebuild finishes
+        when(taskRepository.findSearchRows(eq(0L), any(), any())).thenAnswer(inv -> {
+            service.indexTask(SearchDocument.of(1L, UPDATED.plusMinutes(5), "Renamed task", null));
+            return List.of(row(1L, "Original task"));
+        });
+
+        service.initialize();
+
+        assertEquals(0, service.searchTasks("original", PageRequest.of(0, 10)).total());
+        assertEquals(1, service.searchTasks("renamed", PageRequest.of(0, 10)).total());
+    }
+
+    @Test
+    void search_validatesQueryAndResultWindow() {
+        SearchIndexService service = new SearchIndexService(taskRepository, projectRepository, properties);
+
+        assertThrows(ValidationException.class, () -> service.searchTasks(" ", PageRequest.of(0, 10)));
+        assertThrows(ValidationException.class, () -> service.searchProjects("x", PageRequest.of(1000, 20)));
+    }
+
+    @Test
+    void initialize_withSnapshotsDisabled_doesNotTouchDisk() {
+        properties.getSnapshot().setEnabled(false);
+        when(taskRepository.findSearchRows(eq(0L), any(), any())).thenReturn(List.of(row(1L, "Login page")));
+        SearchIndexService service = new SearchIndexService(taskRepository, projectRepository, properties);
+
+        service.initialize();
+        service.shutdown();
+
+        assertEquals(1, service.searchTasks("login", PageRequest.of(0, 10)).total());
+        assertFalse(Files.exists(snapshotDir.resolve("tasks.idx")));
+    }
+
+    private static TaskRepository.TaskSearchRow row(Long id, String title) {
+        return new TaskRepository.TaskSearchRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getTitle() {
+                return title;
+            }
+
+            public String getDescription() {
+                return null;
+            }
+
+            public LocalDateTime getUpdatedAt() {
+                return UPDATED;
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.config.JwtProperties;
+import com.example.taskmanagement.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenServiceTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final AuthenticatedUser ALICE = new AuthenticatedUser(7L, "alice", User.UserRole.MANAGER);
+
+    @Test
+    void issuedToken_authenticatesWithItsClaims() {
+        JwtTokenService service = service(10);
+
+        Authentication authentication = service.authenticate(service.issue(ALICE).token()).orElseThrow();
+
+        assertEquals(ALICE, authentication.getPrincipal());
+        assertEquals("alice", authentication.getName());
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("ROLE_MANAGER", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+    }
+
+    @Test
+    void verifiedToken_isCachedUntilReused() {
+        JwtTokenService service = service(10);
+        String token = service.issue(ALICE).token();
+
+        Authentication first = service.authenticate(token).orElseThrow();
+        Authentication second = service.authenticate(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, service.cachedTokenCount());
+    }
+
+    @Test
+    void disabledCache_verifiesEveryRequest() {
+        JwtTokenService service = service(0);
+        String token = service.issue(ALICE).token();
+
+        assertNotSame(service.authenticate(token).orElseThrow(), service.authenticate(token).orElseThrow());
+        assertEquals(0, service.cachedTokenCount());
+    }
+
+    @Test
+    void tamperedToken_isRejectedAndNotCached() {
+        JwtTokenService service = service(10);
+        String token = service.issue(ALICE).token();
+        String[] parts = token.split("\\.");
+        String forged = Jwts.builder().setIssuer("task-management-system").setSubject("alice")
+                .claim("uid", 7L).claim("role", "ADMIN").compact().split("\\.")[1];
+
+        assertTrue(service.authenticate(parts[0] + "." + forged + "." + parts[2]).isEmpty());
+        assertTrue(service.authenticate("not-a-token").isEmpty());
+        assertEquals(0, service.cachedTokenCount());
+    }
+
+    @Test
+    void expiredOrForeignTokens_areRejected() {
+        JwtTokenService service = service(10);
+        String expired = Jwts.builder().setIssuer("task-management-system").setSubject("alice")
+                .claim("uid", 7L).claim("role", "USER")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        String otherIssuer = Jwts.builder().setIssuer("someone-else").setSubject("alice")
+                .claim("uid", 7L).claim("role", "USER")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(service.authenticate(expired).isEmpty());
+        assertTrue(service.authenticate(otherIssuer).isEmpty());
+    }
+
+    @Test
+    void shortSecret_isRefused() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("too-short");
+
+        assertThrows(WeakKeyException.class, () -> new JwtTokenService(properties));
+    }
+
+    private static JwtTokenService service(long cacheSize) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(Duration.ofMinutes(5));
+        properties.getTokenCache().setMaximumSize(cacheSize);
+        return new JwtTokenService(properties);
+    }
+}
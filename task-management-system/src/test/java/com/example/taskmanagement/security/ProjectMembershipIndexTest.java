@@ -0,0 +1,104 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProjectMembershipIndexTest {
+    private ProjectRepository projectRepository;
+    private ProjectMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        index = new ProjectMembershipIndex(projectRepository);
+        when(projectRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(projectRepository.findOwnerIdPairs(List.of(1L, 2L))).thenReturn(List.of(pair(1L, 10L), pair(2L, 20L)));
+        when(projectRepository.findMemberIdPairs(List.of(1L, 2L))).thenReturn(List.of(pair(1L, 20L), pair(2L, 30L)));
+    }
+
+    @Test
+    void initialize_indexesOwnersAndMembers() {
+        assertFalse(index.covers(1L));
+
+        index.initialize();
+
+        assertTrue(index.covers(1L));
+        assertTrue(index.isOwnerOrMember(10L, 1L));
+        assertFalse(index.isOwnerOrMember(10L, 2L));
+        assertTrue(index.isOwnerOrMember(20L, 1L));
+        assertTrue(index.isOwnerOrMember(20L, 2L));
+        assertTrue(index.isOwnerOrMember(30L, 2L));
+        assertFalse(index.isOwnerOrMember(40L, 1L));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void changesWhileLoading_areReplayed() {
+        index.recordMemberAdded(1L, 40L);
+        index.recordMemberRemoved(2L, 30L);
+
+        index.initialize();
+
+        assertTrue(index.isOwnerOrMember(40L, 1L));
+        assertFalse(index.isOwnerOrMember(30L, 2L));
+    }
+
+    @Test
+    void recordedChanges_updateTheIndex() {
+        index.initialize();
+
+        index.recordProjectCreated(3L, 10L);
+        index.recordMemberRemoved(1L, 20L);
+        index.recordProjectDeleted(2L, Set.of(20L, 30L));
+        index.recordUserDeleted(10L);
+
+        assertFalse(index.isOwnerOrMember(10L, 3L));
+        assertFalse(index.isOwnerOrMember(20L, 1L));
+        assertFalse(index.isOwnerOrMember(20L, 2L));
+        assertFalse(index.isOwnerOrMember(30L, 2L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void failedLoad_leavesTheIndexUnused() {
+        when(projectRepository.findOwnerIdPairs(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        index.initialize();
+
+        assertFalse(index.covers(1L));
+    }
+
+    @Test
+    void covers_onlyIdsThatFitABitmap() {
+        index.initialize();
+
+        assertTrue(index.covers(ProjectMembershipIndex.MAX_PROJECT_ID));
+        assertFalse(index.covers(ProjectMembershipIndex.MAX_PROJECT_ID + 1));
+        index.recordMemberAdded(ProjectMembershipIndex.MAX_PROJECT_ID, 10L);
+        assertTrue(index.isOwnerOrMember(10L, ProjectMembershipIndex.MAX_PROJECT_ID));
+    }
+
+    private static ProjectRepository.ProjectIdPair pair(Long projectId, Long relatedId) {
+        return new ProjectRepository.ProjectIdPair() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public Long getRelatedId() {
+                return relatedId;
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.attachment.AttachmentStore;
+import com.example.taskmanagement.attachment.StoredFile;
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.TooManyRequestsException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskAttachment;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskAttachmentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentServiceTest {
+    @Mock TaskAttachmentRepository attachmentRepository;
+    @Mock TaskRepository taskRepository;
+    @Mock UserRepository userRepository;
+    @Mock AttachmentStore attachmentStore;
+    AttachmentService attachmentService;
+
+    @BeforeEach
+    void setUp() {
+        AttachmentProperties properties = new AttachmentProperties();
+        properties.setMaxConcurrentUploads(1);
+        attachmentService = new AttachmentService(attachmentRepository, taskRepository, userRepository,
+                attachmentStore, properties);
+    }
+
+    @Test
+    void upload_savesStoredFileUnderCleanName() {
+        givenTaskAndUser();
+        when(attachmentStore.store(any(InputStream.class), anyLong())).thenReturn(new StoredFile("ab/cd/abcd", "abcd", 4));
+        when(taskRepository.getReferenceById(1L)).thenReturn(Task.builder().id(1L).build());
+        when(userRepository.getReferenceById(2L)).thenReturn(User.builder().id(2L).build());
+        when(attachmentRepository.save(any(TaskAttachment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TaskAttachment attachment = attachmentService.upload(1L, 2L, "C:\\docs\\plan.pdf", "application/pdf", content());
+
+        assertEquals("plan.pdf", attachment.getFileName());
+        assertEquals("ab/cd/abcd", attachment.getFilePath());
+        assertEquals(4L, attachment.getFileSize());
+        assertEquals("application/pdf", attachment.getFileType());
+    }
+
+    @Test
+    void upload_beyondConcurrencyCap_isRejected() {
+        givenTaskAndUser();
+        when(attachmentStore.store(any(InputStream.class), anyLong())).thenAnswer(inv -> {
+            // A second upload arrives while the first one is still streaming
+            assertThrows(TooManyRequestsException.class,
+                    () -> attachmentService.upload(1L, 2L, "second.txt", null, content()));
+            return new StoredFile("ab/cd/abcd", "abcd", 4);
+        });
+
+        attachmentService.upload(1L, 2L, "first.txt", null, content());
+
+        verify(attachmentStore, times(1)).store(any(InputStream.class), anyLong());
+    }
+
+    @Test
+    void upload_releasesPermitWhenStoringFails() {
+        givenTaskAndUser();
+        when(attachmentStore.store(any(InputStream.class), anyLong()))
+                .thenThrow(new IllegalStateException("disk full"))
+                .thenReturn(new StoredFile("ab/cd/abcd", "abcd", 4));
+
+        assertThrows(IllegalStateException.class, () -> attachmentService.upload(1L, 2L, "a.txt", null, content()));
+        attachmentService.upload(1L, 2L, "a.txt", null, content());
+    }
+
+    @Test
+    void upload_unknownTask_readsNothing() {
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> attachmentService.upload(1L, 2L, "a.txt", null, content()));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void upload_invalidNameOrType_isRejected() {
+        assertThrows(ValidationException.class, () -> attachmentService.upload(1L, 2L, "dir/", null, content()));
+        assertThrows(ValidationException.class, () -> attachmentService.upload(1L, 2L, "a.txt", "not a type", content()));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    private void givenTaskAndUser() {
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+    }
+
+    private static InputStream content() {
+        return new ByteArrayInputStream(new byte[]{1, 2, 3, 4});
+    }
+}
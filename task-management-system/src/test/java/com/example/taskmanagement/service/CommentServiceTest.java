@@ -0,0 +1,178 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.model.Comment;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.CommentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+    @Mock CommentRepository commentRepository;
+    @Mock TaskRepository taskRepository;
+    @Mock UserRepository userRepository;
+    CommentService commentService;
+
+    Task task;
+    User author;
+
+    @BeforeEach
+    void setUp() {
+        commentService = new CommentService(commentRepository, taskRepository, userRepository);
+        task = Task.builder().id(1L).title("Task").build();
+        author = User.builder().id(2L).username("author").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void addComment_referencesTaskAndAuthorWithoutLoadingThem() {
+        when(taskRepository.getReferenceById(1L)).thenReturn(task);
+        when(userRepository.getReferenceById(2L)).thenReturn(author);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Comment comment = commentService.addComment(1L, 2L, "Looks good");
+
+        assertSame(task, comment.getTask());
+        assertSame(author, comment.getAuthor());
+        assertEquals("Looks good", comment.getContent());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void addComment_missingTask_throwsNotFound() {
+        when(commentRepository.save(any(Comment.class))).thenThrow(new DataIntegrityViolationException(
+                "Cannot add or update a child row: a foreign key constraint fails (CONSTRAINT `fk_task_comments_task`)"));
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> commentService.addComment(1L, 2L, "Hello"));
+        assertTrue(ex.getMessage().contains("Task"));
+    }
+
+    @Test
+    void addComment_missingAuthor_throwsNotFound() {
+        when(commentRepository.save(any(Comment.class))).thenThrow(new DataIntegrityViolationException(
+                "Cannot add or update a child row: a foreign key constraint fails (CONSTRAINT `fk_task_comments_user`)"));
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> commentService.addComment(1L, 2L, "Hello"));
+        assertTrue(ex.getMessage().contains("User"));
+    }
+
+    @Test
+    void listComments_readsByKeyset() {
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(1L, 0L, PageRequest.of(0, 500)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        assertTrue(commentService.listComments(1L, null, 10_000).isEmpty());
+    }
+
+    @Test
+    void listComments_unknownTask_throws() {
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> commentService.listComments(1L, null, 50));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void countComments_isCachedUntilACommentChanges() {
+        when(commentRepository.countByTaskId(1L)).thenReturn(3L, 4L);
+        when(taskRepository.getReferenceById(1L)).thenReturn(task);
+        when(userRepository.getReferenceById(2L)).thenReturn(author);
+
+        assertEquals(3L, commentService.countComments(1L));
+        assertEquals(3L, commentService.countComments(1L));
+        commentService.addComment(1L, 2L, "One more");
+        assertEquals(4L, commentService.countComments(1L));
+        verify(commentRepository, times(2)).countByTaskId(1L);
+    }
+
+    @Test
+    void countComments_isDroppedWhenTheTaskIsDeleted() {
+        when(commentRepository.countByTaskId(1L)).thenReturn(3L, 0L);
+        when(commentRepository.countByTaskId(2L)).thenReturn(5L);
+
+        assertEquals(3L, commentService.countComments(1L));
+        assertEquals(5L, commentService.countComments(2L));
+        commentService.onProjectEvent(ProjectEvent.taskDeleted(7L, 1L));
+        assertEquals(0L, commentService.countComments(1L));
+        assertEquals(5L, commentService.countComments(2L));
+        verify(commentRepository, times(2)).countByTaskId(1L);
+        verify(commentRepository, times(1)).countByTaskId(2L);
+    }
+
+    @Test
+    void deleteComment_ofAnotherTask_throws() {
+        when(commentRepository.findByIdAndTaskId(5L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> commentService.deleteComment(1L, 5L));
+        verify(commentRepository, never()).delete(any());
+    }
+
+    @Test
+    void updateComment_byItsAuthor_changesTheText() {
+        authenticateAs(2L, User.UserRole.USER);
+        Comment comment = Comment.builder().id(5L).task(task).author(author).content("Typo").build();
+        when(commentRepository.findByIdAndTaskId(5L, 1L)).thenReturn(Optional.of(comment));
+        when(commentRepository.save(comment)).thenReturn(comment);
+
+        assertEquals("Fixed", commentService.updateComment(1L, 5L, "Fixed").getContent());
+    }
+
+    @Test
+    void updateOrDeleteComment_byAnotherUser_isDenied() {
+        authenticateAs(3L, User.UserRole.USER);
+        Comment comment = Comment.builder().id(5L).task(task).author(author).content("Mine").build();
+        when(commentRepository.findByIdAndTaskId(5L, 1L)).thenReturn(Optional.of(comment));
+
+        assertThrows(AccessDeniedException.class, () -> commentService.updateComment(1L, 5L, "Yours"));
+        assertThrows(AccessDeniedException.class, () -> commentService.deleteComment(1L, 5L));
+        assertEquals("Mine", comment.getContent());
+        verify(commentRepository, never()).save(any());
+        verify(commentRepository, never()).delete(any());
+    }
+
+    @Test
+    void deleteComment_byAnAdministrator_isAllowed() {
+        authenticateAs(3L, User.UserRole.ADMIN);
+        Comment comment = Comment.builder().id(5L).task(task).author(author).content("Spam").build();
+        when(commentRepository.findByIdAndTaskId(5L, 1L)).thenReturn(Optional.of(comment));
+
+        commentService.deleteComment(1L, 5L);
+
+        verify(commentRepository).delete(comment);
+    }
+
+    private static void authenticateAs(long userId, User.UserRole role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "user" + userId, role), null, List.of()));
+    }
+}
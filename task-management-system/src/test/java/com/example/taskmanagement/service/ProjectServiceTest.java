@@ -1,23 +1,35 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.ProjectStatsDTO;
+import com.example.taskmanagement.events.ProjectEvent;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.ProjectRepository;
 import com.example.taskmanagement.repository.TaskRepository;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.search.SearchHits;
+import com.example.taskmanagement.search.SearchIndexService;
+import com.example.taskmanagement.security.ProjectMembershipIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +39,10 @@ class ProjectServiceTest {
     @Mock ProjectRepository projectRepository;
     @Mock UserRepository userRepository;
     @Mock TaskRepository taskRepository;
+    @Mock SearchIndexService searchIndexService;
+    @Mock TaskStatusCountService taskStatusCountService;
+    @Mock ProjectMembershipIndex membershipIndex;
+    @Mock ApplicationEventPublisher eventPublisher;
     @InjectMocks ProjectService projectService;
 
     Project project;
@@ -45,6 +61,38 @@ class ProjectServiceTest {
         when(projectRepository.save(any(Project.class))).thenReturn(project);
         Project saved = projectService.createProject(project);
         assertEquals(project.getName(), saved.getName());
+        verify(membershipIndex).recordProjectCreated(1L, 1L);
+    }
+
+    @Test
+    void createProject_withOwnerAndMembers_resolvesTheUsers() {
+        User member = User.builder().id(2L).username("member").build();
+        Project created = Project.builder().name("Created").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findAllById(Set.of(2L))).thenReturn(List.of(member));
+        when(projectRepository.save(created)).thenAnswer(invocation -> {
+            created.setId(5L);
+            return created;
+        });
+
+        Project saved = projectService.createProject(created, 1L, List.of(2L));
+
+        assertSame(user, saved.getOwner());
+        assertEquals(Set.of(member), saved.getMembers());
+        verify(membershipIndex).recordProjectCreated(5L, 1L);
+        verify(membershipIndex).recordMemberAdded(5L, 2L);
+    }
+
+    @Test
+    void createProject_withoutOwnerOrUnknownMember_isRejected() {
+        assertThrows(ValidationException.class,
+                () -> projectService.createProject(Project.builder().name("Orphan").build(), null, null));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findAllById(Set.of(9L))).thenReturn(List.of());
+        assertThrows(ResourceNotFoundException.class,
+                () -> projectService.createProject(Project.builder().name("Orphan").build(), 1L, List.of(9L)));
+        verify(projectRepository, never()).save(any(Project.class));
     }
 
     @Test
@@ -62,11 +110,44 @@ class ProjectServiceTest {
 
     @Test
     void listProjects() {
-        when(projectRepository.findAll()).thenReturn(List.of(project));
-        List<Project> projects = projectService.listProjects();
+        when(projectRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 50)))
+                .thenReturn(new SliceImpl<>(List.of(project)));
+        Slice<Project> projects = projectService.listProjects(null, 50);
         assertFalse(projects.isEmpty());
     }
 
+    @Test
+    void listProjects_clampsPageSize() {
+        when(projectRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 500)))
+                .thenReturn(new SliceImpl<>(List.of(project)));
+        Slice<Project> projects = projectService.listProjects(10L, 100_000);
+        assertEquals(1, projects.getNumberOfElements());
+    }
+
+    @Test
+    void loadAssociations_groupsIdsByProject() {
+        when(projectRepository.findMemberIdPairs(List.of(1L))).thenReturn(List.of(pair(1L, 5L), pair(1L, 6L)));
+        when(projectRepository.findTaskIdPairs(List.of(1L))).thenReturn(List.of(pair(1L, 9L)));
+        ProjectService.ProjectAssociations associations = projectService.loadAssociations(List.of(1L, 1L));
+        assertEquals(Set.of(5L, 6L), associations.memberIdsOf(1L));
+        assertEquals(Set.of(9L), associations.taskIdsOf(1L));
+        assertTrue(associations.memberIdsOf(2L).isEmpty());
+    }
+
+    private static ProjectRepository.ProjectIdPair pair(Long projectId, Long relatedId) {
+        return new ProjectRepository.ProjectIdPair() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public Long getRelatedId() {
+                return relatedId;
+            }
+        };
+    }
+
     @Test
     void listProjectsByOwner() {
         when(projectRepository.findByOwnerId(1L)).thenReturn(List.of(project));
@@ -88,6 +169,9 @@ class ProjectServiceTest {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
         doNothing().when(projectRepository).delete(project);
         assertDoesNotThrow(() -> projectService.deleteProject(1L));
+        verify(taskStatusCountService).recordProjectDeleted(1L);
+        verify(membershipIndex).recordProjectDeleted(1L, Set.of(1L));
+        verify(eventPublisher).publishEvent(ProjectEvent.projectDeleted(1L));
     }
 
     @Test
@@ -97,15 +181,28 @@ class ProjectServiceTest {
         when(projectRepository.save(any(Project.class))).thenReturn(project);
         Project result = projectService.addMember(1L, 1L);
         assertNotNull(result);
+        verify(membershipIndex).recordMemberAdded(1L, 1L);
     }
 
     @Test
     void removeMember_success() {
+        User member = User.builder().id(2L).username("member").build();
+        project.addMember(member);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
         when(projectRepository.save(any(Project.class))).thenReturn(project);
-        Project result = projectService.removeMember(1L, 1L);
+        Project result = projectService.removeMember(1L, 2L);
         assertNotNull(result);
+        verify(membershipIndex).recordMemberRemoved(1L, 2L);
+    }
+
+    @Test
+    void removeMember_ownerKeepsAccess() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(projectRepository.save(any(Project.class))).thenReturn(project);
+        projectService.removeMember(1L, 1L);
+        verify(membershipIndex, never()).recordMemberRemoved(any(), any());
     }
 
     @Test
@@ -115,6 +212,22 @@ class ProjectServiceTest {
         when(projectRepository.save(any(Project.class))).thenReturn(project);
         Project result = projectService.addTask(1L, 1L);
         assertNotNull(result);
+        verifyNoInteractions(taskStatusCountService);
+    }
+
+    @Test
+    void addTask_fromAnotherProject_movesItsCount() {
+        Project other = Project.builder().id(2L).name("Other Project").build();
+        task.setProject(other);
+        task.setStatus(Task.TaskStatus.REVIEW);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(projectRepository.save(any(Project.class))).thenReturn(project);
+
+        projectService.addTask(1L, 1L);
+
+        verify(taskStatusCountService).recordDeleted(2L, Task.TaskStatus.REVIEW);
+        verify(taskStatusCountService).recordCreated(1L, Task.TaskStatus.REVIEW);
     }
 
     @Test
@@ -124,5 +237,50 @@ class ProjectServiceTest {
         when(projectRepository.save(any(Project.class))).thenReturn(project);
         Project result = projectService.removeTask(1L, 1L);
         assertNotNull(result);
+        verify(taskStatusCountService).recordDeleted(1L, task.getStatus());
+    }
+
+    @Test
+    void removeTask_ofAnotherProject_isNotFound() {
+        task.setProject(Project.builder().id(2L).name("Other Project").build());
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(ResourceNotFoundException.class, () -> projectService.removeTask(1L, 1L));
+        verify(projectRepository, never()).save(any(Project.class));
+        verifyNoInteractions(taskStatusCountService, eventPublisher);
+    }
+
+    @Test
+    void getProjectStats_sumsStatusCounts() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskStatusCountService.getCounts(1L)).thenReturn(Map.of(
+                Task.TaskStatus.TODO, 3L, Task.TaskStatus.IN_PROGRESS, 1L,
+                Task.TaskStatus.REVIEW, 0L, Task.TaskStatus.DONE, 2L));
+
+        ProjectStatsDTO stats = projectService.getProjectStats(1L);
+
+        assertEquals(6, stats.getTotalTasks());
+        assertEquals(3L, stats.getStatusCounts().get(Task.TaskStatus.TODO));
+    }
+
+    @Test
+    void getProjectStats_unknownProject() {
+        when(projectRepository.findById(9L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> projectService.getProjectStats(9L));
+        verifyNoInteractions(taskStatusCountService);
+    }
+
+    @Test
+    void searchProjects_returnsRankedPage() {
+        Project other = Project.builder().id(5L).name("Website relaunch").build();
+        when(searchIndexService.searchProjects("website", PageRequest.of(0, 20)))
+                .thenReturn(new SearchHits(2, new long[]{5L, 1L}));
+        when(projectRepository.findAllById(List.of(5L, 1L))).thenReturn(List.of(project, other));
+
+        Page<Project> result = projectService.searchProjects("website", 0, 20);
+
+        assertEquals(List.of(other, project), result.getContent());
+        assertEquals(2, result.getTotalElements());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.BulkTaskResponseDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateRequestDTO;
+import com.example.taskmanagement.dto.BulkTaskUpdateResponseDTO;
+import com.example.taskmanagement.dto.TaskRequestDTO;
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.history.TaskChange;
+import com.example.taskmanagement.history.TaskHistoryWriter;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.overdue.OverdueTaskService;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBulkServiceTest {
+    @Mock ProjectRepository projectRepository;
+    @Mock UserRepository userRepository;
+    @Mock EntityManager entityManager;
+    @Mock PlatformTransactionManager transactionManager;
+    @Mock TaskStatusCountService taskStatusCountService;
+    @Mock TaskRepository taskRepository;
+    @Mock OverdueTaskService overdueTaskService;
+    @Mock TaskHistoryWriter taskHistoryWriter;
+    @Mock AuditorAware<String> auditorAware;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Captor ArgumentCaptor<List<TaskChange>> history;
+    TaskBulkService bulkService;
+
+    final AtomicLong sequence = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new TaskBulkService(projectRepository, userRepository, entityManager,
+                new TransactionTemplate(transactionManager),
+                Validation.buildDefaultValidatorFactory().getValidator(), taskStatusCountService, taskRepository,
+                overdueTaskService, taskHistoryWriter, auditorAware, eventPublisher);
+        lenient().when(entityManager.getReference(eq(Project.class), anyLong()))
+                .thenAnswer(inv -> Project.builder().id(inv.getArgument(1)).build());
+        lenient().when(entityManager.getReference(eq(User.class), anyLong()))
+                .thenAnswer(inv -> User.builder().id(inv.getArgument(1)).build());
+        lenient().doAnswer(inv -> {
+            inv.<Task>getArgument(0).setId(sequence.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Task.class));
+    }
+
+    @Test
+    void createTasks_reportsInvalidItemsAndCreatesTheRest() {
+        when(projectRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(5L));
+        List<TaskRequestDTO> requests = List.of(
+                request("Valid task", 1L, 5L),
+                request("x", 1L, null),
+                request("Unknown project", 9L, null),
+                request("Unknown assignee", 1L, 6L),
+                request("Another valid task", 1L, null));
+
+        BulkTaskResponseDTO result = bulkService.createTasks(requests);
+
+        assertEquals(5, result.getRequested());
+        assertEquals(List.of(0, 4), result.getCreated().stream().map(BulkTaskResponseDTO.CreatedItem::index).toList());
+        assertEquals(List.of(101L, 102L), result.getCreated().stream().map(BulkTaskResponseDTO.CreatedItem::id).toList());
+        assertEquals(List.of(1, 2, 3), result.getFailures().stream().map(BulkTaskResponseDTO.FailedItem::index).toList());
+        assertTrue(result.getFailures().get(1).message().contains("Project not found"));
+        assertTrue(result.getFailures().get(2).message().contains("User not found"));
+        verify(entityManager, times(2)).persist(any(Task.class));
+        verify(taskStatusCountService, times(2)).recordCreated(eq(1L), any());
+    }
+
+    @Test
+    void createTasks_flushesInBatches() {
+        when(projectRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        List<TaskRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(request("Task " + i, 1L, null));
+        }
+
+        BulkTaskResponseDTO result = bulkService.createTasks(requests);
+
+        assertEquals(120, result.getCreated().size());
+        assertTrue(result.getFailures().isEmpty());
+        // 50 + 50 + 20
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void createTasks_retriesFailedChunkItemByItem() {
+        when(projectRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        doAnswer(inv -> {
+            Task task = inv.getArgument(0);
+            if (task.getTitle().equals("Broken task")) {
+                throw new PersistenceException("constraint violation");
+            }
+            task.setId(sequence.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Task.class));
+
+        BulkTaskResponseDTO result = bulkService.createTasks(List.of(
+                request("First task", 1L, null),
+                request("Broken task", 1L, null),
+                request("Third task", 1L, null)));
+
+        assertEquals(List.of(0, 2), result.getCreated().stream().map(BulkTaskResponseDTO.CreatedItem::index).toList());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).index());
+    }
+
+    @Test
+    void createTasks_rejectsEmptyAndOversizedRequests() {
+        assertThrows(ValidationException.class, () -> bulkService.createTasks(List.of()));
+        List<TaskRequestDTO> tooMany = new ArrayList<>();
+        for (int i = 0; i <= TaskBulkService.MAX_BULK_SIZE; i++) {
+            tooMany.add(request("Task", 1L, null));
+        }
+        assertThrows(ValidationException.class, () -> bulkService.createTasks(tooMany));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void updateStatus_updatesChangedTasksInOneStatementAndFollowsWithDerivedState() {
+        LocalDateTime due = LocalDateTime.now().minusDays(1);
+        when(taskRepository.lockStatesByIdIn(List.of(1L, 2L, 3L, 99L))).thenReturn(List.of(
+                new StateRow(1L, 7L, Task.TaskStatus.TODO, Task.TaskPriority.LOW, due),
+                new StateRow(2L, 7L, Task.TaskStatus.DONE, Task.TaskPriority.LOW, null),
+                new StateRow(3L, 7L, Task.TaskStatus.REVIEW, Task.TaskPriority.LOW, null)));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("alice"));
+
+        BulkTaskUpdateResponseDTO result = bulkService.updateStatus(BulkTaskUpdateRequestDTO.builder()
+                .ids(List.of(3L, 1L, 2L, 3L, 99L))
+                .status(Task.TaskStatus.DONE)
+                .build());
+
+        assertEquals(3, result.getMatched());
+        assertEquals(2, result.getUpdated());
+        verify(taskRepository).updateStatuses(eq(List.of(1L, 3L)), eq(Task.TaskStatus.DONE), notNull(), any(),
+                eq("alice"));
+        verify(taskStatusCountService).recordStatusChange(7L, Task.TaskStatus.TODO, Task.TaskStatus.DONE);
+        verify(taskStatusCountService).recordStatusChange(7L, Task.TaskStatus.REVIEW, Task.TaskStatus.DONE);
+        verify(eventPublisher).publishEvent(ProjectEvent.tasksChanged(7L, List.of(1L, 3L)));
+        verify(overdueTaskService).track(1L, due, false);
+        verifyNoMoreInteractions(overdueTaskService);
+        verify(taskHistoryWriter).enqueue(history.capture());
+        assertEquals(List.of("status", "status"),
+                history.getValue().stream().map(TaskChange::fieldName).toList());
+    }
+
+    @Test
+    void updatePriority_byFilter_pagesThroughTheMatchingTasks() {
+        List<TaskRepository.TaskStateRow> fullPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            fullPage.add(new StateRow(id, 7L, Task.TaskStatus.TODO, Task.TaskPriority.LOW, null));
+        }
+        when(taskRepository.lockStatesMatching(eq(7L), isNull(), eq(Task.TaskStatus.TODO), eq(0L), any()))
+                .thenReturn(fullPage);
+        when(taskRepository.lockStatesMatching(eq(7L), isNull(), eq(Task.TaskStatus.TODO), eq(1000L), any()))
+                .thenReturn(List.of(new StateRow(1001L, 7L, Task.TaskStatus.TODO, Task.TaskPriority.HIGH, null)));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.empty());
+
+        BulkTaskUpdateResponseDTO result = bulkService.updatePriority(BulkTaskUpdateRequestDTO.builder()
+                .projectId(7L)
+                .currentStatus(Task.TaskStatus.TODO)
+                .priority(Task.TaskPriority.HIGH)
+                .build());
+
+        assertEquals(1001, result.getMatched());
+        assertEquals(1000, result.getUpdated());
+        verify(taskRepository, times(1)).updatePriorities(anyCollection(), eq(Task.TaskPriority.HIGH), any(), isNull());
+        verify(transactionManager, times(2)).commit(any());
+        verifyNoInteractions(taskStatusCountService, overdueTaskService);
+    }
+
+    @Test
+    void bulkUpdate_needsEitherIdsOrAFilterAndTheNewValue() {
+        assertThrows(ValidationException.class, () -> bulkService.updateStatus(BulkTaskUpdateRequestDTO.builder()
+                .ids(List.of(1L)).projectId(7L).status(Task.TaskStatus.DONE).build()));
+        assertThrows(ValidationException.class, () -> bulkService.updateStatus(BulkTaskUpdateRequestDTO.builder()
+                .status(Task.TaskStatus.DONE).build()));
+        assertThrows(ValidationException.class, () -> bulkService.updatePriority(BulkTaskUpdateRequestDTO.builder()
+                .ids(List.of(1L)).build()));
+        verify(taskRepository, never()).updateStatuses(any(), any(), any(), any(), any());
+    }
+
+    private static TaskRequestDTO request(String title, Long projectId, Long assigneeId) {
+        return TaskRequestDTO.builder().title(title).projectId(projectId).assigneeId(assigneeId).build();
+    }
+
+    private record StateRow(Long getId, Long getProjectId, Task.TaskStatus getStatus, Task.TaskPriority getPriority,
+                            LocalDateTime getDueDate)
+            implements TaskRepository.TaskStateRow {
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+    @Mock TaskRepository taskRepository;
+    @Mock EntityManager entityManager;
+    TaskExportService exportService;
+
+    Task task1;
+    Task task2;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TaskExportService(taskRepository, entityManager, new ObjectMapper().findAndRegisterModules());
+        Project project = Project.builder().id(7L).name("Project").build();
+        User user = User.builder().id(3L).username("user").build();
+        task1 = Task.builder().id(1L).title("First").status(Task.TaskStatus.TODO)
+                .priority(Task.TaskPriority.HIGH).project(project).assignee(user).build();
+        task2 = Task.builder().id(2L).title("Second, \"quoted\"").description("line1\nline2")
+                .status(Task.TaskStatus.DONE).priority(Task.TaskPriority.LOW).project(project).build();
+    }
+
+    @Test
+    void exportNdjson_writesOneLinePerTaskAndDetaches() throws Exception {
+        when(taskRepository.streamByProjectId(7L)).thenReturn(Stream.of(task1, task2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportTasks(7L, TaskExportService.ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":1"));
+        assertTrue(lines[0].contains("\"assigneeId\":3"));
+        assertTrue(lines[1].contains("\"projectId\":7"));
+        verify(entityManager).detach(task1);
+        verify(entityManager).detach(task2);
+    }
+
+    @Test
+    void exportCsv_escapesSpecialCharacters() throws Exception {
+        when(taskRepository.streamAll()).thenReturn(Stream.of(task2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTasks(null, TaskExportService.ExportFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,title,description,"));
+        assertTrue(csv.contains("2,\"Second, \"\"quoted\"\"\",\"line1\nline2\",DONE,LOW,,7,,,"));
+    }
+
+    @Test
+    void exportEmpty_writesNothing() throws Exception {
+        when(taskRepository.streamAll()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportTasks(null, TaskExportService.ExportFormat.NDJSON, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportFormat_parsesCaseInsensitively() {
+        assertEquals(TaskExportService.ExportFormat.CSV, TaskExportService.ExportFormat.from("csv"));
+        assertThrows(ValidationException.class, () -> TaskExportService.ExportFormat.from("xml"));
+    }
+}
@@ -1,24 +1,41 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.events.ProjectEvent;
+import com.example.taskmanagement.exception.PreconditionFailedException;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.history.TaskChange;
+import com.example.taskmanagement.history.TaskHistoryWriter;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.overdue.OverdueTaskService;
 import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskHistoryRepository;
 import com.example.taskmanagement.repository.TaskRepository;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.search.SearchHits;
+import com.example.taskmanagement.search.SearchIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +43,13 @@ class TaskServiceTest {
     @Mock TaskRepository taskRepository;
     @Mock ProjectRepository projectRepository;
     @Mock UserRepository userRepository;
+    @Mock SearchIndexService searchIndexService;
+    @Mock TaskStatusCountService taskStatusCountService;
+    @Mock OverdueTaskService overdueTaskService;
+    @Mock TaskHistoryRepository taskHistoryRepository;
+    @Mock TaskHistoryWriter taskHistoryWriter;
+    @Mock AuditorAware<String> auditorAware;
+    @Mock ApplicationEventPublisher eventPublisher;
     @InjectMocks TaskService taskService;
 
     Task task;
@@ -39,11 +63,89 @@ class TaskServiceTest {
         task = Task.builder().id(1L).title("Test Task").project(project).assignee(user).dueDate(LocalDateTime.now()).build();
     }
 
+    @Test
+    void searchTasks_keepsRankingOrderAndSkipsDeletedTasks() {
+        Task second = Task.builder().id(2L).title("Second").build();
+        when(searchIndexService.searchTasks("login", PageRequest.of(1, 3)))
+                .thenReturn(new SearchHits(6, new long[]{2L, 9L, 1L}));
+        when(taskRepository.findAllById(List.of(2L, 9L, 1L))).thenReturn(List.of(task, second));
+
+        Page<Task> result = taskService.searchTasks("login", 1, 3);
+
+        assertEquals(List.of(second, task), result.getContent());
+        assertEquals(6, result.getTotalElements());
+        assertEquals(1, result.getNumber());
+    }
+
+    @Test
+    void searchTasks_rejectsNegativePage() {
+        assertThrows(com.example.taskmanagement.exception.ValidationException.class,
+                () -> taskService.searchTasks("login", -1, 20));
+        verifyNoInteractions(searchIndexService);
+    }
+
+    @Test
+    void getOverdueTasks_keepsOrderAndResyncsStaleEntries() {
+        LocalDateTime past = LocalDateTime.now().minusDays(1);
+        task.setDueDate(past);
+        Task done = Task.builder().id(2L).title("Done").status(Task.TaskStatus.DONE).dueDate(past).build();
+        Task older = Task.builder().id(3L).title("Older").status(Task.TaskStatus.TODO).dueDate(past.minusDays(1)).build();
+        when(overdueTaskService.findOverdueTaskIds(50)).thenReturn(List.of(3L, 2L, 9L, 1L));
+        when(taskRepository.findAllById(List.of(3L, 2L, 9L, 1L))).thenReturn(List.of(task, done, older));
+
+        List<Task> overdue = taskService.getOverdueTasks(50);
+
+        assertEquals(List.of(older, task), overdue);
+        verify(overdueTaskService).track(2L, past, false);
+        verify(overdueTaskService).untrack(9L);
+    }
+
+    @Test
+    void getTaskHistory_unknownTask_throws() {
+        when(taskRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskHistory(9L, 0, 20));
+        verifyNoInteractions(taskHistoryRepository);
+    }
+
+    @Test
+    void getTaskHistory_clampsPageSize() {
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskHistoryRepository.findByTaskIdOrderByChangedAtDescIdDesc(1L, PageRequest.of(0, 500)))
+                .thenReturn(Page.empty());
+
+        assertTrue(taskService.getTaskHistory(1L, 0, 10_000).isEmpty());
+    }
+
     @Test
     void createTask_success() {
         when(taskRepository.save(any(Task.class))).thenReturn(task);
         Task saved = taskService.createTask(task);
         assertEquals(task.getTitle(), saved.getTitle());
+        verify(taskStatusCountService).recordCreated(1L, task.getStatus());
+    }
+
+    @Test
+    void createTask_inProjectWithAssignee_resolvesTheReferences() {
+        Task created = Task.builder().title("Created").build();
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(taskRepository.save(created)).thenReturn(created);
+
+        Task saved = taskService.createTask(created, 1L, 1L);
+
+        assertSame(project, saved.getProject());
+        assertSame(user, saved.getAssignee());
+        verify(taskStatusCountService).recordCreated(1L, created.getStatus());
+    }
+
+    @Test
+    void createTask_unknownProject_throws() {
+        when(projectRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.createTask(Task.builder().title("Lost").build(), 9L, null));
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
@@ -61,11 +163,20 @@ class TaskServiceTest {
 
     @Test
     void listTasks() {
-        when(taskRepository.findAll()).thenReturn(List.of(task));
-        List<Task> tasks = taskService.listTasks();
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 50)))
+                .thenReturn(new SliceImpl<>(List.of(task)));
+        Slice<Task> tasks = taskService.listTasks(null, 50);
         assertFalse(tasks.isEmpty());
     }
 
+    @Test
+    void listTasks_afterCursor() {
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+        Slice<Task> tasks = taskService.listTasks(1L, 0);
+        assertFalse(tasks.hasNext());
+    }
+
     @Test
     void listTasksByProject() {
         when(taskRepository.findByProjectId(1L)).thenReturn(List.of(task));
@@ -87,6 +198,7 @@ class TaskServiceTest {
         when(taskRepository.save(any(Task.class))).thenReturn(updated);
         Task result = taskService.updateTask(1L, updated);
         assertEquals("Updated", result.getTitle());
+        verify(taskStatusCountService).recordStatusChange(null, null, Task.TaskStatus.DONE);
     }
 
     @Test
@@ -94,6 +206,8 @@ class TaskServiceTest {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         doNothing().when(taskRepository).delete(task);
         assertDoesNotThrow(() -> taskService.deleteTask(1L));
+        verify(taskStatusCountService).recordDeleted(1L, task.getStatus());
+        verify(eventPublisher).publishEvent(ProjectEvent.taskDeleted(1L, 1L));
     }
 
     @Test
@@ -103,14 +217,21 @@ class TaskServiceTest {
         when(taskRepository.save(any(Task.class))).thenReturn(task);
         Task result = taskService.assignTask(1L, 1L);
         assertNotNull(result);
+        ArgumentCaptor<ProjectEvent> event = ArgumentCaptor.forClass(ProjectEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ProjectEvent.Type.TASK_ASSIGNED, event.getValue().type());
+        assertEquals(1L, event.getValue().projectId());
+        assertEquals(user.getId(), event.getValue().task().getAssigneeId());
     }
 
     @Test
     void updateStatus_success() {
+        task.setStatus(Task.TaskStatus.IN_PROGRESS);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
         Task result = taskService.updateStatus(1L, Task.TaskStatus.DONE);
         assertEquals(Task.TaskStatus.DONE, result.getStatus());
+        verify(taskStatusCountService).recordStatusChange(1L, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.DONE);
     }
 
     @Test
@@ -120,4 +241,64 @@ class TaskServiceTest {
         Task result = taskService.updatePriority(1L, Task.TaskPriority.HIGH);
         assertEquals(Task.TaskPriority.HIGH, result.getPriority());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void patchTask_keepsFieldsTheChangesLeaveAlone() {
+        task.setDescription("Keep me");
+        task.setStatus(Task.TaskStatus.REVIEW);
+        task.setPriority(Task.TaskPriority.LOW);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        Task result = taskService.patchTask(1L, null, current -> Task.builder()
+                .title("Patched").description(current.getDescription()).status(current.getStatus())
+                .priority(current.getPriority()).dueDate(current.getDueDate()).build());
+
+        assertEquals("Patched", result.getTitle());
+        assertEquals("Keep me", result.getDescription());
+        assertEquals(Task.TaskPriority.LOW, result.getPriority());
+        verify(taskStatusCountService).recordStatusChange(1L, Task.TaskStatus.REVIEW, Task.TaskStatus.REVIEW);
+    }
+
+    @Test
+    void patchTask_staleVersion_isRejectedBeforeApplyingChanges() {
+        task.setVersion(4L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.patchTask(1L, 3L, current -> fail("changes must not be computed")));
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void changePriority_updatesWithoutLoadingAndRecordsHistory() {
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("system"));
+        when(taskRepository.updatePriority(eq(1L), eq(Task.TaskPriority.HIGH), eq(3L), any(LocalDateTime.class),
+                eq("system"))).thenReturn(1);
+
+        assertEquals(4L, taskService.changePriority(1L, Task.TaskPriority.HIGH, 3L));
+
+        verify(taskRepository, never()).findById(any());
+        verify(taskHistoryWriter).enqueue(argThat((List<TaskChange> changes) -> changes.size() == 1
+                && changes.get(0).fieldName().equals("priority") && changes.get(0).newValue().equals("HIGH")));
+    }
+
+    @Test
+    void changePriority_staleVersion_isRejected() {
+        when(taskRepository.updatePriority(eq(1L), any(), eq(3L), any(), any())).thenReturn(0);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.changePriority(1L, Task.TaskPriority.HIGH, 3L));
+        verifyNoInteractions(taskHistoryWriter);
+    }
+
+    @Test
+    void changePriority_unknownTask_throws() {
+        when(taskRepository.updatePriority(eq(9L), any(), eq(0L), any(), any())).thenReturn(0);
+        when(taskRepository.findVersionById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.changePriority(9L, Task.TaskPriority.HIGH, 0L));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusCountServiceTest {
+    @Mock TaskRepository taskRepository;
+    TaskStatusCountService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskStatusCountService(taskRepository);
+    }
+
+    @Test
+    void getCounts_unknownProject_isAllZero() {
+        Map<Task.TaskStatus, Long> counts = service.getCounts(1L);
+
+        assertEquals(Task.TaskStatus.values().length, counts.size());
+        assertTrue(counts.values().stream().allMatch(count -> count == 0));
+    }
+
+    @Test
+    void recordedChanges_updateCounts() {
+        service.recordCreated(1L, Task.TaskStatus.TODO);
+        service.recordCreated(1L, Task.TaskStatus.TODO);
+        service.recordStatusChange(1L, Task.TaskStatus.TODO, Task.TaskStatus.DONE);
+        service.recordStatusChange(1L, Task.TaskStatus.DONE, Task.TaskStatus.DONE);
+        service.recordCreated(2L, Task.TaskStatus.REVIEW);
+        service.recordDeleted(2L, Task.TaskStatus.REVIEW);
+
+        assertEquals(Map.of(Task.TaskStatus.TODO, 1L, Task.TaskStatus.IN_PROGRESS, 0L,
+                Task.TaskStatus.REVIEW, 0L, Task.TaskStatus.DONE, 1L), service.getCounts(1L));
+        assertEquals(0L, service.getCounts(2L).get(Task.TaskStatus.REVIEW));
+
+        service.recordProjectDeleted(1L);
+        assertEquals(0L, service.getCounts(1L).get(Task.TaskStatus.TODO));
+    }
+
+    @Test
+    void concurrentWriters_doNotLoseUpdates() throws Exception {
+        int threads = 8;
+        int tasksPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < tasksPerThread; i++) {
+                    service.recordCreated(1L, Task.TaskStatus.TODO);
+                    service.recordStatusChange(1L, Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Map<Task.TaskStatus, Long> counts = service.getCounts(1L);
+        assertEquals(0L, counts.get(Task.TaskStatus.TODO));
+        assertEquals((long) threads * tasksPerThread, counts.get(Task.TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void reconcile_correctsDriftAndAddsMissingProjects() {
+        service.recordCreated(1L, Task.TaskStatus.TODO);
+        service.recordCreated(3L, Task.TaskStatus.DONE);
+        when(taskRepository.countByProjectAndStatus()).thenReturn(List.of(
+                row(1L, Task.TaskStatus.TODO, 4),
+                row(2L, Task.TaskStatus.REVIEW, 2)));
+
+        service.reconcile();
+
+        assertEquals(4L, service.getCounts(1L).get(Task.TaskStatus.TODO));
+        assertEquals(2L, service.getCounts(2L).get(Task.TaskStatus.REVIEW));
+        // No tasks left in the database
+        assertEquals(0L, service.getCounts(3L).get(Task.TaskStatus.DONE));
+    }
+
+    @Test
+    void reconcile_skipsCountersChangedWhileQuerying() {
+        service.recordCreated(1L, Task.TaskStatus.TODO);
+        when(taskRepository.countByProjectAndStatus()).thenAnswer(inv -> {
+            // Committed after the query read its rows, so the database result misses it
+            service.recordCreated(1L, Task.TaskStatus.TODO);
+            return List.of(row(1L, Task.TaskStatus.TODO, 1), row(1L, Task.TaskStatus.DONE, 5));
+        });
+
+        service.reconcile();
+
+        assertEquals(2L, service.getCounts(1L).get(Task.TaskStatus.TODO));
+        assertEquals(5L, service.getCounts(1L).get(Task.TaskStatus.DONE));
+    }
+
+    private static TaskRepository.ProjectStatusCount row(Long projectId, Task.TaskStatus status, long count) {
+        return new TaskRepository.ProjectStatusCount() {
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            public Task.TaskStatus getStatus() {
+                return status;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.attachment.AttachmentStore;
+import com.example.taskmanagement.attachment.StoredFile;
+import com.example.taskmanagement.config.AttachmentProperties;
+import com.example.taskmanagement.exception.ConflictException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.UploadChunk;
+import com.example.taskmanagement.model.UploadSession;
+import com.example.taskmanagement.model.UploadSession.UploadStatus;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskAttachmentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UploadChunkRepository;
+import com.example.taskmanagement.repository.UploadSessionRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+    private static final String SESSION_ID = "0b5e0f0e-7d0a-4a57-9d55-1f8e4c2f5a10";
+
+    @Mock UploadSessionRepository sessionRepository;
+    @Mock UploadChunkRepository chunkRepository;
+    @Mock TaskAttachmentRepository attachmentRepository;
+    @Mock TaskRepository taskRepository;
+    @Mock UserRepository userRepository;
+    @Mock AttachmentStore attachmentStore;
+    UploadSessionService uploadSessionService;
+
+    @BeforeEach
+    void setUp() {
+        AttachmentProperties properties = new AttachmentProperties();
+        properties.getUploads().setMinChunkSize(DataSize.ofBytes(4));
+        AttachmentService attachmentService = new AttachmentService(attachmentRepository, taskRepository,
+                userRepository, attachmentStore, properties);
+        uploadSessionService = new UploadSessionService(sessionRepository, chunkRepository, taskRepository,
+                userRepository, attachmentService, attachmentStore, properties);
+    }
+
+    @Test
+    void createSession_chunkSizeOutOfBounds_isRejected() {
+        assertThrows(ValidationException.class,
+                () -> uploadSessionService.createSession(1L, 2L, "a.bin", null, 100, 2));
+        assertThrows(ValidationException.class,
+                () -> uploadSessionService.createSession(1L, 2L, "a.bin", null, 100, Integer.MAX_VALUE));
+        verifyNoInteractions(attachmentStore, sessionRepository);
+    }
+
+    @Test
+    void getMissingChunks_listsGapsAndTail() {
+        UploadSession session = session(); // 5 chunks
+        when(chunkRepository.findChunkIndexes(SESSION_ID)).thenReturn(List.of(1, 3));
+
+        assertEquals(List.of(0, 2, 4), uploadSessionService.getMissingChunks(session));
+    }
+
+    @Test
+    void writeChunk_lastChunkIsShorter() {
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session()));
+        InputStream content = new ByteArrayInputStream(new byte[2]);
+
+        uploadSessionService.writeChunk(1L, SESSION_ID, 16, 2L, content);
+
+        verify(attachmentStore).writeChunk(SESSION_ID, 16, 2, content);
+        verify(chunkRepository).save(argThat(chunk -> chunk.getChunkIndex() == 4));
+        verify(sessionRepository).touch(eq(SESSION_ID), any(LocalDateTime.class));
+    }
+
+    @Test
+    void writeChunk_offsetNotOnAChunkBoundary_isRejected() {
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session()));
+
+        assertThrows(ValidationException.class,
+                () -> uploadSessionService.writeChunk(1L, SESSION_ID, 6, null, InputStream.nullInputStream()));
+        assertThrows(ValidationException.class,
+                () -> uploadSessionService.writeChunk(1L, SESSION_ID, 20, null, InputStream.nullInputStream()));
+        assertThrows(ValidationException.class,
+                () -> uploadSessionService.writeChunk(1L, SESSION_ID, 4, 3L, InputStream.nullInputStream()));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void writeChunk_retriedChunk_isRecordedOnce() {
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session()));
+        when(chunkRepository.save(any(UploadChunk.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        uploadSessionService.writeChunk(1L, SESSION_ID, 0, 4L, new ByteArrayInputStream(new byte[4]));
+
+        verify(sessionRepository).touch(eq(SESSION_ID), any(LocalDateTime.class));
+    }
+
+    @Test
+    void writeChunk_whileCommitting_isRejected() {
+        UploadSession session = session();
+        session.setStatus(UploadStatus.COMMITTING);
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session));
+
+        assertThrows(ConflictException.class,
+                () -> uploadSessionService.writeChunk(1L, SESSION_ID, 0, 4L, InputStream.nullInputStream()));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void commit_missingChunks_reopensTheSession() {
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session()));
+        when(sessionRepository.transition(SESSION_ID, UploadStatus.OPEN, UploadStatus.COMMITTING)).thenReturn(1);
+        when(chunkRepository.findChunkIndexes(SESSION_ID)).thenReturn(List.of(0, 1, 2, 3));
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> uploadSessionService.commit(1L, SESSION_ID));
+
+        assertTrue(ex.getMessage().contains("missing 1 of 5 chunks"));
+        verify(sessionRepository).transition(SESSION_ID, UploadStatus.COMMITTING, UploadStatus.OPEN);
+        verify(attachmentStore, never()).storeSessionFile(any());
+    }
+
+    @Test
+    void commit_alreadyCommitting_isRejected() {
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session()));
+        when(sessionRepository.transition(SESSION_ID, UploadStatus.OPEN, UploadStatus.COMMITTING)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> uploadSessionService.commit(1L, SESSION_ID));
+        verifyNoInteractions(chunkRepository, attachmentStore);
+        verify(attachmentRepository, never()).save(any());
+    }
+
+    @Test
+    void commit_waitsForTheChunkBeingWritten() throws Exception {
+        UploadSession writing = session();
+        UploadSession committing = session();
+        committing.setUploadedBy(User.builder().id(2L).build());
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(writing), Optional.of(committing));
+        when(sessionRepository.transition(SESSION_ID, UploadStatus.OPEN, UploadStatus.COMMITTING)).thenReturn(1);
+        when(chunkRepository.findChunkIndexes(SESSION_ID)).thenReturn(List.of(0, 1, 2, 3, 4));
+        when(attachmentStore.storeSessionFile(SESSION_ID)).thenReturn(new StoredFile("key", "sha", 18));
+        CountDownLatch inWrite = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            inWrite.countDown();
+            release.await();
+            return null;
+        }).when(attachmentStore).writeChunk(eq(SESSION_ID), anyLong(), anyLong(), any());
+
+        Thread writer = new Thread(() -> uploadSessionService.writeChunk(1L, SESSION_ID, 16, 2L,
+                new ByteArrayInputStream(new byte[2])));
+        writer.start();
+        assertTrue(inWrite.await(5, TimeUnit.SECONDS), "The chunk write did not start");
+        Thread committer = new Thread(() -> uploadSessionService.commit(1L, SESSION_ID));
+        committer.start();
+        committer.join(200);
+        assertTrue(committer.isAlive(), "Commit went ahead while a chunk was being written");
+        verify(chunkRepository, never()).findChunkIndexes(SESSION_ID);
+
+        release.countDown();
+        writer.join(5000);
+        committer.join(5000);
+        assertFalse(committer.isAlive());
+        InOrder inOrder = inOrder(chunkRepository, attachmentStore);
+        inOrder.verify(chunkRepository).save(any(UploadChunk.class));
+        inOrder.verify(chunkRepository).findChunkIndexes(SESSION_ID);
+        inOrder.verify(attachmentStore).storeSessionFile(SESSION_ID);
+    }
+
+    @Test
+    void commit_attachmentNotSaved_removesTheSession() {
+        UploadSession session = session();
+        session.setUploadedBy(User.builder().id(2L).build());
+        when(sessionRepository.findByIdAndTaskId(SESSION_ID, 1L)).thenReturn(Optional.of(session));
+        when(sessionRepository.transition(SESSION_ID, UploadStatus.OPEN, UploadStatus.COMMITTING)).thenReturn(1);
+        when(chunkRepository.findChunkIndexes(SESSION_ID)).thenReturn(List.of(0, 1, 2, 3, 4));
+        when(attachmentStore.storeSessionFile(SESSION_ID)).thenReturn(new StoredFile("key", "sha", 18));
+        when(attachmentRepository.save(any())).thenThrow(new DataIntegrityViolationException("task deleted"));
+
+        assertThrows(ResourceNotFoundException.class, () -> uploadSessionService.commit(1L, SESSION_ID));
+
+        // The session file was moved into the store, so the session cannot be committed again
+        verify(sessionRepository).deleteById(SESSION_ID);
+        verify(sessionRepository, never()).transition(SESSION_ID, UploadStatus.COMMITTING, UploadStatus.OPEN);
+    }
+
+    @Test
+    void removeStaleSessions_reopensInterruptedCommits() {
+        when(sessionRepository.findIdsByStatusUpdatedBefore(eq(UploadStatus.COMMITTING), any(LocalDateTime.class)))
+                .thenReturn(List.of(SESSION_ID, "stored"));
+        when(attachmentStore.hasSessionFile(SESSION_ID)).thenReturn(true);
+        when(attachmentStore.hasSessionFile("stored")).thenReturn(false);
+
+        uploadSessionService.removeStaleSessions();
+
+        verify(sessionRepository).transition(SESSION_ID, UploadStatus.COMMITTING, UploadStatus.OPEN);
+        verify(sessionRepository).touch(eq(SESSION_ID), any(LocalDateTime.class));
+        verify(sessionRepository, never()).deleteById(SESSION_ID);
+        verify(sessionRepository).deleteById("stored");
+    }
+
+    @Test
+    void removeStaleSessions_deletesRowsAndFiles() {
+        when(sessionRepository.findIdsUpdatedBefore(any(LocalDateTime.class))).thenReturn(List.of(SESSION_ID));
+
+        uploadSessionService.removeStaleSessions();
+
+        verify(sessionRepository).deleteById(SESSION_ID);
+        verify(attachmentStore).deleteSessionFile(SESSION_ID);
+        verify(attachmentStore).removeAbandonedSessionFiles(any(), any());
+    }
+
+    private static UploadSession session() {
+        return UploadSession.builder()
+                .id(SESSION_ID)
+                .fileName("a.bin")
+                .fileType("application/octet-stream")
+                .totalSize(18L)
+                .chunkSize(4)
+                .status(UploadStatus.OPEN)
+                .build();
+    }
+}
@@ -3,10 +3,13 @@ package com.example.taskmanagement.service;
 import com.example.taskmanagement.dto.CreateUserRequest;
 import com.example.taskmanagement.dto.UpdateUserRequest;
 import com.example.taskmanagement.dto.UserResponse;
+import com.example.taskmanagement.exception.PreconditionFailedException;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
 import com.example.taskmanagement.exception.ValidationException;
+import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.ProjectMembershipIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -30,6 +33,8 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private ProjectMembershipIndex membershipIndex;
     @InjectMocks
     private UserService userService;
 
@@ -107,11 +112,20 @@ class UserServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.existsByEmail("new@email.com")).thenReturn(false);
         User updated = req.updateEntity(user);
-        when(userRepository.save(any(User.class))).thenReturn(updated);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(updated);
         UserResponse resp = userService.updateUser(1L, req);
         assertEquals("new@email.com", resp.getEmail());
     }
 
+    @Test
+    void updateUser_staleVersion() {
+        User user = new User(); user.setId(1L); user.setVersion(2L);
+        UpdateUserRequest req = UpdateUserRequest.builder().email("new@email.com").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(1L, req, 1L));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
     @Test
     void updateUser_emailExists() {
         User user = new User(); user.setId(1L); user.setEmail("old@email.com");
@@ -130,15 +144,18 @@ class UserServiceTest {
 
     @Test
     void deleteUser_success() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        User user = new User(); user.setId(1L);
+        Project project = Project.builder().id(2L).name("Project").build();
+        project.addMember(user);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         assertDoesNotThrow(() -> userService.deleteUser(1L));
-        verify(userRepository).deleteById(1L);
+        assertTrue(project.getMembers().isEmpty());
+        verify(userRepository).delete(user);
     }
 
     @Test
     void deleteUser_notFound() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(1L));
     }
 
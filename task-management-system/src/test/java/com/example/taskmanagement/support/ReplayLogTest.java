@@ -0,0 +1,53 @@
+package com.example.taskmanagement.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayLogTest {
+
+    @Test
+    void applyingWhileLoading_appliesChangesAtOnceAndAgainAfterLoading() {
+        ReplayLog replayLog = ReplayLog.applyingWhileLoading();
+        List<String> applied = new ArrayList<>();
+
+        replayLog.apply(() -> applied.add("change"));
+        assertEquals(List.of("change"), applied);
+        assertFalse(replayLog.isLoaded());
+
+        replayLog.finish(() -> applied.add("loaded"));
+        assertEquals(List.of("change", "loaded", "change"), applied);
+        assertTrue(replayLog.isLoaded());
+
+        replayLog.apply(() -> applied.add("later"));
+        assertEquals(List.of("change", "loaded", "change", "later"), applied);
+    }
+
+    @Test
+    void deferringUntilLoaded_holdsChangesBackUntilPublished() {
+        ReplayLog replayLog = ReplayLog.deferringUntilLoaded();
+        List<String> applied = new ArrayList<>();
+
+        replayLog.apply(() -> applied.add("change"));
+        assertTrue(applied.isEmpty());
+
+        replayLog.finish(() -> applied.add("loaded"));
+        assertEquals(List.of("loaded", "change"), applied);
+    }
+
+    @Test
+    void abandon_dropsLoggedAndLaterChanges() {
+        ReplayLog replayLog = ReplayLog.deferringUntilLoaded();
+        List<String> applied = new ArrayList<>();
+
+        replayLog.apply(() -> applied.add("change"));
+        replayLog.abandon();
+        replayLog.apply(() -> applied.add("later"));
+
+        assertTrue(applied.isEmpty());
+        assertFalse(replayLog.isLoaded());
+    }
+}